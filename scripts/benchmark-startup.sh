@@ -0,0 +1,36 @@
+#!/bin/sh
+#
+# Measures the wall time of the command-line interface for a small chart, with and without the class-data-sharing
+# (CDS) archive, and prints the average time per run in milliseconds. The archive is created first if it doesn't exist.
+#
+# Usage: scripts/benchmark-startup.sh [<number of runs>]
+
+set -e
+
+RUNS=${1:-20}
+SCRIPTS=$(cd "$(dirname "$0")" && pwd)
+JAR=$(ls "$SCRIPTS"/../target/shecc-*-jar-with-dependencies.jar | head -n 1)
+JAR=$(cd "$(dirname "$JAR")" && pwd)/$(basename "$JAR")
+ARCHIVE=${JAR%.jar}.jsa
+CHART="19.FF0000..R,11.00FF00..G,48.0000FF..B"
+
+if [ ! -f "$ARCHIVE" ]; then
+   "$SCRIPTS"/create-cds-archive.sh "$JAR" "$ARCHIVE" > /dev/null
+fi
+
+measure() {
+   java "$@" -cp "$JAR" net.filipvanlaenen.shecc.CommandLineInterface "$CHART" > /dev/null
+   START=$(date +%s%N)
+   i=0
+   while [ $i -lt "$RUNS" ]; do
+      java "$@" -cp "$JAR" net.filipvanlaenen.shecc.CommandLineInterface "$CHART" > /dev/null
+      i=$((i + 1))
+   done
+   END=$(date +%s%N)
+   echo $(((END - START) / RUNS / 1000000))
+}
+
+echo "Runs: $RUNS"
+echo "Without CDS archive:          $(measure -Xshare:off) ms"
+echo "With the default CDS archive: $(measure -Xshare:auto) ms"
+echo "With the SHecC CDS archive:   $(measure -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto) ms"
@@ -0,0 +1,16 @@
+#!/bin/sh
+#
+# Creates a class-data-sharing (CDS) archive for the command-line interface, using a training run that renders a small
+# set of charts. The archive is only valid for the JDK used to create it, and for the jar file at the same path.
+#
+# Usage: scripts/create-cds-archive.sh [<jar file> [<archive file>]]
+
+set -e
+
+JAR=${1:-$(ls "$(dirname "$0")"/../target/shecc-*-jar-with-dependencies.jar | head -n 1)}
+JAR=$(cd "$(dirname "$JAR")" && pwd)/$(basename "$JAR")
+ARCHIVE=${2:-${JAR%.jar}.jsa}
+
+rm -f "$ARCHIVE"
+java -XX:ArchiveClassesAtExit="$ARCHIVE" -cp "$JAR" net.filipvanlaenen.shecc.ClassDataSharingTraining
+echo "Created $ARCHIVE."
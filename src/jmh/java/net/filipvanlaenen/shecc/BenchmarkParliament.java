@@ -0,0 +1,101 @@
+package net.filipvanlaenen.shecc;
+
+import java.util.Locale;
+
+/**
+ * Generator for the parliaments used in the JMH benchmarks, with a given number of seats distributed as evenly as
+ * possible over a number of parliamentary groups. Every parliamentary group has a name, a character and one or more
+ * colors, and either a simple or a differentiated group size.
+ */
+public final class BenchmarkParliament {
+    /**
+     * The step between the colors of the parliamentary groups.
+     */
+    private static final int GROUP_COLOR_STEP = 0x0F0F0F;
+    /**
+     * The step between the colors of an alliance.
+     */
+    private static final int ALLIANCE_COLOR_STEP = 0x330000;
+    /**
+     * The mask for a color.
+     */
+    private static final int COLOR_MASK = 0xFFFFFF;
+    /**
+     * The parameter value for simple group sizes.
+     */
+    public static final String SIMPLE = "simple";
+    /**
+     * The parameter value for differentiated group sizes.
+     */
+    public static final String DIFFERENTIATED = "differentiated";
+
+    /**
+     * The parliamentary groups.
+     */
+    private final ParliamentaryGroup[] groups;
+    /**
+     * The groups definition for the parliamentary groups, as on the command line.
+     */
+    private final String groupsDefinition;
+
+    /**
+     * Constructs a parliament.
+     *
+     * @param numberOfSeats  The number of seats.
+     * @param numberOfGroups The number of parliamentary groups, reduced to the number of seats if it's larger.
+     * @param numberOfColors The number of colors per parliamentary group.
+     * @param sizeType       Either <code>simple</code> or <code>differentiated</code>.
+     */
+    public BenchmarkParliament(final int numberOfSeats, final int numberOfGroups, final int numberOfColors,
+            final String sizeType) {
+        int actualNumberOfGroups = Math.min(numberOfGroups, numberOfSeats);
+        boolean differentiated = DIFFERENTIATED.equals(sizeType);
+        groups = new ParliamentaryGroup[actualNumberOfGroups];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < actualNumberOfGroups; i++) {
+            int size = numberOfSeats / actualNumberOfGroups + (i < numberOfSeats % actualNumberOfGroups ? 1 : 0);
+            int[] colors = new int[numberOfColors];
+            for (int k = 0; k < numberOfColors; k++) {
+                colors[k] = (i * GROUP_COLOR_STEP + k * ALLIANCE_COLOR_STEP) & COLOR_MASK;
+            }
+            String name = "Group " + i;
+            String character = Character.toString('A' + i % ('Z' - 'A' + 1));
+            if (i > 0) {
+                sb.append(',');
+            }
+            if (differentiated) {
+                int lowerBound = size / 2;
+                int median = (lowerBound + size) / 2;
+                groups[i] = new ParliamentaryGroup(new DifferentiatedGroupSize(lowerBound, median, size), colors, name,
+                        character);
+                sb.append(lowerBound).append(':').append(median).append(':').append(size);
+            } else {
+                groups[i] = new ParliamentaryGroup(size, colors, name, character);
+                sb.append(size);
+            }
+            for (int k = 0; k < numberOfColors; k++) {
+                sb.append(k == 0 ? '.' : ':').append(String.format(Locale.US, "%06X", colors[k]));
+            }
+            sb.append('.').append(name).append('.').append(character);
+        }
+        groupsDefinition = sb.toString();
+    }
+
+    /**
+     * Returns the parliamentary groups.
+     *
+     * @return The parliamentary groups.
+     */
+    public ParliamentaryGroup[] getGroups() {
+        return groups;
+    }
+
+    /**
+     * Returns the groups definition for the parliamentary groups, as on the command line.
+     *
+     * @return The groups definition.
+     */
+    public String getGroupsDefinition() {
+        return groupsDefinition;
+    }
+}
@@ -0,0 +1,104 @@
+package net.filipvanlaenen.shecc;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks comparing the single-pass groups definition parser with the original parser based on regular
+ * expressions. The number of bytes allocated per groups definition can be reported by adding <code>-prof gc</code> to
+ * the JMH arguments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupsDefinitionParserBenchmark {
+    /**
+     * The groups definitions used in the benchmarks.
+     */
+    private static final String[] GROUPS_DEFINITIONS = new String[] {"19.FF0000..R,11.00FF00..G,48.0000FF..B",
+            "19.FF0000.Red Party.R,11.00FF00.Green Party.G,48.0000FF.Blue Party.B",
+            "24:29:30.FF0000:00FF00:FFFF00.Red-green-yellow Alliance.A,41:46:48.0000FF.Blue Party.B",
+            "3.FF0000.A,5.00FF00.B,7.0000FF.C,11.FFFF00.D,13.00FFFF.E,17.FF00FF.F,19.777777.G,23.000000.H"};
+    /**
+     * The index of the size in the parliamentary group encoding.
+     */
+    private static final int SIZE_INDEX = 0;
+    /**
+     * The index of the color in the parliamentary group encoding.
+     */
+    private static final int COLOR_INDEX = 1;
+    /**
+     * The index of the name in the parliamentary group encoding.
+     */
+    private static final int NAME_INDEX = 2;
+    /**
+     * The index of the character in the parliamentary group encoding.
+     */
+    private static final int CHARACTER_INDEX = 3;
+    /**
+     * Magic number sixteen, the base for parsing hexadecimal numbers.
+     */
+    private static final int SIXTEEN = 16;
+
+    /**
+     * The index of the groups definition: characters only, names, an alliance with differentiated group sizes, or
+     * many parliamentary groups.
+     */
+    @Param({"0", "1", "2", "3"})
+    public int groupsDefinitionIndex;
+
+    /**
+     * Benchmark on the original parser based on regular expressions.
+     *
+     * @return An array with the parliamentary groups.
+     */
+    @Benchmark
+    public ParliamentaryGroup[] split() {
+        return parseWithSplit(GROUPS_DEFINITIONS[groupsDefinitionIndex]);
+    }
+
+    /**
+     * Benchmark on the single-pass parser.
+     *
+     * @return An array with the parliamentary groups.
+     */
+    @Benchmark
+    public ParliamentaryGroup[] singlePass() {
+        return GroupsDefinitionParser.parse(GROUPS_DEFINITIONS[groupsDefinitionIndex]);
+    }
+
+    /**
+     * Parses a groups definition the way the command-line interface did originally, using regular expressions.
+     *
+     * @param groupsDefinition The groups definition.
+     * @return An array with the parliamentary groups.
+     */
+    private static ParliamentaryGroup[] parseWithSplit(final String groupsDefinition) {
+        String[] groupdefinitions = groupsDefinition.split(",");
+        ParliamentaryGroup[] groups = new ParliamentaryGroup[groupdefinitions.length];
+        for (int i = 0; i < groupdefinitions.length; i++) {
+            String[] attributes = groupdefinitions[i].split("\\.");
+            GroupSize size = GroupSize.parseGroupSize(attributes[SIZE_INDEX]);
+            int[] colors = Arrays.stream(attributes[COLOR_INDEX].split(":")).mapToInt(s -> Integer.parseInt(s, SIXTEEN))
+                    .toArray();
+            String name = attributes.length > NAME_INDEX ? attributes[NAME_INDEX] : null;
+            String character = attributes.length > CHARACTER_INDEX ? attributes[CHARACTER_INDEX] : null;
+            groups[i] = new ParliamentaryGroup(size, colors, name, character);
+        }
+        return groups;
+    }
+}
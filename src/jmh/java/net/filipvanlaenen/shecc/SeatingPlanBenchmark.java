@@ -0,0 +1,107 @@
+package net.filipvanlaenen.shecc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.filipvanlaenen.kolektoj.SortedCollection;
+
+/**
+ * JMH benchmarks on the calculation of the hemicycle layout, the assignment of the seats to the parliamentary groups,
+ * and the command-line interface from end to end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatingPlanBenchmark {
+    /**
+     * The number of seats. Larger numbers, up to 1,000,000, can be set with <code>-p numberOfSeats=...</code>.
+     */
+    @Param({"10", "100", "1000", "10000"})
+    public int numberOfSeats;
+    /**
+     * The number of parliamentary groups. Other numbers, e.g. 2 or 100, can be set with
+     * <code>-p numberOfGroups=...</code>.
+     */
+    @Param({"10"})
+    public int numberOfGroups;
+    /**
+     * The number of colors per parliamentary group. Alliances can be benchmarked with
+     * <code>-p numberOfColors=3</code>.
+     */
+    @Param({"1"})
+    public int numberOfColors;
+    /**
+     * The type of group sizes.
+     */
+    @Param({BenchmarkParliament.SIMPLE, BenchmarkParliament.DIFFERENTIATED})
+    public String sizeType;
+
+    /**
+     * The parliament.
+     */
+    private BenchmarkParliament parliament;
+    /**
+     * The seat positions of the hemicycle layout.
+     */
+    private SortedCollection<SeatPosition> seatPositions;
+    /**
+     * The command-line arguments for the parliament.
+     */
+    private String[] args;
+
+    /**
+     * Creates the parliament and its hemicycle layout.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        parliament = new BenchmarkParliament(numberOfSeats, numberOfGroups, numberOfColors, sizeType);
+        seatPositions = new HemicycleLayout(numberOfSeats).getSeatPositions();
+        args = new String[] {parliament.getGroupsDefinition()};
+    }
+
+    /**
+     * Benchmark on the calculation of a hemicycle layout.
+     *
+     * @return The seat positions of the hemicycle layout.
+     */
+    @Benchmark
+    public SortedCollection<SeatPosition> layout() {
+        return new HemicycleLayout(numberOfSeats).getSeatPositions();
+    }
+
+    /**
+     * Benchmark on the assignment of the seats to the parliamentary groups.
+     *
+     * @return The seating plan.
+     */
+    @Benchmark
+    public RowConnectedSeatingPlan seating() {
+        return new RowConnectedSeatingPlan(seatPositions, parliament.getGroups());
+    }
+
+    /**
+     * Benchmark on the command-line interface from end to end, from parsing the groups definition to the SVG
+     * document as a string.
+     *
+     * @return The SVG document.
+     */
+    @Benchmark
+    public String commandLineInterface() {
+        return new CommandLineInterface().perform(args);
+    }
+}
@@ -0,0 +1,95 @@
+package net.filipvanlaenen.shecc.export;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.filipvanlaenen.shecc.HemicycleLayoutCache;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+
+/**
+ * JMH benchmark comparing the latency of sequential with parallel rendering of the groupings for the parliamentary
+ * groups, for both attribute-based and class-based styling. The seating plan has 5,000 seats divided over sixteen
+ * parliamentary groups of equal size, each with a character.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelRenderingBenchmark {
+    /**
+     * The size of the parliament used in the benchmark.
+     */
+    private static final int NUMBER_OF_SEATS = 5_000;
+    /**
+     * The number of parliamentary groups in the benchmark.
+     */
+    private static final int NUMBER_OF_PARLIAMENTARY_GROUPS = 16;
+    /**
+     * The step between the colors of the parliamentary groups.
+     */
+    private static final int COLOR_STEP = 0x0F0F0F;
+
+    /**
+     * Whether the exporter uses class-based styling.
+     */
+    @Param({"false", "true"})
+    public boolean classBasedStyling;
+    /**
+     * Whether the exporter renders the groupings in parallel.
+     */
+    @Param({"false", "true"})
+    public boolean parallelRendering;
+
+    /**
+     * The seating plan.
+     */
+    private RowConnectedSeatingPlan plan;
+    /**
+     * The exporter.
+     */
+    private SeatingPlanExporter exporter;
+
+    /**
+     * Creates the seating plan and the exporter, with a cache holding the hemicycle layout of the seating plan already.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        int groupSize = NUMBER_OF_SEATS / NUMBER_OF_PARLIAMENTARY_GROUPS;
+        ParliamentaryGroup[] groups = new ParliamentaryGroup[NUMBER_OF_PARLIAMENTARY_GROUPS];
+        for (int i = 0; i < NUMBER_OF_PARLIAMENTARY_GROUPS; i++) {
+            int size = i == 0 ? NUMBER_OF_SEATS - (NUMBER_OF_PARLIAMENTARY_GROUPS - 1) * groupSize : groupSize;
+            groups[i] = new ParliamentaryGroup(size, i * COLOR_STEP, "Group " + (i + 1), Character.toString('A' + i));
+        }
+        HemicycleLayoutCache layoutCache = new HemicycleLayoutCache(1);
+        plan = new RowConnectedSeatingPlan(layoutCache.get(NUMBER_OF_SEATS, null).getSeatPositions(), groups);
+        exporter = new SeatingPlanExporter();
+        exporter.setClassBasedStyling(classBasedStyling);
+        exporter.setParallelRendering(parallelRendering);
+        exporter.setLayoutCache(layoutCache);
+    }
+
+    /**
+     * Benchmark on the export of the seating plan.
+     *
+     * @return The SVG document as a string.
+     */
+    @Benchmark
+    public String export() {
+        return exporter.export(plan);
+    }
+}
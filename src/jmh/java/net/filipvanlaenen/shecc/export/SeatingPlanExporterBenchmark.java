@@ -0,0 +1,126 @@
+package net.filipvanlaenen.shecc.export;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.filipvanlaenen.shecc.BenchmarkParliament;
+import net.filipvanlaenen.shecc.HemicycleLayoutCache;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+import net.filipvanlaenen.tsvgj.Svg;
+
+/**
+ * JMH benchmarks on the export of a seating plan to SVG, measuring the construction of the SVG document in memory and
+ * its serialization separately, together with the direct writing of the SVG document with class-based styling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatingPlanExporterBenchmark {
+    /**
+     * The number of seats. Larger numbers, up to 1,000,000, can be set with <code>-p numberOfSeats=...</code>.
+     */
+    @Param({"10", "100", "1000", "10000"})
+    public int numberOfSeats;
+    /**
+     * The number of parliamentary groups. Other numbers, e.g. 2 or 100, can be set with
+     * <code>-p numberOfGroups=...</code>.
+     */
+    @Param({"10"})
+    public int numberOfGroups;
+    /**
+     * The number of colors per parliamentary group. Alliances can be benchmarked with
+     * <code>-p numberOfColors=3</code>.
+     */
+    @Param({"1"})
+    public int numberOfColors;
+    /**
+     * The type of group sizes.
+     */
+    @Param({BenchmarkParliament.SIMPLE, BenchmarkParliament.DIFFERENTIATED})
+    public String sizeType;
+
+    /**
+     * The seating plan.
+     */
+    private RowConnectedSeatingPlan plan;
+    /**
+     * The exporter with attribute-based styling.
+     */
+    private SeatingPlanExporter exporter;
+    /**
+     * The exporter with class-based styling.
+     */
+    private SeatingPlanExporter classStyledExporter;
+    /**
+     * The SVG document for the seating plan, constructed in advance.
+     */
+    private Svg svg;
+
+    /**
+     * Creates the seating plan, the exporters and the SVG document. The exporters share a cache holding the hemicycle
+     * layout of the seating plan already, such that the benchmarks don't include its calculation.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkParliament parliament =
+                new BenchmarkParliament(numberOfSeats, numberOfGroups, numberOfColors, sizeType);
+        HemicycleLayoutCache layoutCache = new HemicycleLayoutCache(1);
+        plan = new RowConnectedSeatingPlan(layoutCache.get(numberOfSeats, null).getSeatPositions(),
+                parliament.getGroups());
+        exporter = new SeatingPlanExporter();
+        exporter.setDisplayLegend(true);
+        exporter.setLayoutCache(layoutCache);
+        classStyledExporter = new SeatingPlanExporter();
+        classStyledExporter.setDisplayLegend(true);
+        classStyledExporter.setClassBasedStyling(true);
+        classStyledExporter.setLayoutCache(layoutCache);
+        svg = dom();
+    }
+
+    /**
+     * Benchmark on the construction of the SVG document in memory.
+     *
+     * @return The SVG document.
+     */
+    @Benchmark
+    public Svg dom() {
+        SeatingPlanDimensions dimensions = exporter.calculateDimensions(plan);
+        return exporter.createSvg(plan, exporter.createChrome(dimensions),
+                exporter.createLegendGrouping(plan, dimensions));
+    }
+
+    /**
+     * Benchmark on the serialization of an SVG document constructed in advance.
+     *
+     * @return The SVG document as a string.
+     */
+    @Benchmark
+    public String serialization() {
+        return svg.asString();
+    }
+
+    /**
+     * Benchmark on the direct writing of the SVG document with class-based styling.
+     *
+     * @return The SVG document as a string.
+     */
+    @Benchmark
+    public String classStyledWriting() {
+        return classStyledExporter.export(plan);
+    }
+}
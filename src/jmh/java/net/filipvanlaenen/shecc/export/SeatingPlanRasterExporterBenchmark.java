@@ -0,0 +1,120 @@
+package net.filipvanlaenen.shecc.export;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.filipvanlaenen.shecc.DifferentiatedGroupSize;
+import net.filipvanlaenen.shecc.HemicycleLayoutCache;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+
+/**
+ * JMH benchmarks comparing the throughput of the PNG export of the <code>SeatingPlanRasterExporter</code> class with
+ * the SVG export of the <code>SeatingPlanExporter</code> class, for a seating plan with four parliamentary groups,
+ * including an alliance and uncertain seats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatingPlanRasterExporterBenchmark {
+    /**
+     * The magic number four, the number of parliamentary groups in the benchmark.
+     */
+    private static final int FOUR = 4;
+    /**
+     * Magic number for the color red.
+     */
+    private static final int RED = 0xFF0000;
+    /**
+     * Magic number for the color green.
+     */
+    private static final int GREEN = 0x00FF00;
+    /**
+     * Magic number for the color blue.
+     */
+    private static final int BLUE = 0x0000FF;
+    /**
+     * Magic number for the color yellow.
+     */
+    private static final int YELLOW = 0xFFFF00;
+
+    /**
+     * The number of seats.
+     */
+    @Param({"50", "150", "650"})
+    public int numberOfSeats;
+
+    /**
+     * The seating plan.
+     */
+    private RowConnectedSeatingPlan plan;
+    /**
+     * The SVG exporter.
+     */
+    private SeatingPlanExporter svgExporter;
+    /**
+     * The PNG exporter.
+     */
+    private SeatingPlanRasterExporter pngExporter;
+
+    /**
+     * Creates the seating plan and the exporters, with a cache holding the hemicycle layout of the seating plan
+     * already.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        int groupSize = numberOfSeats / FOUR;
+        int lastGroupSize = numberOfSeats - (FOUR - 1) * groupSize;
+        ParliamentaryGroup[] groups = new ParliamentaryGroup[] {
+                new ParliamentaryGroup(groupSize, new int[] {RED, GREEN, YELLOW}, "Alliance", "A"),
+                new ParliamentaryGroup(new DifferentiatedGroupSize(groupSize / 2, groupSize - 1, groupSize), GREEN,
+                        "Green", "G"),
+                new ParliamentaryGroup(groupSize, YELLOW, "Yellow", "Y"),
+                new ParliamentaryGroup(lastGroupSize, BLUE, "Blue", "B")};
+        HemicycleLayoutCache layoutCache = new HemicycleLayoutCache(1);
+        plan = new RowConnectedSeatingPlan(layoutCache.get(numberOfSeats, null).getSeatPositions(), groups);
+        svgExporter = new SeatingPlanExporter();
+        svgExporter.setDisplayLegend(true);
+        svgExporter.setLayoutCache(layoutCache);
+        pngExporter = new SeatingPlanRasterExporter();
+        pngExporter.setDisplayLegend(true);
+        pngExporter.setLayoutCache(layoutCache);
+    }
+
+    /**
+     * Benchmark on the SVG export.
+     *
+     * @return The SVG document as a string.
+     */
+    @Benchmark
+    public String svg() {
+        return svgExporter.export(plan);
+    }
+
+    /**
+     * Benchmark on the PNG export.
+     *
+     * @return The PNG file as a byte array.
+     * @throws IOException Thrown if an error occurs while encoding the PNG file.
+     */
+    @Benchmark
+    public byte[] png() throws IOException {
+        return pngExporter.exportToPng(plan);
+    }
+}
@@ -0,0 +1,93 @@
+package net.filipvanlaenen.shecc.export;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.filipvanlaenen.shecc.DifferentiatedGroupSize;
+import net.filipvanlaenen.shecc.HemicycleLayoutCache;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+
+/**
+ * JMH benchmark on the throughput of the export of seating plans where all seats are held by alliances, such that
+ * every seat is drawn as sectors. The seating plan has 1,000 seats divided over four alliances with five colors each,
+ * with certain, likely and unlikely seats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnitSectorOffsetsBenchmark {
+    /**
+     * The size of the parliament used in the benchmark.
+     */
+    private static final int NUMBER_OF_SEATS = 1_000;
+    /**
+     * The number of alliances in the benchmark.
+     */
+    private static final int NUMBER_OF_ALLIANCES = 4;
+    /**
+     * The colors of the alliances, five per alliance.
+     */
+    private static final int[][] ALLIANCE_COLORS = new int[][] {{0xFF0000, 0xFF7F00, 0xFFFF00, 0x7F0000, 0xFF007F},
+            {0x00FF00, 0x007F00, 0x7FFF00, 0x00FF7F, 0x3F7F3F}, {0x0000FF, 0x00007F, 0x007FFF, 0x7F00FF, 0x3F3F7F},
+            {0x7F7F7F, 0x000000, 0x3F3F3F, 0xBFBFBF, 0x5F5F5F}};
+
+    /**
+     * Whether the exporter uses class-based styling.
+     */
+    @Param({"false", "true"})
+    public boolean classBasedStyling;
+
+    /**
+     * The seating plan.
+     */
+    private RowConnectedSeatingPlan plan;
+    /**
+     * The exporter.
+     */
+    private SeatingPlanExporter exporter;
+
+    /**
+     * Creates the seating plan and the exporter, with a cache holding the hemicycle layout of the seating plan already.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        int allianceSize = NUMBER_OF_SEATS / NUMBER_OF_ALLIANCES;
+        ParliamentaryGroup[] alliances = new ParliamentaryGroup[NUMBER_OF_ALLIANCES];
+        for (int i = 0; i < NUMBER_OF_ALLIANCES; i++) {
+            alliances[i] = new ParliamentaryGroup(
+                    new DifferentiatedGroupSize(allianceSize / 2, allianceSize - 1, allianceSize), ALLIANCE_COLORS[i],
+                    "Alliance " + (i + 1));
+        }
+        HemicycleLayoutCache layoutCache = new HemicycleLayoutCache(1);
+        plan = new RowConnectedSeatingPlan(layoutCache.get(NUMBER_OF_SEATS, null).getSeatPositions(), alliances);
+        exporter = new SeatingPlanExporter();
+        exporter.setClassBasedStyling(classBasedStyling);
+        exporter.setLayoutCache(layoutCache);
+    }
+
+    /**
+     * Benchmark on the export of the seating plan.
+     *
+     * @return The SVG document as a string.
+     */
+    @Benchmark
+    public String export() {
+        return exporter.export(plan);
+    }
+}
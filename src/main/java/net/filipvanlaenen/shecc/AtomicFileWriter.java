@@ -0,0 +1,158 @@
+package net.filipvanlaenen.shecc;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.security.SecureRandom;
+
+/**
+ * Utility class writing files atomically. The content is written to a temporary file in the same directory first, and
+ * then the temporary file is renamed to the target file, such that readers either see the old or the new content, but
+ * never a partially written file. Text is written through a buffered file channel, encoded in UTF-8, as it's produced.
+ */
+final class AtomicFileWriter {
+    /**
+     * The size of the buffers used for writing text, in characters.
+     */
+    private static final int BUFFER_SIZE = 65_536;
+    /**
+     * The random number generator for the names of the temporary files.
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * Interface for text content that writes itself to a writer, such that it doesn't have to be produced as a whole
+     * before it's written.
+     */
+    interface TextContent {
+        /**
+         * Writes the text content to a writer.
+         *
+         * @param writer The writer.
+         * @throws IOException Thrown if an error occurs while writing.
+         */
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private AtomicFileWriter() {
+    }
+
+    /**
+     * Writes content to a file atomically.
+     *
+     * @param path    The path of the file.
+     * @param content The content to be written.
+     * @throws IOException Thrown if the content can't be written.
+     */
+    static void write(final Path path, final byte[] content) throws IOException {
+        Path absolutePath = path.toAbsolutePath();
+        Path temporaryPath = createTemporaryFile(absolutePath);
+        try {
+            Files.write(temporaryPath, content);
+            moveIntoPlace(temporaryPath, absolutePath);
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    /**
+     * Writes text content to a file atomically, encoded in UTF-8.
+     *
+     * @param path    The path of the file.
+     * @param content The text content to be written.
+     * @throws IOException Thrown if the content can't be written.
+     */
+    static void write(final Path path, final TextContent content) throws IOException {
+        Path absolutePath = path.toAbsolutePath();
+        Path temporaryPath = createTemporaryFile(absolutePath);
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+                    Writer writer = new BufferedWriter(
+                            Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE),
+                            BUFFER_SIZE)) {
+                content.writeTo(writer);
+            }
+            moveIntoPlace(temporaryPath, absolutePath);
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    /**
+     * Creates a temporary file in the same directory as a file, with the permissions the file should have after it has
+     * been written: the permissions of the file if it exists already, or the default permissions for a new file
+     * otherwise, i.e. as restricted by the umask on a POSIX file system. <code>Files.createTempFile</code> isn't used,
+     * because it restricts the permissions to the owner.
+     *
+     * @param absolutePath The absolute path of the file.
+     * @return The path of the temporary file.
+     * @throws IOException Thrown if the temporary file can't be created.
+     */
+    private static Path createTemporaryFile(final Path absolutePath) throws IOException {
+        Path directory = absolutePath.getParent();
+        String prefix = "." + absolutePath.getFileName().toString();
+        Path temporaryPath;
+        while (true) {
+            temporaryPath = directory.resolve(prefix + Long.toUnsignedString(RANDOM.nextLong()) + ".tmp");
+            try {
+                Files.createFile(temporaryPath);
+                break;
+            } catch (FileAlreadyExistsException faee) {
+                // Another temporary file has the same name already, so another name is tried.
+            }
+        }
+        try {
+            copyPermissions(absolutePath, temporaryPath);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporaryPath);
+            throw e;
+        }
+        return temporaryPath;
+    }
+
+    /**
+     * Copies the POSIX file permissions of a file to another file, if the file exists and the file system supports
+     * POSIX file permissions.
+     *
+     * @param source The file from which the permissions should be copied.
+     * @param target The file to which the permissions should be copied.
+     * @throws IOException Thrown if the permissions can't be read or set.
+     */
+    private static void copyPermissions(final Path source, final Path target) throws IOException {
+        PosixFileAttributeView sourceView = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        if (sourceView == null || !Files.exists(source)) {
+            return;
+        }
+        Files.setPosixFilePermissions(target, sourceView.readAttributes().permissions());
+    }
+
+    /**
+     * Moves a temporary file into place, atomically if the file system supports it.
+     *
+     * @param temporaryPath The path of the temporary file.
+     * @param absolutePath  The absolute path of the file.
+     * @throws IOException Thrown if the temporary file can't be moved.
+     */
+    private static void moveIntoPlace(final Path temporaryPath, final Path absolutePath) throws IOException {
+        try {
+            Files.move(temporaryPath, absolutePath, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException amnse) {
+            Files.move(temporaryPath, absolutePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package net.filipvanlaenen.shecc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Class rendering a batch of charts in a single JVM. Every line of a batch contains the name of the output file,
+ * followed by the groups definition and the options for the chart, separated by tabs. The options given on the command
+ * line apply to all the charts in the batch, but can be overridden per line: an option on a line replaces all the
+ * options with the same name given on the command line. Empty lines and lines starting with a hash sign are skipped.
+ * Lines starting with an opening brace are read in the NDJSON input format instead, as described in
+ * <code>ChartJobParser</code>.
+ *
+ * The charts are rendered on a pool of workers, and share a cache with the hemicycle layouts. The batch is read as the
+ * charts are rendered, with a limited number of lines read ahead, such that batches of any size are rendered in
+ * constant memory. An error on a line is reported, in the order of the lines, but doesn't abort the batch. A chart
+ * exceeding the limits of the batch renderer is reported as an error on its line; the limits can't be overridden per
+ * line.
+ */
+final class BatchRenderer {
+    /**
+     * The separator between the fields on a line.
+     */
+    private static final String FIELD_SEPARATOR = "\t";
+    /**
+     * The prefix of a comment line.
+     */
+    private static final String COMMENT_PREFIX = "#";
+    /**
+     * The prefix of a line in the NDJSON input format.
+     */
+    private static final String JSON_OBJECT_PREFIX = "{";
+    /**
+     * The prefix of an option.
+     */
+    private static final String OPTION_PREFIX = "--";
+    /**
+     * The number of lines per worker that may be read ahead of the line whose result is reported next.
+     */
+    private static final int PENDING_LINES_PER_WORKER = 4;
+
+    /**
+     * The arguments from the command line, applying to all the charts in the batch.
+     */
+    private final String[] defaultArgs;
+    /**
+     * The cache with the hemicycle layouts shared between the charts, unbounded such that the workers never wait for
+     * each other on the cache. It holds at most one layout per distinct number of seats and angle in the batch.
+     */
+    private final HemicycleLayoutCache layoutCache = new HemicycleLayoutCache();
+    /**
+     * The number of workers.
+     */
+    private final int noOfWorkers;
+    /**
+     * The limits on the size of the charts.
+     */
+    private final RenderLimits limits;
+
+    /**
+     * Constructs a batch renderer.
+     *
+     * @param noOfWorkers The number of workers.
+     * @param defaultArgs The arguments from the command line, applying to all the charts in the batch.
+     */
+    BatchRenderer(final int noOfWorkers, final String... defaultArgs) {
+        this(noOfWorkers, RenderLimits.UNLIMITED, defaultArgs);
+    }
+
+    /**
+     * Constructs a batch renderer rejecting the charts that exceed a set of limits.
+     *
+     * @param noOfWorkers The number of workers.
+     * @param limits      The limits on the size of the charts.
+     * @param defaultArgs The arguments from the command line, applying to all the charts in the batch.
+     */
+    BatchRenderer(final int noOfWorkers, final RenderLimits limits, final String... defaultArgs) {
+        if (noOfWorkers <= 0) {
+            throw new IllegalArgumentException("The number of workers should be strictly positive.");
+        }
+        this.noOfWorkers = noOfWorkers;
+        this.defaultArgs = defaultArgs;
+        this.limits = limits;
+    }
+
+    /**
+     * Renders all the charts in a batch, and reports the errors per line.
+     *
+     * @param reader The reader from which the batch should be read.
+     * @param err    The stream to which the errors should be reported.
+     * @return The number of lines that failed.
+     * @throws IOException Thrown if an error occurs while reading the batch.
+     */
+    int render(final BufferedReader reader, final PrintStream err) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(noOfWorkers);
+        Deque<Future<String>> results = new ArrayDeque<Future<String>>();
+        int maximumNoOfPendingLines = PENDING_LINES_PER_WORKER * noOfWorkers;
+        try {
+            String line;
+            int lineNumber = 0;
+            int noOfFailures = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank() && !line.startsWith(COMMENT_PREFIX)) {
+                    String batchLine = line;
+                    int batchLineNumber = lineNumber;
+                    results.add(executor.submit(() -> renderLine(batchLineNumber, batchLine)));
+                    if (results.size() >= maximumNoOfPendingLines) {
+                        noOfFailures += reportResult(results.remove(), err);
+                    }
+                }
+            }
+            while (!results.isEmpty()) {
+                noOfFailures += reportResult(results.remove(), err);
+            }
+            return noOfFailures;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException("The batch was interrupted.", ie);
+        } catch (ExecutionException ee) {
+            throw new IllegalStateException(ee.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for the result of a line, and reports the error if the line failed.
+     *
+     * @param result The result of the line.
+     * @param err    The stream to which the error should be reported.
+     * @return One if the line failed, zero otherwise.
+     * @throws InterruptedException Thrown if the thread is interrupted while waiting.
+     * @throws ExecutionException   Thrown if rendering the line threw an unexpected exception.
+     */
+    private static int reportResult(final Future<String> result, final PrintStream err)
+            throws InterruptedException, ExecutionException {
+        String error = result.get();
+        if (error == null) {
+            return 0;
+        }
+        err.println(error);
+        return 1;
+    }
+
+    /**
+     * Renders the chart on a line of the batch and writes it to its output file.
+     *
+     * @param lineNumber The number of the line in the batch.
+     * @param line       The line.
+     * @return An error message if the chart couldn't be rendered, <code>null</code> otherwise.
+     */
+    private String renderLine(final int lineNumber, final String line) {
+        try {
+            if (line.stripLeading().startsWith(JSON_OBJECT_PREFIX)) {
+                ChartJob job = ChartJobParser.parse(line);
+                new CommandLineInterface(layoutCache, limits).performToFile(job.outputPath(), job.groups(),
+                        mergeArgs(job.args()));
+            } else {
+                String[] fields = line.split(FIELD_SEPARATOR);
+                Path outputPath = Paths.get(fields[0].trim());
+                new CommandLineInterface(layoutCache, limits).performToFile(outputPath,
+                        mergeArgs(Arrays.copyOfRange(fields, 1, fields.length)));
+            }
+            return null;
+        } catch (IOException | RuntimeException e) {
+            return "Line " + lineNumber + ": " + e;
+        }
+    }
+
+    /**
+     * Merges the arguments on a line with the arguments from the command line. An option on the line replaces all the
+     * options with the same name from the command line, such that options that are looked up by their first
+     * occurrence, like the format, can be overridden too. The other arguments from the command line are kept, and
+     * the arguments on the line follow them.
+     *
+     * @param lineArgs The arguments on the line.
+     * @return The merged arguments.
+     */
+    String[] mergeArgs(final String... lineArgs) {
+        Set<String> lineOptionNames = new HashSet<String>();
+        for (String argument : lineArgs) {
+            if (argument.startsWith(OPTION_PREFIX)) {
+                lineOptionNames.add(getOptionName(argument));
+            }
+        }
+        List<String> args = new ArrayList<String>();
+        for (String argument : defaultArgs) {
+            if (!argument.startsWith(OPTION_PREFIX) || !lineOptionNames.contains(getOptionName(argument))) {
+                args.add(argument);
+            }
+        }
+        args.addAll(Arrays.asList(lineArgs));
+        return args.toArray(new String[args.size()]);
+    }
+
+    /**
+     * Returns the name of an option, i.e. the part before the equal sign, or the whole option if it has no value.
+     *
+     * @param option The option.
+     * @return The name of the option.
+     */
+    private static String getOptionName(final String option) {
+        int equalSign = option.indexOf('=');
+        return equalSign < 0 ? option : option.substring(0, equalSign);
+    }
+
+    /**
+     * Returns the cache with the hemicycle layouts shared between the charts.
+     *
+     * @return The cache with the hemicycle layouts.
+     */
+    HemicycleLayoutCache getLayoutCache() {
+        return layoutCache;
+    }
+}
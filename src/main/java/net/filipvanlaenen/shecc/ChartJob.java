@@ -0,0 +1,13 @@
+package net.filipvanlaenen.shecc;
+
+import java.nio.file.Path;
+
+/**
+ * A chart to be rendered in a batch, as read from a line in the NDJSON input format.
+ *
+ * @param outputPath The path of the output file.
+ * @param groups     The parliamentary groups.
+ * @param args       The options for the chart, in the same format as on the command line.
+ */
+record ChartJob(Path outputPath, ParliamentaryGroup[] groups, String[] args) {
+}
@@ -0,0 +1,476 @@
+package net.filipvanlaenen.shecc;
+
+import java.math.BigDecimal;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A parser for the NDJSON input format, where every line contains a JSON object describing a chart. An example of such
+ * a line is:
+ *
+ * <pre>
+ * {"output": "plan.svg", "groups": [{"size": 19, "colors": ["FF0000"], "name": "Red, Inc.", "character": "R"},
+ *   {"size": {"lower": 41, "median": 46, "total": 48}, "colors": ["0000FF"]}], "options": {"title": "Plan"}}
+ * </pre>
+ *
+ * The size of a group is either an integer, or an object with a lower bound, a median and a total. The colors are
+ * six-digit hexadecimal numbers, and the name and the character are optional. The options are the same as on the
+ * command line, without the leading dashes, and their values can be strings, numbers or booleans.
+ *
+ * The parser only handles one line at a time, such that files with many lines can be processed in constant memory.
+ * Malformed input is rejected with an <code>IllegalArgumentException</code> with a message containing the position of
+ * the offending character, counting from one.
+ */
+final class ChartJobParser {
+    /**
+     * The radix for hexadecimal numbers.
+     */
+    private static final int HEXADECIMAL_RADIX = 16;
+    /**
+     * The number of hexadecimal digits in a color.
+     */
+    private static final int COLOR_LENGTH = 6;
+    /**
+     * The number of hexadecimal digits in a Unicode escape sequence.
+     */
+    private static final int UNICODE_ESCAPE_LENGTH = 4;
+
+    /**
+     * The line being parsed.
+     */
+    private final CharSequence input;
+    /**
+     * The length of the line.
+     */
+    private final int length;
+    /**
+     * The index of the next character to be scanned.
+     */
+    private int index;
+
+    /**
+     * Constructs a parser on a line.
+     *
+     * @param input The line.
+     */
+    private ChartJobParser(final CharSequence input) {
+        this.input = input;
+        this.length = input.length();
+    }
+
+    /**
+     * Parses a line in the NDJSON input format into a chart job.
+     *
+     * @param line The line.
+     * @return The chart job.
+     */
+    static ChartJob parse(final CharSequence line) {
+        ChartJobParser parser = new ChartJobParser(line);
+        Object value = parser.parseValue();
+        parser.skipWhitespace();
+        if (parser.index < parser.length) {
+            throw parser.createUnexpectedCharacterException("the end of the line");
+        }
+        if (!(value instanceof Map<?, ?> job)) {
+            throw new IllegalArgumentException("A chart job should be a JSON object.");
+        }
+        return createChartJob(job);
+    }
+
+    /**
+     * Creates a chart job from a parsed JSON object.
+     *
+     * @param job The parsed JSON object.
+     * @return The chart job.
+     */
+    private static ChartJob createChartJob(final Map<?, ?> job) {
+        String output = getString(job, "output", "chart job");
+        if (output == null) {
+            throw new IllegalArgumentException("The chart job is missing an output file.");
+        }
+        if (!(job.get("groups") instanceof List<?> groupList) || groupList.isEmpty()) {
+            throw new IllegalArgumentException("The chart job should contain a non-empty array of groups.");
+        }
+        ParliamentaryGroup[] groups = new ParliamentaryGroup[groupList.size()];
+        for (int i = 0; i < groups.length; i++) {
+            if (!(groupList.get(i) instanceof Map<?, ?> group)) {
+                throw new IllegalArgumentException("Group " + (i + 1) + " should be a JSON object.");
+            }
+            groups[i] = createParliamentaryGroup(i + 1, group);
+        }
+        Object options = job.get("options");
+        if (options != null && !(options instanceof Map<?, ?>)) {
+            throw new IllegalArgumentException("The options of the chart job should be a JSON object.");
+        }
+        List<String> args = new ArrayList<String>();
+        if (options != null) {
+            for (Map.Entry<?, ?> option : ((Map<?, ?>) options).entrySet()) {
+                args.add("--" + option.getKey() + "=" + toOptionValue(option.getKey(), option.getValue()));
+            }
+        }
+        return new ChartJob(Paths.get(output), groups, args.toArray(new String[args.size()]));
+    }
+
+    /**
+     * Creates a parliamentary group from a parsed JSON object.
+     *
+     * @param number The number of the group, counting from one, used in error messages.
+     * @param group  The parsed JSON object.
+     * @return The parliamentary group.
+     */
+    private static ParliamentaryGroup createParliamentaryGroup(final int number, final Map<?, ?> group) {
+        String description = "group " + number;
+        Object size = group.get("size");
+        GroupSize groupSize;
+        if (size instanceof BigDecimal simpleSize) {
+            groupSize = new SimpleGroupSize(toInt(simpleSize, "size of " + description));
+        } else if (size instanceof Map<?, ?> differentiatedSize) {
+            groupSize = new DifferentiatedGroupSize(getInt(differentiatedSize, "lower", description),
+                    getInt(differentiatedSize, "median", description),
+                    getInt(differentiatedSize, "total", description));
+        } else {
+            throw new IllegalArgumentException("The size of " + description
+                    + " should be an integer or an object with a lower, median and total.");
+        }
+        if (!(group.get("colors") instanceof List<?> colorList) || colorList.isEmpty()) {
+            throw new IllegalArgumentException("The colors of " + description + " should be a non-empty array.");
+        }
+        int[] colors = new int[colorList.size()];
+        for (int i = 0; i < colors.length; i++) {
+            colors[i] = toColor(colorList.get(i), description);
+        }
+        return new ParliamentaryGroup(groupSize, colors, getString(group, "name", description),
+                getString(group, "character", description));
+    }
+
+    /**
+     * Returns a string from a parsed JSON object, or <code>null</code> if it's absent.
+     *
+     * @param object      The parsed JSON object.
+     * @param key         The key of the string.
+     * @param description A description of the object, used in error messages.
+     * @return The string, or <code>null</code> if it's absent.
+     */
+    private static String getString(final Map<?, ?> object, final String key, final String description) {
+        Object value = object.get(key);
+        if (value != null && !(value instanceof String)) {
+            throw new IllegalArgumentException("The " + key + " of " + description + " should be a string.");
+        }
+        return (String) value;
+    }
+
+    /**
+     * Returns an integer from a parsed JSON object.
+     *
+     * @param object      The parsed JSON object.
+     * @param key         The key of the integer.
+     * @param description A description of the object, used in error messages.
+     * @return The integer.
+     */
+    private static int getInt(final Map<?, ?> object, final String key, final String description) {
+        if (!(object.get(key) instanceof BigDecimal number)) {
+            throw new IllegalArgumentException("The " + key + " size of " + description + " should be an integer.");
+        }
+        return toInt(number, key + " size of " + description);
+    }
+
+    /**
+     * Converts a parsed JSON number to a non-negative integer.
+     *
+     * @param number      The parsed JSON number.
+     * @param description A description of the number, used in error messages.
+     * @return The integer.
+     */
+    private static int toInt(final BigDecimal number, final String description) {
+        try {
+            int value = number.intValueExact();
+            if (value >= 0) {
+                return value;
+            }
+        } catch (ArithmeticException ae) {
+            // Handled below.
+        }
+        throw new IllegalArgumentException("The " + description + " should be a non-negative integer.");
+    }
+
+    /**
+     * Converts a parsed JSON value to a color.
+     *
+     * @param value       The parsed JSON value.
+     * @param description A description of the group, used in error messages.
+     * @return The color.
+     */
+    private static int toColor(final Object value, final String description) {
+        if (value instanceof String color && color.length() == COLOR_LENGTH
+                && color.chars().allMatch(c -> Character.digit(c, HEXADECIMAL_RADIX) >= 0)) {
+            return Integer.parseInt(color, HEXADECIMAL_RADIX);
+        }
+        throw new IllegalArgumentException(
+                "The colors of " + description + " should be six-digit hexadecimal numbers, found " + value + ".");
+    }
+
+    /**
+     * Converts the value of an option to a string in the same format as on the command line.
+     *
+     * @param key   The key of the option.
+     * @param value The parsed JSON value of the option.
+     * @return The value of the option as a string.
+     */
+    private static String toOptionValue(final Object key, final Object value) {
+        if (value instanceof String || value instanceof Boolean) {
+            return value.toString();
+        } else if (value instanceof BigDecimal number) {
+            return number.toPlainString();
+        }
+        throw new IllegalArgumentException("The option " + key + " should be a string, a number or a boolean.");
+    }
+
+    /**
+     * Parses a JSON value. Objects are returned as maps, arrays as lists, numbers as <code>BigDecimal</code>s, and
+     * <code>null</code> as <code>null</code>.
+     *
+     * @return The parsed value.
+     */
+    private Object parseValue() {
+        skipWhitespace();
+        if (index >= length) {
+            throw createUnexpectedCharacterException("a JSON value");
+        }
+        char c = input.charAt(index);
+        if (c == '{') {
+            return parseObject();
+        } else if (c == '[') {
+            return parseArray();
+        } else if (c == '"') {
+            return parseString();
+        } else if (c == '-' || c >= '0' && c <= '9') {
+            return parseNumber();
+        } else if (c == 't') {
+            return parseLiteral("true", Boolean.TRUE);
+        } else if (c == 'f') {
+            return parseLiteral("false", Boolean.FALSE);
+        } else if (c == 'n') {
+            return parseLiteral("null", null);
+        }
+        throw createUnexpectedCharacterException("a JSON value");
+    }
+
+    /**
+     * Parses a JSON object.
+     *
+     * @return The parsed object as a map, preserving the order of the keys.
+     */
+    private Map<String, Object> parseObject() {
+        Map<String, Object> object = new LinkedHashMap<String, Object>();
+        index++;
+        skipWhitespace();
+        if (index < length && input.charAt(index) == '}') {
+            index++;
+            return object;
+        }
+        while (true) {
+            skipWhitespace();
+            expect('"', "'\"'");
+            String key = parseString();
+            skipWhitespace();
+            expect(':', "':'");
+            index++;
+            object.put(key, parseValue());
+            skipWhitespace();
+            if (index < length && input.charAt(index) == ',') {
+                index++;
+            } else {
+                expect('}', "',' or '}'");
+                index++;
+                return object;
+            }
+        }
+    }
+
+    /**
+     * Parses a JSON array.
+     *
+     * @return The parsed array as a list.
+     */
+    private List<Object> parseArray() {
+        List<Object> array = new ArrayList<Object>();
+        index++;
+        skipWhitespace();
+        if (index < length && input.charAt(index) == ']') {
+            index++;
+            return array;
+        }
+        while (true) {
+            array.add(parseValue());
+            skipWhitespace();
+            if (index < length && input.charAt(index) == ',') {
+                index++;
+            } else {
+                expect(']', "',' or ']'");
+                index++;
+                return array;
+            }
+        }
+    }
+
+    /**
+     * Parses a JSON string, starting at the opening quote.
+     *
+     * @return The parsed string.
+     */
+    private String parseString() {
+        StringBuilder sb = new StringBuilder();
+        index++;
+        while (true) {
+            if (index >= length) {
+                throw createUnexpectedCharacterException("'\"'");
+            }
+            char c = input.charAt(index++);
+            if (c == '"') {
+                return sb.toString();
+            } else if (c == '\\') {
+                sb.append(parseEscapeSequence());
+            } else if (c < ' ') {
+                index--;
+                throw createUnexpectedCharacterException("an escape sequence for a control character");
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+
+    /**
+     * Parses an escape sequence in a JSON string, after the backslash.
+     *
+     * @return The escaped character.
+     */
+    private char parseEscapeSequence() {
+        if (index >= length) {
+            throw createUnexpectedCharacterException("an escape sequence");
+        }
+        char c = input.charAt(index++);
+        switch (c) {
+        case '"':
+        case '\\':
+        case '/':
+            return c;
+        case 'b':
+            return '\b';
+        case 'f':
+            return '\f';
+        case 'n':
+            return '\n';
+        case 'r':
+            return '\r';
+        case 't':
+            return '\t';
+        case 'u':
+            int codeUnit = 0;
+            for (int i = 0; i < UNICODE_ESCAPE_LENGTH; i++) {
+                int digit = index < length ? Character.digit(input.charAt(index), HEXADECIMAL_RADIX) : -1;
+                if (digit < 0) {
+                    throw createUnexpectedCharacterException("a hexadecimal digit");
+                }
+                codeUnit = codeUnit * HEXADECIMAL_RADIX + digit;
+                index++;
+            }
+            return (char) codeUnit;
+        default:
+            index--;
+            throw createUnexpectedCharacterException("an escape sequence");
+        }
+    }
+
+    /**
+     * Parses a JSON number.
+     *
+     * @return The parsed number.
+     */
+    private BigDecimal parseNumber() {
+        int start = index;
+        if (input.charAt(index) == '-') {
+            index++;
+        }
+        skipDigits();
+        if (index < length && input.charAt(index) == '.') {
+            index++;
+            skipDigits();
+        }
+        if (index < length && (input.charAt(index) == 'e' || input.charAt(index) == 'E')) {
+            index++;
+            if (index < length && (input.charAt(index) == '+' || input.charAt(index) == '-')) {
+                index++;
+            }
+            skipDigits();
+        }
+        return new BigDecimal(input.subSequence(start, index).toString());
+    }
+
+    /**
+     * Skips one or more digits.
+     */
+    private void skipDigits() {
+        int start = index;
+        while (index < length && input.charAt(index) >= '0' && input.charAt(index) <= '9') {
+            index++;
+        }
+        if (index == start) {
+            throw createUnexpectedCharacterException("a digit");
+        }
+    }
+
+    /**
+     * Parses a JSON literal.
+     *
+     * @param literal The literal.
+     * @param value   The value of the literal.
+     * @return The value of the literal.
+     */
+    private Object parseLiteral(final String literal, final Object value) {
+        for (int i = 0; i < literal.length(); i++) {
+            expect(literal.charAt(i), "'" + literal.charAt(i) + "'");
+            index++;
+        }
+        return value;
+    }
+
+    /**
+     * Skips whitespace.
+     */
+    private void skipWhitespace() {
+        while (index < length && (input.charAt(index) == ' ' || input.charAt(index) == '\t'
+                || input.charAt(index) == '\r' || input.charAt(index) == '\n')) {
+            index++;
+        }
+    }
+
+    /**
+     * Verifies that the next character is the expected character, without consuming it.
+     *
+     * @param expected    The expected character.
+     * @param description A description of the expected characters, used in error messages.
+     */
+    private void expect(final char expected, final String description) {
+        if (index >= length || input.charAt(index) != expected) {
+            throw createUnexpectedCharacterException(description);
+        }
+    }
+
+    /**
+     * Creates an exception for an unexpected character or an unexpected end of the line at the current position.
+     *
+     * @param description A description of the expected characters.
+     * @return An exception describing the error and its position.
+     */
+    private IllegalArgumentException createUnexpectedCharacterException(final String description) {
+        if (index >= length) {
+            return new IllegalArgumentException(
+                    "Unexpected end of the line at position " + (index + 1) + ", expected " + description + ".");
+        }
+        return new IllegalArgumentException("Unexpected character '" + input.charAt(index) + "' at position "
+                + (index + 1) + " of the line, expected " + description + ".");
+    }
+}
@@ -0,0 +1,194 @@
+package net.filipvanlaenen.shecc;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Class watching an input file with a groups definition, and re-rendering the chart every time the input file changes.
+ * Every non-empty line of the input file that doesn't start with a hash sign contains one or more group
+ * specifications, and the lines are joined together with commas. The options for the chart are taken from the command
+ * line.
+ *
+ * Bursts of file events, e.g. when an editor writes a file in several steps, are debounced, and the chart is written
+ * atomically, such that a viewer never sees a partially written chart. The hemicycle layouts are cached, such that an
+ * update where the total number of seats doesn't change doesn't have to calculate the layout again. The cache is
+ * bounded, such that a long editing session doesn't keep every layout it ever rendered in memory. If the input file
+ * can't be parsed, the error is reported and the previous chart is kept.
+ */
+final class ChartWatcher {
+    /**
+     * The prefix of a comment line.
+     */
+    private static final String COMMENT_PREFIX = "#";
+    /**
+     * The maximum number of hemicycle layouts in the cache.
+     */
+    static final int MAXIMUM_NUMBER_OF_CACHED_LAYOUTS = 16;
+
+    /**
+     * The arguments from the command line.
+     */
+    private final String[] args;
+    /**
+     * The debounce interval in milliseconds.
+     */
+    private final long debounceInterval;
+    /**
+     * The stream to which the errors should be reported.
+     */
+    private final PrintStream err;
+    /**
+     * The path of the input file.
+     */
+    private final Path inputPath;
+    /**
+     * The cache with the hemicycle layouts, bounded because the watcher runs for an unlimited time, and evicting the
+     * least recently used layout when it is full.
+     */
+    private final HemicycleLayoutCache layoutCache = new HemicycleLayoutCache(MAXIMUM_NUMBER_OF_CACHED_LAYOUTS);
+    /**
+     * The path of the output file.
+     */
+    private final Path outputPath;
+    /**
+     * The limits on the size of the charts.
+     */
+    private final RenderLimits limits;
+
+    /**
+     * Constructs a watcher.
+     *
+     * @param inputPath        The path of the input file.
+     * @param outputPath       The path of the output file.
+     * @param debounceInterval The debounce interval in milliseconds.
+     * @param err              The stream to which the errors should be reported.
+     * @param args             The arguments from the command line.
+     */
+    ChartWatcher(final Path inputPath, final Path outputPath, final long debounceInterval, final PrintStream err,
+            final String... args) {
+        this(inputPath, outputPath, debounceInterval, err, RenderLimits.UNLIMITED, args);
+    }
+
+    /**
+     * Constructs a watcher rejecting the charts that exceed a set of limits.
+     *
+     * @param inputPath        The path of the input file.
+     * @param outputPath       The path of the output file.
+     * @param debounceInterval The debounce interval in milliseconds.
+     * @param err              The stream to which the errors should be reported.
+     * @param limits           The limits on the size of the charts.
+     * @param args             The arguments from the command line.
+     */
+    ChartWatcher(final Path inputPath, final Path outputPath, final long debounceInterval, final PrintStream err,
+            final RenderLimits limits, final String... args) {
+        this.inputPath = inputPath.toAbsolutePath();
+        this.outputPath = outputPath;
+        this.debounceInterval = debounceInterval;
+        this.err = err;
+        this.args = args;
+        this.limits = limits;
+    }
+
+    /**
+     * Renders the chart once, and then every time the input file changes, until the thread is interrupted.
+     *
+     * @throws IOException Thrown if the directory of the input file can't be watched.
+     */
+    void watch() throws IOException {
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            inputPath.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            render();
+            while (!Thread.currentThread().isInterrupted()) {
+                if (isInputFileChanged(watchService.take())) {
+                    debounce(watchService);
+                    render();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until no more events for the input file arrive within the debounce interval.
+     *
+     * @param watchService The watch service.
+     * @throws InterruptedException Thrown if the thread is interrupted while waiting.
+     */
+    private void debounce(final WatchService watchService) throws InterruptedException {
+        WatchKey key;
+        while ((key = watchService.poll(debounceInterval, TimeUnit.MILLISECONDS)) != null) {
+            isInputFileChanged(key);
+        }
+    }
+
+    /**
+     * Checks whether the events on a watch key concern the input file, and resets the watch key.
+     *
+     * @param key The watch key.
+     * @return True if one of the events concerns the input file.
+     */
+    private boolean isInputFileChanged(final WatchKey key) {
+        boolean inputFileChanged = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path path && path.equals(inputPath.getFileName())) {
+                inputFileChanged = true;
+            }
+        }
+        key.reset();
+        return inputFileChanged;
+    }
+
+    /**
+     * Renders the chart from the input file and writes it to the output file. Errors are reported, and leave the
+     * output file untouched.
+     *
+     * @return True if the chart was rendered successfully.
+     */
+    boolean render() {
+        try {
+            String[] chartArgs = new String[args.length + 1];
+            System.arraycopy(args, 0, chartArgs, 0, args.length);
+            chartArgs[args.length] = readGroupsDefinition();
+            new CommandLineInterface(layoutCache, limits).performToFile(outputPath, chartArgs);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            err.println("Couldn't render " + inputPath + ": " + e);
+            return false;
+        }
+    }
+
+    /**
+     * Reads the groups definition from the input file.
+     *
+     * @return The groups definition.
+     * @throws IOException Thrown if the input file can't be read.
+     */
+    private String readGroupsDefinition() throws IOException {
+        List<String> lines = Files.readAllLines(inputPath, StandardCharsets.UTF_8);
+        return lines.stream().map(String::trim).filter(line -> !line.isEmpty() && !line.startsWith(COMMENT_PREFIX))
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Returns the cache with the hemicycle layouts.
+     *
+     * @return The cache with the hemicycle layouts.
+     */
+    HemicycleLayoutCache getLayoutCache() {
+        return layoutCache;
+    }
+}
@@ -0,0 +1,65 @@
+package net.filipvanlaenen.shecc;
+
+import java.io.IOException;
+
+/**
+ * Training run for a class-data-sharing (CDS) archive. The training run renders a small set of charts covering the
+ * code paths of the command-line interface, such that the classes loaded for <code>HemicycleLayout</code>,
+ * <code>RowConnectedSeatingPlan</code> and <code>SeatingPlanExporter</code>, including the classes of the
+ * dependencies, end up in the archive. The charts are rendered in memory, and nothing is written to the standard
+ * output.
+ *
+ * An archive is created by running this class with <code>-XX:ArchiveClassesAtExit</code>, and used by running the
+ * command-line interface with <code>-XX:SharedArchiveFile</code> and the same class path. The scripts in the
+ * <code>scripts</code> directory take care of this.
+ */
+final class ClassDataSharingTraining {
+    /**
+     * The arguments for the charts rendered during the training run.
+     */
+    private static final String[][] TRAINING_CHARTS = new String[][] {{"19.FF0000,11.00FF00,48.0000FF"},
+            {"19.FF0000..R,11.00FF00..G,48.0000FF..B", "--title=Title", "--subtitle=Subtitle"},
+            {"2:3:4.FF0000.Red Party.R,1:2:3.00FF00:FFFF00.Green-Yellow Alliance.G,4.0000FF.Blue Party.B",
+                    "--angle=270", "--background-color=EEEEEE", "--font-color=333333", "--font-family=Arial",
+                    "--copyright-notice=Training"},
+            {"2:3:4.FF0000.Red Party.R,1:2:3.00FF00:FFFF00.Green-Yellow Alliance.G,4.0000FF.Blue Party.B",
+                    "--styling=classes", "--title=Title"},
+            {"151.FF0000.Red,150.0000FF.Blue", "--parallel-rendering=true"}};
+    /**
+     * The arguments for the chart rendered as a PNG file during the training run.
+     */
+    private static final String[] TRAINING_PNG_CHART = new String[] {"19.FF0000..R,11.00FF00..G,48.0000FF..B",
+            "--format=png", "--pixel-width=200"};
+
+    /**
+     * Private constructor to prevent instantiation of this class.
+     */
+    private ClassDataSharingTraining() {
+    }
+
+    /**
+     * Main entry point for the training run.
+     *
+     * @param args The arguments from the command-line, which are ignored.
+     * @throws IOException Thrown if an error occurs while rendering a chart.
+     */
+    public static void main(final String... args) throws IOException {
+        train();
+    }
+
+    /**
+     * Renders all the charts of the training run in memory.
+     *
+     * @return The number of charts rendered.
+     * @throws IOException Thrown if an error occurs while rendering a chart.
+     */
+    static int train() throws IOException {
+        CommandLineInterface cli = new CommandLineInterface();
+        for (String[] chart : TRAINING_CHARTS) {
+            cli.perform(chart);
+            cli.perform(new StringBuilder(), chart);
+        }
+        cli.performAsPng(TRAINING_PNG_CHART);
+        return TRAINING_CHARTS.length + 1;
+    }
+}
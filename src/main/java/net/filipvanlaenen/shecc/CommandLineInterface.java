@@ -1,51 +1,378 @@
 package net.filipvanlaenen.shecc;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
+import net.filipvanlaenen.kolektoj.SortedCollection;
+import net.filipvanlaenen.shecc.export.Chamber;
+import net.filipvanlaenen.shecc.export.MeteredAppendable;
 import net.filipvanlaenen.shecc.export.SeatingPlanExporter;
+import net.filipvanlaenen.shecc.export.SeatingPlanRasterExporter;
+import net.filipvanlaenen.shecc.export.SvgSizeReport;
 
 /**
  * The command-line interface for this library.
  */
 public class CommandLineInterface {
     /**
-     * The index of the size in the parliamentary group encoding.
+     * Magic number sixteen, the base for parsing hexadecimal numbers.
      */
-    private static final int SIZE_INDEX = 0;
+    private static final int SIXTEEN = 16;
     /**
-     * The index of the color in the parliamentary group encoding.
+     * The option requesting the chart to be exported as a PNG file instead of an SVG file.
      */
-    private static final int COLOR_INDEX = 1;
+    private static final String PNG_FORMAT_OPTION = "--format=png";
     /**
-     * The index of the name in the parliamentary group encoding.
+     * The prefix of the option requesting a batch of charts to be rendered.
      */
-    private static final int NAME_INDEX = 2;
+    private static final String BATCH_OPTION_PREFIX = "--batch=";
     /**
-     * The index of the character in the parliamentary group encoding.
+     * The prefix of the option setting the number of workers in batch mode.
      */
-    private static final int CHARACTER_INDEX = 3;
+    private static final String WORKERS_OPTION_PREFIX = "--workers=";
     /**
-     * Magic number sixteen, the base for parsing hexadecimal numbers.
+     * The prefix of the option requesting the chart server to be started on a port.
      */
-    private static final int SIXTEEN = 16;
+    private static final String SERVE_OPTION_PREFIX = "--serve=";
+    /**
+     * The prefix of the option starting a daemon on a Unix domain socket.
+     */
+    private static final String DAEMON_OPTION_PREFIX = "--daemon=";
+    /**
+     * The prefix of the option setting the maximum number of charts rendered at the same time by the server.
+     */
+    private static final String CONCURRENCY_LIMIT_OPTION_PREFIX = "--concurrency-limit=";
+    /**
+     * The prefix of the option setting the request timeout of the server in milliseconds.
+     */
+    private static final String REQUEST_TIMEOUT_OPTION_PREFIX = "--request-timeout=";
+    /**
+     * The prefix of the option requesting an input file to be watched.
+     */
+    private static final String WATCH_OPTION_PREFIX = "--watch=";
+    /**
+     * The prefix of the option setting the output file.
+     */
+    private static final String OUTPUT_OPTION_PREFIX = "--output=";
+    /**
+     * The prefix of the option setting the debounce interval of the watch mode in milliseconds.
+     */
+    private static final String DEBOUNCE_OPTION_PREFIX = "--debounce=";
+    /**
+     * The prefix of the option printing statistics on the rendering to the standard error.
+     */
+    private static final String STATS_OPTION_PREFIX = "--stats=";
+    /**
+     * The prefix of the option running the benchmark for a number of seconds.
+     */
+    private static final String BENCHMARK_OPTION_PREFIX = "--benchmark=";
+    /**
+     * The prefix of the option setting the duration of the warm-up of the benchmark in seconds.
+     */
+    private static final String WARM_UP_OPTION_PREFIX = "--warm-up=";
+    /**
+     * The prefix of the option printing a report on the size of the SVG document instead of the document itself.
+     */
+    private static final String SIZE_REPORT_OPTION_PREFIX = "--size-report=";
+    /**
+     * The prefix of the option setting the title of a chamber.
+     */
+    private static final String CHAMBER_TITLE_OPTION_PREFIX = "--chamber-title=";
+    /**
+     * The prefix of the option setting the maximum number of seats in a chamber.
+     */
+    private static final String MAX_SEATS_OPTION_PREFIX = "--max-seats=";
+    /**
+     * The prefix of the option setting the maximum number of parliamentary groups in a chamber.
+     */
+    private static final String MAX_GROUPS_OPTION_PREFIX = "--max-groups=";
+    /**
+     * The prefix of the option setting the maximum number of colors of a parliamentary group.
+     */
+    private static final String MAX_COLORS_OPTION_PREFIX = "--max-colors=";
+    /**
+     * The prefix of the option setting the maximum number of bytes of the output.
+     */
+    private static final String MAX_OUTPUT_BYTES_OPTION_PREFIX = "--max-output-bytes=";
+    /**
+     * The default debounce interval of the watch mode in milliseconds.
+     */
+    private static final long DEFAULT_DEBOUNCE_INTERVAL = 100L;
+    /**
+     * The default maximum number of charts rendered at the same time by the server.
+     */
+    private static final int DEFAULT_CONCURRENCY_LIMIT = 64;
+    /**
+     * The default request timeout of the server in milliseconds.
+     */
+    private static final long DEFAULT_REQUEST_TIMEOUT = 10_000L;
+    /**
+     * The default duration of the warm-up of the benchmark in seconds.
+     */
+    private static final long DEFAULT_WARM_UP_DURATION = 10L;
+    /**
+     * The number of milliseconds in a second.
+     */
+    private static final long MILLISECONDS_PER_SECOND = 1_000L;
+
+    /**
+     * A cache with hemicycle layouts shared between charts, or <code>null</code> if the layouts shouldn't be cached.
+     */
+    private final HemicycleLayoutCache layoutCache;
+    /**
+     * The limits on the size of the charts.
+     */
+    private final RenderLimits limits;
+
+    /**
+     * Constructs a command-line interface without a cache for the hemicycle layouts.
+     */
+    CommandLineInterface() {
+        this(null);
+    }
+
+    /**
+     * Constructs a command-line interface sharing a cache for the hemicycle layouts with other instances.
+     *
+     * @param layoutCache A cache with hemicycle layouts, or <code>null</code> if the layouts shouldn't be cached.
+     */
+    CommandLineInterface(final HemicycleLayoutCache layoutCache) {
+        this(layoutCache, RenderLimits.UNLIMITED);
+    }
+
+    /**
+     * Constructs a command-line interface sharing a cache for the hemicycle layouts with other instances, and
+     * rejecting the charts that exceed a set of limits.
+     *
+     * @param layoutCache A cache with hemicycle layouts, or <code>null</code> if the layouts shouldn't be cached.
+     * @param limits      The limits on the size of the charts.
+     */
+    CommandLineInterface(final HemicycleLayoutCache layoutCache, final RenderLimits limits) {
+        this.layoutCache = layoutCache;
+        this.limits = limits;
+    }
 
     /**
      * Main entry point for the command-line interface.
      *
      * @param args The arguments from the command-line.
+     * @throws IOException          Thrown if an error occurs while writing a PNG file to the standard output.
+     * @throws InterruptedException Thrown if the benchmark is interrupted.
+     */
+    public static void main(final String... args) throws IOException, InterruptedException {
+        String benchmarkDuration = getOptionValue(BENCHMARK_OPTION_PREFIX, args);
+        String port = getOptionValue(SERVE_OPTION_PREFIX, args);
+        String socketFileName = getOptionValue(DAEMON_OPTION_PREFIX, args);
+        String batchFileName = getOptionValue(BATCH_OPTION_PREFIX, args);
+        String watchFileName = getOptionValue(WATCH_OPTION_PREFIX, args);
+        String outputFileName = getOptionValue(OUTPUT_OPTION_PREFIX, args);
+        RenderLimits limits = parseLimits(args);
+        boolean statisticsRequested = Boolean.parseBoolean(getOptionValue(STATS_OPTION_PREFIX, args));
+        if (benchmarkDuration != null) {
+            System.out.print(runBenchmark(Long.parseLong(benchmarkDuration), args));
+        } else if (port != null) {
+            serve(Integer.parseInt(port), limits, args);
+        } else if (socketFileName != null) {
+            startDaemon(socketFileName, limits, args);
+        } else if (watchFileName != null) {
+            watch(watchFileName, limits, args);
+        } else if (batchFileName != null) {
+            if (renderBatch(batchFileName, limits, args) > 0) {
+                System.exit(1);
+            }
+        } else if (statisticsRequested && (outputFileName != null || isPngFormatRequested(args)
+                || Boolean.parseBoolean(getOptionValue(SIZE_REPORT_OPTION_PREFIX, args)))) {
+            throw new IllegalArgumentException(
+                    "Statistics can only be printed for an SVG document written to the standard output.");
+        } else if (outputFileName != null) {
+            new CommandLineInterface(null, limits).performToFile(Paths.get(outputFileName), args);
+        } else if (isPngFormatRequested(args)) {
+            System.out.write(new CommandLineInterface(null, limits).performAsPng(args));
+            System.out.flush();
+        } else if (Boolean.parseBoolean(getOptionValue(SIZE_REPORT_OPTION_PREFIX, args))) {
+            System.out.print(new CommandLineInterface(null, limits).performSizeAnalysis(args));
+        } else if (statisticsRequested) {
+            RenderStatistics statistics = new RenderStatistics();
+            System.out.println(new CommandLineInterface(null, limits).perform(statistics, args));
+            System.err.println(statistics);
+        } else {
+            System.out.println(new CommandLineInterface(null, limits).perform(args));
+        }
+    }
+
+    /**
+     * Runs the benchmark with its fixed workload.
+     *
+     * @param benchmarkDuration The duration of the measurement in seconds.
+     * @param args              The arguments from the command-line.
+     * @return A report with the results of the benchmark.
+     * @throws InterruptedException Thrown if the benchmark is interrupted.
+     */
+    private static String runBenchmark(final long benchmarkDuration, final String... args)
+            throws InterruptedException {
+        String noOfWorkers = getOptionValue(WORKERS_OPTION_PREFIX, args);
+        String warmUpDuration = getOptionValue(WARM_UP_OPTION_PREFIX, args);
+        return new RenderBenchmark(noOfWorkers == null ? 1 : Integer.parseInt(noOfWorkers),
+                (warmUpDuration == null ? DEFAULT_WARM_UP_DURATION : Long.parseLong(warmUpDuration))
+                        * MILLISECONDS_PER_SECOND,
+                benchmarkDuration * MILLISECONDS_PER_SECOND).run();
+    }
+
+    /**
+     * Parses the limits on the size of the charts from the command-line. A limit that isn't set is unlimited.
+     *
+     * @param args The arguments from the command-line.
+     * @return The limits on the size of the charts.
+     */
+    static RenderLimits parseLimits(final String... args) {
+        String maximumNumberOfSeats = getOptionValue(MAX_SEATS_OPTION_PREFIX, args);
+        String maximumNumberOfGroups = getOptionValue(MAX_GROUPS_OPTION_PREFIX, args);
+        String maximumNumberOfColorsPerGroup = getOptionValue(MAX_COLORS_OPTION_PREFIX, args);
+        String maximumOutputBytes = getOptionValue(MAX_OUTPUT_BYTES_OPTION_PREFIX, args);
+        return new RenderLimits(
+                maximumNumberOfSeats == null ? Integer.MAX_VALUE : Integer.parseInt(maximumNumberOfSeats),
+                maximumNumberOfGroups == null ? Integer.MAX_VALUE : Integer.parseInt(maximumNumberOfGroups),
+                maximumNumberOfColorsPerGroup == null ? Integer.MAX_VALUE
+                        : Integer.parseInt(maximumNumberOfColorsPerGroup),
+                maximumOutputBytes == null ? Long.MAX_VALUE : Long.parseLong(maximumOutputBytes));
+    }
+
+    /**
+     * Starts a server rendering charts over HTTP.
+     *
+     * @param port   The port to listen on.
+     * @param limits The limits on the size of the charts.
+     * @param args   The arguments from the command-line.
+     * @throws IOException Thrown if the server can't be bound to the port.
+     */
+    private static void serve(final int port, final RenderLimits limits, final String... args) throws IOException {
+        String concurrencyLimit = getOptionValue(CONCURRENCY_LIMIT_OPTION_PREFIX, args);
+        String requestTimeout = getOptionValue(REQUEST_TIMEOUT_OPTION_PREFIX, args);
+        RenderServer server = new RenderServer(port,
+                concurrencyLimit == null ? DEFAULT_CONCURRENCY_LIMIT : Integer.parseInt(concurrencyLimit),
+                requestTimeout == null ? DEFAULT_REQUEST_TIMEOUT : Long.parseLong(requestTimeout), limits);
+        server.start();
+        System.err.println("Listening on port " + server.getPort() + ".");
+    }
+
+    /**
+     * Starts a daemon rendering charts over a Unix domain socket. The socket file is removed when the Java virtual
+     * machine shuts down.
+     *
+     * @param socketFileName The name of the socket file.
+     * @param limits         The limits on the size of the charts.
+     * @param args           The arguments from the command-line.
+     * @throws IOException Thrown if the daemon can't be bound to the socket.
+     */
+    private static void startDaemon(final String socketFileName, final RenderLimits limits, final String... args)
+            throws IOException {
+        String concurrencyLimit = getOptionValue(CONCURRENCY_LIMIT_OPTION_PREFIX, args);
+        RenderDaemon daemon = new RenderDaemon(Paths.get(socketFileName),
+                concurrencyLimit == null ? DEFAULT_CONCURRENCY_LIMIT : Integer.parseInt(concurrencyLimit), limits);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                daemon.stop();
+            } catch (IOException ioe) {
+                System.err.println("Couldn't remove the socket file: " + ioe.getMessage());
+            }
+        }));
+        daemon.start();
+        System.err.println("Listening on " + daemon.getSocketPath() + ".");
+    }
+
+    /**
+     * Watches an input file with a groups definition, and re-renders the chart every time the input file changes.
+     *
+     * @param watchFileName The name of the input file.
+     * @param limits        The limits on the size of the charts.
+     * @param args          The arguments from the command-line.
+     * @throws IOException Thrown if the input file can't be watched.
      */
-    public static void main(final String... args) {
-        System.out.println(new CommandLineInterface().perform(args));
+    private static void watch(final String watchFileName, final RenderLimits limits, final String... args)
+            throws IOException {
+        String outputFileName = getOptionValue(OUTPUT_OPTION_PREFIX, args);
+        if (outputFileName == null) {
+            throw new IllegalArgumentException("The watch mode requires an output file, specified with --output.");
+        }
+        String debounceInterval = getOptionValue(DEBOUNCE_OPTION_PREFIX, args);
+        new ChartWatcher(Paths.get(watchFileName), Paths.get(outputFileName),
+                debounceInterval == null ? DEFAULT_DEBOUNCE_INTERVAL : Long.parseLong(debounceInterval), System.err,
+                limits, args).watch();
     }
 
     /**
-     * Parses a string representing a hexadecimal integer into an integer.
+     * Renders a batch of charts, reading the batch from a file or from the standard input.
      *
-     * @param s The string to be parsed.
-     * @return An integer.
+     * @param batchFileName The name of the batch file, or <code>-</code> for the standard input.
+     * @param limits        The limits on the size of the charts.
+     * @param args          The arguments from the command-line.
+     * @return The number of lines that failed.
+     * @throws IOException Thrown if an error occurs while reading the batch.
+     */
+    private static int renderBatch(final String batchFileName, final RenderLimits limits, final String... args)
+            throws IOException {
+        String noOfWorkers = getOptionValue(WORKERS_OPTION_PREFIX, args);
+        BatchRenderer batchRenderer = new BatchRenderer(
+                noOfWorkers == null ? Runtime.getRuntime().availableProcessors() : Integer.parseInt(noOfWorkers),
+                limits, args);
+        if (batchFileName.equals("-")) {
+            return batchRenderer.render(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+                    System.err);
+        }
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(batchFileName))) {
+            return batchRenderer.render(reader, System.err);
+        }
+    }
+
+    /**
+     * Returns the value of an option, or <code>null</code> if the option isn't present.
+     *
+     * @param prefix The prefix of the option, including the equal sign.
+     * @param args   The arguments from the command-line.
+     * @return The value of the option, or <code>null</code> if the option isn't present.
+     */
+    private static String getOptionValue(final String prefix, final String... args) {
+        for (String argument : args) {
+            if (argument.startsWith(prefix)) {
+                return argument.substring(prefix.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the values of an option that can be repeated, in the order in which they appear.
+     *
+     * @param prefix The prefix of the option, including the equal sign.
+     * @param args   The arguments from the command-line.
+     * @return A list with the values of the option, empty if the option isn't present.
+     */
+    private static List<String> getOptionValues(final String prefix, final String... args) {
+        List<String> values = new ArrayList<String>();
+        for (String argument : args) {
+            if (argument.startsWith(prefix)) {
+                values.add(argument.substring(prefix.length()));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns whether the chart should be exported as a PNG file.
+     *
+     * @param args The arguments from the command-line.
+     * @return True if the chart should be exported as a PNG file.
      */
-    private static int parseHexadecimal(final String s) {
-        return Integer.parseInt(s, SIXTEEN);
+    static boolean isPngFormatRequested(final String... args) {
+        return Arrays.asList(args).contains(PNG_FORMAT_OPTION);
     }
 
     /**
@@ -55,44 +382,368 @@ public class CommandLineInterface {
      * @return Whatever was requested by the user from the command-line.
      */
     String perform(final String... args) {
+        CommandLineRequestEvent event = new CommandLineRequestEvent();
+        event.begin();
         SeatingPlanExporter exporter = new SeatingPlanExporter();
-        String groupsDefinition = parseArgumentsAndReturnGroupsDefinitionString(exporter, args);
-        String[] groupdefinitions = groupsDefinition.split(",");
-        ParliamentaryGroup[] groups = new ParliamentaryGroup[groupdefinitions.length];
+        Chamber[] chambers = createChambers(exporter, args);
+        String result = chambers.length == 1 ? exporter.export(chambers[0].plan()) : exporter.export(chambers);
+        limits.checkOutput(result);
+        if (event.shouldCommit()) {
+            event.setChart(CommandLineRequestEvent.SVG_FORMAT, chambers,
+                    result.getBytes(StandardCharsets.UTF_8).length);
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Performs the action requested from the command-line, measuring the wall time and the allocated bytes for every
+     * stage, and counting the seats, the rows, the elements and the size of the output.
+     *
+     * @param statistics The statistics to which the measurements should be added.
+     * @param args       The arguments from the command-line.
+     * @return Whatever was requested by the user from the command-line.
+     */
+    String perform(final RenderStatistics statistics, final String... args) {
+        CommandLineRequestEvent event = new CommandLineRequestEvent();
+        event.begin();
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        Chamber[] chambers = createChambers(exporter, statistics, args);
+        String result;
+        if (chambers.length == 1) {
+            result = exporter.export(chambers[0].plan(), statistics);
+        } else {
+            statistics.startStage(RenderStatistics.WRITING_STAGE);
+            result = exporter.export(chambers);
+            statistics.endStage();
+        }
+        limits.checkOutput(result);
+        statistics.addToCount(RenderStatistics.ELEMENTS_COUNT, RenderStatistics.countElements(result));
+        int outputBytes = result.getBytes(StandardCharsets.UTF_8).length;
+        statistics.addToCount(RenderStatistics.OUTPUT_BYTES_COUNT, outputBytes);
+        if (event.shouldCommit()) {
+            event.setChart(CommandLineRequestEvent.SVG_FORMAT, chambers, outputBytes);
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Performs the action requested from the command-line, but returns a report on the size of the SVG document
+     * instead of the document itself.
+     *
+     * @param args The arguments from the command-line.
+     * @return A report on the size of the SVG document requested by the user from the command-line.
+     */
+    SvgSizeReport performSizeAnalysis(final String... args) {
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        List<String> groupsDefinitions = parseArgumentsAndReturnGroupsDefinitionStrings(exporter, args);
+        if (groupsDefinitions.size() > 1) {
+            throw new IllegalArgumentException("A size report can only be produced for a single chamber.");
+        }
+        ParliamentaryGroup[] groups = parseGroups(groupsDefinitions.isEmpty() ? null : groupsDefinitions.get(0));
+        exporter.setDisplayLegend(isAtLeastOneNamePresent(groups));
+        return exporter.analyzeSize(createSeatingPlan(exporter, groups, layoutCache));
+    }
+
+    /**
+     * Performs the action requested from the command-line, writing the chart to an appendable. If the command-line
+     * request event is enabled, the bytes written are counted to report the size of the chart.
+     *
+     * @param out  The appendable to which the chart should be written.
+     * @param args The arguments from the command-line.
+     * @throws IOException Thrown if an error occurs while writing to the appendable.
+     */
+    void perform(final Appendable out, final String... args) throws IOException {
+        CommandLineRequestEvent event = new CommandLineRequestEvent();
+        event.begin();
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        Chamber[] chambers = createChambers(exporter, args);
+        MeteredAppendable meteredOut = event.isEnabled() ? new MeteredAppendable(out) : null;
+        Appendable limitedOut = limits.limitOutput(meteredOut == null ? out : meteredOut);
+        if (chambers.length == 1) {
+            exporter.export(chambers[0].plan(), limitedOut);
+        } else {
+            exporter.export(chambers, limitedOut);
+        }
+        if (event.shouldCommit()) {
+            event.setChart(CommandLineRequestEvent.SVG_FORMAT, chambers, meteredOut.getNumberOfBytes());
+            event.commit();
+        }
+    }
+
+    /**
+     * Performs the action requested from the command-line, writing the chart to a file atomically. An SVG file is
+     * written encoded in UTF-8 as it's produced.
+     *
+     * @param path The path of the file.
+     * @param args The arguments from the command-line.
+     * @throws IOException Thrown if an error occurs while writing the file.
+     */
+    void performToFile(final Path path, final String... args) throws IOException {
+        performToFile(path, null, args);
+    }
+
+    /**
+     * Performs the action requested from the command-line for a set of parliamentary groups, writing the chart to a
+     * file atomically. An SVG file is written encoded in UTF-8 as it's produced.
+     *
+     * @param path   The path of the file.
+     * @param groups The parliamentary groups, or <code>null</code> if they should be parsed from the arguments.
+     * @param args   The arguments from the command-line.
+     * @throws IOException Thrown if an error occurs while writing the file.
+     */
+    void performToFile(final Path path, final ParliamentaryGroup[] groups, final String... args) throws IOException {
+        CommandLineRequestEvent event = new CommandLineRequestEvent();
+        event.begin();
+        Chamber[] chambers;
+        if (isPngFormatRequested(args)) {
+            SeatingPlanRasterExporter exporter = new SeatingPlanRasterExporter();
+            RowConnectedSeatingPlan plan = createSeatingPlan(exporter, groups, args);
+            byte[] png = exporter.exportToPng(plan);
+            limits.checkOutput(png);
+            AtomicFileWriter.write(path, png);
+            chambers = new Chamber[] {new Chamber(null, plan)};
+        } else if (groups == null) {
+            SeatingPlanExporter exporter = new SeatingPlanExporter();
+            chambers = createChambers(exporter, args);
+            if (chambers.length == 1) {
+                AtomicFileWriter.write(path, writer -> exporter.export(chambers[0].plan(), limits.limitOutput(writer)));
+            } else {
+                AtomicFileWriter.write(path, writer -> exporter.export(chambers, limits.limitOutput(writer)));
+            }
+        } else {
+            SeatingPlanExporter exporter = new SeatingPlanExporter();
+            RowConnectedSeatingPlan plan = createSeatingPlan(exporter, groups, args);
+            AtomicFileWriter.write(path, writer -> exporter.export(plan, limits.limitOutput(writer)));
+            chambers = new Chamber[] {new Chamber(null, plan)};
+        }
+        if (event.shouldCommit()) {
+            event.setChart(isPngFormatRequested(args) ? CommandLineRequestEvent.PNG_FORMAT
+                    : CommandLineRequestEvent.SVG_FORMAT, chambers, Files.size(path));
+            event.commit();
+        }
+    }
+
+    /**
+     * Performs the action requested from the command-line, exporting the chart as a PNG file.
+     *
+     * @param args The arguments from the command-line.
+     * @return A byte array with the PNG file requested by the user from the command-line.
+     * @throws IOException Thrown if an error occurs while encoding the image.
+     */
+    byte[] performAsPng(final String... args) throws IOException {
+        CommandLineRequestEvent event = new CommandLineRequestEvent();
+        event.begin();
+        SeatingPlanRasterExporter exporter = new SeatingPlanRasterExporter();
+        RowConnectedSeatingPlan plan = createSeatingPlan(exporter, args);
+        byte[] result = exporter.exportToPng(plan);
+        limits.checkOutput(result);
+        if (event.shouldCommit()) {
+            event.setChart(CommandLineRequestEvent.PNG_FORMAT, new Chamber[] {new Chamber(null, plan)}, result.length);
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Creates the seating plan requested from the command-line, and configures the exporter accordingly.
+     *
+     * @param exporter The exporter on which to apply the arguments.
+     * @param args     The arguments from the command-line.
+     * @return The seating plan requested from the command-line.
+     */
+    private RowConnectedSeatingPlan createSeatingPlan(final SeatingPlanExporter exporter, final String... args) {
+        return createSeatingPlan(exporter, null, args);
+    }
+
+    /**
+     * Creates the seating plan for a set of parliamentary groups, and configures the exporter according to the
+     * arguments from the command-line.
+     *
+     * @param exporter     The exporter on which to apply the arguments.
+     * @param parsedGroups The parliamentary groups, or <code>null</code> if they should be parsed from the arguments.
+     * @param args         The arguments from the command-line.
+     * @return The seating plan.
+     */
+    private RowConnectedSeatingPlan createSeatingPlan(final SeatingPlanExporter exporter,
+            final ParliamentaryGroup[] parsedGroups, final String... args) {
+        List<String> groupsDefinitions = parseArgumentsAndReturnGroupsDefinitionStrings(exporter, args);
+        if (parsedGroups == null && groupsDefinitions.size() > 1) {
+            throw new IllegalArgumentException("Several chambers can only be exported to an SVG file.");
+        }
+        ParliamentaryGroup[] groups;
+        if (parsedGroups == null) {
+            groups = parseGroups(groupsDefinitions.isEmpty() ? null : groupsDefinitions.get(0));
+        } else {
+            limits.check(parsedGroups);
+            groups = parsedGroups;
+        }
+        exporter.setDisplayLegend(isAtLeastOneNamePresent(groups));
+        return createSeatingPlan(exporter, groups, layoutCache);
+    }
+
+    /**
+     * Creates the chambers requested from the command-line, one for each groups definition, and configures the
+     * exporter accordingly. The titles of the chambers are taken from the chamber title options, in the order in
+     * which they appear.
+     *
+     * @param exporter The exporter on which to apply the arguments.
+     * @param args     The arguments from the command-line.
+     * @return The chambers requested from the command-line.
+     */
+    private Chamber[] createChambers(final SeatingPlanExporter exporter, final String... args) {
+        return createChambers(exporter, null, args);
+    }
+
+    /**
+     * Creates the chambers requested from the command-line, one for each groups definition, and configures the
+     * exporter accordingly, optionally measuring the parsing, the layout and the seating as stages. The titles of the
+     * chambers are taken from the chamber title options, in the order in which they appear, unless there's only one
+     * chamber.
+     *
+     * If the command-line interface has no cache with hemicycle layouts, a temporary one is used, such that the
+     * exporter doesn't have to calculate the layouts of the chambers a second time.
+     *
+     * @param exporter   The exporter on which to apply the arguments.
+     * @param statistics The statistics to which the measurements should be added, or <code>null</code> if nothing
+     *                   should be measured.
+     * @param args       The arguments from the command-line.
+     * @return The chambers requested from the command-line.
+     */
+    private Chamber[] createChambers(final SeatingPlanExporter exporter, final RenderStatistics statistics,
+            final String... args) {
+        startStage(statistics, RenderStatistics.PARSING_STAGE);
+        List<String> groupsDefinitions = parseArgumentsAndReturnGroupsDefinitionStrings(exporter, args);
+        ParliamentaryGroup[][] groups = new ParliamentaryGroup[Math.max(1, groupsDefinitions.size())][];
+        for (int j = 0; j < groups.length; j++) {
+            groups[j] = parseGroups(groupsDefinitions.isEmpty() ? null : groupsDefinitions.get(j));
+        }
+        endStage(statistics);
+        List<String> chamberTitles = getOptionValues(CHAMBER_TITLE_OPTION_PREFIX, args);
+        HemicycleLayoutCache chamberLayoutCache = layoutCache == null ? new HemicycleLayoutCache() : layoutCache;
+        Chamber[] chambers = new Chamber[groups.length];
         boolean atLeastOneNamePresent = false;
-        for (int i = 0; i < groupdefinitions.length; i++) {
-            String[] attributes = groupdefinitions[i].split("\\.");
-            GroupSize size = GroupSize.parseGroupSize(attributes[SIZE_INDEX]);
-            int[] colors = Arrays.stream(attributes[COLOR_INDEX].split(":"))
-                    .mapToInt(CommandLineInterface::parseHexadecimal).toArray();
-            String name = attributes.length > NAME_INDEX ? attributes[NAME_INDEX] : null;
-            atLeastOneNamePresent |= name != null && !name.isEmpty();
-            String character = attributes.length > CHARACTER_INDEX ? attributes[CHARACTER_INDEX] : null;
-            groups[i] = new ParliamentaryGroup(size, colors, name, character);
+        for (int j = 0; j < chambers.length; j++) {
+            atLeastOneNamePresent |= isAtLeastOneNamePresent(groups[j]);
+            startStage(statistics, RenderStatistics.LAYOUT_STAGE);
+            HemicycleLayout layout = createLayout(exporter, groups[j], chamberLayoutCache);
+            SortedCollection<SeatPosition> seatPositions = layout.getSeatPositions();
+            startStage(statistics, RenderStatistics.SEATING_STAGE);
+            RowConnectedSeatingPlan plan = new RowConnectedSeatingPlan(seatPositions, groups[j]);
+            endStage(statistics);
+            if (statistics != null) {
+                statistics.addToCount(RenderStatistics.SEATS_COUNT, plan.getNumberOfSeats());
+                statistics.addToCount(RenderStatistics.ROWS_COUNT, layout.getNumberOfRows());
+            }
+            chambers[j] = new Chamber(chambers.length > 1 && j < chamberTitles.size() ? chamberTitles.get(j) : null,
+                    plan);
+        }
+        exporter.setDisplayLegend(atLeastOneNamePresent);
+        return chambers;
+    }
+
+    /**
+     * Starts a stage on the statistics, ending the stage that's running, unless there are no statistics.
+     *
+     * @param statistics The statistics, or <code>null</code> if nothing should be measured.
+     * @param stage      The name of the stage.
+     */
+    private static void startStage(final RenderStatistics statistics, final String stage) {
+        if (statistics != null) {
+            statistics.startStage(stage);
+        }
+    }
+
+    /**
+     * Ends the stage that's running on the statistics, unless there are no statistics.
+     *
+     * @param statistics The statistics, or <code>null</code> if nothing should be measured.
+     */
+    private static void endStage(final RenderStatistics statistics) {
+        if (statistics != null) {
+            statistics.endStage();
         }
+    }
+
+    /**
+     * Parses a groups definition, and checks the parliamentary groups against the limits on the size of the charts.
+     *
+     * @param groupsDefinition The groups definition, or <code>null</code> if none was provided.
+     * @return The parliamentary groups.
+     */
+    private ParliamentaryGroup[] parseGroups(final String groupsDefinition) {
+        ParliamentaryGroup[] groups = GroupsDefinitionParser.parse(groupsDefinition);
+        limits.check(groups);
+        return groups;
+    }
+
+    /**
+     * Returns whether at least one of the parliamentary groups has a name.
+     *
+     * @param groups The parliamentary groups.
+     * @return True if at least one of the parliamentary groups has a name.
+     */
+    private static boolean isAtLeastOneNamePresent(final ParliamentaryGroup[] groups) {
+        for (ParliamentaryGroup parliamentaryGroup : groups) {
+            String name = parliamentaryGroup.getName();
+            if (name != null && !name.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates the seating plan for a set of parliamentary groups.
+     *
+     * @param exporter         The exporter holding the angle, and on which to set the cache with hemicycle layouts.
+     * @param groups           The parliamentary groups.
+     * @param plansLayoutCache A cache with hemicycle layouts, or <code>null</code> if the layouts shouldn't be cached.
+     * @return The seating plan.
+     */
+    private static RowConnectedSeatingPlan createSeatingPlan(final SeatingPlanExporter exporter,
+            final ParliamentaryGroup[] groups, final HemicycleLayoutCache plansLayoutCache) {
+        return new RowConnectedSeatingPlan(createLayout(exporter, groups, plansLayoutCache).getSeatPositions(), groups);
+    }
+
+    /**
+     * Creates the hemicycle layout for a set of parliamentary groups.
+     *
+     * @param exporter         The exporter holding the angle, and on which to set the cache with hemicycle layouts.
+     * @param groups           The parliamentary groups.
+     * @param plansLayoutCache A cache with hemicycle layouts, or <code>null</code> if the layouts shouldn't be cached.
+     * @return The hemicycle layout.
+     */
+    private static HemicycleLayout createLayout(final SeatingPlanExporter exporter,
+            final ParliamentaryGroup[] groups, final HemicycleLayoutCache plansLayoutCache) {
         int numberOfSeats = 0;
         for (ParliamentaryGroup parliamentaryGroup : groups) {
             numberOfSeats += parliamentaryGroup.getSize().getFullSize();
         }
-        HemicycleLayout layout = new HemicycleLayout(numberOfSeats, exporter.getAngle());
-        RowConnectedSeatingPlan plan = new RowConnectedSeatingPlan(layout.getSeatPositions(), groups);
-        exporter.setDisplayLegend(atLeastOneNamePresent);
-        return exporter.export(plan);
+        HemicycleLayout layout;
+        if (plansLayoutCache == null) {
+            layout = new HemicycleLayout(numberOfSeats, exporter.getAngle());
+        } else {
+            layout = plansLayoutCache.get(numberOfSeats, exporter.getAngle());
+            exporter.setLayoutCache(plansLayoutCache);
+        }
+        return layout;
     }
 
     /**
-     * Parses all arguments and sets them on the exporter, and returns the argument containing the groups definitions.
+     * Parses all arguments and sets them on the exporter, and returns the arguments containing the groups definitions.
      *
      * @param exporter The exporter on which to apply the arguments.
      * @param args     The arguments from the command-line.
-     * @return The argument with the groups definition.
+     * @return The arguments with the groups definitions, in the order in which they appear.
      */
-    private String parseArgumentsAndReturnGroupsDefinitionString(final SeatingPlanExporter exporter,
+    private List<String> parseArgumentsAndReturnGroupsDefinitionStrings(final SeatingPlanExporter exporter,
             final String... args) {
-        String groupsDefinition = null;
+        List<String> groupsDefinitions = new ArrayList<String>();
         for (String argument : args) {
             if (argument.startsWith("--")) {
-                String[] keyValue = argument.substring(2).split("=");
+                String[] keyValue = argument.substring(2).split("=", 2);
                 String key = keyValue[0];
                 String value = keyValue[1];
                 if (key.equals("angle")) {
@@ -107,16 +758,24 @@ public class CommandLineInterface {
                     exporter.setFontFamily(value);
                 } else if (key.equals("legend-label-width-ratio")) {
                     exporter.setLegendLabelWidthRatio(Integer.parseInt(value));
+                } else if (key.equals("parallel-rendering")) {
+                    exporter.setParallelRendering(Boolean.parseBoolean(value));
+                } else if (key.equals("pixel-height") && exporter instanceof SeatingPlanRasterExporter rasterExporter) {
+                    rasterExporter.setPixelHeight(Integer.parseInt(value));
+                } else if (key.equals("pixel-width") && exporter instanceof SeatingPlanRasterExporter rasterExporter) {
+                    rasterExporter.setPixelWidth(Integer.parseInt(value));
+                } else if (key.equals("styling")) {
+                    exporter.setClassBasedStyling(value.equals("classes"));
                 } else if (key.equals("subtitle")) {
                     exporter.setSubtitle(value);
                 } else if (key.equals("title")) {
                     exporter.setTitle(value);
                 }
             } else {
-                groupsDefinition = argument;
+                groupsDefinitions.add(argument);
             }
         }
-        return groupsDefinition;
+        return groupsDefinitions;
     }
 
 }
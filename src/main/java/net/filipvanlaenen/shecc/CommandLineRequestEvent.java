@@ -0,0 +1,86 @@
+package net.filipvanlaenen.shecc;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import net.filipvanlaenen.shecc.export.Chamber;
+
+/**
+ * A Java Flight Recorder event for a request to the command-line interface, whether it comes from the command line, a
+ * batch file, the server or the daemon. The event is disabled by default, and can be enabled in a recording with
+ * <code>+net.filipvanlaenen.shecc.CommandLineRequest#enabled=true</code>.
+ */
+@Name("net.filipvanlaenen.shecc.CommandLineRequest")
+@Label("Command-Line Request")
+@Category("SHecC")
+@Description("Rendering of a chart requested through the command-line interface.")
+@Enabled(false)
+@StackTrace(false)
+final class CommandLineRequestEvent extends Event {
+    /**
+     * The name of the SVG format.
+     */
+    static final String SVG_FORMAT = "svg";
+    /**
+     * The name of the PNG format.
+     */
+    static final String PNG_FORMAT = "png";
+
+    /**
+     * The format of the chart.
+     */
+    @Label("Format")
+    private String format;
+    /**
+     * The number of chambers in the chart.
+     */
+    @Label("Chambers")
+    private int chambers;
+    /**
+     * The total number of seats in the chart.
+     */
+    @Label("Seats")
+    private int seats;
+    /**
+     * The total number of parliamentary groups in the chart.
+     */
+    @Label("Groups")
+    private int groups;
+    /**
+     * The total number of colors of the parliamentary groups in the chart.
+     */
+    @Label("Colors")
+    private int colors;
+    /**
+     * The size of the chart in bytes.
+     */
+    @Label("Output Size")
+    @DataAmount
+    private long outputSize;
+
+    /**
+     * Sets the fields describing the chart.
+     *
+     * @param chartFormat The format of the chart.
+     * @param charted     The chambers in the chart.
+     * @param size        The size of the chart in bytes.
+     */
+    void setChart(final String chartFormat, final Chamber[] charted, final long size) {
+        format = chartFormat;
+        chambers = charted.length;
+        for (Chamber chamber : charted) {
+            RowConnectedSeatingPlan plan = chamber.plan();
+            seats += plan.getNumberOfSeats();
+            for (ParliamentaryGroup parliamentaryGroup : plan.getParliamentaryGroups()) {
+                groups++;
+                colors += parliamentaryGroup.getColors().length;
+            }
+        }
+        outputSize = size;
+    }
+}
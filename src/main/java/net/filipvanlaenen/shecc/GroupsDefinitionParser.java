@@ -0,0 +1,222 @@
+package net.filipvanlaenen.shecc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A single-pass parser for groups definitions, as described in the README file. The parser scans the characters of the
+ * groups definition once, and creates the parliamentary groups directly, without splitting the groups definition into
+ * intermediate strings first. Only the names and the characters are extracted as strings.
+ *
+ * For well-formed groups definitions, the parser produces the same parliamentary groups as the original parser based on
+ * regular expressions, including its treatment of empty names and characters. Malformed input is rejected with an
+ * <code>IllegalArgumentException</code> with a message containing the position of the offending character, counting
+ * from one.
+ */
+final class GroupsDefinitionParser {
+    /**
+     * The separator between the group specifications.
+     */
+    private static final char GROUP_SEPARATOR = ',';
+    /**
+     * The separator between the fields of a group specification.
+     */
+    private static final char FIELD_SEPARATOR = '.';
+    /**
+     * The separator between the sizes and between the colors.
+     */
+    private static final char VALUE_SEPARATOR = ':';
+    /**
+     * The index of the name field in a group specification.
+     */
+    private static final int NAME_INDEX = 2;
+    /**
+     * The index of the character field in a group specification.
+     */
+    private static final int CHARACTER_INDEX = 3;
+    /**
+     * The radix for decimal numbers.
+     */
+    private static final int DECIMAL_RADIX = 10;
+    /**
+     * The radix for hexadecimal numbers.
+     */
+    private static final int HEXADECIMAL_RADIX = 16;
+    /**
+     * The initial capacity of the arrays for the sizes and the colors.
+     */
+    private static final int INITIAL_CAPACITY = 3;
+
+    /**
+     * The groups definition being parsed.
+     */
+    private final CharSequence input;
+    /**
+     * The length of the groups definition.
+     */
+    private final int length;
+    /**
+     * The index of the next character to be scanned.
+     */
+    private int index;
+
+    /**
+     * Constructs a parser on a groups definition.
+     *
+     * @param input The groups definition.
+     */
+    private GroupsDefinitionParser(final CharSequence input) {
+        this.input = input;
+        this.length = input.length();
+    }
+
+    /**
+     * Parses a groups definition into an array of parliamentary groups.
+     *
+     * @param groupsDefinition The groups definition.
+     * @return An array with the parliamentary groups.
+     */
+    static ParliamentaryGroup[] parse(final CharSequence groupsDefinition) {
+        if (groupsDefinition == null) {
+            throw new IllegalArgumentException("The groups definition is missing.");
+        }
+        return new GroupsDefinitionParser(groupsDefinition).parseGroups();
+    }
+
+    /**
+     * Parses all the group specifications.
+     *
+     * @return An array with the parliamentary groups.
+     */
+    private ParliamentaryGroup[] parseGroups() {
+        List<ParliamentaryGroup> groups = new ArrayList<ParliamentaryGroup>();
+        groups.add(parseGroup());
+        while (index < length) {
+            index++;
+            groups.add(parseGroup());
+        }
+        return groups.toArray(new ParliamentaryGroup[groups.size()]);
+    }
+
+    /**
+     * Parses a group specification. When this method returns, the parser is either at the end of the groups definition
+     * or at a group separator.
+     *
+     * @return The parliamentary group.
+     */
+    private ParliamentaryGroup parseGroup() {
+        int[] sizes = parseValues(DECIMAL_RADIX, "a digit");
+        expect(FIELD_SEPARATOR, "':' or '.'");
+        index++;
+        int[] colors = parseValues(HEXADECIMAL_RADIX, "a hexadecimal digit");
+        if (index < length && input.charAt(index) != FIELD_SEPARATOR) {
+            expect(GROUP_SEPARATOR, "':', '.' or ','");
+        }
+        int nameStart = -1;
+        int nameEnd = -1;
+        int characterStart = -1;
+        int characterEnd = -1;
+        int lastNonEmptyField = 1;
+        for (int field = NAME_INDEX; index < length && input.charAt(index) == FIELD_SEPARATOR; field++) {
+            int start = ++index;
+            while (index < length && input.charAt(index) != FIELD_SEPARATOR
+                    && input.charAt(index) != GROUP_SEPARATOR) {
+                index++;
+            }
+            if (field == NAME_INDEX) {
+                nameStart = start;
+                nameEnd = index;
+            } else if (field == CHARACTER_INDEX) {
+                characterStart = start;
+                characterEnd = index;
+            }
+            if (index > start) {
+                lastNonEmptyField = field;
+            }
+        }
+        String name = lastNonEmptyField < NAME_INDEX ? null : input.subSequence(nameStart, nameEnd).toString();
+        String character = lastNonEmptyField < CHARACTER_INDEX ? null
+                : input.subSequence(characterStart, characterEnd).toString();
+        GroupSize size = sizes.length == 1 ? new SimpleGroupSize(sizes[0]) : new DifferentiatedGroupSize(sizes);
+        return new ParliamentaryGroup(size, colors, name, character);
+    }
+
+    /**
+     * Parses one or more numbers separated by colons.
+     *
+     * @param radix       The radix of the numbers.
+     * @param description A description of the expected characters, used in error messages.
+     * @return An array with the numbers.
+     */
+    private int[] parseValues(final int radix, final String description) {
+        int[] values = new int[INITIAL_CAPACITY];
+        int noOfValues = 0;
+        do {
+            if (noOfValues > 0) {
+                index++;
+            }
+            if (noOfValues == values.length) {
+                values = Arrays.copyOf(values, 2 * noOfValues);
+            }
+            values[noOfValues++] = parseNumber(radix, description);
+        } while (index < length && input.charAt(index) == VALUE_SEPARATOR);
+        return noOfValues == values.length ? values : Arrays.copyOf(values, noOfValues);
+    }
+
+    /**
+     * Parses a non-negative number.
+     *
+     * @param radix       The radix of the number.
+     * @param description A description of the expected characters, used in error messages.
+     * @return The number.
+     */
+    private int parseNumber(final int radix, final String description) {
+        int start = index;
+        int value = 0;
+        while (index < length) {
+            int digit = Character.digit(input.charAt(index), radix);
+            if (digit < 0) {
+                break;
+            }
+            if (value > (Integer.MAX_VALUE - digit) / radix) {
+                throw new IllegalArgumentException("Number too large at position " + (start + 1)
+                        + " of the groups definition.");
+            }
+            value = value * radix + digit;
+            index++;
+        }
+        if (index == start) {
+            throw createUnexpectedCharacterException(description);
+        }
+        return value;
+    }
+
+    /**
+     * Verifies that the next character is the expected character, without consuming it.
+     *
+     * @param expected    The expected character.
+     * @param description A description of the expected characters, used in error messages.
+     */
+    private void expect(final char expected, final String description) {
+        if (index >= length || input.charAt(index) != expected) {
+            throw createUnexpectedCharacterException(description);
+        }
+    }
+
+    /**
+     * Creates an exception for an unexpected character or an unexpected end of the groups definition at the current
+     * position.
+     *
+     * @param description A description of the expected characters.
+     * @return An exception describing the error and its position.
+     */
+    private IllegalArgumentException createUnexpectedCharacterException(final String description) {
+        if (index >= length) {
+            return new IllegalArgumentException("Unexpected end of the groups definition at position " + (index + 1)
+                    + ", expected " + description + ".");
+        }
+        return new IllegalArgumentException("Unexpected character '" + input.charAt(index) + "' at position "
+                + (index + 1) + " of the groups definition, expected " + description + ".");
+    }
+}
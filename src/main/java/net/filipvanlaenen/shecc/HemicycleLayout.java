@@ -146,7 +146,9 @@ public class HemicycleLayout {
             rowRadii[row] = radiusRatio + ((double) (row + 1) - ONE_HALF) * width;
             nextSeatArc[row] = rowRadii[row];
         }
+        int checkpointMask = RenderCancellation.calculateCheckpointMask(thisNumberOfRows);
         for (int seat = thisNumberOfRows; seat < numberOfSeats; seat++) {
+            RenderCancellation.checkpoint(seat, checkpointMask);
             int bestRow = 0;
             double highestQuote = nextSeatArc[0];
             for (int row = 1; row < thisNumberOfRows; row++) {
@@ -169,12 +171,14 @@ public class HemicycleLayout {
      * @return A sorted collection with the seat positions.
      */
     private SortedCollection<SeatPosition> calculateSeatPositions() {
+        RenderCancellation.checkpoint();
         SeatPosition[] seatPositionArray = new SeatPosition[numberOfSeats];
         int thisNoOfRows = getNumberOfRows();
         double rowWidth = getRowWidth();
         int[] numberOfSeatsOnRow = calculateNumberOfSeatsPerRow();
         int seatNumber = 0;
         double firstSeatAngle = (Math.PI - angle) / 2D;
+        int checkpointMask = RenderCancellation.calculateCheckpointMask(1L);
         for (int row = 1; row <= thisNoOfRows; row++) {
             double rowRadius = radiusRatio + ((double) row - ONE_HALF) * rowWidth;
             int numberOfSeatsOnThisRow = numberOfSeatsOnRow[row - 1];
@@ -183,6 +187,7 @@ public class HemicycleLayout {
             } else {
                 double anglePerSeat = angle / (numberOfSeatsOnThisRow - 1);
                 for (int seat = 0; seat < numberOfSeatsOnThisRow; seat++) {
+                    RenderCancellation.checkpoint(seatNumber, checkpointMask);
                     double seatAngle = firstSeatAngle + anglePerSeat * seat;
                     if (seatAngle < 0D) {
                         // EQMU: Replacing double addition with subtraction below produces an equivalent mutant.
@@ -264,7 +269,20 @@ public class HemicycleLayout {
      */
     public SortedCollection<SeatPosition> getSeatPositions() {
         if (seatPositions == null) {
-            seatPositions = calculateSeatPositions();
+            LayoutEvent event = new LayoutEvent();
+            event.begin();
+            RenderMetricsListener listener = RenderMetrics.getListener();
+            if (listener == RenderMetricsListener.NO_OP) {
+                seatPositions = calculateSeatPositions();
+            } else {
+                long start = System.nanoTime();
+                seatPositions = calculateSeatPositions();
+                listener.layoutCalculated(numberOfSeats, System.nanoTime() - start);
+            }
+            if (event.shouldCommit()) {
+                event.setLayout(numberOfSeats, getNumberOfRows());
+                event.commit();
+            }
         }
         return seatPositions;
     }
@@ -0,0 +1,154 @@
+package net.filipvanlaenen.shecc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache with hemicycle layouts, such that the layout for a number of seats and an angle is calculated only once when
+ * many charts are rendered. The layouts are fully calculated before they're added to the cache, so they can be shared
+ * between threads.
+ *
+ * The cache comes in two modes:
+ * <ul>
+ * <li>Unbounded, where every layout is kept, without locking. This mode suits short-lived caches, e.g. for a batch
+ * file or for the chambers of a single chart.</li>
+ * <li>Bounded, where the least recently used layout is evicted once the limit is reached, such that the layouts that
+ * are in use stay cached. The map is guarded by a lock, but the layouts are calculated outside of it. This mode suits
+ * long-running processes like the server, the daemon and the watch mode.</li>
+ * </ul>
+ */
+public final class HemicycleLayoutCache {
+    /**
+     * The key for a hemicycle layout in the cache.
+     *
+     * @param noOfSeats The number of seats in the hemicycle.
+     * @param angle     The angle for the hemicycle, or <code>null</code> for the default angle.
+     */
+    private record Key(int noOfSeats, Double angle) {
+    }
+
+    /**
+     * A map in access order evicting its least recently used entry when it grows beyond a maximum size. It isn't
+     * thread-safe.
+     */
+    private static final class LeastRecentlyUsedMap extends LinkedHashMap<Key, HemicycleLayout> {
+        /**
+         * The serial version UID.
+         */
+        private static final long serialVersionUID = 1L;
+        /**
+         * The initial capacity of the map.
+         */
+        private static final int INITIAL_CAPACITY = 16;
+        /**
+         * The load factor of the map.
+         */
+        private static final float LOAD_FACTOR = 0.75F;
+
+        /**
+         * The maximum number of entries in the map.
+         */
+        private final int maximumSize;
+
+        /**
+         * Constructs an empty map with a maximum size.
+         *
+         * @param maximumSize The maximum number of entries in the map.
+         */
+        private LeastRecentlyUsedMap(final int maximumSize) {
+            super(INITIAL_CAPACITY, LOAD_FACTOR, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, HemicycleLayout> eldest) {
+            return size() > maximumSize;
+        }
+    }
+
+    /**
+     * The cached hemicycle layouts: a concurrent map if the cache is unbounded, or a map in access order guarded by
+     * itself if the cache is bounded.
+     */
+    private final Map<Key, HemicycleLayout> layouts;
+    /**
+     * Whether the number of layouts in the cache is limited.
+     */
+    private final boolean bounded;
+
+    /**
+     * Constructs a cache without a limit on the number of layouts.
+     */
+    public HemicycleLayoutCache() {
+        layouts = new ConcurrentHashMap<Key, HemicycleLayout>();
+        bounded = false;
+    }
+
+    /**
+     * Constructs a cache with a limit on the number of layouts, evicting the least recently used layout once the limit
+     * is reached.
+     *
+     * @param maximumSize The maximum number of layouts in the cache.
+     */
+    public HemicycleLayoutCache(final int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("The maximum size of the cache should be strictly positive.");
+        }
+        layouts = new LeastRecentlyUsedMap(maximumSize);
+        bounded = true;
+    }
+
+    /**
+     * Returns the hemicycle layout for a number of seats and an angle, calculating it if it isn't in the cache yet.
+     *
+     * @param noOfSeats The number of seats in the hemicycle.
+     * @param angle     The angle for the hemicycle, or <code>null</code> for the default angle.
+     * @return The hemicycle layout for the number of seats and the angle.
+     */
+    public HemicycleLayout get(final int noOfSeats, final Double angle) {
+        Key key = new Key(noOfSeats, angle);
+        if (!bounded) {
+            return layouts.computeIfAbsent(key, k -> calculateLayout(noOfSeats, angle));
+        }
+        HemicycleLayout layout;
+        synchronized (layouts) {
+            layout = layouts.get(key);
+        }
+        if (layout != null) {
+            return layout;
+        }
+        HemicycleLayout calculatedLayout = calculateLayout(noOfSeats, angle);
+        synchronized (layouts) {
+            HemicycleLayout cachedLayout = layouts.putIfAbsent(key, calculatedLayout);
+            return cachedLayout == null ? calculatedLayout : cachedLayout;
+        }
+    }
+
+    /**
+     * Calculates a hemicycle layout, including the seat positions.
+     *
+     * @param noOfSeats The number of seats in the hemicycle.
+     * @param angle     The angle for the hemicycle, or <code>null</code> for the default angle.
+     * @return The hemicycle layout for the number of seats and the angle.
+     */
+    private static HemicycleLayout calculateLayout(final int noOfSeats, final Double angle) {
+        HemicycleLayout layout = new HemicycleLayout(noOfSeats, angle);
+        layout.getSeatPositions();
+        return layout;
+    }
+
+    /**
+     * Returns the number of hemicycle layouts in the cache.
+     *
+     * @return The number of hemicycle layouts in the cache.
+     */
+    public int size() {
+        if (!bounded) {
+            return layouts.size();
+        }
+        synchronized (layouts) {
+            return layouts.size();
+        }
+    }
+}
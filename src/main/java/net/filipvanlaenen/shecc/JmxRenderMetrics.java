@@ -0,0 +1,237 @@
+package net.filipvanlaenen.shecc;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * A metrics listener aggregating counters and latency histograms, and publishing them as an MBean. A typical use in a
+ * long-lived service is to call <code>JmxRenderMetrics.install()</code> once at start-up, after which the metrics can
+ * be inspected with any JMX client under the object name <code>net.filipvanlaenen.shecc:type=RenderMetrics</code>.
+ */
+public final class JmxRenderMetrics implements RenderMetricsListener, JmxRenderMetricsMBean {
+    /**
+     * The object name under which the metrics are published by default.
+     */
+    public static final String DEFAULT_OBJECT_NAME = "net.filipvanlaenen.shecc:type=RenderMetrics";
+    /**
+     * The median as a percentile.
+     */
+    private static final double P50 = 50D;
+    /**
+     * The 99th percentile.
+     */
+    private static final double P99 = 99D;
+
+    /**
+     * The number of charts exported.
+     */
+    private final LongAdder charts = new LongAdder();
+    /**
+     * The total number of seats in the charts exported.
+     */
+    private final LongAdder seats = new LongAdder();
+    /**
+     * The total number of elements in the charts exported.
+     */
+    private final LongAdder elements = new LongAdder();
+    /**
+     * The total size of the charts exported, in bytes.
+     */
+    private final LongAdder outputBytes = new LongAdder();
+    /**
+     * The latency histogram for the calculation of the hemicycle layouts.
+     */
+    private final LatencyHistogram layoutLatencies = new LatencyHistogram();
+    /**
+     * The latency histogram for the assignment of the seats.
+     */
+    private final LatencyHistogram seatingLatencies = new LatencyHistogram();
+    /**
+     * The latency histogram for the construction of the SVG documents.
+     */
+    private final LatencyHistogram exportLatencies = new LatencyHistogram();
+    /**
+     * The latency histogram for the serialization of the SVG documents.
+     */
+    private final LatencyHistogram serializationLatencies = new LatencyHistogram();
+
+    /**
+     * Creates a new instance, publishes it as an MBean under the default object name, and installs it as the metrics
+     * listener.
+     *
+     * @return The new instance.
+     * @throws JMException Thrown if the MBean can't be registered, e.g. because another MBean has been registered
+     *                     under the default object name already.
+     */
+    public static JmxRenderMetrics install() throws JMException {
+        JmxRenderMetrics metrics = new JmxRenderMetrics();
+        ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(DEFAULT_OBJECT_NAME));
+        RenderMetrics.setListener(metrics);
+        return metrics;
+    }
+
+    /**
+     * Uninstalls this instance as the metrics listener, and unpublishes it as an MBean.
+     *
+     * @throws JMException Thrown if the MBean can't be unregistered.
+     */
+    public void uninstall() throws JMException {
+        if (RenderMetrics.getListener() == this) {
+            RenderMetrics.setListener(null);
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(DEFAULT_OBJECT_NAME);
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @Override
+    public void layoutCalculated(final int numberOfSeats, final long nanoseconds) {
+        layoutLatencies.record(nanoseconds);
+    }
+
+    @Override
+    public void seatsAssigned(final int numberOfSeats, final long nanoseconds) {
+        seatingLatencies.record(nanoseconds);
+    }
+
+    @Override
+    public void documentBuilt(final int numberOfSeats, final long nanoseconds) {
+        exportLatencies.record(nanoseconds);
+    }
+
+    @Override
+    public void documentSerialized(final long nanoseconds) {
+        serializationLatencies.record(nanoseconds);
+    }
+
+    @Override
+    public void chartExported(final int numberOfSeats, final long numberOfElements, final long numberOfBytes) {
+        charts.increment();
+        seats.add(numberOfSeats);
+        elements.add(numberOfElements);
+        outputBytes.add(numberOfBytes);
+    }
+
+    @Override
+    public long getChartCount() {
+        return charts.sum();
+    }
+
+    @Override
+    public long getSeatCount() {
+        return seats.sum();
+    }
+
+    @Override
+    public long getElementCount() {
+        return elements.sum();
+    }
+
+    @Override
+    public long getOutputBytes() {
+        return outputBytes.sum();
+    }
+
+    @Override
+    public long[] getHistogramUpperBoundsInMicroseconds() {
+        return LatencyHistogram.getUpperBoundsInMicroseconds();
+    }
+
+    @Override
+    public long getLayoutCount() {
+        return layoutLatencies.getCount();
+    }
+
+    @Override
+    public long getLayoutLatencyP50InMicroseconds() {
+        return layoutLatencies.getPercentileInMicroseconds(P50);
+    }
+
+    @Override
+    public long getLayoutLatencyP99InMicroseconds() {
+        return layoutLatencies.getPercentileInMicroseconds(P99);
+    }
+
+    @Override
+    public long[] getLayoutLatencyHistogram() {
+        return layoutLatencies.getBuckets();
+    }
+
+    @Override
+    public long getSeatingCount() {
+        return seatingLatencies.getCount();
+    }
+
+    @Override
+    public long getSeatingLatencyP50InMicroseconds() {
+        return seatingLatencies.getPercentileInMicroseconds(P50);
+    }
+
+    @Override
+    public long getSeatingLatencyP99InMicroseconds() {
+        return seatingLatencies.getPercentileInMicroseconds(P99);
+    }
+
+    @Override
+    public long[] getSeatingLatencyHistogram() {
+        return seatingLatencies.getBuckets();
+    }
+
+    @Override
+    public long getExportCount() {
+        return exportLatencies.getCount();
+    }
+
+    @Override
+    public long getExportLatencyP50InMicroseconds() {
+        return exportLatencies.getPercentileInMicroseconds(P50);
+    }
+
+    @Override
+    public long getExportLatencyP99InMicroseconds() {
+        return exportLatencies.getPercentileInMicroseconds(P99);
+    }
+
+    @Override
+    public long[] getExportLatencyHistogram() {
+        return exportLatencies.getBuckets();
+    }
+
+    @Override
+    public long getSerializationCount() {
+        return serializationLatencies.getCount();
+    }
+
+    @Override
+    public long getSerializationLatencyP50InMicroseconds() {
+        return serializationLatencies.getPercentileInMicroseconds(P50);
+    }
+
+    @Override
+    public long getSerializationLatencyP99InMicroseconds() {
+        return serializationLatencies.getPercentileInMicroseconds(P99);
+    }
+
+    @Override
+    public long[] getSerializationLatencyHistogram() {
+        return serializationLatencies.getBuckets();
+    }
+
+    @Override
+    public void reset() {
+        charts.reset();
+        seats.reset();
+        elements.reset();
+        outputBytes.reset();
+        layoutLatencies.reset();
+        seatingLatencies.reset();
+        exportLatencies.reset();
+        serializationLatencies.reset();
+    }
+}
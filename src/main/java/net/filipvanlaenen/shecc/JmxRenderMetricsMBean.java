@@ -0,0 +1,164 @@
+package net.filipvanlaenen.shecc;
+
+/**
+ * The management interface of the <code>JmxRenderMetrics</code> class. The stages are the calculation of the hemicycle
+ * layout, the assignment of the seats, the construction of the SVG document, and its serialization. Latencies are
+ * reported in microseconds, and the histograms have buckets doubling in width, with upper bounds as reported by
+ * <code>getHistogramUpperBoundsInMicroseconds</code>.
+ */
+public interface JmxRenderMetricsMBean {
+    /**
+     * Returns the number of charts exported.
+     *
+     * @return The number of charts exported.
+     */
+    long getChartCount();
+
+    /**
+     * Returns the total number of seats in the charts exported.
+     *
+     * @return The total number of seats in the charts exported.
+     */
+    long getSeatCount();
+
+    /**
+     * Returns the total number of elements in the charts exported.
+     *
+     * @return The total number of elements in the charts exported.
+     */
+    long getElementCount();
+
+    /**
+     * Returns the total size of the charts exported, in bytes.
+     *
+     * @return The total size of the charts exported, in bytes.
+     */
+    long getOutputBytes();
+
+    /**
+     * Returns the exclusive upper bounds of the buckets of the latency histograms, in microseconds.
+     *
+     * @return The exclusive upper bounds of the buckets of the latency histograms, in microseconds.
+     */
+    long[] getHistogramUpperBoundsInMicroseconds();
+
+    /**
+     * Returns the number of hemicycle layouts calculated.
+     *
+     * @return The number of hemicycle layouts calculated.
+     */
+    long getLayoutCount();
+
+    /**
+     * Returns an estimate of the median latency of the calculation of a hemicycle layout, in microseconds.
+     *
+     * @return An estimate of the median latency of the calculation of a hemicycle layout.
+     */
+    long getLayoutLatencyP50InMicroseconds();
+
+    /**
+     * Returns an estimate of the 99th percentile of the latency of the calculation of a hemicycle layout, in
+     * microseconds.
+     *
+     * @return An estimate of the 99th percentile of the latency of the calculation of a hemicycle layout.
+     */
+    long getLayoutLatencyP99InMicroseconds();
+
+    /**
+     * Returns the latency histogram for the calculation of a hemicycle layout.
+     *
+     * @return The latency histogram for the calculation of a hemicycle layout.
+     */
+    long[] getLayoutLatencyHistogram();
+
+    /**
+     * Returns the number of seating plans for which the seats were assigned.
+     *
+     * @return The number of seating plans for which the seats were assigned.
+     */
+    long getSeatingCount();
+
+    /**
+     * Returns an estimate of the median latency of the assignment of the seats, in microseconds.
+     *
+     * @return An estimate of the median latency of the assignment of the seats.
+     */
+    long getSeatingLatencyP50InMicroseconds();
+
+    /**
+     * Returns an estimate of the 99th percentile of the latency of the assignment of the seats, in microseconds.
+     *
+     * @return An estimate of the 99th percentile of the latency of the assignment of the seats.
+     */
+    long getSeatingLatencyP99InMicroseconds();
+
+    /**
+     * Returns the latency histogram for the assignment of the seats.
+     *
+     * @return The latency histogram for the assignment of the seats.
+     */
+    long[] getSeatingLatencyHistogram();
+
+    /**
+     * Returns the number of SVG documents constructed.
+     *
+     * @return The number of SVG documents constructed.
+     */
+    long getExportCount();
+
+    /**
+     * Returns an estimate of the median latency of the construction of an SVG document, in microseconds.
+     *
+     * @return An estimate of the median latency of the construction of an SVG document.
+     */
+    long getExportLatencyP50InMicroseconds();
+
+    /**
+     * Returns an estimate of the 99th percentile of the latency of the construction of an SVG document, in
+     * microseconds.
+     *
+     * @return An estimate of the 99th percentile of the latency of the construction of an SVG document.
+     */
+    long getExportLatencyP99InMicroseconds();
+
+    /**
+     * Returns the latency histogram for the construction of an SVG document.
+     *
+     * @return The latency histogram for the construction of an SVG document.
+     */
+    long[] getExportLatencyHistogram();
+
+    /**
+     * Returns the number of SVG documents serialized.
+     *
+     * @return The number of SVG documents serialized.
+     */
+    long getSerializationCount();
+
+    /**
+     * Returns an estimate of the median latency of the serialization of an SVG document, in microseconds.
+     *
+     * @return An estimate of the median latency of the serialization of an SVG document.
+     */
+    long getSerializationLatencyP50InMicroseconds();
+
+    /**
+     * Returns an estimate of the 99th percentile of the latency of the serialization of an SVG document, in
+     * microseconds.
+     *
+     * @return An estimate of the 99th percentile of the latency of the serialization of an SVG document.
+     */
+    long getSerializationLatencyP99InMicroseconds();
+
+    /**
+     * Returns the latency histogram for the serialization of an SVG document.
+     *
+     * @return The latency histogram for the serialization of an SVG document.
+     */
+    long[] getSerializationLatencyHistogram();
+
+    /**
+     * Resets all counters and histograms.
+     */
+    void reset();
+}
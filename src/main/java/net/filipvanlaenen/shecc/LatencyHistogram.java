@@ -0,0 +1,133 @@
+package net.filipvanlaenen.shecc;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of latencies, with buckets doubling in width. The first bucket holds the latencies below one
+ * microsecond, and bucket <i>i</i> the latencies from 2<sup><i>i</i>-1</sup> up to 2<sup><i>i</i></sup> microseconds.
+ * The last bucket also holds all longer latencies.
+ */
+final class LatencyHistogram {
+    /**
+     * The number of buckets, such that the last bucket starts at about eighteen minutes.
+     */
+    static final int NUMBER_OF_BUCKETS = 32;
+    /**
+     * The number of nanoseconds in a microsecond.
+     */
+    private static final long NANOSECONDS_PER_MICROSECOND = 1_000L;
+    /**
+     * The number of percents in a whole.
+     */
+    private static final double ONE_HUNDRED_PERCENT = 100D;
+
+    /**
+     * The number of latencies per bucket.
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(NUMBER_OF_BUCKETS);
+    /**
+     * The number of latencies recorded.
+     */
+    private final LongAdder count = new LongAdder();
+    /**
+     * The sum of the latencies recorded, in nanoseconds.
+     */
+    private final LongAdder totalNanoseconds = new LongAdder();
+
+    /**
+     * Records a latency.
+     *
+     * @param nanoseconds The latency in nanoseconds.
+     */
+    void record(final long nanoseconds) {
+        long microseconds = Math.max(0L, nanoseconds) / NANOSECONDS_PER_MICROSECOND;
+        int bucket = Math.min(NUMBER_OF_BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(microseconds));
+        buckets.incrementAndGet(bucket);
+        count.increment();
+        totalNanoseconds.add(nanoseconds);
+    }
+
+    /**
+     * Returns the number of latencies recorded.
+     *
+     * @return The number of latencies recorded.
+     */
+    long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the sum of the latencies recorded, in nanoseconds.
+     *
+     * @return The sum of the latencies recorded, in nanoseconds.
+     */
+    long getTotalNanoseconds() {
+        return totalNanoseconds.sum();
+    }
+
+    /**
+     * Returns the number of latencies per bucket.
+     *
+     * @return An array with the number of latencies per bucket.
+     */
+    long[] getBuckets() {
+        long[] result = new long[NUMBER_OF_BUCKETS];
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            result[i] = buckets.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the exclusive upper bounds of the buckets in microseconds. The upper bound of the last bucket is
+     * reported as the upper bound it would have if it didn't also hold all longer latencies.
+     *
+     * @return An array with the exclusive upper bounds of the buckets in microseconds.
+     */
+    static long[] getUpperBoundsInMicroseconds() {
+        long[] result = new long[NUMBER_OF_BUCKETS];
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            result[i] = 1L << i;
+        }
+        return result;
+    }
+
+    /**
+     * Returns an estimate of a percentile of the latencies, i.e. the upper bound of the bucket in which the percentile
+     * falls.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return An estimate of the percentile in microseconds, or zero if no latencies have been recorded.
+     */
+    long getPercentileInMicroseconds(final double percentile) {
+        long[] counts = getBuckets();
+        long total = 0L;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        if (total == 0L) {
+            return 0L;
+        }
+        double threshold = total * percentile / ONE_HUNDRED_PERCENT;
+        long cumulative = 0L;
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            cumulative += counts[i];
+            if (cumulative >= threshold && counts[i] > 0L) {
+                return 1L << i;
+            }
+        }
+        return 1L << (NUMBER_OF_BUCKETS - 1);
+    }
+
+    /**
+     * Clears the histogram.
+     */
+    void reset() {
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            buckets.set(i, 0L);
+        }
+        count.reset();
+        totalNanoseconds.reset();
+    }
+}
@@ -0,0 +1,90 @@
+package net.filipvanlaenen.shecc;
+
+import java.util.Arrays;
+
+/**
+ * The exact latencies recorded by a single thread, such that percentiles can be calculated without the error of the
+ * buckets of a histogram. The samples of several threads are merged once the threads are done. This class isn't
+ * thread-safe.
+ */
+final class LatencySamples {
+    /**
+     * The initial capacity of the array with the latencies.
+     */
+    private static final int INITIAL_CAPACITY = 1_024;
+    /**
+     * The number of nanoseconds in a microsecond.
+     */
+    private static final long NANOSECONDS_PER_MICROSECOND = 1_000L;
+    /**
+     * The number of percents in a whole.
+     */
+    private static final double ONE_HUNDRED_PERCENT = 100D;
+
+    /**
+     * The latencies recorded, in nanoseconds, followed by unused capacity.
+     */
+    private long[] latencies = new long[INITIAL_CAPACITY];
+    /**
+     * The number of latencies recorded.
+     */
+    private int count;
+
+    /**
+     * Records a latency.
+     *
+     * @param nanoseconds The latency in nanoseconds.
+     */
+    void record(final long nanoseconds) {
+        ensureCapacity(count + 1);
+        latencies[count++] = nanoseconds;
+    }
+
+    /**
+     * Adds the latencies recorded in other samples to these samples.
+     *
+     * @param other The other samples.
+     */
+    void addAll(final LatencySamples other) {
+        ensureCapacity(count + other.count);
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+    }
+
+    /**
+     * Returns the number of latencies recorded.
+     *
+     * @return The number of latencies recorded.
+     */
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns a percentile of the latencies using the nearest-rank method, i.e. the smallest latency such that at least
+     * the given percentage of the latencies is less than or equal to it.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The percentile in microseconds, or zero if no latencies have been recorded.
+     */
+    long getPercentileInMicroseconds(final double percentile) {
+        if (count == 0) {
+            return 0L;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(count * percentile / ONE_HUNDRED_PERCENT);
+        return sorted[Math.max(0, rank - 1)] / NANOSECONDS_PER_MICROSECOND;
+    }
+
+    /**
+     * Grows the array with the latencies if needed, such that it can hold a number of latencies.
+     *
+     * @param capacity The number of latencies the array should be able to hold.
+     */
+    private void ensureCapacity(final int capacity) {
+        if (capacity > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(capacity, 2 * latencies.length));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package net.filipvanlaenen.shecc;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for the calculation of a hemicycle layout. The event is disabled by default, and can be
+ * enabled in a recording with <code>+net.filipvanlaenen.shecc.Layout#enabled=true</code>.
+ */
+@Name("net.filipvanlaenen.shecc.Layout")
+@Label("Hemicycle Layout")
+@Category("SHecC")
+@Description("Calculation of the seat positions of a hemicycle layout.")
+@Enabled(false)
+@StackTrace(false)
+final class LayoutEvent extends Event {
+    /**
+     * The number of seats in the layout.
+     */
+    @Label("Seats")
+    private int seats;
+    /**
+     * The number of rows in the layout.
+     */
+    @Label("Rows")
+    private int rows;
+
+    /**
+     * Sets the number of seats and rows of the layout.
+     *
+     * @param numberOfSeats The number of seats in the layout.
+     * @param numberOfRows  The number of rows in the layout.
+     */
+    void setLayout(final int numberOfSeats, final int numberOfRows) {
+        seats = numberOfSeats;
+        rows = numberOfRows;
+    }
+}
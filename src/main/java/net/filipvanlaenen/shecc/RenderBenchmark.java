@@ -0,0 +1,320 @@
+package net.filipvanlaenen.shecc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A benchmark rendering a fixed workload of charts through the command-line interface, such that the throughput of a
+ * release can be checked on new hardware or a new Java virtual machine without a development environment. The
+ * workload consists of typical parliaments, with alliances, uncertain seats, class-based styling and several chambers,
+ * and is versioned: a run only compares to runs with the same workload version. The charts are rendered in memory
+ * without a cache for the hemicycle layouts, as for a single chart rendered from the command line.
+ *
+ * Every thread renders the charts of the workload in turn, starting at a different chart. Only the charts rendered
+ * completely within the measurement are measured, but the charts straddling the start or the end of the measurement
+ * count towards the throughput for the part of their latency that falls within the measurement, such that the
+ * throughput isn't biased downwards by the charts in progress at the edges. For every stage, the exact latency of
+ * every chart is recorded by the rendering thread, such that the percentiles aren't distorted by the buckets of a
+ * histogram, and the allocated bytes are measured on the rendering thread, using the thread allocation counters of the
+ * Java virtual machine if it supports them.
+ */
+final class RenderBenchmark {
+    /**
+     * The version of the workload. It has to be increased every time the workload is changed.
+     */
+    static final int WORKLOAD_VERSION = 1;
+    /**
+     * The arguments for the charts in the workload.
+     */
+    private static final String[][] WORKLOAD = new String[][] {
+            {"7.FF0000,5.00FF00,4.0000FF,3.FFFF00"},
+            {"48.0000FF.Democrats.D,49.FF0000.Republicans.R,3.808080.Independents.I", "--title=Senate"},
+            {"30:36:42.E4003B.Red.R,25:31:38.0087DC.Blue.B,15:20:26.FAA61A.Yellow.Y,"
+                    + "12:17:22.6AB023:FFED00.Green-Yellow Alliance.G,10:14:22.808080.Others.O",
+                    "--title=Seat Projection", "--subtitle=Lower bounds, medians and upper bounds"},
+            {"411.E4003B.Labour.L,121.0087DC.Conservative.C,72.FAA61A.Liberal Democrats.LD,9.FDF38E.SNP.S,"
+                    + "5.12B6CF.Reform.R,4.6AB023.Green.G,28.808080.Others.O", "--title=House of Commons"},
+            {"207.000000.CDU-CSU.U,120.E3000F.SPD.S,152.009EE0.AfD.A,85.46962B.Greens.G,64.BE3075.Left.L,"
+                    + "2.808080.Others.O", "--styling=classes", "--title=Bundestag"},
+            {"188.3399FF.EPP.E,136.FF0000.S and D.S,84.2A3E7A.PfE.P,78.0054A5.ECR.C,77.FFD700.Renew.R,"
+                    + "53.57B45F:9BCF3F.Greens-EFA.G,46.990000.Left.L,25.8B4513.ESN.N,33.999999.Non-attached.X",
+                    "--title=European Parliament", "--angle=270"},
+            {"301.FF0000.Red.R,299.0000FF.Blue.B", "60.FF0000.Red.R,40.0000FF.Blue.B", "--chamber-title=House",
+                    "--chamber-title=Senate", "--title=Parliament"},
+            {"2090.DE2910.Majority.M,887.FFDE00:DE2910.Alliance.A", "--title=Congress"}};
+    /**
+     * The stages reported, in the order in which they're reported.
+     */
+    private static final String[] STAGES = new String[] {RenderStatistics.PARSING_STAGE,
+            RenderStatistics.LAYOUT_STAGE, RenderStatistics.SEATING_STAGE, RenderStatistics.DOM_STAGE,
+            RenderStatistics.SERIALIZATION_STAGE, RenderStatistics.WRITING_STAGE};
+    /**
+     * The name under which the latency of complete charts is reported.
+     */
+    private static final String TOTAL = "total";
+    /**
+     * The median.
+     */
+    private static final double MEDIAN = 50D;
+    /**
+     * The 99th percentile.
+     */
+    private static final double NINETY_NINTH_PERCENTILE = 99D;
+    /**
+     * The number of nanoseconds in a millisecond.
+     */
+    private static final long NANOSECONDS_PER_MILLISECOND = 1_000_000L;
+    /**
+     * The number of milliseconds in a second.
+     */
+    private static final double MILLISECONDS_PER_SECOND = 1_000D;
+    /**
+     * The number of bytes in a megabyte.
+     */
+    private static final double BYTES_PER_MEGABYTE = 1_000_000D;
+
+    /**
+     * The measurements for a stage, shared between the threads.
+     */
+    private static final class StageMeasurements {
+        /**
+         * The latencies of the stage, merged from the threads once they're done.
+         */
+        private final LatencySamples latencies = new LatencySamples();
+        /**
+         * The number of bytes allocated in the stage.
+         */
+        private final LongAdder allocatedBytes = new LongAdder();
+        /**
+         * Whether the allocated bytes couldn't be measured.
+         */
+        private volatile boolean allocatedBytesUnknown;
+    }
+
+    /**
+     * The number of threads.
+     */
+    private final int numberOfThreads;
+    /**
+     * The duration of the warm-up in milliseconds.
+     */
+    private final long warmUpMilliseconds;
+    /**
+     * The duration of the measurement in milliseconds.
+     */
+    private final long measurementMilliseconds;
+    /**
+     * The measurements per stage, in the order of the stages, followed by the measurements for complete charts.
+     */
+    private final StageMeasurements[] measurements = new StageMeasurements[STAGES.length + 1];
+    /**
+     * The fractions of the charts straddling the start or the end of the measurement that fall within the
+     * measurement.
+     */
+    private final DoubleAdder partialCharts = new DoubleAdder();
+
+    /**
+     * Constructs a benchmark.
+     *
+     * @param numberOfThreads         The number of threads rendering charts.
+     * @param warmUpMilliseconds      The duration of the warm-up in milliseconds.
+     * @param measurementMilliseconds The duration of the measurement in milliseconds.
+     */
+    RenderBenchmark(final int numberOfThreads, final long warmUpMilliseconds, final long measurementMilliseconds) {
+        if (numberOfThreads <= 0) {
+            throw new IllegalArgumentException("The number of threads should be strictly positive.");
+        }
+        if (warmUpMilliseconds < 0L) {
+            throw new IllegalArgumentException("The duration of the warm-up shouldn't be negative.");
+        }
+        if (measurementMilliseconds <= 0L) {
+            throw new IllegalArgumentException("The duration of the measurement should be strictly positive.");
+        }
+        this.numberOfThreads = numberOfThreads;
+        this.warmUpMilliseconds = warmUpMilliseconds;
+        this.measurementMilliseconds = measurementMilliseconds;
+        for (int i = 0; i < measurements.length; i++) {
+            measurements[i] = new StageMeasurements();
+        }
+    }
+
+    /**
+     * Runs the benchmark, and returns a report with the results.
+     *
+     * @return A report with the results of the benchmark.
+     * @throws InterruptedException Thrown if the benchmark is interrupted.
+     */
+    String run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measurementStart = start + warmUpMilliseconds * NANOSECONDS_PER_MILLISECOND;
+        long measurementEnd = measurementStart + measurementMilliseconds * NANOSECONDS_PER_MILLISECOND;
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+        try {
+            List<Future<LatencySamples[]>> results = new ArrayList<Future<LatencySamples[]>>();
+            for (int i = 0; i < numberOfThreads; i++) {
+                int firstChart = i % WORKLOAD.length;
+                results.add(executor.submit(() -> renderCharts(firstChart, measurementStart, measurementEnd)));
+            }
+            for (Future<LatencySamples[]> result : results) {
+                LatencySamples[] threadLatencies = result.get();
+                for (int i = 0; i < measurements.length; i++) {
+                    measurements[i].latencies.addAll(threadLatencies[i]);
+                }
+            }
+            return createReport(measurements[STAGES.length].latencies.getCount(), partialCharts.sum());
+        } catch (ExecutionException ee) {
+            throw new IllegalStateException(ee.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the arguments for the charts in the workload.
+     *
+     * @return An unmodifiable list with the arguments for the charts in the workload, as unmodifiable lists.
+     */
+    static List<List<String>> getWorkload() {
+        List<List<String>> workload = new ArrayList<List<String>>();
+        for (String[] chart : WORKLOAD) {
+            workload.add(List.of(chart));
+        }
+        return Collections.unmodifiableList(workload);
+    }
+
+    /**
+     * Renders the charts of the workload in turn until the end of the measurement, and records the measurements of
+     * the charts rendered within the measurement. For the charts straddling the start or the end of the measurement,
+     * only the fraction of their latency falling within the measurement is recorded.
+     *
+     * @param firstChart       The index of the first chart to render.
+     * @param measurementStart The value of the wall clock at the start of the measurement, in nanoseconds.
+     * @param measurementEnd   The value of the wall clock at the end of the measurement, in nanoseconds.
+     * @return The latencies of the charts measured, per stage in the order of the stages, followed by the latencies of
+     *         the complete charts.
+     */
+    private LatencySamples[] renderCharts(final int firstChart, final long measurementStart,
+            final long measurementEnd) {
+        CommandLineInterface cli = new CommandLineInterface();
+        LatencySamples[] latencies = new LatencySamples[measurements.length];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencySamples();
+        }
+        int chart = firstChart;
+        long chartStart;
+        while ((chartStart = System.nanoTime()) < measurementEnd) {
+            RenderStatistics statistics = new RenderStatistics();
+            cli.perform(statistics, WORKLOAD[chart]);
+            long chartEnd = System.nanoTime();
+            if (chartStart >= measurementStart && chartEnd <= measurementEnd) {
+                record(latencies, statistics, chartEnd - chartStart);
+            } else {
+                long overlap = Math.min(chartEnd, measurementEnd) - Math.max(chartStart, measurementStart);
+                if (overlap > 0L) {
+                    partialCharts.add((double) overlap / (chartEnd - chartStart));
+                }
+            }
+            chart = (chart + 1) % WORKLOAD.length;
+        }
+        return latencies;
+    }
+
+    /**
+     * Records the measurements of a chart.
+     *
+     * @param latencies   The latencies recorded by the thread, per stage in the order of the stages, followed by the
+     *                    latencies of the complete charts.
+     * @param statistics  The statistics collected while rendering the chart.
+     * @param nanoseconds The latency of the chart in nanoseconds.
+     */
+    private void record(final LatencySamples[] latencies, final RenderStatistics statistics,
+            final long nanoseconds) {
+        long totalAllocatedBytes = 0L;
+        for (int i = 0; i < STAGES.length; i++) {
+            long stageNanoseconds = statistics.getNanoseconds(STAGES[i]);
+            if (stageNanoseconds >= 0L) {
+                latencies[i].record(stageNanoseconds);
+                long allocatedBytes = statistics.getAllocatedBytes(STAGES[i]);
+                recordAllocatedBytes(measurements[i], allocatedBytes);
+                totalAllocatedBytes = totalAllocatedBytes < 0L || allocatedBytes < 0L ? -1L
+                        : totalAllocatedBytes + allocatedBytes;
+            }
+        }
+        latencies[STAGES.length].record(nanoseconds);
+        recordAllocatedBytes(measurements[STAGES.length], totalAllocatedBytes);
+    }
+
+    /**
+     * Records the number of bytes allocated in a stage.
+     *
+     * @param stageMeasurements The measurements for the stage.
+     * @param allocatedBytes    The number of bytes allocated, or a negative number if unknown.
+     */
+    private static void recordAllocatedBytes(final StageMeasurements stageMeasurements, final long allocatedBytes) {
+        if (allocatedBytes < 0L) {
+            stageMeasurements.allocatedBytesUnknown = true;
+        } else {
+            stageMeasurements.allocatedBytes.add(allocatedBytes);
+        }
+    }
+
+    /**
+     * Creates a report with the results of the benchmark. The report starts with the workload version, the Java
+     * virtual machine and the settings, followed by the throughput, and a line per stage with the median and the 99th
+     * percentile of the latency, the number of bytes allocated per chart and the allocation rate.
+     *
+     * @param numberOfCharts        The number of charts measured.
+     * @param numberOfPartialCharts The sum of the fractions of the charts straddling the start or the end of the
+     *                              measurement that fall within the measurement.
+     * @return A report with the results of the benchmark.
+     */
+    private String createReport(final long numberOfCharts, final double numberOfPartialCharts) {
+        double seconds = measurementMilliseconds / MILLISECONDS_PER_SECOND;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "Workload version: %d (%d charts)%n", WORKLOAD_VERSION, WORKLOAD.length));
+        sb.append(String.format(Locale.US, "Java: %s (%s %s)%n", System.getProperty("java.version"),
+                System.getProperty("java.vm.vendor"), System.getProperty("java.vm.name")));
+        sb.append(String.format(Locale.US, "Threads: %d, warm-up: %.1f s, measurement: %.1f s%n", numberOfThreads,
+                warmUpMilliseconds / MILLISECONDS_PER_SECOND, seconds));
+        sb.append(String.format(Locale.US, "Throughput: %.1f charts/s (%,d charts)%n",
+                (numberOfCharts + numberOfPartialCharts) / seconds, numberOfCharts));
+        sb.append(String.format(Locale.US, "%-16s %12s %12s %19s %17s%n", "Stage", "p50 (us)", "p99 (us)",
+                "Allocated (B/chart)", "Allocation (MB/s)"));
+        for (int i = 0; i < STAGES.length; i++) {
+            appendStageLine(sb, STAGES[i], measurements[i], seconds);
+        }
+        appendStageLine(sb, TOTAL, measurements[STAGES.length], seconds);
+        return sb.toString();
+    }
+
+    /**
+     * Appends a line for a stage to a report, unless the stage wasn't measured.
+     *
+     * @param sb                The string builder with the report.
+     * @param stage             The name of the stage.
+     * @param stageMeasurements The measurements for the stage.
+     * @param seconds           The duration of the measurement in seconds.
+     */
+    private static void appendStageLine(final StringBuilder sb, final String stage,
+            final StageMeasurements stageMeasurements, final double seconds) {
+        long count = stageMeasurements.latencies.getCount();
+        if (count == 0L) {
+            return;
+        }
+        boolean unknown = stageMeasurements.allocatedBytesUnknown;
+        long allocatedBytes = stageMeasurements.allocatedBytes.sum();
+        sb.append(String.format(Locale.US, "%-16s %12d %12d %19s %17s%n", stage,
+                stageMeasurements.latencies.getPercentileInMicroseconds(MEDIAN),
+                stageMeasurements.latencies.getPercentileInMicroseconds(NINETY_NINTH_PERCENTILE),
+                unknown ? "n/a" : String.format(Locale.US, "%,d", allocatedBytes / count),
+                unknown ? "n/a" : String.format(Locale.US, "%,.1f", allocatedBytes / BYTES_PER_MEGABYTE / seconds)));
+    }
+}
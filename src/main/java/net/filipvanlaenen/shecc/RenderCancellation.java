@@ -0,0 +1,187 @@
+package net.filipvanlaenen.shecc;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * A cooperative cancellation for the rendering of charts, with an optional deadline. A cancellation is activated on
+ * the current thread with {@link #enter()}, and while it's active, the calculation of the hemicycle layout, the
+ * assignment of the seats and the construction of the SVG document check it periodically. The rendering is aborted
+ * with a <code>CancellationException</code> as soon as the deadline has passed, the cancellation has been cancelled
+ * explicitly, or the thread has been interrupted. The interrupt status of the thread is left untouched. The
+ * serialization of an SVG document constructed in memory isn't checked, and always runs to its end.
+ *
+ * The checks are cheap: outside an active cancellation, a check only reads a thread-local variable, and the loops
+ * over the seats only check once per {@value #CHECKPOINT_INTERVAL} units of work, such that rendering small charts
+ * doesn't check at all.
+ */
+public final class RenderCancellation {
+    /**
+     * The number of units of work, like the iterations of an inner loop, between two checks.
+     */
+    public static final int CHECKPOINT_INTERVAL = 1 << 16;
+    /**
+     * The number of nanoseconds in a millisecond.
+     */
+    private static final long NANOSECONDS_PER_MILLISECOND = 1_000_000L;
+    /**
+     * The cancellation active on the current thread, if any.
+     */
+    private static final ThreadLocal<RenderCancellation> CURRENT = new ThreadLocal<RenderCancellation>();
+
+    /**
+     * The scope in which a cancellation is active on the current thread. Closing the scope reactivates the
+     * cancellation that was active before, if any.
+     */
+    public static final class Scope implements AutoCloseable {
+        /**
+         * The cancellation that was active before the scope was entered, or <code>null</code> if none.
+         */
+        private final RenderCancellation previous;
+
+        /**
+         * Constructs a scope.
+         *
+         * @param previous The cancellation that was active before the scope was entered, or <code>null</code> if
+         *                 none.
+         */
+        private Scope(final RenderCancellation previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * The time limit in milliseconds, or zero if there's no deadline.
+     */
+    private final long timeLimit;
+    /**
+     * The deadline as a value of the wall clock in nanoseconds, if there's a time limit.
+     */
+    private final long deadline;
+    /**
+     * Whether the cancellation has been cancelled explicitly.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Constructs a cancellation.
+     *
+     * @param timeLimit The time limit in milliseconds, or zero if there's no deadline.
+     */
+    private RenderCancellation(final long timeLimit) {
+        this.timeLimit = timeLimit;
+        this.deadline = System.nanoTime() + timeLimit * NANOSECONDS_PER_MILLISECOND;
+    }
+
+    /**
+     * Creates a cancellation without a deadline, that can be cancelled explicitly or by interrupting the thread.
+     *
+     * @return A cancellation without a deadline.
+     */
+    public static RenderCancellation create() {
+        return new RenderCancellation(0L);
+    }
+
+    /**
+     * Creates a cancellation with a deadline a number of milliseconds from now.
+     *
+     * @param timeLimit The time limit in milliseconds.
+     * @return A cancellation with a deadline.
+     */
+    public static RenderCancellation withTimeLimit(final long timeLimit) {
+        if (timeLimit <= 0L) {
+            throw new IllegalArgumentException("The time limit should be strictly positive.");
+        }
+        return new RenderCancellation(timeLimit);
+    }
+
+    /**
+     * Activates this cancellation on the current thread, until the returned scope is closed.
+     *
+     * @return The scope in which this cancellation is active.
+     */
+    public Scope enter() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(this);
+        return scope;
+    }
+
+    /**
+     * Cancels the rendering, such that it's aborted at the next check. This method can be called from any thread.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns the cancellation active on the current thread.
+     *
+     * @return The cancellation active on the current thread, or <code>null</code> if none.
+     */
+    public static RenderCancellation current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Checks the cancellation active on the current thread, if any.
+     *
+     * @throws CancellationException Thrown if the rendering should be aborted.
+     */
+    public static void checkpoint() {
+        RenderCancellation cancellation = CURRENT.get();
+        if (cancellation != null) {
+            cancellation.check();
+        }
+    }
+
+    /**
+     * Checks the cancellation active on the current thread for an iteration of a loop, if the iteration is a multiple
+     * of the checkpoint mask plus one.
+     *
+     * @param iteration      The iteration of the loop.
+     * @param checkpointMask The checkpoint mask for the loop, as calculated by {@link #calculateCheckpointMask(long)}.
+     * @throws CancellationException Thrown if the rendering should be aborted.
+     */
+    public static void checkpoint(final int iteration, final int checkpointMask) {
+        if ((iteration & checkpointMask) == 0) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Calculates the mask for the iterations of a loop such that the loop is checked about once per checkpoint
+     * interval.
+     *
+     * @param workPerIteration The number of units of work per iteration of the loop.
+     * @return The mask for the iterations of the loop at which it's checked.
+     */
+    public static int calculateCheckpointMask(final long workPerIteration) {
+        return Integer.highestOneBit((int) Math.max(1L, CHECKPOINT_INTERVAL / Math.max(1L, workPerIteration))) - 1;
+    }
+
+    /**
+     * Checks whether the rendering should be aborted.
+     *
+     * @throws CancellationException Thrown if the rendering should be aborted.
+     */
+    private void check() {
+        if (cancelled) {
+            throw new CancellationException("The rendering was cancelled.");
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("The rendering was cancelled because the thread was interrupted.");
+        }
+        if (timeLimit > 0L && System.nanoTime() - deadline > 0L) {
+            throw new CancellationException(
+                    "The rendering was cancelled because it exceeded its time limit of " + timeLimit + " ms.");
+        }
+    }
+}
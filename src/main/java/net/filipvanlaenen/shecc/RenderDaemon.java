@@ -0,0 +1,374 @@
+package net.filipvanlaenen.shecc;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A daemon rendering charts over a Unix domain socket, for scripts that would otherwise start a new Java virtual
+ * machine for every chart. The daemon keeps running between requests, such that the hemicycle layouts stay in a
+ * shared cache and the code stays compiled.
+ *
+ * The protocol is a simple length-prefixed protocol, with all integers encoded as big-endian:
+ * <ul>
+ * <li>A request consists of a four-byte length, followed by that many bytes with the command-line arguments encoded
+ * in UTF-8 and separated by NUL characters.</li>
+ * <li>A response consists of a one-byte status, zero for success and one for an error, followed by a four-byte
+ * length and that many bytes. On success, the bytes are the chart, i.e. an SVG document encoded in UTF-8 or a PNG
+ * file. On error, the bytes are an error message encoded in UTF-8.</li>
+ * </ul>
+ * A client can send any number of requests over the same connection, waiting for the response to a request before
+ * sending the next one, and closes the connection when it's done. Every connection is handled on its own thread, up
+ * to a maximum number of connections: a connection above the maximum gets an error response and is closed. The number
+ * of charts rendered at the same time is limited too. Requests above that limit wait until a chart has been rendered.
+ * Requests for charts exceeding the limits of the daemon get an error response, and stopping the daemon cancels the
+ * rendering of the charts in progress.
+ */
+final class RenderDaemon {
+    /**
+     * The status for a successful request.
+     */
+    static final byte OK = 0;
+    /**
+     * The status for a request that couldn't be handled.
+     */
+    static final byte ERROR = 1;
+    /**
+     * The number of bytes used to encode a length.
+     */
+    private static final int LENGTH_SIZE = Integer.BYTES;
+    /**
+     * The maximum length of a request in bytes.
+     */
+    private static final int MAXIMUM_REQUEST_LENGTH = 1 << 20;
+    /**
+     * The maximum number of hemicycle layouts in the cache.
+     */
+    private static final int MAXIMUM_NUMBER_OF_CACHED_LAYOUTS = 1_000;
+    /**
+     * The default maximum number of connections handled at the same time.
+     */
+    static final int DEFAULT_MAXIMUM_NUMBER_OF_CONNECTIONS = 256;
+    /**
+     * The number of seconds an idle connection thread is kept alive.
+     */
+    private static final long CONNECTION_THREAD_KEEP_ALIVE_SECONDS = 60L;
+    /**
+     * The time in milliseconds to wait before accepting connections again after the first failure to accept one.
+     */
+    static final long MINIMUM_ACCEPT_BACKOFF_MILLISECONDS = 10L;
+    /**
+     * The maximum time in milliseconds to wait before accepting connections again after repeated failures.
+     */
+    static final long MAXIMUM_ACCEPT_BACKOFF_MILLISECONDS = 1_000L;
+    /**
+     * The character separating the arguments in a request.
+     */
+    private static final String ARGUMENT_SEPARATOR = "\0";
+
+    /**
+     * The path of the socket file.
+     */
+    private final Path socketPath;
+    /**
+     * The channel accepting the connections.
+     */
+    private final ServerSocketChannel serverChannel;
+    /**
+     * The executor handling the connections, with a thread per connection up to the maximum number of connections.
+     */
+    private final ExecutorService connectionExecutor;
+    /**
+     * The semaphore limiting the number of charts rendered at the same time.
+     */
+    private final Semaphore renderPermits;
+    /**
+     * The cache with the hemicycle layouts shared between the requests, bounded because the server runs for an
+     * unlimited time, and evicting the least recently used layout when it is full.
+     */
+    private final HemicycleLayoutCache layoutCache = new HemicycleLayoutCache(MAXIMUM_NUMBER_OF_CACHED_LAYOUTS);
+    /**
+     * The thread accepting the connections.
+     */
+    private final Thread acceptThread = new Thread(this::acceptConnections, "shecc-daemon");
+    /**
+     * The limits on the size of the charts.
+     */
+    private final RenderLimits limits;
+
+    /**
+     * Constructs a daemon listening on a Unix domain socket. The daemon isn't started yet.
+     *
+     * @param socketPath       The path of the socket file, which shouldn't exist yet.
+     * @param concurrencyLimit The maximum number of charts rendered at the same time.
+     * @throws IOException Thrown if the daemon can't be bound to the socket.
+     */
+    RenderDaemon(final Path socketPath, final int concurrencyLimit) throws IOException {
+        this(socketPath, concurrencyLimit, RenderLimits.UNLIMITED);
+    }
+
+    /**
+     * Constructs a daemon listening on a Unix domain socket, rejecting the charts that exceed a set of limits. The
+     * daemon isn't started yet.
+     *
+     * @param socketPath       The path of the socket file, which shouldn't exist yet.
+     * @param concurrencyLimit The maximum number of charts rendered at the same time.
+     * @param limits           The limits on the size of the charts.
+     * @throws IOException Thrown if the daemon can't be bound to the socket.
+     */
+    RenderDaemon(final Path socketPath, final int concurrencyLimit, final RenderLimits limits) throws IOException {
+        this(socketPath, concurrencyLimit, limits, DEFAULT_MAXIMUM_NUMBER_OF_CONNECTIONS);
+    }
+
+    /**
+     * Constructs a daemon listening on a Unix domain socket, rejecting the charts that exceed a set of limits, and
+     * handling at most a number of connections at the same time. The daemon isn't started yet.
+     *
+     * @param socketPath                 The path of the socket file, which shouldn't exist yet.
+     * @param concurrencyLimit           The maximum number of charts rendered at the same time.
+     * @param limits                     The limits on the size of the charts.
+     * @param maximumNumberOfConnections The maximum number of connections handled at the same time.
+     * @throws IOException Thrown if the daemon can't be bound to the socket.
+     */
+    RenderDaemon(final Path socketPath, final int concurrencyLimit, final RenderLimits limits,
+            final int maximumNumberOfConnections) throws IOException {
+        if (concurrencyLimit <= 0) {
+            throw new IllegalArgumentException("The concurrency limit should be strictly positive.");
+        }
+        if (maximumNumberOfConnections <= 0) {
+            throw new IllegalArgumentException("The maximum number of connections should be strictly positive.");
+        }
+        if (Files.exists(socketPath)) {
+            throw new IllegalArgumentException("The socket file " + socketPath
+                    + " exists already; remove it if no other daemon is listening on it.");
+        }
+        this.socketPath = socketPath;
+        this.limits = limits;
+        renderPermits = new Semaphore(concurrencyLimit);
+        connectionExecutor = new ThreadPoolExecutor(0, maximumNumberOfConnections,
+                CONNECTION_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<Runnable>());
+        serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        serverChannel.bind(UnixDomainSocketAddress.of(socketPath));
+    }
+
+    /**
+     * Starts the daemon.
+     */
+    void start() {
+        acceptThread.start();
+    }
+
+    /**
+     * Stops the daemon, closes all connections and removes the socket file.
+     *
+     * @throws IOException Thrown if the socket file can't be removed.
+     */
+    void stop() throws IOException {
+        serverChannel.close();
+        connectionExecutor.shutdownNow();
+        Files.deleteIfExists(socketPath);
+    }
+
+    /**
+     * Returns the path of the socket file.
+     *
+     * @return The path of the socket file.
+     */
+    Path getSocketPath() {
+        return socketPath;
+    }
+
+    /**
+     * Accepts connections until the daemon is stopped. After a failure to accept a connection, e.g. because the
+     * process ran out of file descriptors, the daemon waits before accepting connections again, doubling the time it
+     * waits with every consecutive failure up to a maximum, such that a persistent failure doesn't make the thread
+     * spin and flood the error stream.
+     */
+    private void acceptConnections() {
+        int consecutiveFailures = 0;
+        while (serverChannel.isOpen()) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                consecutiveFailures = 0;
+                try {
+                    connectionExecutor.execute(() -> handleConnection(channel));
+                } catch (RejectedExecutionException ree) {
+                    rejectConnection(channel);
+                }
+            } catch (ClosedChannelException cce) {
+                return;
+            } catch (IOException ioe) {
+                long backoff = calculateAcceptBackoff(++consecutiveFailures);
+                System.err.println("Couldn't accept a connection, retrying in " + backoff + " ms: " + ioe.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Calculates the time to wait before accepting connections again after a number of consecutive failures to accept
+     * a connection.
+     *
+     * @param consecutiveFailures The number of consecutive failures, at least one.
+     * @return The time to wait in milliseconds.
+     */
+    static long calculateAcceptBackoff(final int consecutiveFailures) {
+        long backoff = MINIMUM_ACCEPT_BACKOFF_MILLISECONDS;
+        for (int i = 1; i < consecutiveFailures && backoff < MAXIMUM_ACCEPT_BACKOFF_MILLISECONDS; i++) {
+            backoff *= 2;
+        }
+        return Math.min(backoff, MAXIMUM_ACCEPT_BACKOFF_MILLISECONDS);
+    }
+
+    /**
+     * Rejects a connection because the maximum number of connections has been reached, or the daemon is stopping, by
+     * sending an error response and closing it.
+     *
+     * @param channel The channel for the connection.
+     */
+    private static void rejectConnection(final SocketChannel channel) {
+        try (channel) {
+            sendResponse(channel, ERROR, "The daemon is handling the maximum number of connections already."
+                    .getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ioe) {
+            // The client has gone away already, so there's nobody to report the error to.
+        }
+    }
+
+    /**
+     * Handles the requests on a connection until the client closes it.
+     *
+     * @param channel The channel for the connection.
+     */
+    private void handleConnection(final SocketChannel channel) {
+        try (channel) {
+            ByteBuffer lengthBuffer = ByteBuffer.allocate(LENGTH_SIZE);
+            while (true) {
+                lengthBuffer.clear();
+                if (!readFully(channel, lengthBuffer)) {
+                    return;
+                }
+                int length = lengthBuffer.getInt(0);
+                if (length < 0 || length > MAXIMUM_REQUEST_LENGTH) {
+                    sendResponse(channel, ERROR, ("The request length should be between 0 and "
+                            + MAXIMUM_REQUEST_LENGTH + " bytes.").getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                ByteBuffer requestBuffer = ByteBuffer.allocate(length);
+                if (!readFully(channel, requestBuffer)) {
+                    throw new EOFException("The connection was closed in the middle of a request.");
+                }
+                handleRequest(channel, decodeArguments(requestBuffer.array()));
+            }
+        } catch (IOException ioe) {
+            // The client has gone away, or the daemon is stopping, so there's nobody to report the error to.
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Handles a request, and sends the response.
+     *
+     * @param channel The channel for the connection.
+     * @param args    The command-line arguments from the request.
+     * @throws IOException          Thrown if an error occurs while sending the response.
+     * @throws InterruptedException Thrown if the daemon is stopped while waiting to render the chart.
+     */
+    private void handleRequest(final SocketChannel channel, final String[] args)
+            throws IOException, InterruptedException {
+        byte[] chart;
+        renderPermits.acquire();
+        try (RenderCancellation.Scope scope = RenderCancellation.create().enter()) {
+            CommandLineInterface cli = new CommandLineInterface(layoutCache, limits);
+            chart = CommandLineInterface.isPngFormatRequested(args) ? cli.performAsPng(args)
+                    : cli.perform(args).getBytes(StandardCharsets.UTF_8);
+        } catch (RuntimeException | IOException e) {
+            sendResponse(channel, ERROR,
+                    ("The chart couldn't be rendered: " + e + ".").getBytes(StandardCharsets.UTF_8));
+            return;
+        } finally {
+            renderPermits.release();
+        }
+        sendResponse(channel, OK, chart);
+    }
+
+    /**
+     * Decodes the command-line arguments from the body of a request.
+     *
+     * @param body The body of the request.
+     * @return The command-line arguments.
+     */
+    static String[] decodeArguments(final byte[] body) {
+        if (body.length == 0) {
+            return new String[0];
+        }
+        return new String(body, StandardCharsets.UTF_8).split(ARGUMENT_SEPARATOR, -1);
+    }
+
+    /**
+     * Encodes command-line arguments into the body of a request.
+     *
+     * @param args The command-line arguments.
+     * @return The body of the request.
+     */
+    static byte[] encodeArguments(final String... args) {
+        return String.join(ARGUMENT_SEPARATOR, args).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads bytes from a channel until a buffer is full.
+     *
+     * @param channel The channel.
+     * @param buffer  The buffer.
+     * @return False if the channel reached its end before any byte was read, true otherwise.
+     * @throws IOException Thrown if an error occurs while reading, or if the channel reaches its end halfway.
+     */
+    static boolean readFully(final SocketChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                if (buffer.position() == 0) {
+                    return false;
+                }
+                throw new EOFException("The connection was closed in the middle of a message.");
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sends a response.
+     *
+     * @param channel The channel for the connection.
+     * @param status  The status of the response.
+     * @param body    The body of the response.
+     * @throws IOException Thrown if an error occurs while sending the response.
+     */
+    static void sendResponse(final SocketChannel channel, final byte status, final byte[] body) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(1 + LENGTH_SIZE);
+        header.put(status).putInt(body.length).flip();
+        ByteBuffer[] buffers = new ByteBuffer[] {header, ByteBuffer.wrap(body)};
+        while (buffers[0].hasRemaining() || buffers[1].hasRemaining()) {
+            channel.write(buffers);
+        }
+    }
+}
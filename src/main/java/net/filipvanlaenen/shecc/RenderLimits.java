@@ -0,0 +1,204 @@
+package net.filipvanlaenen.shecc;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The limits on the size of the charts rendered by a service, such that a single request for a huge chart can't block
+ * a worker for minutes. The number of seats, the number of parliamentary groups and the number of colors per
+ * parliamentary group are checked right after the groups definition has been parsed, before anything is calculated.
+ * The number of bytes of the output, encoded in UTF-8, is checked while the chart is written, or when it has been
+ * produced if it's returned as a string.
+ *
+ * @param maximumNumberOfSeats          The maximum number of seats in a chamber.
+ * @param maximumNumberOfGroups         The maximum number of parliamentary groups in a chamber.
+ * @param maximumNumberOfColorsPerGroup The maximum number of colors of a parliamentary group.
+ * @param maximumOutputBytes            The maximum number of bytes of the output.
+ */
+public record RenderLimits(int maximumNumberOfSeats, int maximumNumberOfGroups, int maximumNumberOfColorsPerGroup,
+        long maximumOutputBytes) {
+    /**
+     * The absence of limits.
+     */
+    public static final RenderLimits UNLIMITED =
+            new RenderLimits(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE);
+    /**
+     * The factor by which the length of a string has to be multiplied to be sure it's at least the number of bytes of
+     * the string encoded in UTF-8.
+     */
+    private static final int MAXIMUM_BYTES_PER_CHARACTER = 3;
+
+    /**
+     * Constructs the limits, checking that they're all strictly positive.
+     *
+     * @param maximumNumberOfSeats          The maximum number of seats in a chamber.
+     * @param maximumNumberOfGroups         The maximum number of parliamentary groups in a chamber.
+     * @param maximumNumberOfColorsPerGroup The maximum number of colors of a parliamentary group.
+     * @param maximumOutputBytes            The maximum number of bytes of the output.
+     */
+    public RenderLimits {
+        if (maximumNumberOfSeats <= 0) {
+            throw new IllegalArgumentException("The maximum number of seats should be strictly positive.");
+        }
+        if (maximumNumberOfGroups <= 0) {
+            throw new IllegalArgumentException(
+                    "The maximum number of parliamentary groups should be strictly positive.");
+        }
+        if (maximumNumberOfColorsPerGroup <= 0) {
+            throw new IllegalArgumentException(
+                    "The maximum number of colors per parliamentary group should be strictly positive.");
+        }
+        if (maximumOutputBytes <= 0L) {
+            throw new IllegalArgumentException("The maximum number of output bytes should be strictly positive.");
+        }
+    }
+
+    /**
+     * Checks the parliamentary groups of a chamber against the limits.
+     *
+     * @param groups The parliamentary groups of a chamber.
+     * @throws IllegalArgumentException Thrown if the parliamentary groups exceed one of the limits.
+     */
+    public void check(final ParliamentaryGroup... groups) {
+        if (groups.length > maximumNumberOfGroups) {
+            throw new IllegalArgumentException("The chart has " + groups.length
+                    + " parliamentary groups, but at most " + maximumNumberOfGroups + " are allowed.");
+        }
+        long numberOfSeats = 0L;
+        for (ParliamentaryGroup parliamentaryGroup : groups) {
+            int numberOfColors = parliamentaryGroup.getColors().length;
+            if (numberOfColors > maximumNumberOfColorsPerGroup) {
+                throw new IllegalArgumentException("A parliamentary group has " + numberOfColors
+                        + " colors, but at most " + maximumNumberOfColorsPerGroup + " are allowed.");
+            }
+            numberOfSeats += parliamentaryGroup.getSize().getFullSize();
+        }
+        if (numberOfSeats > maximumNumberOfSeats) {
+            throw new IllegalArgumentException("The chart has " + numberOfSeats + " seats, but at most "
+                    + maximumNumberOfSeats + " are allowed.");
+        }
+    }
+
+    /**
+     * Checks the output returned as a string against the limit on the number of bytes. The string is only encoded if
+     * it's long enough to possibly exceed the limit.
+     *
+     * @param output The output.
+     * @throws IllegalArgumentException Thrown if the output exceeds the limit on the number of bytes.
+     */
+    public void checkOutput(final String output) {
+        if ((long) output.length() * MAXIMUM_BYTES_PER_CHARACTER > maximumOutputBytes
+                && output.getBytes(StandardCharsets.UTF_8).length > maximumOutputBytes) {
+            throw createOutputBytesException();
+        }
+    }
+
+    /**
+     * Checks the output returned as a byte array against the limit on the number of bytes.
+     *
+     * @param output The output.
+     * @throws IllegalArgumentException Thrown if the output exceeds the limit on the number of bytes.
+     */
+    public void checkOutput(final byte[] output) {
+        if (output.length > maximumOutputBytes) {
+            throw createOutputBytesException();
+        }
+    }
+
+    /**
+     * Returns an appendable passing everything on to another appendable, that throws an exception as soon as the
+     * output exceeds the limit on the number of bytes, or the other appendable itself if there's no such limit.
+     *
+     * @param out The appendable to which the output should be passed on.
+     * @return An appendable checking the output against the limit, or the appendable itself.
+     */
+    public Appendable limitOutput(final Appendable out) {
+        return maximumOutputBytes == Long.MAX_VALUE ? out : new LimitedAppendable(out);
+    }
+
+    /**
+     * Creates the exception thrown when the output exceeds the limit on the number of bytes.
+     *
+     * @return The exception thrown when the output exceeds the limit on the number of bytes.
+     */
+    private IllegalArgumentException createOutputBytesException() {
+        return new IllegalArgumentException("The chart has more than " + maximumOutputBytes
+                + " bytes of output, which is the maximum allowed.");
+    }
+
+    /**
+     * An appendable passing everything on to another appendable, while counting the number of bytes the text takes
+     * when encoded in UTF-8, and throwing an exception before the limit on the number of bytes would be exceeded.
+     */
+    private final class LimitedAppendable implements Appendable {
+        /**
+         * The largest character encoded as a single byte in UTF-8.
+         */
+        private static final char MAXIMUM_ONE_BYTE_CHARACTER = 0x7F;
+        /**
+         * The largest character encoded as two bytes in UTF-8.
+         */
+        private static final char MAXIMUM_TWO_BYTE_CHARACTER = 0x7FF;
+
+        /**
+         * The appendable to which everything is passed on.
+         */
+        private final Appendable delegate;
+        /**
+         * The number of bytes counted so far.
+         */
+        private long numberOfBytes;
+
+        /**
+         * Constructs an appendable passing everything on to another appendable.
+         *
+         * @param delegate The appendable to which everything is passed on.
+         */
+        private LimitedAppendable(final Appendable delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Appendable append(final char c) throws IOException {
+            count(c);
+            delegate.append(c);
+            return this;
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq) throws IOException {
+            CharSequence text = csq == null ? "null" : csq;
+            return append(text, 0, text.length());
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq, final int start, final int end) throws IOException {
+            CharSequence text = csq == null ? "null" : csq;
+            for (int i = start; i < end; i++) {
+                count(text.charAt(i));
+            }
+            delegate.append(text, start, end);
+            return this;
+        }
+
+        /**
+         * Counts a character, and checks the number of bytes counted so far against the limit. A surrogate is counted
+         * as two bytes, such that a surrogate pair is counted as the four bytes it takes.
+         *
+         * @param c The character.
+         * @throws IllegalArgumentException Thrown if the output exceeds the limit on the number of bytes.
+         */
+        private void count(final char c) {
+            if (c <= MAXIMUM_ONE_BYTE_CHARACTER) {
+                numberOfBytes++;
+            } else if (c <= MAXIMUM_TWO_BYTE_CHARACTER || Character.isSurrogate(c)) {
+                numberOfBytes += 2;
+            } else {
+                numberOfBytes += MAXIMUM_BYTES_PER_CHARACTER;
+            }
+            if (numberOfBytes > maximumOutputBytes) {
+                throw createOutputBytesException();
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package net.filipvanlaenen.shecc;
+
+/**
+ * The registry for the listener for metrics on the rendering of charts. By default, a listener ignoring all
+ * notifications is installed, in which case the rendering code doesn't measure anything.
+ */
+public final class RenderMetrics {
+    /**
+     * The installed listener.
+     */
+    private static volatile RenderMetricsListener listener = RenderMetricsListener.NO_OP;
+
+    /**
+     * Private constructor to prevent instantiation of this class.
+     */
+    private RenderMetrics() {
+    }
+
+    /**
+     * Returns the installed listener.
+     *
+     * @return The installed listener.
+     */
+    public static RenderMetricsListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Installs a listener, replacing the listener that was installed before.
+     *
+     * @param newListener The listener to be installed, or <code>null</code> to stop listening.
+     */
+    public static void setListener(final RenderMetricsListener newListener) {
+        listener = newListener == null ? RenderMetricsListener.NO_OP : newListener;
+    }
+}
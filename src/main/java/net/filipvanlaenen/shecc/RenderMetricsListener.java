@@ -0,0 +1,64 @@
+package net.filipvanlaenen.shecc;
+
+/**
+ * Listener for metrics on the rendering of charts. The listener is notified after the calculation of a hemicycle
+ * layout, the assignment of the seats, the construction and the serialization of an SVG document, and the export of a
+ * chart. With class-based styling, the SVG document is written directly, so its construction includes its
+ * serialization, and no separate notification is sent for the serialization.
+ *
+ * All methods have an empty default implementation, such that an implementation only has to override the methods it's
+ * interested in. The listener is installed using the <code>RenderMetrics</code> class, and is called from any thread
+ * rendering a chart, so implementations should be thread-safe and fast.
+ */
+public interface RenderMetricsListener {
+    /**
+     * A listener ignoring all notifications, installed by default.
+     */
+    RenderMetricsListener NO_OP = new RenderMetricsListener() {
+    };
+
+    /**
+     * Notifies that a hemicycle layout has been calculated.
+     *
+     * @param numberOfSeats The number of seats in the hemicycle layout.
+     * @param nanoseconds   The time it took to calculate the layout, in nanoseconds.
+     */
+    default void layoutCalculated(final int numberOfSeats, final long nanoseconds) {
+    }
+
+    /**
+     * Notifies that the seats of a seating plan have been assigned to the parliamentary groups.
+     *
+     * @param numberOfSeats The number of seats in the seating plan.
+     * @param nanoseconds   The time it took to assign the seats, in nanoseconds.
+     */
+    default void seatsAssigned(final int numberOfSeats, final long nanoseconds) {
+    }
+
+    /**
+     * Notifies that an SVG document has been constructed, or written directly in the case of class-based styling.
+     *
+     * @param numberOfSeats The number of seats in the chart.
+     * @param nanoseconds   The time it took to construct the SVG document, in nanoseconds.
+     */
+    default void documentBuilt(final int numberOfSeats, final long nanoseconds) {
+    }
+
+    /**
+     * Notifies that an SVG document has been serialized.
+     *
+     * @param nanoseconds The time it took to serialize the SVG document, in nanoseconds.
+     */
+    default void documentSerialized(final long nanoseconds) {
+    }
+
+    /**
+     * Notifies that a chart has been exported.
+     *
+     * @param numberOfSeats    The number of seats in the chart.
+     * @param numberOfElements The number of elements in the SVG document.
+     * @param outputBytes      The size of the SVG document in bytes, encoded in UTF-8.
+     */
+    default void chartExported(final int numberOfSeats, final long numberOfElements, final long outputBytes) {
+    }
+}
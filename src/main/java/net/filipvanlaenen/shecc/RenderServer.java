@@ -0,0 +1,343 @@
+package net.filipvanlaenen.shecc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An HTTP server rendering charts, built on the JDK's HTTP server. The server has two endpoints:
+ * <ul>
+ * <li><code>/render</code> renders a chart. The groups definition is passed in the <code>groups</code> query parameter,
+ * and the other query parameters are the same options as on the command line, without the leading dashes.</li>
+ * <li><code>/health</code> returns <code>OK</code> as long as the server is running.</li>
+ * </ul>
+ * Every request gets its own exporter, while the hemicycle layouts are shared through a bounded cache. The number of
+ * charts rendered at the same time is limited, and requests above the limit are rejected immediately. A request
+ * taking longer than the request timeout gets a time-out response, and the rendering of its chart is cancelled, such
+ * that it frees its worker promptly. Requests for charts exceeding the limits of the server are rejected as bad
+ * requests.
+ */
+final class RenderServer {
+    /**
+     * The HTTP status code for a successful request.
+     */
+    private static final int OK = 200;
+    /**
+     * The HTTP status code for a bad request.
+     */
+    private static final int BAD_REQUEST = 400;
+    /**
+     * The HTTP status code for a resource that can't be found.
+     */
+    private static final int NOT_FOUND = 404;
+    /**
+     * The HTTP status code for a method that isn't allowed.
+     */
+    private static final int METHOD_NOT_ALLOWED = 405;
+    /**
+     * The HTTP status code for an internal server error.
+     */
+    private static final int INTERNAL_SERVER_ERROR = 500;
+    /**
+     * The HTTP status code for a service that's unavailable.
+     */
+    private static final int SERVICE_UNAVAILABLE = 503;
+    /**
+     * The HTTP status code for a time-out.
+     */
+    private static final int GATEWAY_TIMEOUT = 504;
+    /**
+     * The maximum number of hemicycle layouts in the cache.
+     */
+    private static final int MAXIMUM_NUMBER_OF_CACHED_LAYOUTS = 1_000;
+    /**
+     * The name of the query parameter with the groups definition.
+     */
+    private static final String GROUPS_PARAMETER = "groups";
+
+    /**
+     * The underlying HTTP server.
+     */
+    private final HttpServer server;
+    /**
+     * The executor handling the HTTP exchanges.
+     */
+    private final ExecutorService exchangeExecutor;
+    /**
+     * The executor rendering the charts.
+     */
+    private final ExecutorService renderExecutor;
+    /**
+     * The semaphore limiting the number of charts rendered at the same time.
+     */
+    private final Semaphore renderPermits;
+    /**
+     * The cache with the hemicycle layouts shared between the requests, bounded because the server runs for an
+     * unlimited time, and evicting the least recently used layout when it is full.
+     */
+    private final HemicycleLayoutCache layoutCache = new HemicycleLayoutCache(MAXIMUM_NUMBER_OF_CACHED_LAYOUTS);
+    /**
+     * The request timeout in milliseconds.
+     */
+    private final long requestTimeout;
+    /**
+     * The limits on the size of the charts.
+     */
+    private final RenderLimits limits;
+
+    /**
+     * Constructs a server listening on a port. The server isn't started yet.
+     *
+     * @param port             The port to listen on, or zero for any free port.
+     * @param concurrencyLimit The maximum number of charts rendered at the same time.
+     * @param requestTimeout   The request timeout in milliseconds.
+     * @throws IOException Thrown if the server can't be bound to the port.
+     */
+    RenderServer(final int port, final int concurrencyLimit, final long requestTimeout) throws IOException {
+        this(port, concurrencyLimit, requestTimeout, RenderLimits.UNLIMITED);
+    }
+
+    /**
+     * Constructs a server listening on a port, rejecting the charts that exceed a set of limits. The server isn't
+     * started yet.
+     *
+     * @param port             The port to listen on, or zero for any free port.
+     * @param concurrencyLimit The maximum number of charts rendered at the same time.
+     * @param requestTimeout   The request timeout in milliseconds.
+     * @param limits           The limits on the size of the charts.
+     * @throws IOException Thrown if the server can't be bound to the port.
+     */
+    RenderServer(final int port, final int concurrencyLimit, final long requestTimeout, final RenderLimits limits)
+            throws IOException {
+        if (concurrencyLimit <= 0) {
+            throw new IllegalArgumentException("The concurrency limit should be strictly positive.");
+        }
+        if (requestTimeout <= 0) {
+            throw new IllegalArgumentException("The request timeout should be strictly positive.");
+        }
+        this.requestTimeout = requestTimeout;
+        this.limits = limits;
+        renderPermits = new Semaphore(concurrencyLimit);
+        renderExecutor = Executors.newFixedThreadPool(concurrencyLimit);
+        exchangeExecutor = Executors.newFixedThreadPool(2 * concurrencyLimit);
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(exchangeExecutor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Starts the server.
+     */
+    void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server, and the executors behind it.
+     */
+    void stop() {
+        server.stop(0);
+        exchangeExecutor.shutdownNow();
+        renderExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return The port the server is listening on.
+     */
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Handles an HTTP exchange.
+     *
+     * @param exchange The HTTP exchange.
+     * @throws IOException Thrown if an error occurs while sending the response.
+     */
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            if (!exchange.getRequestMethod().equals("GET")) {
+                sendText(exchange, METHOD_NOT_ALLOWED, "Only GET requests are supported.");
+            } else if (path.equals("/health")) {
+                sendText(exchange, OK, "OK");
+            } else if (path.equals("/render")) {
+                handleRender(exchange);
+            } else {
+                sendText(exchange, NOT_FOUND, "Unknown path " + path + ".");
+            }
+        }
+    }
+
+    /**
+     * Handles a request to render a chart.
+     *
+     * @param exchange The HTTP exchange.
+     * @throws IOException Thrown if an error occurs while sending the response.
+     */
+    private void handleRender(final HttpExchange exchange) throws IOException {
+        String[] args;
+        try {
+            args = parseQuery(exchange.getRequestURI().getRawQuery());
+        } catch (IllegalArgumentException iae) {
+            sendText(exchange, BAD_REQUEST, iae.getMessage());
+            return;
+        }
+        if (!renderPermits.tryAcquire()) {
+            sendText(exchange, SERVICE_UNAVAILABLE, "Too many concurrent requests.");
+            return;
+        }
+        boolean png = CommandLineInterface.isPngFormatRequested(args);
+        AtomicBoolean permitHeld = new AtomicBoolean(true);
+        Future<byte[]> result;
+        try {
+            result = renderExecutor.submit(() -> {
+                try (RenderCancellation.Scope scope = RenderCancellation.withTimeLimit(requestTimeout).enter()) {
+                    CommandLineInterface cli = new CommandLineInterface(layoutCache, limits);
+                    return png ? cli.performAsPng(args) : cli.perform(args).getBytes(StandardCharsets.UTF_8);
+                } finally {
+                    releasePermit(permitHeld);
+                }
+            });
+        } catch (RuntimeException re) {
+            releasePermit(permitHeld);
+            throw re;
+        }
+        try {
+            send(exchange, OK, png ? "image/png" : "image/svg+xml; charset=UTF-8",
+                    result.get(requestTimeout, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException te) {
+            cancel(result, permitHeld);
+            sendText(exchange, GATEWAY_TIMEOUT, "The chart couldn't be rendered within the request timeout.");
+        } catch (InterruptedException ie) {
+            cancel(result, permitHeld);
+            Thread.currentThread().interrupt();
+            sendText(exchange, SERVICE_UNAVAILABLE, "The server is shutting down.");
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof CancellationException) {
+                sendText(exchange, GATEWAY_TIMEOUT, "The chart couldn't be rendered within the request timeout.");
+            } else if (ee.getCause() instanceof RuntimeException) {
+                sendText(exchange, BAD_REQUEST, "The chart couldn't be rendered: " + ee.getCause() + ".");
+            } else {
+                sendText(exchange, INTERNAL_SERVER_ERROR, "The chart couldn't be rendered: " + ee.getCause() + ".");
+            }
+        }
+    }
+
+    /**
+     * Cancels the rendering of a chart. If the rendering was still waiting for a thread, it will never run and
+     * release its permit, so the permit is released here, unless the rendering has released it already.
+     *
+     * @param result     The result of the rendering.
+     * @param permitHeld Whether the permit of the rendering is still held.
+     */
+    private void cancel(final Future<byte[]> result, final AtomicBoolean permitHeld) {
+        if (result.cancel(true)) {
+            releasePermit(permitHeld);
+        }
+    }
+
+    /**
+     * Releases the permit of a rendering, unless it has been released already.
+     *
+     * @param permitHeld Whether the permit of the rendering is still held.
+     */
+    private void releasePermit(final AtomicBoolean permitHeld) {
+        if (permitHeld.compareAndSet(true, false)) {
+            renderPermits.release();
+        }
+    }
+
+    /**
+     * Returns the number of charts that can still be rendered at the same time.
+     *
+     * @return The number of available permits.
+     */
+    int getAvailablePermits() {
+        return renderPermits.availablePermits();
+    }
+
+    /**
+     * Converts a query string into command-line arguments.
+     *
+     * @param rawQuery The raw query string.
+     * @return The command-line arguments.
+     */
+    static String[] parseQuery(final String rawQuery) {
+        if (rawQuery == null) {
+            throw new IllegalArgumentException("The groups definition is missing.");
+        }
+        List<String> args = new ArrayList<String>();
+        String groupsDefinition = null;
+        for (String parameter : rawQuery.split("&")) {
+            if (parameter.isEmpty()) {
+                continue;
+            }
+            int equalsIndex = parameter.indexOf('=');
+            if (equalsIndex < 0) {
+                throw new IllegalArgumentException("The query parameter " + parameter + " has no value.");
+            }
+            String key = URLDecoder.decode(parameter.substring(0, equalsIndex), StandardCharsets.UTF_8);
+            String value = URLDecoder.decode(parameter.substring(equalsIndex + 1), StandardCharsets.UTF_8);
+            if (key.equals(GROUPS_PARAMETER)) {
+                groupsDefinition = value;
+            } else {
+                args.add("--" + key + "=" + value);
+            }
+        }
+        if (groupsDefinition == null) {
+            throw new IllegalArgumentException("The groups definition is missing.");
+        }
+        args.add(groupsDefinition);
+        return args.toArray(new String[args.size()]);
+    }
+
+    /**
+     * Sends a plain text response.
+     *
+     * @param exchange   The HTTP exchange.
+     * @param statusCode The HTTP status code.
+     * @param text       The text.
+     * @throws IOException Thrown if an error occurs while sending the response.
+     */
+    private static void sendText(final HttpExchange exchange, final int statusCode, final String text)
+            throws IOException {
+        send(exchange, statusCode, "text/plain; charset=UTF-8", text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sends a response.
+     *
+     * @param exchange    The HTTP exchange.
+     * @param statusCode  The HTTP status code.
+     * @param contentType The content type.
+     * @param body        The body.
+     * @throws IOException Thrown if an error occurs while sending the response.
+     */
+    private static void send(final HttpExchange exchange, final int statusCode, final String contentType,
+            final byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(statusCode, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
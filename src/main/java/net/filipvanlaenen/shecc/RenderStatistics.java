@@ -0,0 +1,252 @@
+package net.filipvanlaenen.shecc;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Statistics on the rendering of a chart, with the wall time and the number of bytes allocated per stage, and a few
+ * counts describing the size of the chart. The allocated bytes are measured on the current thread only, using the
+ * thread allocation counters of the Java virtual machine if it supports them. A stage that's started more than once,
+ * e.g. the layout stage when several chambers are rendered, accumulates its measurements.
+ *
+ * Statistics are only collected when an instance of this class is passed explicitly, such that rendering without
+ * statistics doesn't incur any overhead.
+ */
+public final class RenderStatistics {
+    /**
+     * The name of the stage parsing the command-line arguments and the groups definitions.
+     */
+    public static final String PARSING_STAGE = "parsing";
+    /**
+     * The name of the stage calculating the hemicycle layout.
+     */
+    public static final String LAYOUT_STAGE = "layout";
+    /**
+     * The name of the stage assigning the seats to the parliamentary groups.
+     */
+    public static final String SEATING_STAGE = "seating";
+    /**
+     * The name of the stage constructing the SVG document in memory.
+     */
+    public static final String DOM_STAGE = "dom";
+    /**
+     * The name of the stage serializing the SVG document to a string.
+     */
+    public static final String SERIALIZATION_STAGE = "serialization";
+    /**
+     * The name of the stage writing the SVG document directly, without constructing it in memory first.
+     */
+    public static final String WRITING_STAGE = "writing";
+    /**
+     * The name of the count with the number of seats.
+     */
+    public static final String SEATS_COUNT = "seats";
+    /**
+     * The name of the count with the number of rows.
+     */
+    public static final String ROWS_COUNT = "rows";
+    /**
+     * The name of the count with the number of elements in the SVG document.
+     */
+    public static final String ELEMENTS_COUNT = "elements";
+    /**
+     * The name of the count with the size of the output in bytes.
+     */
+    public static final String OUTPUT_BYTES_COUNT = "output bytes";
+    /**
+     * The number of nanoseconds in a millisecond.
+     */
+    private static final double NANOSECONDS_PER_MILLISECOND = 1_000_000D;
+
+    /**
+     * The measurements for a stage.
+     *
+     * @param nanoseconds    The wall time spent in the stage, in nanoseconds.
+     * @param allocatedBytes The number of bytes allocated in the stage, or a negative number if unknown.
+     */
+    private record Measurement(long nanoseconds, long allocatedBytes) {
+    }
+
+    /**
+     * The thread allocation counters, or <code>null</code> if they aren't supported.
+     */
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    /**
+     * The measurements per stage, in the order in which the stages were started for the first time.
+     */
+    private final Map<String, Measurement> stages = new LinkedHashMap<String, Measurement>();
+    /**
+     * The counts, in the order in which they were set for the first time.
+     */
+    private final Map<String, Long> counts = new LinkedHashMap<String, Long>();
+    /**
+     * The name of the current stage, or <code>null</code> if no stage has been started.
+     */
+    private String currentStage;
+    /**
+     * The value of the wall clock at the start of the current stage, in nanoseconds.
+     */
+    private long stageStartNanoseconds;
+    /**
+     * The number of bytes allocated by the current thread at the start of the current stage.
+     */
+    private long stageStartAllocatedBytes;
+
+    /**
+     * Constructs an empty set of statistics.
+     */
+    public RenderStatistics() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean allocationBean
+                && allocationBean.isThreadAllocatedMemorySupported()) {
+            allocationBean.setThreadAllocatedMemoryEnabled(true);
+            threadMXBean = allocationBean;
+        } else {
+            threadMXBean = null;
+        }
+    }
+
+    /**
+     * Starts a stage. Any stage that was still running is ended first.
+     *
+     * @param stage The name of the stage.
+     */
+    public void startStage(final String stage) {
+        if (currentStage != null) {
+            endStage();
+        }
+        currentStage = stage;
+        stageStartAllocatedBytes = getAllocatedBytes();
+        stageStartNanoseconds = System.nanoTime();
+    }
+
+    /**
+     * Ends the current stage, and adds its measurements to the stage's total.
+     */
+    public void endStage() {
+        if (currentStage == null) {
+            throw new IllegalStateException("No stage has been started.");
+        }
+        long nanoseconds = System.nanoTime() - stageStartNanoseconds;
+        long allocatedBytes = threadMXBean == null ? -1L : getAllocatedBytes() - stageStartAllocatedBytes;
+        Measurement previous = stages.get(currentStage);
+        if (previous != null) {
+            nanoseconds += previous.nanoseconds();
+            allocatedBytes = allocatedBytes < 0L ? -1L : allocatedBytes + previous.allocatedBytes();
+        }
+        stages.put(currentStage, new Measurement(nanoseconds, allocatedBytes));
+        currentStage = null;
+    }
+
+    /**
+     * Adds a value to a count.
+     *
+     * @param name  The name of the count.
+     * @param value The value to add to the count.
+     */
+    public void addToCount(final String name, final long value) {
+        counts.merge(name, value, Long::sum);
+    }
+
+    /**
+     * Returns the wall time spent in a stage, in nanoseconds.
+     *
+     * @param stage The name of the stage.
+     * @return The wall time spent in the stage, in nanoseconds, or a negative number if the stage wasn't measured.
+     */
+    public long getNanoseconds(final String stage) {
+        Measurement measurement = stages.get(stage);
+        return measurement == null ? -1L : measurement.nanoseconds();
+    }
+
+    /**
+     * Returns the number of bytes allocated in a stage.
+     *
+     * @param stage The name of the stage.
+     * @return The number of bytes allocated in the stage, or a negative number if unknown.
+     */
+    public long getAllocatedBytes(final String stage) {
+        Measurement measurement = stages.get(stage);
+        return measurement == null ? -1L : measurement.allocatedBytes();
+    }
+
+    /**
+     * Returns the value of a count.
+     *
+     * @param name The name of the count.
+     * @return The value of the count, or zero if the count hasn't been set.
+     */
+    public long getCount(final String name) {
+        return counts.getOrDefault(name, 0L);
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread so far.
+     *
+     * @return The number of bytes allocated by the current thread so far, or zero if unknown.
+     */
+    private long getAllocatedBytes() {
+        return threadMXBean == null ? 0L : threadMXBean.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Counts the number of elements in an XML document, i.e. the number of start tags and empty-element tags.
+     *
+     * @param document The XML document.
+     * @return The number of elements in the document.
+     */
+    public static long countElements(final CharSequence document) {
+        long count = 0L;
+        int length = document.length();
+        for (int i = 0; i < length - 1; i++) {
+            if (document.charAt(i) == '<' && Character.isLetter(document.charAt(i + 1))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns a report with a line per stage, followed by a line with the counts.
+     *
+     * @return A report with the statistics.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "%-16s %12s %18s%n", "Stage", "Time (ms)", "Allocated (bytes)"));
+        long totalNanoseconds = 0L;
+        long totalAllocatedBytes = 0L;
+        for (Map.Entry<String, Measurement> entry : stages.entrySet()) {
+            Measurement measurement = entry.getValue();
+            appendStageLine(sb, entry.getKey(), measurement.nanoseconds(), measurement.allocatedBytes());
+            totalNanoseconds += measurement.nanoseconds();
+            totalAllocatedBytes = totalAllocatedBytes < 0L || measurement.allocatedBytes() < 0L ? -1L
+                    : totalAllocatedBytes + measurement.allocatedBytes();
+        }
+        appendStageLine(sb, "total", totalNanoseconds, totalAllocatedBytes);
+        String separator = "";
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            sb.append(separator).append(entry.getKey()).append(": ").append(entry.getValue());
+            separator = ", ";
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends a line for a stage to a report.
+     *
+     * @param sb             The string builder with the report.
+     * @param stage          The name of the stage.
+     * @param nanoseconds    The wall time spent in the stage, in nanoseconds.
+     * @param allocatedBytes The number of bytes allocated in the stage, or a negative number if unknown.
+     */
+    private static void appendStageLine(final StringBuilder sb, final String stage, final long nanoseconds,
+            final long allocatedBytes) {
+        sb.append(String.format(Locale.US, "%-16s %12.3f %18s%n", stage, nanoseconds / NANOSECONDS_PER_MILLISECOND,
+                allocatedBytes < 0L ? "n/a" : String.format(Locale.US, "%,d", allocatedBytes)));
+    }
+}
@@ -1,5 +1,7 @@
 package net.filipvanlaenen.shecc;
 
+import java.util.Arrays;
+
 import net.filipvanlaenen.kolektoj.OrderedCollection;
 import net.filipvanlaenen.kolektoj.SortedCollection;
 
@@ -44,6 +46,10 @@ public class RowConnectedSeatingPlan {
      */
     public RowConnectedSeatingPlan(final SortedCollection<SeatPosition> seatPositions,
             final ParliamentaryGroup... parliamentaryGroups) {
+        SeatingEvent event = new SeatingEvent();
+        event.begin();
+        RenderMetricsListener listener = RenderMetrics.getListener();
+        long start = listener == RenderMetricsListener.NO_OP ? 0L : System.nanoTime();
         this.parliamentaryGroups = OrderedCollection.of(parliamentaryGroups);
         numberOfSeats = calculateNumberOfSeats();
         this.seatPositions = seatPositions.toArray(new SeatPosition[numberOfSeats]);
@@ -51,6 +57,13 @@ public class RowConnectedSeatingPlan {
         seats = new ParliamentaryGroup[numberOfSeats];
         seatStatuses = new SeatStatus[numberOfSeats];
         calculateSeatsAndStatuses();
+        if (listener != RenderMetricsListener.NO_OP) {
+            listener.seatsAssigned(numberOfSeats, System.nanoTime() - start);
+        }
+        if (event.shouldCommit()) {
+            event.setSeatingPlan(this.seatPositions, parliamentaryGroups);
+            event.commit();
+        }
     }
 
     /**
@@ -85,28 +98,29 @@ public class RowConnectedSeatingPlan {
 
     /**
      * Calculates all the seats and the seat statuses.
+     *
+     * Every seat of a parliamentary group after its first seat goes to the first empty seat on a row next to or
+     * between the rows the group occupies already, or to the first empty seat if there's no such seat. The first
+     * empty seat of every row is kept in an index over the rows, such that a seat is found in logarithmic time instead
+     * of scanning the hemicycle from its start.
      */
     private void calculateSeatsAndStatuses() {
+        RenderCancellation.checkpoint();
+        EmptySeats emptySeats = new EmptySeats(seatPositions);
+        int checkpointMask = RenderCancellation.calculateCheckpointMask(emptySeats.getWorkPerSeat());
         for (ParliamentaryGroup parliamentaryGroup : parliamentaryGroups) {
             GroupSize size = parliamentaryGroup.getSize();
             int fullSize = size.getFullSize();
             if (fullSize > 0) {
-                int firstSeat = findFirstEmptySeat();
+                int firstSeat = emptySeats.takeFirstEmptySeat();
                 seats[firstSeat] = parliamentaryGroup;
                 int row = seatPositions[firstSeat].row();
                 int lowRow = row;
                 int highRow = row;
                 seatStatuses[firstSeat] = calculateSeatStatusWithinGroup(firstSeat, 0, size);
                 for (int i = 1; i < fullSize; i++) {
-                    int seatNumber = 0;
-                    while (seatNumber < numberOfSeats
-                            && (seats[seatNumber] != null || seatPositions[seatNumber].row() > highRow + 1
-                                    || seatPositions[seatNumber].row() < lowRow - 1)) {
-                        seatNumber++;
-                    }
-                    if (seatNumber == numberOfSeats) {
-                        seatNumber = findFirstEmptySeat();
-                    }
+                    RenderCancellation.checkpoint(i, checkpointMask);
+                    int seatNumber = emptySeats.takeFirstEmptySeat(lowRow - 1, highRow + 1);
                     seats[seatNumber] = parliamentaryGroup;
                     row = seatPositions[seatNumber].row();
                     // EQMU: Changing the conditional boundary below produces an equivalent mutant.
@@ -123,6 +137,146 @@ public class RowConnectedSeatingPlan {
         }
     }
 
+    /**
+     * An index with the first empty seat of every row, organized as a segment tree over the rows holding the minimum
+     * seat number in every range of rows, such that the first empty seat within a range of rows can be found and
+     * taken in logarithmic time.
+     */
+    private static final class EmptySeats {
+        /**
+         * The seat positions.
+         */
+        private final SeatPosition[] seatPositions;
+        /**
+         * The lowest row number.
+         */
+        private final int minimumRow;
+        /**
+         * The highest row number.
+         */
+        private final int maximumRow;
+        /**
+         * The seat numbers on every row, in ascending order, with the rows counted from the lowest row number.
+         */
+        private final int[][] seatsOnRow;
+        /**
+         * The position of the first empty seat in the seat numbers of every row.
+         */
+        private final int[] firstEmptySeatOnRow;
+        /**
+         * The number of leaves in the segment tree, i.e. the number of rows rounded up to a power of two.
+         */
+        private final int numberOfLeaves;
+        /**
+         * The segment tree, with the root at index one and the leaves for the rows from index
+         * <code>numberOfLeaves</code> onwards. A range without empty seats holds <code>Integer.MAX_VALUE</code>.
+         */
+        private final int[] tree;
+
+        /**
+         * Constructs the index for an array of seat positions with all seats empty.
+         *
+         * @param seatPositions The seat positions.
+         */
+        private EmptySeats(final SeatPosition[] seatPositions) {
+            this.seatPositions = seatPositions;
+            int lowestRow = Integer.MAX_VALUE;
+            int highestRow = Integer.MIN_VALUE;
+            for (SeatPosition seatPosition : seatPositions) {
+                lowestRow = Math.min(lowestRow, seatPosition.row());
+                highestRow = Math.max(highestRow, seatPosition.row());
+            }
+            minimumRow = lowestRow;
+            maximumRow = highestRow;
+            int numberOfRows = seatPositions.length == 0 ? 0 : highestRow - lowestRow + 1;
+            int[] numberOfSeatsOnRow = new int[numberOfRows];
+            for (SeatPosition seatPosition : seatPositions) {
+                numberOfSeatsOnRow[seatPosition.row() - minimumRow]++;
+            }
+            seatsOnRow = new int[numberOfRows][];
+            for (int row = 0; row < numberOfRows; row++) {
+                seatsOnRow[row] = new int[numberOfSeatsOnRow[row]];
+            }
+            firstEmptySeatOnRow = new int[numberOfRows];
+            for (int seatNumber = 0; seatNumber < seatPositions.length; seatNumber++) {
+                int row = seatPositions[seatNumber].row() - minimumRow;
+                seatsOnRow[row][firstEmptySeatOnRow[row]++] = seatNumber;
+            }
+            numberOfLeaves = Integer.highestOneBit(Math.max(1, numberOfRows - 1)) << 1;
+            tree = new int[2 * numberOfLeaves];
+            Arrays.fill(tree, Integer.MAX_VALUE);
+            for (int row = 0; row < numberOfRows; row++) {
+                firstEmptySeatOnRow[row] = 0;
+                if (seatsOnRow[row].length > 0) {
+                    tree[numberOfLeaves + row] = seatsOnRow[row][0];
+                }
+            }
+            for (int node = numberOfLeaves - 1; node > 0; node--) {
+                tree[node] = Math.min(tree[2 * node], tree[2 * node + 1]);
+            }
+        }
+
+        /**
+         * Returns the number of units of work to find and take a seat, for the checks for cancellation.
+         *
+         * @return The number of units of work to find and take a seat.
+         */
+        private int getWorkPerSeat() {
+            return Integer.numberOfTrailingZeros(numberOfLeaves) + 1;
+        }
+
+        /**
+         * Takes the first empty seat.
+         *
+         * @return The seat number of the first empty seat.
+         */
+        private int takeFirstEmptySeat() {
+            return take(tree[1]);
+        }
+
+        /**
+         * Takes the first empty seat on a range of rows, or the first empty seat if there's no empty seat on the range
+         * of rows.
+         *
+         * @param lowRow  The lowest row of the range.
+         * @param highRow The highest row of the range.
+         * @return The seat number of the seat taken.
+         */
+        private int takeFirstEmptySeat(final int lowRow, final int highRow) {
+            int low = Math.max(lowRow, minimumRow) - minimumRow + numberOfLeaves;
+            int high = Math.min(highRow, maximumRow) - minimumRow + numberOfLeaves + 1;
+            int seatNumber = Integer.MAX_VALUE;
+            while (low < high) {
+                if ((low & 1) == 1) {
+                    seatNumber = Math.min(seatNumber, tree[low++]);
+                }
+                if ((high & 1) == 1) {
+                    seatNumber = Math.min(seatNumber, tree[--high]);
+                }
+                low >>= 1;
+                high >>= 1;
+            }
+            return take(seatNumber == Integer.MAX_VALUE ? tree[1] : seatNumber);
+        }
+
+        /**
+         * Takes a seat, which should be the first empty seat on its row, and updates the index.
+         *
+         * @param seatNumber The seat number of the seat.
+         * @return The seat number of the seat.
+         */
+        private int take(final int seatNumber) {
+            int row = seatPositions[seatNumber].row() - minimumRow;
+            int position = ++firstEmptySeatOnRow[row];
+            int node = numberOfLeaves + row;
+            tree[node] = position < seatsOnRow[row].length ? seatsOnRow[row][position] : Integer.MAX_VALUE;
+            for (node >>= 1; node > 0; node >>= 1) {
+                tree[node] = Math.min(tree[2 * node], tree[2 * node + 1]);
+            }
+            return seatNumber;
+        }
+    }
+
     /**
      * Calculates the status of a seat within a group.
      *
@@ -169,19 +323,6 @@ public class RowConnectedSeatingPlan {
         }
     }
 
-    /**
-     * Finds the first seat that's empty.
-     *
-     * @return The seat number of the first empty seat.
-     */
-    private int findFirstEmptySeat() {
-        int seatNumber = 0;
-        while (seats[seatNumber] != null) {
-            seatNumber++;
-        }
-        return seatNumber;
-    }
-
     /**
      * Returns the total number of seats for all parliamentary groups together.
      *
@@ -0,0 +1,60 @@
+package net.filipvanlaenen.shecc;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for the assignment of the seats of a hemicycle to the parliamentary groups. The event
+ * is disabled by default, and can be enabled in a recording with
+ * <code>+net.filipvanlaenen.shecc.Seating#enabled=true</code>.
+ */
+@Name("net.filipvanlaenen.shecc.Seating")
+@Label("Seat Assignment")
+@Category("SHecC")
+@Description("Assignment of the seats of a hemicycle to the parliamentary groups.")
+@Enabled(false)
+@StackTrace(false)
+final class SeatingEvent extends Event {
+    /**
+     * The number of seats in the seating plan.
+     */
+    @Label("Seats")
+    private int seats;
+    /**
+     * The number of rows in the seating plan.
+     */
+    @Label("Rows")
+    private int rows;
+    /**
+     * The number of parliamentary groups in the seating plan.
+     */
+    @Label("Groups")
+    private int groups;
+    /**
+     * The total number of colors of the parliamentary groups.
+     */
+    @Label("Colors")
+    private int colors;
+
+    /**
+     * Sets the fields describing the seating plan.
+     *
+     * @param seatPositions       The seat positions.
+     * @param parliamentaryGroups The parliamentary groups.
+     */
+    void setSeatingPlan(final SeatPosition[] seatPositions, final ParliamentaryGroup[] parliamentaryGroups) {
+        seats = seatPositions.length;
+        for (SeatPosition seatPosition : seatPositions) {
+            rows = Math.max(rows, seatPosition.row());
+        }
+        groups = parliamentaryGroups.length;
+        for (ParliamentaryGroup parliamentaryGroup : parliamentaryGroups) {
+            colors += parliamentaryGroup.getColors().length;
+        }
+    }
+}
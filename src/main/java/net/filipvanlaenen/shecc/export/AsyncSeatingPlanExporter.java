@@ -0,0 +1,118 @@
+package net.filipvanlaenen.shecc.export;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import net.filipvanlaenen.shecc.HemicycleLayout;
+import net.filipvanlaenen.shecc.HemicycleLayoutCache;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RenderCancellation;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+
+/**
+ * A class exporting seating plans asynchronously, for applications that can't block the calling thread while a chart
+ * is rendered. Every export calculates the layout, assigns the seats and exports the seating plan on an executor
+ * supplied by the caller, and returns a future that's completed with the chart. Independent exports run in parallel
+ * as far as the executor allows, and share the hemicycle layouts through the cache of the exporter, or through a
+ * bounded cache of their own if the exporter has no cache. The static parts of the charts are reused as serialized
+ * fragments only, such that no TSVGJ elements are shared between charts rendered in parallel.
+ *
+ * Completing the future before the chart has been rendered, e.g. by cancelling it or by a time-out, stops the work
+ * for the chart: if it hasn't started yet, it's skipped, and if it's in progress, it's aborted at the next check of its
+ * cancellation.
+ *
+ * Instances are safe to use from multiple threads, provided the exporter isn't reconfigured concurrently.
+ */
+public final class AsyncSeatingPlanExporter {
+    /**
+     * The maximum number of hemicycle layouts in the cache used when the exporter has no cache.
+     */
+    static final int MAXIMUM_NUMBER_OF_CACHED_LAYOUTS = 1_000;
+
+    /**
+     * The exporter holding the configuration.
+     */
+    private final SeatingPlanExporter exporter;
+    /**
+     * The prepared exporter reusing the static parts of the charts.
+     */
+    private final PreparedSeatingPlanExporter preparedExporter;
+    /**
+     * The executor on which the charts are rendered.
+     */
+    private final Executor executor;
+    /**
+     * The cache with the hemicycle layouts used when the exporter has no cache, bounded because the asynchronous
+     * exporter may be used for an unlimited time, and evicting the least recently used layout when it is full.
+     */
+    private final HemicycleLayoutCache ownLayoutCache = new HemicycleLayoutCache(MAXIMUM_NUMBER_OF_CACHED_LAYOUTS);
+
+    /**
+     * Constructs an asynchronous exporter for an exporter. The exporter isn't modified.
+     *
+     * @param exporter The exporter holding the configuration.
+     * @param executor The executor on which the charts should be rendered.
+     */
+    AsyncSeatingPlanExporter(final SeatingPlanExporter exporter, final Executor executor) {
+        this.exporter = exporter;
+        this.preparedExporter = exporter.prepare();
+        this.executor = executor;
+    }
+
+    /**
+     * Exports the seating plan for a set of parliamentary groups to SVG asynchronously. The result is the same as the
+     * result of the <code>export</code> method of the exporter for the seating plan of the parliamentary groups.
+     *
+     * @param groups The parliamentary groups.
+     * @return A future completed with a string representing the seating plan in SVG, or exceptionally if the chart
+     *         couldn't be rendered or the executor rejected it.
+     */
+    public CompletableFuture<String> export(final ParliamentaryGroup... groups) {
+        ParliamentaryGroup[] parliamentaryGroups = groups.clone();
+        RenderCancellation cancellation = RenderCancellation.create();
+        CompletableFuture<String> chart = new CompletableFuture<String>();
+        chart.whenComplete((result, throwable) -> cancellation.cancel());
+        try {
+            executor.execute(() -> render(chart, cancellation, parliamentaryGroups));
+        } catch (RejectedExecutionException ree) {
+            chart.completeExceptionally(ree);
+        }
+        return chart;
+    }
+
+    /**
+     * Renders the chart for a set of parliamentary groups, unless the future has been completed already.
+     *
+     * @param chart        The future to be completed with the chart.
+     * @param cancellation The cancellation for the chart, cancelled when the future is completed.
+     * @param groups       The parliamentary groups.
+     */
+    private void render(final CompletableFuture<String> chart, final RenderCancellation cancellation,
+            final ParliamentaryGroup[] groups) {
+        if (chart.isDone()) {
+            return;
+        }
+        try (RenderCancellation.Scope scope = cancellation.enter()) {
+            int numberOfSeats = 0;
+            for (ParliamentaryGroup parliamentaryGroup : groups) {
+                numberOfSeats += parliamentaryGroup.getSize().getFullSize();
+            }
+            HemicycleLayout layout = getLayoutCache().get(numberOfSeats, exporter.getAngle());
+            chart.complete(preparedExporter.export(new RowConnectedSeatingPlan(layout.getSeatPositions(), groups)));
+        } catch (RuntimeException re) {
+            chart.completeExceptionally(re);
+        }
+    }
+
+    /**
+     * Returns the cache with the hemicycle layouts, i.e. the cache of the exporter, or the cache of this asynchronous
+     * exporter if the exporter has no cache.
+     *
+     * @return The cache with the hemicycle layouts.
+     */
+    HemicycleLayoutCache getLayoutCache() {
+        HemicycleLayoutCache layoutCache = exporter.getLayoutCache();
+        return layoutCache == null ? ownLayoutCache : layoutCache;
+    }
+}
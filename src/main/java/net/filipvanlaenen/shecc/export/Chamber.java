@@ -0,0 +1,12 @@
+package net.filipvanlaenen.shecc.export;
+
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+
+/**
+ * A chamber in a document with several hemicycles, e.g. the lower house and the senate of a bicameral parliament.
+ *
+ * @param title The title of the chamber, or <code>null</code> if the title of the exporter should be used.
+ * @param plan  The seating plan of the chamber.
+ */
+public record Chamber(String title, RowConnectedSeatingPlan plan) {
+}
@@ -0,0 +1,809 @@
+package net.filipvanlaenen.shecc.export;
+
+import java.util.Iterator;
+import java.util.Locale;
+
+import net.filipvanlaenen.kolektoj.ModifiableMap;
+import net.filipvanlaenen.kolektoj.OrderedCollection;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RenderCancellation;
+import net.filipvanlaenen.shecc.RenderMetrics;
+import net.filipvanlaenen.shecc.RenderMetricsListener;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+import net.filipvanlaenen.shecc.SeatPosition;
+import net.filipvanlaenen.shecc.SeatStatus;
+
+/**
+ * A class writing a seating plan to SVG using class-based styling. Instead of repeating the presentation attributes on
+ * every element, the document contains a single <code>style</code> element with a class per parliamentary group and
+ * seat status, and a class per text role. The elements themselves only carry their geometry and a short class name.
+ * The layout of the chart is the same as the one produced by the <code>SeatingPlanExporter</code> class.
+ *
+ * The following class names are used:
+ * <ul>
+ * <li><code>g</code><i>i</i><code>c</code><i>k</i>, <code>g</code><i>i</i><code>l</code><i>k</i> and
+ * <code>g</code><i>i</i><code>u</code><i>k</i>: the certain, likely and unlikely seats for the <i>i</i>th
+ * parliamentary group in its <i>k</i>th color,</li>
+ * <li><code>g</code><i>i</i><code>s</code>: the characters on the uncertain seats of the <i>i</i>th parliamentary
+ * group,</li>
+ * <li><code>kc</code>, <code>kl</code>, <code>ku</code> and <code>ks</code>: the seats and characters in the legend
+ * for the seat statuses,</li>
+ * <li><code>s</code>: the characters on the certain seats,</li>
+ * <li><code>l</code>, <code>t</code>, <code>st</code> and <code>n</code>: the legend labels, the title, the subtitle
+ * and the copyright notice,</li>
+ * <li><code>bg</code>: the background.</li>
+ * </ul>
+ */
+final class ClassStyledSeatingPlanWriter {
+    /**
+     * The class name for the background.
+     */
+    static final String BACKGROUND_CLASS = "bg";
+    /**
+     * The class name for the characters on the certain seats.
+     */
+    static final String CERTAIN_SEAT_CHARACTER_CLASS = "s";
+    /**
+     * The class name for the copyright notice.
+     */
+    static final String COPYRIGHT_NOTICE_CLASS = "n";
+    /**
+     * The class name for the legend labels.
+     */
+    static final String LEGEND_LABEL_CLASS = "l";
+    /**
+     * The prefix for the class names of the parliamentary groups.
+     */
+    static final String PARLIAMENTARY_GROUP_CLASS_PREFIX = "g";
+    /**
+     * The prefix for the class names in the legend for the seat statuses.
+     */
+    static final String SEAT_STATUS_LEGEND_CLASS_PREFIX = "k";
+    /**
+     * The class name for the subtitle.
+     */
+    static final String SUBTITLE_CLASS = "st";
+    /**
+     * The class name for the title.
+     */
+    static final String TITLE_CLASS = "t";
+    /**
+     * The infix for the class names of the certain seats.
+     */
+    static final String CERTAIN = "c";
+    /**
+     * The infix for the class names of the likely seats.
+     */
+    static final String LIKELY = "l";
+    /**
+     * The infix for the class names of the unlikely seats.
+     */
+    static final String UNLIKELY = "u";
+    /**
+     * The suffix for the class names of the characters on the uncertain seats.
+     */
+    static final String CHARACTER = "s";
+    /**
+     * The font color used if no font color has been set.
+     */
+    static final String DEFAULT_FONT_COLOR = "black";
+    /**
+     * The fill color for the characters on the certain seats.
+     */
+    static final String CERTAIN_SEAT_CHARACTER_COLOR = "white";
+
+    /**
+     * The exporter holding the settings for the chart.
+     */
+    private final SeatingPlanExporter exporter;
+    /**
+     * The seating plan to be written.
+     */
+    private final RowConnectedSeatingPlan plan;
+    /**
+     * The dimensions of the chart.
+     */
+    private final SeatingPlanDimensions dimensions;
+    /**
+     * The parliamentary groups of the seating plan.
+     */
+    private final OrderedCollection<ParliamentaryGroup> parliamentaryGroups;
+    /**
+     * The title of the chart, or <code>null</code> if the chart has no title.
+     */
+    private final String title;
+    /**
+     * The indices of the parliamentary groups, used in the class names.
+     */
+    private final ModifiableMap<ParliamentaryGroup, Integer> groupIndices;
+    /**
+     * The writer to which the document is written.
+     */
+    private final SvgWriter writer;
+
+    /**
+     * Constructs a writer for a seating plan, using the settings of an exporter.
+     *
+     * @param exporter   The exporter holding the settings for the chart.
+     * @param plan       The seating plan to be written.
+     * @param dimensions The dimensions of the chart.
+     * @param out        The appendable to which the document should be written.
+     */
+    ClassStyledSeatingPlanWriter(final SeatingPlanExporter exporter, final RowConnectedSeatingPlan plan,
+            final SeatingPlanDimensions dimensions, final Appendable out) {
+        this(exporter, plan, dimensions, exporter.getTitle(), createGroupIndices(plan.getParliamentaryGroups()),
+                new SvgWriter(MeteredAppendable.meterIfListening(out)));
+    }
+
+    /**
+     * Constructs a writer for a seating plan that's part of a larger document, where the class names for the
+     * parliamentary groups are shared with the other seating plans in the document.
+     *
+     * @param exporter     The exporter holding the settings for the chart.
+     * @param plan         The seating plan to be written.
+     * @param dimensions   The dimensions of the chart.
+     * @param title        The title of the chart, or <code>null</code> if the chart has no title.
+     * @param groupIndices The indices of the parliamentary groups, used in the class names.
+     * @param writer       The writer to which the seating plan should be written.
+     */
+    ClassStyledSeatingPlanWriter(final SeatingPlanExporter exporter, final RowConnectedSeatingPlan plan,
+            final SeatingPlanDimensions dimensions, final String title,
+            final ModifiableMap<ParliamentaryGroup, Integer> groupIndices, final SvgWriter writer) {
+        this.exporter = exporter;
+        this.plan = plan;
+        this.dimensions = dimensions;
+        this.parliamentaryGroups = plan.getParliamentaryGroups();
+        this.title = title;
+        this.groupIndices = groupIndices;
+        this.writer = writer;
+    }
+
+    /**
+     * Writes the seating plan as an SVG document.
+     */
+    void write() {
+        write(createHeaderFragment(), createLegendFragment(), createCopyrightNoticeFragment());
+    }
+
+    /**
+     * Writes the seating plan as an SVG document, using fragments for the static parts of the chart and the legend
+     * that have been created already. Only the style element and the hemicycle are written anew.
+     *
+     * @param headerFragment          The fragment with the background, the title and the subtitle.
+     * @param legendFragment          The fragment with the legend.
+     * @param copyrightNoticeFragment The fragment with the copyright notice.
+     */
+    void write(final String headerFragment, final String legendFragment, final String copyrightNoticeFragment) {
+        ExportEvent event = new ExportEvent();
+        event.begin();
+        long start = System.nanoTime();
+        double width = dimensions.getWidth();
+        double canvasHeight = dimensions.canvasHeight();
+        writer.startElement("svg", "height", canvasHeight * Exporter.VIEW_BOX_TO_SVG_DIMENSIONS_FACTOR, "viewBox",
+                SvgWriter.formatNumber(-dimensions.getHalfWidth()) + " "
+                        + SvgWriter.formatNumber(dimensions.canvasTopEdge()) + " " + SvgWriter.formatNumber(width)
+                        + " " + SvgWriter.formatNumber(canvasHeight),
+                "width", width * Exporter.VIEW_BOX_TO_SVG_DIMENSIONS_FACTOR, "xmlns", "http://www.w3.org/2000/svg");
+        writeStyle();
+        writer.appendFragment(headerFragment);
+        writeHemicycle();
+        writer.appendFragment(legendFragment);
+        writer.appendFragment(copyrightNoticeFragment);
+        writer.endElement("svg");
+        if (writer.getAppendable() instanceof MeteredAppendable meteredOut) {
+            RenderMetricsListener listener = RenderMetrics.getListener();
+            listener.documentBuilt(plan.getNumberOfSeats(), System.nanoTime() - start);
+            listener.chartExported(plan.getNumberOfSeats(), meteredOut.getNumberOfElements(),
+                    meteredOut.getNumberOfBytes());
+        }
+        if (event.shouldCommit()) {
+            event.addSeatingPlan(plan, dimensions.layout().getNumberOfRows());
+            event.setDocument(true, writer.getAppendable() instanceof MeteredAppendable meteredOut
+                    ? meteredOut.getNumberOfBytes() : 0L);
+            event.commit();
+        }
+    }
+
+    /**
+     * Writes the seating plan as a nested SVG element in a larger document, with its own view box. The style element
+     * is left to the larger document.
+     *
+     * @param id The identifier of the nested SVG element.
+     * @param x  The x coordinate of the nested SVG element in the larger document.
+     */
+    void writeNested(final String id, final double x) {
+        String headerFragment = createHeaderFragment();
+        String legendFragment = createLegendFragment();
+        String copyrightNoticeFragment = createCopyrightNoticeFragment();
+        double width = dimensions.getWidth();
+        double canvasHeight = dimensions.canvasHeight();
+        writer.startElement("svg", "height", canvasHeight * Exporter.VIEW_BOX_TO_SVG_DIMENSIONS_FACTOR, "id", id,
+                "viewBox",
+                SvgWriter.formatNumber(-dimensions.getHalfWidth()) + " "
+                        + SvgWriter.formatNumber(dimensions.canvasTopEdge()) + " " + SvgWriter.formatNumber(width)
+                        + " " + SvgWriter.formatNumber(canvasHeight),
+                "width", width * Exporter.VIEW_BOX_TO_SVG_DIMENSIONS_FACTOR, "x", x);
+        writer.appendFragment(headerFragment);
+        writeHemicycle();
+        writer.appendFragment(legendFragment);
+        writer.appendFragment(copyrightNoticeFragment);
+        writer.endElement("svg");
+    }
+
+    /**
+     * Creates the fragment with the background, the title and the subtitle.
+     *
+     * @return The fragment with the background, the title and the subtitle.
+     */
+    String createHeaderFragment() {
+        StringBuilder sb = new StringBuilder();
+        SvgWriter fragmentWriter = new SvgWriter(sb, writer.getDepth() + 1);
+        if (exporter.getBackgroundColor() != null) {
+            fragmentWriter.emptyElement("rect", "class", BACKGROUND_CLASS, "height", dimensions.canvasHeight(),
+                    "width", dimensions.getWidth(), "x", -dimensions.getHalfWidth(), "y", dimensions.canvasTopEdge());
+        }
+        if (title != null) {
+            fragmentWriter.textElement("text", title, "class", TITLE_CLASS, "x", 0D, "y",
+                    exporter.calculateTitleY());
+        }
+        if (exporter.getSubtitle() != null) {
+            fragmentWriter.textElement("text", exporter.getSubtitle(), "class", SUBTITLE_CLASS, "x", 0D, "y",
+                    SeatingPlanExporter.SUBTITLE_Y);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Creates the fragment with the legend, or an empty fragment if no legend should be displayed.
+     *
+     * @return The fragment with the legend.
+     */
+    String createLegendFragment() {
+        StringBuilder sb = new StringBuilder();
+        if (exporter.isDisplayLegend()) {
+            writeLegend(new SvgWriter(sb, writer.getDepth() + 1));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Creates the fragment with the copyright notice.
+     *
+     * @return The fragment with the copyright notice.
+     */
+    String createCopyrightNoticeFragment() {
+        StringBuilder sb = new StringBuilder();
+        double halfWidth = dimensions.getHalfWidth();
+        double canvasTopEdge = dimensions.canvasTopEdge();
+        double margin = Exporter.calculateCopyrightNoticeMargin(dimensions.getWidth(), dimensions.canvasHeight());
+        new SvgWriter(sb, writer.getDepth() + 1).textElement("text",
+                exporter.createCopyrightNoticeText(exporter.getCustomCopyrightNotice()), "class",
+                COPYRIGHT_NOTICE_CLASS, "transform",
+                createRotation(Exporter.COPYRIGHT_NOTICE_ROTATION_ANGLE, halfWidth, canvasTopEdge), "x",
+                halfWidth - margin, "y", canvasTopEdge - margin);
+        return sb.toString();
+    }
+
+    /**
+     * Writes the style element, with the rules for all the classes used in the document.
+     */
+    private void writeStyle() {
+        double seatRadius = dimensions.seatRadius();
+        double strokeWidth = seatRadius * SeatingPlanExporter.RADIUS_TO_STROKE_FACTOR;
+        String fontColor = exporter.getFontColor() == null ? DEFAULT_FONT_COLOR : toHex(exporter.getFontColor());
+        String legendFontColor = toHex(exporter.getFontColorOrZero());
+        boolean[][] usedSeatStatuses = findUsedSeatStatuses();
+        writer.startElement("style");
+        if (exporter.getFontFamily() != null) {
+            writer.textLine("text{font-family:" + quote(exporter.getFontFamily()) + "}");
+        }
+        if (exporter.getBackgroundColor() != null) {
+            writer.textLine("." + BACKGROUND_CLASS + "{fill:" + toHex(exporter.getBackgroundColor()) + "}");
+        }
+        if (title != null) {
+            writer.textLine(createTextRule(TITLE_CLASS, legendFontColor, SeatingPlanExporter.TITLE_HEIGHT, "middle")
+                    + "font-weight:bold}");
+        }
+        if (exporter.getSubtitle() != null) {
+            writer.textLine(createTextRule(SUBTITLE_CLASS, legendFontColor, SeatingPlanExporter.SUBTITLE_HEIGHT,
+                    "middle") + "font-weight:bold}");
+        }
+        Iterator<ParliamentaryGroup> parliamentaryGroupIterator = parliamentaryGroups.iterator();
+        for (int groupIndex = 0; parliamentaryGroupIterator.hasNext(); groupIndex++) {
+            ParliamentaryGroup parliamentaryGroup = parliamentaryGroupIterator.next();
+            String prefix = PARLIAMENTARY_GROUP_CLASS_PREFIX + groupIndex;
+            int[] colors = parliamentaryGroup.getColors();
+            for (int k = 0; k < colors.length; k++) {
+                String color = toHex(colors[k]);
+                writer.textLine(createCertainSeatRule(prefix + CERTAIN + k, color));
+                if (usedSeatStatuses[groupIndex][SeatStatus.LIKELY.ordinal()]) {
+                    writer.textLine(createLikelySeatRule(prefix + LIKELY + k, color, strokeWidth, colors.length > 1));
+                }
+                if (usedSeatStatuses[groupIndex][SeatStatus.UNLIKELY.ordinal()]
+                        || usedSeatStatuses[groupIndex][SeatStatus.LIKELY.ordinal()] && colors.length > 1) {
+                    writer.textLine(createUnlikelySeatRule(prefix + UNLIKELY + k, color, strokeWidth));
+                }
+            }
+            if (parliamentaryGroup.getCharacter() != null && (usedSeatStatuses[groupIndex][SeatStatus.LIKELY.ordinal()]
+                    || usedSeatStatuses[groupIndex][SeatStatus.UNLIKELY.ordinal()])) {
+                writer.textLine(createTextRule(prefix + CHARACTER, toHex(colors[0]), seatRadius, "middle") + "}");
+            }
+        }
+        if (hasCharacters() || exporter.isDisplayLegend() && plan.hasUncertainSeats()) {
+            writer.textLine(
+                    createTextRule(CERTAIN_SEAT_CHARACTER_CLASS, CERTAIN_SEAT_CHARACTER_COLOR, seatRadius, "middle")
+                            + "}");
+        }
+        if (exporter.isDisplayLegend()) {
+            if (plan.hasUncertainSeats()) {
+                writer.textLine(createCertainSeatRule(SEAT_STATUS_LEGEND_CLASS_PREFIX + CERTAIN, legendFontColor));
+                writer.textLine(createLikelySeatRule(SEAT_STATUS_LEGEND_CLASS_PREFIX + LIKELY, legendFontColor,
+                        strokeWidth, false));
+                writer.textLine(createUnlikelySeatRule(SEAT_STATUS_LEGEND_CLASS_PREFIX + UNLIKELY, legendFontColor,
+                        strokeWidth));
+                writer.textLine(createTextRule(SEAT_STATUS_LEGEND_CLASS_PREFIX + CHARACTER, legendFontColor,
+                        seatRadius, "middle") + "}");
+            }
+            writer.textLine(createTextRule(LEGEND_LABEL_CLASS, legendFontColor, seatRadius, "start") + "}");
+        }
+        writer.textLine(createTextRule(COPYRIGHT_NOTICE_CLASS, fontColor,
+                Exporter.calculateCopyrightNoticeFontSize(dimensions.getWidth(), dimensions.canvasHeight()), "end")
+                + "}");
+        writer.endElement("style");
+    }
+
+    /**
+     * Finds out which seat statuses are used by which parliamentary groups.
+     *
+     * @return A two-dimensional array, indexed by parliamentary group and seat status.
+     */
+    private boolean[][] findUsedSeatStatuses() {
+        boolean[][] usedSeatStatuses = new boolean[parliamentaryGroups.size()][SeatStatus.values().length];
+        for (int seatNumber = 0; seatNumber < plan.getNumberOfSeats(); seatNumber++) {
+            int groupIndex = groupIndices.get(plan.getParliamentaryGroupAtSeat(seatNumber));
+            usedSeatStatuses[groupIndex][plan.getSeatStatus(seatNumber).ordinal()] = true;
+        }
+        return usedSeatStatuses;
+    }
+
+    /**
+     * Creates a map with the indices of the parliamentary groups.
+     *
+     * @param parliamentaryGroups The parliamentary groups.
+     * @return A map with the indices of the parliamentary groups.
+     */
+    private static ModifiableMap<ParliamentaryGroup, Integer> createGroupIndices(
+            final OrderedCollection<ParliamentaryGroup> parliamentaryGroups) {
+        ModifiableMap<ParliamentaryGroup, Integer> groupIndices = ModifiableMap.empty();
+        Iterator<ParliamentaryGroup> parliamentaryGroupIterator = parliamentaryGroups.iterator();
+        for (int groupIndex = 0; parliamentaryGroupIterator.hasNext(); groupIndex++) {
+            groupIndices.add(parliamentaryGroupIterator.next(), groupIndex);
+        }
+        return groupIndices;
+    }
+
+    /**
+     * Returns whether any of the parliamentary groups has a character.
+     *
+     * @return True if at least one of the parliamentary groups has a character.
+     */
+    private boolean hasCharacters() {
+        Iterator<ParliamentaryGroup> parliamentaryGroupIterator = parliamentaryGroups.iterator();
+        while (parliamentaryGroupIterator.hasNext()) {
+            if (parliamentaryGroupIterator.next().getCharacter() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the grouping for the hemicycle and its content. The seats are grouped per parliamentary group, in the
+     * order in which the parliamentary groups first appear in the hemicycle. If parallel rendering has been switched
+     * on, the fragments for the parliamentary groups are written in parallel.
+     */
+    private void writeHemicycle() {
+        ParliamentaryGroupSeats[] parliamentaryGroupSeats =
+                ParliamentaryGroupSeats.partition(dimensions.layout(), plan);
+        int[] parliamentaryGroupIndices = new int[parliamentaryGroupSeats.length];
+        for (int i = 0; i < parliamentaryGroupSeats.length; i++) {
+            parliamentaryGroupIndices[i] = groupIndices.get(parliamentaryGroupSeats[i].parliamentaryGroup());
+        }
+        writer.startElement("g");
+        int groupDepth = writer.getDepth() + 1;
+        StringBuilder[] fragments = new StringBuilder[parliamentaryGroupSeats.length];
+        SeatingPlanExporter.renderFragments(exporter.isParallelRendering(), fragments,
+                i -> createParliamentaryGroupFragment(parliamentaryGroupSeats[i], parliamentaryGroupIndices[i],
+                        groupDepth));
+        for (StringBuilder fragment : fragments) {
+            writer.startElement("g");
+            writer.appendFragment(fragment);
+            writer.endElement("g");
+        }
+        writer.endElement("g");
+    }
+
+    /**
+     * Creates the fragment with the seats of a parliamentary group.
+     *
+     * @param parliamentaryGroupSeats The seats of the parliamentary group.
+     * @param groupIndex              The index of the parliamentary group, used in the class names.
+     * @param depth                   The nesting depth of the seats in the document.
+     * @return A string builder containing the fragment.
+     */
+    private StringBuilder createParliamentaryGroupFragment(final ParliamentaryGroupSeats parliamentaryGroupSeats,
+            final int groupIndex, final int depth) {
+        StringBuilder fragment = new StringBuilder();
+        SvgWriter groupWriter = new SvgWriter(fragment, depth);
+        double seatRadius = dimensions.seatRadius();
+        ParliamentaryGroup parliamentaryGroup = parliamentaryGroupSeats.parliamentaryGroup();
+        String prefix = PARLIAMENTARY_GROUP_CLASS_PREFIX + groupIndex;
+        String character = parliamentaryGroup.getCharacter();
+        int noOfColors = parliamentaryGroup.getColors().length;
+        for (int i = 0; i < parliamentaryGroupSeats.size(); i++) {
+            RenderCancellation.checkpoint(i, SeatingPlanExporter.SEAT_CHECKPOINT_MASK);
+            SeatPosition seatPosition = parliamentaryGroupSeats.seatPositions()[i];
+            double x = seatPosition.getX();
+            double y = -seatPosition.getY();
+            SeatStatus seatStatus = plan.getSeatStatus(parliamentaryGroupSeats.seatNumbers()[i]);
+            if (character == null) {
+                writeDecoratedCircleOrSectors(groupWriter, x, y, seatRadius, prefix, noOfColors, seatStatus);
+            } else {
+                groupWriter.startElement("g");
+                writeDecoratedCircleOrSectors(groupWriter, x, y, seatRadius, prefix, noOfColors, seatStatus);
+                String characterClass =
+                        seatStatus == SeatStatus.CERTAIN ? CERTAIN_SEAT_CHARACTER_CLASS : prefix + CHARACTER;
+                double textY = y + seatRadius * SeatingPlanExporter.FONT_SIZE_FACTOR_TO_CENTER_VERTICALLY;
+                if (exporter.isRotateLetters()) {
+                    double letterAngle =
+                            SeatingPlanExporter.STRAIGHT_ANGLE * (Math.PI / 2D - seatPosition.angle()) / Math.PI;
+                    groupWriter.textElement("text", character, "class", characterClass, "transform",
+                            createRotation(letterAngle, x, y), "x", x, "y", textY);
+                } else {
+                    groupWriter.textElement("text", character, "class", characterClass, "x", x, "y", textY);
+                }
+                groupWriter.endElement("g");
+            }
+        }
+        return fragment;
+    }
+
+    /**
+     * Writes the grouping with the legend.
+     *
+     * @param out The writer to which the legend should be written.
+     */
+    private void writeLegend(final SvgWriter out) {
+        double layoutWidth = dimensions.getLayoutWidth();
+        double layoutHalfWidth = dimensions.getLayoutHalfWidth();
+        double hemicycleHeight = dimensions.getHemicycleHeight();
+        double seatRadius = dimensions.seatRadius();
+        int noOfParliamentaryGroups = parliamentaryGroups.size();
+        int noOfParliamentaryGroupLegendRows = dimensions.noOfParliamentaryGroupLegendRows();
+        int noOfSlotsPerLegendRow = SeatingPlanExporter.calculateNoOfSlotsPerLegendRow(noOfParliamentaryGroups,
+                noOfParliamentaryGroupLegendRows);
+        double legendSlotWidth = layoutWidth / noOfSlotsPerLegendRow;
+        boolean hasUncertainSeats = plan.hasUncertainSeats();
+        if (hasUncertainSeats) {
+            out.startElement("g");
+        }
+        out.startElement("g");
+        Iterator<ParliamentaryGroup> parliamentaryGroupIterator = parliamentaryGroups.iterator();
+        int legendSlotIndex = 0;
+        while (parliamentaryGroupIterator.hasNext()) {
+            ParliamentaryGroup parliamentaryGroup = parliamentaryGroupIterator.next();
+            String prefix = PARLIAMENTARY_GROUP_CLASS_PREFIX + groupIndices.get(parliamentaryGroup);
+            double x = SeatingPlanExporter.calculateLegendSlotX(layoutHalfWidth, seatRadius, noOfParliamentaryGroups,
+                    noOfParliamentaryGroupLegendRows, legendSlotIndex, noOfSlotsPerLegendRow, legendSlotWidth);
+            double y = SeatingPlanExporter.calculateLegendRowY(hemicycleHeight, seatRadius,
+                    legendSlotIndex / noOfSlotsPerLegendRow);
+            double textY = y + seatRadius * SeatingPlanExporter.FONT_SIZE_FACTOR_TO_CENTER_VERTICALLY;
+            out.startElement("g");
+            String character = parliamentaryGroup.getCharacter();
+            int noOfColors = parliamentaryGroup.getColors().length;
+            if (character == null) {
+                writeDecoratedCircleOrSectors(out, x, y, seatRadius, prefix, noOfColors, SeatStatus.CERTAIN);
+            } else {
+                out.startElement("g");
+                writeDecoratedCircleOrSectors(out, x, y, seatRadius, prefix, noOfColors, SeatStatus.CERTAIN);
+                out.textElement("text", character, "class", CERTAIN_SEAT_CHARACTER_CLASS, "x", x, "y", textY);
+                out.endElement("g");
+            }
+            out.textElement("text",
+                    parliamentaryGroup.getName() + " (" + parliamentaryGroup.getSize().getFullSize() + ")", "class",
+                    LEGEND_LABEL_CLASS, "x", x + SeatingPlanExporter.SEAT_RADIUS_TO_LEGEND_GAP_FACTOR * seatRadius,
+                    "y", textY);
+            out.endElement("g");
+            legendSlotIndex += 1;
+        }
+        out.endElement("g");
+        if (hasUncertainSeats) {
+            out.startElement("g");
+            double seatStatusLegendSlotWidth = layoutWidth / SeatingPlanExporter.THREE;
+            int legendRow = dimensions.noOfLegendRows() - 1;
+            writeSeatStatusLegendSlot(out, 0, seatStatusLegendSlotWidth, legendRow, SeatStatus.CERTAIN,
+                    SeatingPlanExporter.CERTAIN_SEATS_LEGEND_LABEL);
+            writeSeatStatusLegendSlot(out, 1, seatStatusLegendSlotWidth, legendRow, SeatStatus.LIKELY,
+                    SeatingPlanExporter.LIKELY_SEATS_LEGEND_LABEL);
+            writeSeatStatusLegendSlot(out, 2, seatStatusLegendSlotWidth, legendRow, SeatStatus.UNLIKELY,
+                    SeatingPlanExporter.UNLIKELY_SEATS_LEGEND_LABEL);
+            out.endElement("g");
+            out.endElement("g");
+        }
+    }
+
+    /**
+     * Writes a legend slot for a seat status.
+     *
+     * @param out             The writer to which the legend slot should be written.
+     * @param slotIndex       The index of the slot on the legend row.
+     * @param legendSlotWidth The width for the legend slots.
+     * @param legendRow       The index of the legend row.
+     * @param seatStatus      The seat status.
+     * @param label           The label for the seat status.
+     */
+    private void writeSeatStatusLegendSlot(final SvgWriter out, final int slotIndex, final double legendSlotWidth,
+            final int legendRow, final SeatStatus seatStatus, final String label) {
+        double seatRadius = dimensions.seatRadius();
+        double x = -dimensions.getLayoutHalfWidth() + seatRadius + legendSlotWidth * slotIndex;
+        double y = SeatingPlanExporter.calculateLegendRowY(dimensions.getHemicycleHeight(), seatRadius, legendRow);
+        double textY = y + seatRadius * SeatingPlanExporter.FONT_SIZE_FACTOR_TO_CENTER_VERTICALLY;
+        out.startElement("g");
+        out.startElement("g");
+        writeCircle(out, x, y, seatRadius, SEAT_STATUS_LEGEND_CLASS_PREFIX + getInfix(seatStatus), seatStatus);
+        String characterClass = seatStatus == SeatStatus.CERTAIN ? CERTAIN_SEAT_CHARACTER_CLASS
+                : SEAT_STATUS_LEGEND_CLASS_PREFIX + CHARACTER;
+        out.textElement("text", SeatingPlanExporter.SEAT_STATUS_LEGEND_CHARACTER, "class", characterClass, "x", x, "y",
+                textY);
+        out.endElement("g");
+        out.textElement("text", label, "class", LEGEND_LABEL_CLASS, "x",
+                x + SeatingPlanExporter.SEAT_RADIUS_TO_LEGEND_GAP_FACTOR * seatRadius, "y", textY);
+        out.endElement("g");
+    }
+
+    /**
+     * Writes a decorated circle or a grouping with decorated sectors, depending on the number of colors and the status
+     * of the seat.
+     *
+     * @param writer     The writer to which the circle or the sectors should be written.
+     * @param x          The x coordinate of the center.
+     * @param y          The y coordinate of the center.
+     * @param radius     The radius.
+     * @param prefix     The prefix for the class names.
+     * @param noOfColors The number of colors.
+     * @param seatStatus The status of the seat.
+     */
+    private static void writeDecoratedCircleOrSectors(final SvgWriter writer, final double x, final double y,
+            final double radius, final String prefix, final int noOfColors, final SeatStatus seatStatus) {
+        if (noOfColors == 1) {
+            writeCircle(writer, x, y, radius, prefix + getInfix(seatStatus) + 0, seatStatus);
+            return;
+        }
+        double strokeWidth = radius * SeatingPlanExporter.RADIUS_TO_STROKE_FACTOR;
+        double smallerRadius = radius - strokeWidth / 2D;
+        UnitSectorOffsets offsets = UnitSectorOffsets.get(noOfColors);
+        writer.startElement("g");
+        for (int i = 0; i < noOfColors; i++) {
+            switch (seatStatus) {
+            case CERTAIN:
+            default:
+                writer.emptyElement("path", "class", prefix + CERTAIN + i, "d",
+                        createSectorPathData(x, y, radius, offsets, i));
+                break;
+            case LIKELY:
+                writer.emptyElement("path", "class", prefix + LIKELY + i, "d",
+                        createSectorPathData(x, y, radius, offsets, i));
+                writer.emptyElement("path", "class", prefix + UNLIKELY + i, "d",
+                        createArcPathData(x, y, smallerRadius, offsets, i));
+                break;
+            case UNLIKELY:
+                writer.emptyElement("path", "class", prefix + UNLIKELY + i, "d",
+                        createArcPathData(x, y, smallerRadius, offsets, i));
+                break;
+            }
+        }
+        writer.endElement("g");
+    }
+
+    /**
+     * Writes a circle for a seat.
+     *
+     * @param writer     The writer to which the circle should be written.
+     * @param x          The x coordinate of the center.
+     * @param y          The y coordinate of the center.
+     * @param radius     The radius.
+     * @param className  The class name.
+     * @param seatStatus The status of the seat.
+     */
+    private static void writeCircle(final SvgWriter writer, final double x, final double y, final double radius,
+            final String className, final SeatStatus seatStatus) {
+        if (seatStatus == SeatStatus.CERTAIN) {
+            writer.emptyElement("circle", "class", className, "cx", x, "cy", y, "r", radius);
+        } else {
+            double strokeWidth = radius * SeatingPlanExporter.RADIUS_TO_STROKE_FACTOR;
+            writer.emptyElement("circle", "class", className, "cx", x, "cy", y, "r", radius - strokeWidth / 2D);
+        }
+    }
+
+    /**
+     * Returns the infix for the class names for a seat status.
+     *
+     * @param seatStatus The status of the seat.
+     * @return The infix for the class names for the seat status.
+     */
+    private static String getInfix(final SeatStatus seatStatus) {
+        switch (seatStatus) {
+        case CERTAIN:
+        default:
+            return CERTAIN;
+        case LIKELY:
+            return LIKELY;
+        case UNLIKELY:
+            return UNLIKELY;
+        }
+    }
+
+    /**
+     * Creates the path data for a sector, i.e. from the center to the arc and back.
+     *
+     * @param x       The x coordinate of the center.
+     * @param y       The y coordinate of the center.
+     * @param radius  The radius.
+     * @param offsets The offsets of the sector boundaries on the unit circle.
+     * @param sector  The index of the sector.
+     * @return The path data for the sector.
+     */
+    private static String createSectorPathData(final double x, final double y, final double radius,
+            final UnitSectorOffsets offsets, final int sector) {
+        StringBuilder sb = new StringBuilder("M ");
+        appendCoordinates(sb, x, y);
+        sb.append(" L ");
+        appendCoordinates(sb, x + radius * offsets.getXOffset(sector), y + radius * offsets.getYOffset(sector));
+        appendArc(sb, x, y, radius, offsets, sector + 1);
+        return sb.append(" Z").toString();
+    }
+
+    /**
+     * Creates the path data for the arc of a sector.
+     *
+     * @param x       The x coordinate of the center.
+     * @param y       The y coordinate of the center.
+     * @param radius  The radius.
+     * @param offsets The offsets of the sector boundaries on the unit circle.
+     * @param sector  The index of the sector.
+     * @return The path data for the arc.
+     */
+    private static String createArcPathData(final double x, final double y, final double radius,
+            final UnitSectorOffsets offsets, final int sector) {
+        StringBuilder sb = new StringBuilder("M ");
+        appendCoordinates(sb, x + radius * offsets.getXOffset(sector), y + radius * offsets.getYOffset(sector));
+        appendArc(sb, x, y, radius, offsets, sector + 1);
+        return sb.toString();
+    }
+
+    /**
+     * Appends an arc command to path data.
+     *
+     * @param sb       The string builder with the path data.
+     * @param x        The x coordinate of the center.
+     * @param y        The y coordinate of the center.
+     * @param radius   The radius.
+     * @param offsets  The offsets of the sector boundaries on the unit circle.
+     * @param boundary The index of the boundary where the arc ends.
+     */
+    private static void appendArc(final StringBuilder sb, final double x, final double y, final double radius,
+            final UnitSectorOffsets offsets, final int boundary) {
+        sb.append(" A ");
+        appendCoordinates(sb, radius, radius);
+        sb.append(" 0 0 1 ");
+        appendCoordinates(sb, x + radius * offsets.getXOffset(boundary), y + radius * offsets.getYOffset(boundary));
+    }
+
+    /**
+     * Appends a pair of coordinates to path data.
+     *
+     * @param sb The string builder with the path data.
+     * @param x  The x coordinate.
+     * @param y  The y coordinate.
+     */
+    private static void appendCoordinates(final StringBuilder sb, final double x, final double y) {
+        SvgWriter.appendNumber(sb, x);
+        sb.append(' ');
+        SvgWriter.appendNumber(sb, y);
+    }
+
+    /**
+     * Creates the value for a rotation transformation.
+     *
+     * @param angle The rotation angle.
+     * @param x     The x coordinate of the rotation center.
+     * @param y     The y coordinate of the rotation center.
+     * @return The value for the transform attribute.
+     */
+    private static String createRotation(final double angle, final double x, final double y) {
+        return "rotate(" + SvgWriter.formatNumber(angle) + " " + SvgWriter.formatNumber(x) + ","
+                + SvgWriter.formatNumber(y) + ")";
+    }
+
+    /**
+     * Creates the rule for the certain seats.
+     *
+     * @param className The class name.
+     * @param color     The color.
+     * @return The rule for the certain seats.
+     */
+    static String createCertainSeatRule(final String className, final String color) {
+        return "." + className + "{fill:" + color + "}";
+    }
+
+    /**
+     * Creates the rule for the likely seats. For circles, the rule includes the outline, whereas for sectors, the
+     * outline is drawn separately using the rule for the unlikely seats.
+     *
+     * @param className   The class name.
+     * @param color       The color.
+     * @param strokeWidth The stroke width.
+     * @param sector      True if the rule is for a sector.
+     * @return The rule for the likely seats.
+     */
+    private static String createLikelySeatRule(final String className, final String color, final double strokeWidth,
+            final boolean sector) {
+        String opacity = SvgWriter.formatNumber(SeatingPlanExporter.SEMITRANSPARENT_SEAT_OPACITY);
+        if (sector) {
+            return "." + className + "{fill:" + color + ";opacity:" + opacity + "}";
+        } else {
+            return "." + className + "{fill:" + color + ";fill-opacity:" + opacity + ";stroke:" + color
+                    + ";stroke-width:" + SvgWriter.formatNumber(strokeWidth) + "}";
+        }
+    }
+
+    /**
+     * Creates the rule for the unlikely seats.
+     *
+     * @param className   The class name.
+     * @param color       The color.
+     * @param strokeWidth The stroke width.
+     * @return The rule for the unlikely seats.
+     */
+    private static String createUnlikelySeatRule(final String className, final String color,
+            final double strokeWidth) {
+        return "." + className + "{fill:none;stroke:" + color + ";stroke-width:" + SvgWriter.formatNumber(strokeWidth)
+                + "}";
+    }
+
+    /**
+     * Creates the start of a rule for a text role. The closing brace isn't included, such that more declarations can
+     * be appended.
+     *
+     * @param className  The class name.
+     * @param color      The color.
+     * @param fontSize   The font size.
+     * @param textAnchor The text anchor.
+     * @return The start of the rule for the text role.
+     */
+    static String createTextRule(final String className, final String color, final double fontSize,
+            final String textAnchor) {
+        return "." + className + "{fill:" + color + ";font-size:" + SvgWriter.formatNumber(fontSize)
+                + "px;text-anchor:" + textAnchor + ";";
+    }
+
+    /**
+     * Quotes a font family name for use in a style sheet.
+     *
+     * @param fontFamily The name of the font family.
+     * @return The quoted name of the font family.
+     */
+    static String quote(final String fontFamily) {
+        return "'" + fontFamily.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
+    /**
+     * Converts a color to its hexadecimal notation.
+     *
+     * @param color The color as an integer.
+     * @return The color in hexadecimal notation.
+     */
+    static String toHex(final int color) {
+        return String.format(Locale.US, "#%06X", color);
+    }
+}
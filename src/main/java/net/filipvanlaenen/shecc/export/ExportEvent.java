@@ -0,0 +1,97 @@
+package net.filipvanlaenen.shecc.export;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+
+/**
+ * A Java Flight Recorder event for the export of one or more seating plans to an SVG document. The event is disabled
+ * by default, and can be enabled in a recording with <code>+net.filipvanlaenen.shecc.Export#enabled=true</code>.
+ */
+@Name("net.filipvanlaenen.shecc.Export")
+@Label("SVG Export")
+@Category("SHecC")
+@Description("Export of one or more seating plans to an SVG document.")
+@Enabled(false)
+@StackTrace(false)
+final class ExportEvent extends Event {
+    /**
+     * Whether the SVG document uses class-based styling.
+     */
+    @Label("Class-Based Styling")
+    private boolean classBasedStyling;
+    /**
+     * The number of chambers in the SVG document.
+     */
+    @Label("Chambers")
+    private int chambers;
+    /**
+     * The total number of seats in the SVG document.
+     */
+    @Label("Seats")
+    private int seats;
+    /**
+     * The total number of rows in the SVG document.
+     */
+    @Label("Rows")
+    private int rows;
+    /**
+     * The total number of parliamentary groups in the SVG document.
+     */
+    @Label("Groups")
+    private int groups;
+    /**
+     * The total number of colors of the parliamentary groups in the SVG document.
+     */
+    @Label("Colors")
+    private int colors;
+    /**
+     * The size of the SVG document encoded in UTF-8.
+     */
+    @Label("Output Size")
+    @DataAmount
+    private long outputSize;
+
+    /**
+     * Returns whether export events are being recorded, such that the size of the SVG documents should be measured.
+     *
+     * @return True if export events are being recorded.
+     */
+    static boolean isRecording() {
+        return new ExportEvent().isEnabled();
+    }
+
+    /**
+     * Adds a seating plan to the fields describing the SVG document.
+     *
+     * @param plan         The seating plan.
+     * @param numberOfRows The number of rows of the seating plan.
+     */
+    void addSeatingPlan(final RowConnectedSeatingPlan plan, final int numberOfRows) {
+        chambers++;
+        seats += plan.getNumberOfSeats();
+        rows += numberOfRows;
+        for (ParliamentaryGroup parliamentaryGroup : plan.getParliamentaryGroups()) {
+            groups++;
+            colors += parliamentaryGroup.getColors().length;
+        }
+    }
+
+    /**
+     * Sets the fields describing the SVG document as a whole.
+     *
+     * @param classBased Whether the SVG document uses class-based styling.
+     * @param size       The size of the SVG document encoded in UTF-8.
+     */
+    void setDocument(final boolean classBased, final long size) {
+        classBasedStyling = classBased;
+        outputSize = size;
+    }
+}
@@ -1,8 +1,7 @@
 package net.filipvanlaenen.shecc.export;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
+import java.time.Year;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.filipvanlaenen.tsvgj.ColorKeyword;
 import net.filipvanlaenen.tsvgj.Text;
@@ -16,7 +15,7 @@ abstract class Exporter {
     /**
      * The rotation angle for the copyright notice.
      */
-    private static final double COPYRIGHT_NOTICE_ROTATION_ANGLE = 270D;
+    protected static final double COPYRIGHT_NOTICE_ROTATION_ANGLE = 270D;
     /**
      * The ratio between the seat circle radius and the row width.
      */
@@ -38,6 +37,10 @@ abstract class Exporter {
      */
     private static final double TWO_HUNDRED = 200D;
 
+    /**
+     * The version of the configuration, incremented every time the configuration is changed through a setter.
+     */
+    private final AtomicInteger configurationVersion = new AtomicInteger();
     /**
      * The font color as an integer.
      */
@@ -60,11 +63,9 @@ abstract class Exporter {
      */
     protected Text createCopyrightNotice(final String customNotice, final double x, final double y, final double width,
             final double height) {
-        double size = Math.max(width, height);
-        String fullNotice = customNotice == null ? "Chart produced using SHecC"
-                : "© " + getYear() + " " + customNotice + ", chart produced using SHecC";
-        Text text = new Text(fullNotice).x(x - size / TWO_HUNDRED).y(y - size / TWO_HUNDRED)
-                .fontSize(size / ONE_HUNDRED).textAnchor(TextAnchorValue.END)
+        double margin = calculateCopyrightNoticeMargin(width, height);
+        Text text = new Text(createCopyrightNoticeText(customNotice)).x(x - margin).y(y - margin)
+                .fontSize(calculateCopyrightNoticeFontSize(width, height)).textAnchor(TextAnchorValue.END)
                 .transform(Transform.rotate(COPYRIGHT_NOTICE_ROTATION_ANGLE, x, y));
         if (fontColor == null) {
             text.fill(ColorKeyword.BLACK);
@@ -75,6 +76,77 @@ abstract class Exporter {
         return text;
     }
 
+    /**
+     * Creates the text for a copyright notice. If no custom notice is provided, only a message telling the chart was
+     * produced by SHecC will be created.
+     *
+     * @param customNotice Custom copyright notice.
+     * @return The text for the copyright notice.
+     */
+    protected String createCopyrightNoticeText(final String customNotice) {
+        return customNotice == null ? "Chart produced using SHecC"
+                : "© " + getCurrentYear() + " " + customNotice + ", chart produced using SHecC";
+    }
+
+    /**
+     * Calculates the font size for the copyright notice, based on the dimensions of the view box.
+     *
+     * @param width  The width of the view box.
+     * @param height The height of the view box.
+     * @return The font size for the copyright notice.
+     */
+    protected static double calculateCopyrightNoticeFontSize(final double width, final double height) {
+        return Math.max(width, height) / ONE_HUNDRED;
+    }
+
+    /**
+     * Calculates the margin between the copyright notice and the edges of the view box, based on the dimensions of the
+     * view box.
+     *
+     * @param width  The width of the view box.
+     * @param height The height of the view box.
+     * @return The margin between the copyright notice and the edges of the view box.
+     */
+    protected static double calculateCopyrightNoticeMargin(final double width, final double height) {
+        return Math.max(width, height) / TWO_HUNDRED;
+    }
+
+    /**
+     * Registers that the configuration has been changed. Must be called by every setter changing the configuration,
+     * such that cached renderings based on an older configuration can be detected.
+     */
+    protected void configurationChanged() {
+        configurationVersion.incrementAndGet();
+    }
+
+    /**
+     * Returns the version of the configuration. The version changes every time the configuration is changed through a
+     * setter.
+     *
+     * @return The version of the configuration.
+     */
+    int getConfigurationVersion() {
+        return configurationVersion.get();
+    }
+
+    /**
+     * Returns the font color.
+     *
+     * @return The font color as an integer, or <code>null</code> if no font color has been set.
+     */
+    protected Integer getFontColor() {
+        return fontColor;
+    }
+
+    /**
+     * Returns the font family.
+     *
+     * @return The name of the font family, or <code>null</code> if no font family has been set.
+     */
+    protected String getFontFamily() {
+        return fontFamily;
+    }
+
     /**
      * Returns the font color, or zero if the font color is <code>null</code>.
      *
@@ -85,12 +157,14 @@ abstract class Exporter {
     }
 
     /**
-     * Returns the current year as a string.
+     * Returns the current year in the default time zone, as used in the copyright notice. The year isn't formatted
+     * with a date format, because loading its locale data takes longer than rendering a small chart from the command
+     * line.
      *
-     * @return The current year as a string.
+     * @return The current year.
      */
-    private String getYear() {
-        return new SimpleDateFormat("yyyy", Locale.US).format(new Date());
+    int getCurrentYear() {
+        return Year.now().getValue();
     }
 
     /**
@@ -100,6 +174,7 @@ abstract class Exporter {
      */
     public void setFontColor(final Integer fontColor) {
         this.fontColor = fontColor;
+        configurationChanged();
     }
 
     /**
@@ -109,6 +184,7 @@ abstract class Exporter {
      */
     public void setFontFamily(final String fontFamily) {
         this.fontFamily = fontFamily;
+        configurationChanged();
     }
 
     /**
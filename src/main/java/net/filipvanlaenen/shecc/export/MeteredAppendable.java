@@ -0,0 +1,152 @@
+package net.filipvanlaenen.shecc.export;
+
+import java.io.IOException;
+
+import net.filipvanlaenen.shecc.RenderMetrics;
+import net.filipvanlaenen.shecc.RenderMetricsListener;
+
+/**
+ * An appendable passing everything on to another appendable, while counting the number of bytes the text takes when
+ * encoded in UTF-8 and the number of elements in it, i.e. the number of start tags and empty-element tags. It's used
+ * to report the size of the SVG documents to the metrics listener and in the export events, and by the command-line
+ * interface to report the size of the charts it writes to an appendable.
+ */
+public final class MeteredAppendable implements Appendable {
+    /**
+     * The largest character encoded as a single byte in UTF-8.
+     */
+    private static final char MAXIMUM_ONE_BYTE_CHARACTER = 0x7F;
+    /**
+     * The largest character encoded as two bytes in UTF-8.
+     */
+    private static final char MAXIMUM_TWO_BYTE_CHARACTER = 0x7FF;
+    /**
+     * The number of bytes for a character outside the surrogate range that isn't encoded in one or two bytes.
+     */
+    private static final int THREE_BYTES = 3;
+
+    /**
+     * The appendable to which everything is passed on, or <code>null</code> if the text should only be counted.
+     */
+    private final Appendable delegate;
+    /**
+     * The number of bytes counted so far.
+     */
+    private long numberOfBytes;
+    /**
+     * The number of elements counted so far.
+     */
+    private long numberOfElements;
+    /**
+     * Whether the last character counted was the start of a tag.
+     */
+    private boolean afterLessThanSign;
+
+    /**
+     * Constructs an appendable passing everything on to another appendable.
+     *
+     * @param delegate The appendable to which everything is passed on, or <code>null</code> if the text should only be
+     *                 counted.
+     */
+    public MeteredAppendable(final Appendable delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Appendable append(final char c) throws IOException {
+        count(c);
+        if (delegate != null) {
+            delegate.append(c);
+        }
+        return this;
+    }
+
+    @Override
+    public Appendable append(final CharSequence csq) throws IOException {
+        CharSequence text = csq == null ? "null" : csq;
+        return append(text, 0, text.length());
+    }
+
+    @Override
+    public Appendable append(final CharSequence csq, final int start, final int end) throws IOException {
+        CharSequence text = csq == null ? "null" : csq;
+        count(text, start, end);
+        if (delegate != null) {
+            delegate.append(text, start, end);
+        }
+        return this;
+    }
+
+    /**
+     * Returns an appendable counting the text passed on to another appendable if a metrics listener is installed or
+     * export events are being recorded, or the other appendable itself if not.
+     *
+     * @param out The appendable to which the text should be passed on.
+     * @return An appendable counting the text, or the appendable itself.
+     */
+    static Appendable meterIfListening(final Appendable out) {
+        return RenderMetrics.getListener() == RenderMetricsListener.NO_OP && !ExportEvent.isRecording() ? out
+                : new MeteredAppendable(out);
+    }
+
+    /**
+     * Counts a part of a text.
+     *
+     * @param text  The text.
+     * @param start The index of the first character to be counted.
+     * @param end   The index after the last character to be counted.
+     */
+    void count(final CharSequence text, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            count(text.charAt(i));
+        }
+    }
+
+    /**
+     * Counts a character.
+     *
+     * @param c The character.
+     */
+    private void count(final char c) {
+        numberOfBytes += getNumberOfBytes(c);
+        if (afterLessThanSign && Character.isLetter(c)) {
+            numberOfElements++;
+        }
+        afterLessThanSign = c == '<';
+    }
+
+    /**
+     * Returns the number of bytes a character takes when encoded in UTF-8. A surrogate is counted as two bytes, such
+     * that a surrogate pair is counted as the four bytes it takes.
+     *
+     * @param c The character.
+     * @return The number of bytes the character takes when encoded in UTF-8.
+     */
+    static int getNumberOfBytes(final char c) {
+        if (c <= MAXIMUM_ONE_BYTE_CHARACTER) {
+            return 1;
+        } else if (c <= MAXIMUM_TWO_BYTE_CHARACTER || Character.isSurrogate(c)) {
+            return 2;
+        } else {
+            return THREE_BYTES;
+        }
+    }
+
+    /**
+     * Returns the number of bytes counted so far, i.e. the number of bytes the text takes when encoded in UTF-8.
+     *
+     * @return The number of bytes counted so far.
+     */
+    public long getNumberOfBytes() {
+        return numberOfBytes;
+    }
+
+    /**
+     * Returns the number of elements counted so far.
+     *
+     * @return The number of elements counted so far.
+     */
+    long getNumberOfElements() {
+        return numberOfElements;
+    }
+}
@@ -0,0 +1,320 @@
+package net.filipvanlaenen.shecc.export;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import net.filipvanlaenen.kolektoj.ModifiableMap;
+import net.filipvanlaenen.shecc.HemicycleLayoutCache;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RenderMetrics;
+import net.filipvanlaenen.shecc.RenderMetricsListener;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+import net.filipvanlaenen.shecc.SeatStatus;
+
+/**
+ * A class writing several chambers side by side to a single SVG document. Every chamber is written as a nested SVG
+ * element with its own view box, using the <code>ClassStyledSeatingPlanWriter</code> class, and the chambers are
+ * aligned at the top.
+ *
+ * The document has a single style element shared by all the chambers. Parliamentary groups with the same name, colors
+ * and character are considered to be the same party, and share their class names and style rules across the chambers.
+ * The font sizes and stroke widths that depend on the size of the seats are set once per chamber, on the nested SVG
+ * element, and inherited from there, such that the rules for the parties don't have to be repeated per chamber. The
+ * nested SVG elements have the identifiers <code>h</code><i>j</i>, for the <i>j</i>th chamber.
+ */
+final class MultiChamberSeatingPlanWriter {
+    /**
+     * The prefix for the identifiers of the chambers.
+     */
+    private static final String CHAMBER_ID_PREFIX = "h";
+
+    /**
+     * The exporter holding the settings for the charts.
+     */
+    private final SeatingPlanExporter exporter;
+    /**
+     * The chambers to be written.
+     */
+    private final Chamber[] chambers;
+    /**
+     * The dimensions of the charts for the chambers.
+     */
+    private final SeatingPlanDimensions[] dimensions;
+    /**
+     * The indices of the parliamentary groups per chamber, used in the class names.
+     */
+    private final List<ModifiableMap<ParliamentaryGroup, Integer>> groupIndices =
+            new ArrayList<ModifiableMap<ParliamentaryGroup, Integer>>();
+    /**
+     * The parties, i.e. the first parliamentary group with a given name, colors and character, per index.
+     */
+    private final List<ParliamentaryGroup> parties = new ArrayList<ParliamentaryGroup>();
+    /**
+     * The writer to which the document is written.
+     */
+    private final SvgWriter writer;
+
+    /**
+     * Constructs a writer for several chambers, using the settings of an exporter.
+     *
+     * @param exporter The exporter holding the settings for the charts.
+     * @param chambers The chambers to be written.
+     * @param out      The appendable to which the document should be written.
+     */
+    MultiChamberSeatingPlanWriter(final SeatingPlanExporter exporter, final Chamber[] chambers,
+            final Appendable out) {
+        if (chambers.length == 0) {
+            throw new IllegalArgumentException("At least one chamber should be provided.");
+        }
+        this.exporter = exporter;
+        this.chambers = chambers;
+        this.writer = new SvgWriter(MeteredAppendable.meterIfListening(out));
+        HemicycleLayoutCache layoutCache =
+                exporter.getLayoutCache() == null ? new HemicycleLayoutCache() : exporter.getLayoutCache();
+        dimensions = new SeatingPlanDimensions[chambers.length];
+        Map<String, Integer> partyIndices = new HashMap<String, Integer>();
+        for (int j = 0; j < chambers.length; j++) {
+            dimensions[j] = exporter.calculateDimensions(chambers[j].plan(), getTitle(j) != null, layoutCache);
+            ModifiableMap<ParliamentaryGroup, Integer> chamberGroupIndices = ModifiableMap.empty();
+            Iterator<ParliamentaryGroup> parliamentaryGroupIterator =
+                    chambers[j].plan().getParliamentaryGroups().iterator();
+            while (parliamentaryGroupIterator.hasNext()) {
+                ParliamentaryGroup parliamentaryGroup = parliamentaryGroupIterator.next();
+                String partyKey = createPartyKey(parliamentaryGroup);
+                Integer partyIndex = partyIndices.get(partyKey);
+                if (partyIndex == null) {
+                    partyIndex = parties.size();
+                    partyIndices.put(partyKey, partyIndex);
+                    parties.add(parliamentaryGroup);
+                }
+                chamberGroupIndices.add(parliamentaryGroup, partyIndex);
+            }
+            groupIndices.add(chamberGroupIndices);
+        }
+    }
+
+    /**
+     * Creates the key identifying the party of a parliamentary group.
+     *
+     * @param parliamentaryGroup The parliamentary group.
+     * @return The key identifying the party of the parliamentary group.
+     */
+    private static String createPartyKey(final ParliamentaryGroup parliamentaryGroup) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(parliamentaryGroup.getName()).append('\u0000').append(parliamentaryGroup.getCharacter());
+        for (int color : parliamentaryGroup.getColors()) {
+            sb.append('\u0000').append(color);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the title of a chamber.
+     *
+     * @param j The index of the chamber.
+     * @return The title of the chamber, or the title of the exporter if the chamber has no title.
+     */
+    private String getTitle(final int j) {
+        return chambers[j].title() == null ? exporter.getTitle() : chambers[j].title();
+    }
+
+    /**
+     * Writes the chambers as an SVG document.
+     */
+    void write() {
+        ExportEvent event = new ExportEvent();
+        event.begin();
+        long start = System.nanoTime();
+        double width = 0D;
+        double height = 0D;
+        for (SeatingPlanDimensions chamberDimensions : dimensions) {
+            width += chamberDimensions.getWidth() * Exporter.VIEW_BOX_TO_SVG_DIMENSIONS_FACTOR;
+            height = Math.max(height, chamberDimensions.canvasHeight() * Exporter.VIEW_BOX_TO_SVG_DIMENSIONS_FACTOR);
+        }
+        writer.startElement("svg", "height", height, "viewBox",
+                "0 0 " + SvgWriter.formatNumber(width) + " " + SvgWriter.formatNumber(height), "width", width,
+                "xmlns", "http://www.w3.org/2000/svg");
+        writeStyle();
+        double x = 0D;
+        for (int j = 0; j < chambers.length; j++) {
+            new ClassStyledSeatingPlanWriter(exporter, chambers[j].plan(), dimensions[j], getTitle(j),
+                    groupIndices.get(j), writer).writeNested(CHAMBER_ID_PREFIX + j, x);
+            x += dimensions[j].getWidth() * Exporter.VIEW_BOX_TO_SVG_DIMENSIONS_FACTOR;
+        }
+        writer.endElement("svg");
+        if (writer.getAppendable() instanceof MeteredAppendable meteredOut) {
+            int numberOfSeats = 0;
+            for (Chamber chamber : chambers) {
+                numberOfSeats += chamber.plan().getNumberOfSeats();
+            }
+            RenderMetricsListener listener = RenderMetrics.getListener();
+            listener.documentBuilt(numberOfSeats, System.nanoTime() - start);
+            listener.chartExported(numberOfSeats, meteredOut.getNumberOfElements(), meteredOut.getNumberOfBytes());
+        }
+        if (event.shouldCommit()) {
+            for (int j = 0; j < chambers.length; j++) {
+                event.addSeatingPlan(chambers[j].plan(), dimensions[j].layout().getNumberOfRows());
+            }
+            event.setDocument(true, writer.getAppendable() instanceof MeteredAppendable meteredOut
+                    ? meteredOut.getNumberOfBytes() : 0L);
+            event.commit();
+        }
+    }
+
+    /**
+     * Writes the style element shared by all the chambers.
+     */
+    private void writeStyle() {
+        String fontColor = exporter.getFontColor() == null ? ClassStyledSeatingPlanWriter.DEFAULT_FONT_COLOR
+                : ClassStyledSeatingPlanWriter.toHex(exporter.getFontColor());
+        String legendFontColor = ClassStyledSeatingPlanWriter.toHex(exporter.getFontColorOrZero());
+        boolean[][] usedSeatStatuses = findUsedSeatStatuses();
+        boolean hasUncertainSeats = false;
+        boolean hasTitle = false;
+        for (int j = 0; j < chambers.length; j++) {
+            hasUncertainSeats |= chambers[j].plan().hasUncertainSeats();
+            hasTitle |= getTitle(j) != null;
+        }
+        writer.startElement("style");
+        if (exporter.getFontFamily() != null) {
+            writer.textLine("text{font-family:" + ClassStyledSeatingPlanWriter.quote(exporter.getFontFamily()) + "}");
+        }
+        if (exporter.getBackgroundColor() != null) {
+            writer.textLine("." + ClassStyledSeatingPlanWriter.BACKGROUND_CLASS + "{fill:"
+                    + ClassStyledSeatingPlanWriter.toHex(exporter.getBackgroundColor()) + "}");
+        }
+        if (hasTitle) {
+            writer.textLine(ClassStyledSeatingPlanWriter.createTextRule(ClassStyledSeatingPlanWriter.TITLE_CLASS,
+                    legendFontColor, SeatingPlanExporter.TITLE_HEIGHT, "middle") + "font-weight:bold}");
+        }
+        if (exporter.getSubtitle() != null) {
+            writer.textLine(ClassStyledSeatingPlanWriter.createTextRule(ClassStyledSeatingPlanWriter.SUBTITLE_CLASS,
+                    legendFontColor, SeatingPlanExporter.SUBTITLE_HEIGHT, "middle") + "font-weight:bold}");
+        }
+        boolean hasCharacters = false;
+        for (int partyIndex = 0; partyIndex < parties.size(); partyIndex++) {
+            writePartyRules(partyIndex, usedSeatStatuses[partyIndex]);
+            hasCharacters |= parties.get(partyIndex).getCharacter() != null;
+        }
+        if (hasCharacters || exporter.isDisplayLegend() && hasUncertainSeats) {
+            writer.textLine(createTextRule(ClassStyledSeatingPlanWriter.CERTAIN_SEAT_CHARACTER_CLASS,
+                    ClassStyledSeatingPlanWriter.CERTAIN_SEAT_CHARACTER_COLOR, "middle"));
+        }
+        if (exporter.isDisplayLegend()) {
+            if (hasUncertainSeats) {
+                String prefix = ClassStyledSeatingPlanWriter.SEAT_STATUS_LEGEND_CLASS_PREFIX;
+                writer.textLine(ClassStyledSeatingPlanWriter
+                        .createCertainSeatRule(prefix + ClassStyledSeatingPlanWriter.CERTAIN, legendFontColor));
+                writer.textLine(
+                        createLikelySeatRule(prefix + ClassStyledSeatingPlanWriter.LIKELY, legendFontColor, false));
+                writer.textLine(createUnlikelySeatRule(prefix + ClassStyledSeatingPlanWriter.UNLIKELY,
+                        legendFontColor));
+                writer.textLine(createTextRule(prefix + ClassStyledSeatingPlanWriter.CHARACTER, legendFontColor,
+                        "middle"));
+            }
+            writer.textLine(createTextRule(ClassStyledSeatingPlanWriter.LEGEND_LABEL_CLASS, legendFontColor, "start"));
+        }
+        writer.textLine(createTextRule(ClassStyledSeatingPlanWriter.COPYRIGHT_NOTICE_CLASS, fontColor, "end"));
+        for (int j = 0; j < chambers.length; j++) {
+            double seatRadius = dimensions[j].seatRadius();
+            String id = "#" + CHAMBER_ID_PREFIX + j;
+            writer.textLine(id + "{font-size:" + SvgWriter.formatNumber(seatRadius) + "px;stroke-width:"
+                    + SvgWriter.formatNumber(seatRadius * SeatingPlanExporter.RADIUS_TO_STROKE_FACTOR) + "}");
+            writer.textLine(id + " ." + ClassStyledSeatingPlanWriter.COPYRIGHT_NOTICE_CLASS + "{font-size:"
+                    + SvgWriter.formatNumber(Exporter.calculateCopyrightNoticeFontSize(dimensions[j].getWidth(),
+                            dimensions[j].canvasHeight()))
+                    + "px}");
+        }
+        writer.endElement("style");
+    }
+
+    /**
+     * Writes the style rules for a party.
+     *
+     * @param partyIndex       The index of the party.
+     * @param usedSeatStatuses The seat statuses used by the party, indexed by seat status.
+     */
+    private void writePartyRules(final int partyIndex, final boolean[] usedSeatStatuses) {
+        ParliamentaryGroup party = parties.get(partyIndex);
+        String prefix = ClassStyledSeatingPlanWriter.PARLIAMENTARY_GROUP_CLASS_PREFIX + partyIndex;
+        boolean likely = usedSeatStatuses[SeatStatus.LIKELY.ordinal()];
+        boolean unlikely = usedSeatStatuses[SeatStatus.UNLIKELY.ordinal()];
+        int[] colors = party.getColors();
+        for (int k = 0; k < colors.length; k++) {
+            String color = ClassStyledSeatingPlanWriter.toHex(colors[k]);
+            writer.textLine(ClassStyledSeatingPlanWriter
+                    .createCertainSeatRule(prefix + ClassStyledSeatingPlanWriter.CERTAIN + k, color));
+            if (likely) {
+                writer.textLine(createLikelySeatRule(prefix + ClassStyledSeatingPlanWriter.LIKELY + k, color,
+                        colors.length > 1));
+            }
+            if (unlikely || likely && colors.length > 1) {
+                writer.textLine(createUnlikelySeatRule(prefix + ClassStyledSeatingPlanWriter.UNLIKELY + k, color));
+            }
+        }
+        if (party.getCharacter() != null && (likely || unlikely)) {
+            writer.textLine(createTextRule(prefix + ClassStyledSeatingPlanWriter.CHARACTER,
+                    ClassStyledSeatingPlanWriter.toHex(colors[0]), "middle"));
+        }
+    }
+
+    /**
+     * Finds out which seat statuses are used by which parties, in any of the chambers.
+     *
+     * @return A two-dimensional array, indexed by party and seat status.
+     */
+    private boolean[][] findUsedSeatStatuses() {
+        boolean[][] usedSeatStatuses = new boolean[parties.size()][SeatStatus.values().length];
+        for (int j = 0; j < chambers.length; j++) {
+            RowConnectedSeatingPlan plan = chambers[j].plan();
+            for (int seatNumber = 0; seatNumber < plan.getNumberOfSeats(); seatNumber++) {
+                int partyIndex = groupIndices.get(j).get(plan.getParliamentaryGroupAtSeat(seatNumber));
+                usedSeatStatuses[partyIndex][plan.getSeatStatus(seatNumber).ordinal()] = true;
+            }
+        }
+        return usedSeatStatuses;
+    }
+
+    /**
+     * Creates the rule for the likely seats, without the stroke width, which is inherited from the chamber.
+     *
+     * @param className The class name.
+     * @param color     The color.
+     * @param sector    True if the rule is for a sector.
+     * @return The rule for the likely seats.
+     */
+    private static String createLikelySeatRule(final String className, final String color, final boolean sector) {
+        String opacity = SvgWriter.formatNumber(SeatingPlanExporter.SEMITRANSPARENT_SEAT_OPACITY);
+        if (sector) {
+            return "." + className + "{fill:" + color + ";opacity:" + opacity + "}";
+        } else {
+            return "." + className + "{fill:" + color + ";fill-opacity:" + opacity + ";stroke:" + color + "}";
+        }
+    }
+
+    /**
+     * Creates the rule for the unlikely seats, without the stroke width, which is inherited from the chamber.
+     *
+     * @param className The class name.
+     * @param color     The color.
+     * @return The rule for the unlikely seats.
+     */
+    private static String createUnlikelySeatRule(final String className, final String color) {
+        return "." + className + "{fill:none;stroke:" + color + "}";
+    }
+
+    /**
+     * Creates the rule for a text role, without the font size, which is inherited from the chamber.
+     *
+     * @param className  The class name.
+     * @param color      The color.
+     * @param textAnchor The text anchor.
+     * @return The rule for the text role.
+     */
+    private static String createTextRule(final String className, final String color, final String textAnchor) {
+        return "." + className + "{fill:" + color + ";text-anchor:" + textAnchor + "}";
+    }
+}
@@ -0,0 +1,71 @@
+package net.filipvanlaenen.shecc.export;
+
+import java.util.Iterator;
+
+import net.filipvanlaenen.kolektoj.ModifiableMap;
+import net.filipvanlaenen.shecc.HemicycleLayout;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+import net.filipvanlaenen.shecc.SeatPosition;
+
+/**
+ * The seats of a parliamentary group in a hemicycle, i.e. the seat numbers and the seat positions, in the order in
+ * which they appear in the hemicycle. The seats of a parliamentary group are rendered as one grouping, and the
+ * groupings are independent of each other, such that they can be rendered in parallel.
+ *
+ * @param parliamentaryGroup The parliamentary group.
+ * @param seatNumbers        The seat numbers.
+ * @param seatPositions      The seat positions.
+ */
+record ParliamentaryGroupSeats(ParliamentaryGroup parliamentaryGroup, int[] seatNumbers,
+        SeatPosition[] seatPositions) {
+    /**
+     * Partitions the seats of a hemicycle by parliamentary group. The parliamentary groups are returned in the order in
+     * which they first appear in the hemicycle.
+     *
+     * @param layout The layout for the hemicycle.
+     * @param plan   The seating plan for the hemicycle.
+     * @return An array with the seats per parliamentary group.
+     */
+    static ParliamentaryGroupSeats[] partition(final HemicycleLayout layout, final RowConnectedSeatingPlan plan) {
+        int noOfSeats = plan.getNumberOfSeats();
+        ModifiableMap<ParliamentaryGroup, Integer> parliamentaryGroupIndices = ModifiableMap.empty();
+        ParliamentaryGroup[] parliamentaryGroups = new ParliamentaryGroup[plan.getParliamentaryGroups().size()];
+        int[] groupIndexPerSeat = new int[noOfSeats];
+        int[] noOfSeatsPerGroup = new int[parliamentaryGroups.length];
+        int noOfParliamentaryGroups = 0;
+        for (int seatNumber = 0; seatNumber < noOfSeats; seatNumber++) {
+            ParliamentaryGroup parliamentaryGroup = plan.getParliamentaryGroupAtSeat(seatNumber);
+            if (!parliamentaryGroupIndices.containsKey(parliamentaryGroup)) {
+                parliamentaryGroupIndices.add(parliamentaryGroup, noOfParliamentaryGroups);
+                parliamentaryGroups[noOfParliamentaryGroups++] = parliamentaryGroup;
+            }
+            int groupIndex = parliamentaryGroupIndices.get(parliamentaryGroup);
+            groupIndexPerSeat[seatNumber] = groupIndex;
+            noOfSeatsPerGroup[groupIndex]++;
+        }
+        ParliamentaryGroupSeats[] result = new ParliamentaryGroupSeats[noOfParliamentaryGroups];
+        for (int i = 0; i < noOfParliamentaryGroups; i++) {
+            result[i] = new ParliamentaryGroupSeats(parliamentaryGroups[i], new int[noOfSeatsPerGroup[i]],
+                    new SeatPosition[noOfSeatsPerGroup[i]]);
+        }
+        int[] noOfSeatsAdded = new int[noOfParliamentaryGroups];
+        Iterator<SeatPosition> seatPositions = layout.getSeatPositions().iterator();
+        for (int seatNumber = 0; seatPositions.hasNext(); seatNumber++) {
+            int groupIndex = groupIndexPerSeat[seatNumber];
+            int index = noOfSeatsAdded[groupIndex]++;
+            result[groupIndex].seatNumbers()[index] = seatNumber;
+            result[groupIndex].seatPositions()[index] = seatPositions.next();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of seats.
+     *
+     * @return The number of seats.
+     */
+    int size() {
+        return seatNumbers.length;
+    }
+}
@@ -0,0 +1,171 @@
+package net.filipvanlaenen.shecc.export;
+
+import java.util.Iterator;
+
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+
+/**
+ * A class exporting seating plans repeatedly with the same exporter configuration. The static parts of the chart, i.e.
+ * the background, the title, the subtitle and the copyright notice, are rendered once, together with the dimensions of
+ * the chart, and reused as long as the configuration of the exporter and the number of seats don't change. The legend
+ * is reused as long as the names, sizes, colors and characters of the parliamentary groups don't change. Every other
+ * export then only renders the hemicycle.
+ *
+ * Calling any setter on the underlying exporter invalidates the cache, and so does the start of a new year, because the
+ * copyright notice contains the year. Only serialized fragments are cached: with class-based styling, the fragments
+ * with the header, the legend and the copyright notice, and with attribute-based styling, the parts of the SVG
+ * document before and after the hemicycle. The hemicycle is rendered anew for every export.
+ *
+ * Instances are safe to use from multiple threads, provided the exporter isn't reconfigured concurrently. Since the
+ * cache only holds strings, exports running in parallel never share TSVGJ elements.
+ */
+public final class PreparedSeatingPlanExporter {
+    /**
+     * The separator between the fields in a legend key.
+     */
+    private static final char LEGEND_KEY_SEPARATOR = '\u0000';
+
+    /**
+     * The exporter holding the configuration.
+     */
+    private final SeatingPlanExporter exporter;
+    /**
+     * The cache with the rendered parts of the chart, replaced as a whole whenever it's updated.
+     */
+    private volatile Cache cache;
+
+    /**
+     * The key for the static parts of the chart. The static parts of the chart, including the dimensions, only depend
+     * on the configuration of the exporter, the year in the copyright notice, the number of seats, the number of
+     * parliamentary groups and whether there are uncertain seats.
+     *
+     * @param configurationVersion    The version of the configuration of the exporter.
+     * @param year                    The year in the copyright notice.
+     * @param noOfSeats               The number of seats.
+     * @param noOfParliamentaryGroups The number of parliamentary groups.
+     * @param hasUncertainSeats       Whether there are uncertain seats.
+     */
+    private record ChromeKey(int configurationVersion, int year, int noOfSeats, int noOfParliamentaryGroups,
+            boolean hasUncertainSeats) {
+    }
+
+    /**
+     * The rendered parts of the chart. Depending on whether class-based styling is used, either the fragments or the
+     * serialized parts of the document surrounding the hemicycle are filled out.
+     *
+     * @param chromeKey               The key for the static parts of the chart.
+     * @param dimensions              The dimensions of the chart.
+     * @param chrome                  The serialized parts of the document surrounding the hemicycle.
+     * @param headerFragment          The fragment with the background, the title and the subtitle.
+     * @param copyrightNoticeFragment The fragment with the copyright notice.
+     * @param legendKey               The key for the legend.
+     * @param legendFragment          The fragment with the legend.
+     */
+    private record Cache(ChromeKey chromeKey, SeatingPlanDimensions dimensions, SerializedSeatingPlanChrome chrome,
+            String headerFragment, String copyrightNoticeFragment, String legendKey, String legendFragment) {
+    }
+
+    /**
+     * Constructs a prepared exporter for an exporter.
+     *
+     * @param exporter The exporter holding the configuration.
+     */
+    PreparedSeatingPlanExporter(final SeatingPlanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    /**
+     * Exports a seating plan to SVG, reusing the parts of the chart rendered for earlier exports where possible. The
+     * result is the same as the result of the <code>export</code> method of the exporter.
+     *
+     * @param plan The seating plan to be exported.
+     * @return A string representing the seating plan in SVG.
+     */
+    public String export(final RowConnectedSeatingPlan plan) {
+        Cache current = updateCache(plan);
+        if (exporter.isClassBasedStyling()) {
+            StringBuilder sb = new StringBuilder();
+            new ClassStyledSeatingPlanWriter(exporter, plan, current.dimensions(), sb)
+                    .write(current.headerFragment(), current.legendFragment(), current.copyrightNoticeFragment());
+            return sb.toString();
+        } else {
+            return exporter.export(plan, current.chrome());
+        }
+    }
+
+    /**
+     * Returns a cache that's valid for a seating plan, updating the cache if needed.
+     *
+     * @param plan The seating plan to be exported.
+     * @return A cache that's valid for the seating plan.
+     */
+    private Cache updateCache(final RowConnectedSeatingPlan plan) {
+        Cache current = cache;
+        ChromeKey chromeKey = new ChromeKey(exporter.getConfigurationVersion(), exporter.getCurrentYear(),
+                plan.getNumberOfSeats(), plan.getParliamentaryGroups().size(), plan.hasUncertainSeats());
+        String legendKey = createLegendKey(plan);
+        if (current == null || !current.chromeKey().equals(chromeKey)) {
+            SeatingPlanDimensions dimensions = exporter.calculateDimensions(plan);
+            dimensions.layout().getSeatPositions();
+            current = createCache(plan, chromeKey, dimensions, legendKey, null);
+            cache = current;
+        } else if (!current.legendKey().equals(legendKey)) {
+            current = createCache(plan, chromeKey, current.dimensions(), legendKey, current);
+            cache = current;
+        }
+        return current;
+    }
+
+    /**
+     * Creates a new cache, rendering the legend, and the static parts of the chart unless they can be taken over from
+     * the previous cache. With attribute-based styling, the legend and the static parts of the chart are serialized
+     * together, and are therefore always rendered.
+     *
+     * @param plan       The seating plan to be exported.
+     * @param chromeKey  The key for the static parts of the chart.
+     * @param dimensions The dimensions of the chart.
+     * @param legendKey  The key for the legend.
+     * @param previous   The previous cache with valid static parts, or <code>null</code> if they should be rendered.
+     * @return A new cache.
+     */
+    private Cache createCache(final RowConnectedSeatingPlan plan, final ChromeKey chromeKey,
+            final SeatingPlanDimensions dimensions, final String legendKey, final Cache previous) {
+        if (exporter.isClassBasedStyling()) {
+            ClassStyledSeatingPlanWriter writer = new ClassStyledSeatingPlanWriter(exporter, plan, dimensions, null);
+            String headerFragment = previous == null ? writer.createHeaderFragment() : previous.headerFragment();
+            String copyrightNoticeFragment =
+                    previous == null ? writer.createCopyrightNoticeFragment() : previous.copyrightNoticeFragment();
+            return new Cache(chromeKey, dimensions, null, headerFragment, copyrightNoticeFragment, legendKey,
+                    writer.createLegendFragment());
+        } else {
+            return new Cache(chromeKey, dimensions, exporter.serializeChrome(plan, dimensions), null, null, legendKey,
+                    null);
+        }
+    }
+
+    /**
+     * Creates the key for the legend of a seating plan, based on the names, the sizes, the colors and the characters
+     * of the parliamentary groups. If no legend should be displayed, the key is empty.
+     *
+     * @param plan The seating plan.
+     * @return The key for the legend.
+     */
+    private String createLegendKey(final RowConnectedSeatingPlan plan) {
+        if (!exporter.isDisplayLegend()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        Iterator<ParliamentaryGroup> parliamentaryGroups = plan.getParliamentaryGroups().iterator();
+        while (parliamentaryGroups.hasNext()) {
+            ParliamentaryGroup parliamentaryGroup = parliamentaryGroups.next();
+            sb.append(parliamentaryGroup.getName()).append(LEGEND_KEY_SEPARATOR);
+            sb.append(parliamentaryGroup.getSize().getFullSize()).append(LEGEND_KEY_SEPARATOR);
+            for (int color : parliamentaryGroup.getColors()) {
+                sb.append(color).append(LEGEND_KEY_SEPARATOR);
+            }
+            sb.append(parliamentaryGroup.getCharacter()).append(LEGEND_KEY_SEPARATOR);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,18 @@
+package net.filipvanlaenen.shecc.export;
+
+import net.filipvanlaenen.tsvgj.Rect;
+import net.filipvanlaenen.tsvgj.Text;
+
+/**
+ * The static parts of a seating plan chart, i.e. the parts that don't depend on the sizes of the parliamentary groups:
+ * the background, the title, the subtitle and the copyright notice, together with the dimensions of the chart.
+ *
+ * @param dimensions      The dimensions of the chart.
+ * @param background      The rectangle for the background, or <code>null</code> if there's no background.
+ * @param title           The text for the title, or <code>null</code> if there's no title.
+ * @param subtitle        The text for the subtitle, or <code>null</code> if there's no subtitle.
+ * @param copyrightNotice The text for the copyright notice.
+ */
+record SeatingPlanChrome(SeatingPlanDimensions dimensions, Rect background, Text title, Text subtitle,
+        Text copyrightNotice) {
+}
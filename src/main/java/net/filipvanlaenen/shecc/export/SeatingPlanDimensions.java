@@ -0,0 +1,63 @@
+package net.filipvanlaenen.shecc.export;
+
+import net.filipvanlaenen.shecc.HemicycleLayout;
+
+/**
+ * The dimensions of a seating plan chart, i.e. the size of the canvas, the seat radius and the number of rows in the
+ * legend. The dimensions are expressed in view box units, and are shared by all exporters producing seating plans, such
+ * that they all draw the same geometry.
+ *
+ * @param layout                           The hemicycle layout.
+ * @param canvasHeight                     The height of the canvas.
+ * @param canvasTopEdge                    The y coordinate for the top edge of the canvas.
+ * @param seatRadius                       The seat radius.
+ * @param noOfParliamentaryGroupLegendRows The number of legend rows for the parliamentary groups.
+ * @param noOfLegendRows                   The number of legend rows.
+ */
+record SeatingPlanDimensions(HemicycleLayout layout, double canvasHeight, double canvasTopEdge, double seatRadius,
+        int noOfParliamentaryGroupLegendRows, int noOfLegendRows) {
+    /**
+     * Returns the height of the hemicycle.
+     *
+     * @return The height of the hemicycle.
+     */
+    double getHemicycleHeight() {
+        return layout.getHeight();
+    }
+
+    /**
+     * Returns the width of the layout.
+     *
+     * @return The width of the layout.
+     */
+    double getLayoutWidth() {
+        return layout.getWidth();
+    }
+
+    /**
+     * Returns half of the width of the layout.
+     *
+     * @return Half of the width of the layout.
+     */
+    double getLayoutHalfWidth() {
+        return getLayoutWidth() / 2D;
+    }
+
+    /**
+     * Returns the width of the canvas.
+     *
+     * @return The width of the canvas.
+     */
+    double getWidth() {
+        return getLayoutWidth() + 2 * Exporter.EDGES_MARGIN;
+    }
+
+    /**
+     * Returns half of the width of the canvas.
+     *
+     * @return Half of the width of the canvas.
+     */
+    double getHalfWidth() {
+        return getWidth() / 2D;
+    }
+}
@@ -1,16 +1,30 @@
 package net.filipvanlaenen.shecc.export;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
 
-import net.filipvanlaenen.kolektoj.ModifiableMap;
 import net.filipvanlaenen.kolektoj.OrderedCollection;
 import net.filipvanlaenen.shecc.HemicycleLayout;
+import net.filipvanlaenen.shecc.HemicycleLayoutCache;
 import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RenderCancellation;
+import net.filipvanlaenen.shecc.RenderMetrics;
+import net.filipvanlaenen.shecc.RenderMetricsListener;
+import net.filipvanlaenen.shecc.RenderStatistics;
 import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
 import net.filipvanlaenen.shecc.SeatPosition;
 import net.filipvanlaenen.shecc.SeatStatus;
 import net.filipvanlaenen.tsvgj.Circle;
 import net.filipvanlaenen.tsvgj.ColorKeyword;
+import net.filipvanlaenen.tsvgj.Element;
 import net.filipvanlaenen.tsvgj.FontWeightValue;
 import net.filipvanlaenen.tsvgj.G;
 import net.filipvanlaenen.tsvgj.NoneValue;
@@ -28,16 +42,25 @@ public class SeatingPlanExporter extends Exporter {
     /**
      * The magic number three.
      */
-    private static final int THREE = 3;
+    protected static final int THREE = 3;
     /**
      * The magic number 180 for a straight angle.
      */
-    private static final double STRAIGHT_ANGLE = 180D;
+    protected static final double STRAIGHT_ANGLE = 180D;
     /**
      * The factor used to move text down such that it appears vertically centered in the middle, relative to the font
      * size.
      */
-    private static final double FONT_SIZE_FACTOR_TO_CENTER_VERTICALLY = 1D / 3D;
+    protected static final double FONT_SIZE_FACTOR_TO_CENTER_VERTICALLY = 1D / 3D;
+    /**
+     * The number of units of work for exporting a seat, relative to an iteration of an inner loop, used to decide how
+     * often the export of the seats checks for cancellation.
+     */
+    private static final long WORK_PER_EXPORTED_SEAT = 1_000L;
+    /**
+     * The mask for the seats at which the export of the seats checks for cancellation.
+     */
+    static final int SEAT_CHECKPOINT_MASK = RenderCancellation.calculateCheckpointMask(WORK_PER_EXPORTED_SEAT);
     /**
      * The factor used to calculate the height of the legend based on the seat radius.
      */
@@ -45,7 +68,7 @@ public class SeatingPlanExporter extends Exporter {
     /**
      * The factor used to calculate the gap between the seat symbol and the legend text based on the seat radius.
      */
-    private static final double SEAT_RADIUS_TO_LEGEND_GAP_FACTOR = 1.5D;
+    protected static final double SEAT_RADIUS_TO_LEGEND_GAP_FACTOR = 1.5D;
     /**
      * The default ratio used to calculate the width of the slot in the legend for the names, based on the seat radius.
      */
@@ -53,23 +76,64 @@ public class SeatingPlanExporter extends Exporter {
     /**
      * Factor to calculate the stroke width based on a circle's radius.
      */
-    private static final double RADIUS_TO_STROKE_FACTOR = 0.2D;
+    protected static final double RADIUS_TO_STROKE_FACTOR = 0.2D;
     /**
      * The opacity for a transparent seat.
      */
-    private static final double SEMITRANSPARENT_SEAT_OPACITY = 0.3D;
+    protected static final double SEMITRANSPARENT_SEAT_OPACITY = 0.3D;
     /**
      * The height of the title.
      */
-    private static final double TITLE_HEIGHT = 0.05D;
+    protected static final double TITLE_HEIGHT = 0.05D;
     /**
      * The height of the subtitle.
      */
-    private static final double SUBTITLE_HEIGHT = TITLE_HEIGHT * 0.7D;
+    protected static final double SUBTITLE_HEIGHT = TITLE_HEIGHT * 0.7D;
     /**
      * The margin between the layout and the title.
      */
     private static final double TITLE_MARGIN = 0.05D;
+    /**
+     * The y coordinate for the subtitle.
+     */
+    protected static final double SUBTITLE_Y = -1D - TITLE_MARGIN;
+    /**
+     * The label for the certain seats in the legend.
+     */
+    protected static final String CERTAIN_SEATS_LEGEND_LABEL = "Certain (P ≥ 97.5%)";
+    /**
+     * The label for the likely seats in the legend.
+     */
+    protected static final String LIKELY_SEATS_LEGEND_LABEL = "Likely (P ≥ 50%)";
+    /**
+     * The label for the unlikely seats in the legend.
+     */
+    protected static final String UNLIKELY_SEATS_LEGEND_LABEL = "Unlikely (P < 50%)";
+    /**
+     * The character used on the seats in the legend for the seat statuses.
+     */
+    protected static final String SEAT_STATUS_LEGEND_CHARACTER = "X";
+    /**
+     * The text with which the placeholder for the hemicycle is serialized.
+     */
+    private static final String HEMICYCLE_PLACEHOLDER_TEXT = "<hemicycle/>";
+
+    /**
+     * An element taking the place of the hemicycle while the parts of the chart surrounding it are serialized,
+     * recording the indentation with which it's serialized.
+     */
+    private static final class HemicyclePlaceholder implements Element {
+        /**
+         * The indentation with which the placeholder has been serialized.
+         */
+        private String indent;
+
+        @Override
+        public String asString(final String indentation) {
+            this.indent = indentation;
+            return HEMICYCLE_PLACEHOLDER_TEXT;
+        }
+    }
 
     /**
      * The angle (in radians) of the hemicycle.
@@ -79,6 +143,10 @@ public class SeatingPlanExporter extends Exporter {
      * The background color as an integer.
      */
     private Integer backgroundColor;
+    /**
+     * Specifies whether class-based styling should be used.
+     */
+    private boolean classBasedStyling;
     /**
      * A custom copyright notice text.
      */
@@ -87,10 +155,19 @@ public class SeatingPlanExporter extends Exporter {
      * Specifies whether a legend should be displayed.
      */
     private boolean displayLegend;
+    /**
+     * A cache with hemicycle layouts shared with other exporters, or <code>null</code> if the layouts shouldn't be
+     * cached.
+     */
+    private HemicycleLayoutCache layoutCache;
     /**
      * Overrides the default legend label width ratio, defined in terms of number of seat radiuses.
      */
     private Integer legendLabelWidthRatio;
+    /**
+     * Specifies whether the groupings for the parliamentary groups should be rendered in parallel.
+     */
+    private boolean parallelRendering;
     /**
      * Specifies whether the letters should be rotated towards the center.
      */
@@ -111,17 +188,350 @@ public class SeatingPlanExporter extends Exporter {
      * @return A string representing the seating plan in SVG.
      */
     public String export(final RowConnectedSeatingPlan plan) {
-        HemicycleLayout layout = new HemicycleLayout(plan.getNumberOfSeats(), angle);
-        double layoutWidth = layout.getWidth();
-        double layoutHalfWidth = layoutWidth / 2D;
-        double width = layoutWidth + 2 * EDGES_MARGIN;
-        double halfWidth = width / 2D;
+        SeatingPlanDimensions dimensions = calculateDimensions(plan);
+        if (classBasedStyling) {
+            StringBuilder sb = new StringBuilder();
+            new ClassStyledSeatingPlanWriter(this, plan, dimensions, sb).write();
+            return sb.toString();
+        }
+        return export(plan, createChrome(dimensions), createLegendGrouping(plan, dimensions), null);
+    }
+
+    /**
+     * Exports a seating plan to SVG, measuring the stages of the export. With attribute-based styling, the
+     * construction of the SVG document and its serialization are measured as separate stages. With class-based
+     * styling, the SVG document is written directly, and measured as a single stage.
+     *
+     * @param plan       The seating plan to be exported.
+     * @param statistics The statistics to which the measurements should be added.
+     * @return A string representing the seating plan in SVG.
+     */
+    public String export(final RowConnectedSeatingPlan plan, final RenderStatistics statistics) {
+        if (classBasedStyling) {
+            statistics.startStage(RenderStatistics.WRITING_STAGE);
+            String result = export(plan);
+            statistics.endStage();
+            return result;
+        }
+        statistics.startStage(RenderStatistics.DOM_STAGE);
+        SeatingPlanDimensions dimensions = calculateDimensions(plan);
+        return export(plan, createChrome(dimensions), createLegendGrouping(plan, dimensions), statistics);
+    }
+
+    /**
+     * Exports a seating plan to SVG, and writes it to an appendable. With class-based styling, the SVG document is
+     * written to the appendable part by part as it's produced. With attribute-based styling, the SVG document is
+     * produced as a whole first, and then written to the appendable.
+     *
+     * @param plan The seating plan to be exported.
+     * @param out  The appendable to which the SVG document should be written.
+     * @throws IOException Thrown if an error occurs while writing to the appendable.
+     */
+    public void export(final RowConnectedSeatingPlan plan, final Appendable out) throws IOException {
+        if (classBasedStyling) {
+            try {
+                new ClassStyledSeatingPlanWriter(this, plan, calculateDimensions(plan), out).write();
+            } catch (UncheckedIOException uioe) {
+                throw uioe.getCause();
+            }
+        } else {
+            out.append(export(plan));
+        }
+    }
+
+    /**
+     * Exports several chambers side by side to a single SVG document. Every chamber is drawn in a nested SVG element
+     * with its own view box, using the configuration of this exporter, but with the title of the chamber. The
+     * document always uses class-based styling, such that the style rules for the fonts and for the parliamentary
+     * groups that appear in more than one chamber are shared. The layout for a number of seats is calculated only
+     * once.
+     *
+     * @param chambers The chambers to be exported.
+     * @return A string representing the chambers in SVG.
+     */
+    public String export(final Chamber... chambers) {
+        StringBuilder sb = new StringBuilder();
+        new MultiChamberSeatingPlanWriter(this, chambers, sb).write();
+        return sb.toString();
+    }
+
+    /**
+     * Exports several chambers side by side to a single SVG document, and writes it to an appendable as it's
+     * produced.
+     *
+     * @param chambers The chambers to be exported.
+     * @param out      The appendable to which the SVG document should be written.
+     * @throws IOException Thrown if an error occurs while writing to the appendable.
+     */
+    public void export(final Chamber[] chambers, final Appendable out) throws IOException {
+        try {
+            new MultiChamberSeatingPlanWriter(this, chambers, out).write();
+        } catch (UncheckedIOException uioe) {
+            throw uioe.getCause();
+        }
+    }
+
+    /**
+     * Returns a prepared exporter with the configuration of this exporter, reusing the static parts of the chart and
+     * the legend across exports. The prepared exporter follows changes to the configuration of this exporter.
+     *
+     * @return A prepared exporter with the configuration of this exporter.
+     */
+    public PreparedSeatingPlanExporter prepare() {
+        return new PreparedSeatingPlanExporter(this);
+    }
+
+    /**
+     * Returns an asynchronous exporter with the configuration of this exporter, rendering the charts on an executor
+     * and returning futures for them. If this exporter has no cache with hemicycle layouts yet, a bounded cache is set,
+     * such that the layouts are shared between the charts rendered in parallel.
+     *
+     * @param executor The executor on which the charts should be rendered.
+     * @return An asynchronous exporter with the configuration of this exporter.
+     */
+    public AsyncSeatingPlanExporter async(final Executor executor) {
+        return new AsyncSeatingPlanExporter(this, executor);
+    }
+
+    /**
+     * Exports a seating plan to SVG, and returns a report on the size of the SVG document instead of the document
+     * itself, with the bytes and the elements per element type, per section of the chart, per parliamentary group and
+     * per seat status, and the share taken by numeric literals. The document is exported with the configuration of
+     * this exporter, such that the report can be used to compare the output modes.
+     *
+     * @param plan The seating plan to be exported.
+     * @return A report on the size of the SVG document for the seating plan.
+     */
+    public SvgSizeReport analyzeSize(final RowConnectedSeatingPlan plan) {
+        return new SvgSizeReport(export(plan), plan, calculateDimensions(plan).layout());
+    }
+
+    /**
+     * Exports a seating plan to SVG with attribute-based styling, using the serialized parts of the chart surrounding
+     * the hemicycle that have been created already. Only the hemicycle is rendered and serialized anew. The export
+     * event and the metrics listener are notified in the same way as for the other exports.
+     *
+     * @param plan   The seating plan to be exported.
+     * @param chrome The serialized parts of the chart surrounding the hemicycle.
+     * @return A string representing the seating plan in SVG.
+     */
+    String export(final RowConnectedSeatingPlan plan, final SerializedSeatingPlanChrome chrome) {
+        ExportEvent event = new ExportEvent();
+        event.begin();
+        RenderMetricsListener listener = RenderMetrics.getListener();
+        SeatingPlanDimensions dimensions = chrome.dimensions();
+        long start = System.nanoTime();
+        G hemicycleGrouping = createHemicycleGrouping(dimensions.layout(), plan, dimensions.seatRadius());
+        long built = System.nanoTime();
+        String document = chrome.head() + hemicycleGrouping.asString(chrome.hemicycleIndent()) + chrome.tail();
+        if (listener != RenderMetricsListener.NO_OP) {
+            listener.documentBuilt(plan.getNumberOfSeats(), built - start);
+            listener.documentSerialized(System.nanoTime() - built);
+            MeteredAppendable meter = new MeteredAppendable(null);
+            meter.count(document, 0, document.length());
+            listener.chartExported(plan.getNumberOfSeats(), meter.getNumberOfElements(), meter.getNumberOfBytes());
+        }
+        commitExportEvent(event, plan, dimensions, document);
+        return document;
+    }
+
+    /**
+     * Exports a seating plan to SVG, using the static parts of the chart and the legend that have been created
+     * already, and optionally measuring the serialization of the SVG document as a stage. The export event and the
+     * metrics listener are notified in the same way whether the stages are measured or not.
+     *
+     * @param plan           The seating plan to be exported.
+     * @param chrome         The static parts of the chart.
+     * @param legendGrouping The grouping with the legend, or <code>null</code> if no legend should be displayed.
+     * @param statistics     The statistics to which the serialization should be added as a stage, ending the stage
+     *                       that's running, or <code>null</code> if the stages shouldn't be measured.
+     * @return A string representing the seating plan in SVG.
+     */
+    private String export(final RowConnectedSeatingPlan plan, final SeatingPlanChrome chrome,
+            final G legendGrouping, final RenderStatistics statistics) {
+        ExportEvent event = new ExportEvent();
+        event.begin();
+        RenderMetricsListener listener = RenderMetrics.getListener();
+        if (listener == RenderMetricsListener.NO_OP) {
+            Svg svg = createSvg(plan, chrome, legendGrouping);
+            String document = serialize(svg, statistics);
+            commitExportEvent(event, plan, chrome.dimensions(), document);
+            return document;
+        }
+        long start = System.nanoTime();
+        Svg svg = createSvg(plan, chrome, legendGrouping);
+        long built = System.nanoTime();
+        listener.documentBuilt(plan.getNumberOfSeats(), built - start);
+        String document = serialize(svg, statistics);
+        listener.documentSerialized(System.nanoTime() - built);
+        MeteredAppendable meter = new MeteredAppendable(null);
+        meter.count(document, 0, document.length());
+        listener.chartExported(plan.getNumberOfSeats(), meter.getNumberOfElements(), meter.getNumberOfBytes());
+        commitExportEvent(event, plan, chrome.dimensions(), document);
+        return document;
+    }
+
+    /**
+     * Serializes an SVG document, measuring the serialization as a stage if statistics are provided.
+     *
+     * @param svg        The SVG document.
+     * @param statistics The statistics to which the serialization should be added as a stage, or <code>null</code>.
+     * @return The SVG document as a string.
+     */
+    private static String serialize(final Svg svg, final RenderStatistics statistics) {
+        if (statistics == null) {
+            return svg.asString();
+        }
+        statistics.startStage(RenderStatistics.SERIALIZATION_STAGE);
+        String document = svg.asString();
+        statistics.endStage();
+        return document;
+    }
+
+    /**
+     * Commits an export event for a seating plan exported with attribute-based styling, if the event is being
+     * recorded.
+     *
+     * @param event      The export event.
+     * @param plan       The seating plan.
+     * @param dimensions The dimensions of the chart.
+     * @param document   The SVG document.
+     */
+    private static void commitExportEvent(final ExportEvent event, final RowConnectedSeatingPlan plan,
+            final SeatingPlanDimensions dimensions, final String document) {
+        if (event.shouldCommit()) {
+            event.addSeatingPlan(plan, dimensions.layout().getNumberOfRows());
+            event.setDocument(false, document.getBytes(StandardCharsets.UTF_8).length);
+            event.commit();
+        }
+    }
+
+    /**
+     * Creates the SVG document for a seating plan, using the static parts of the chart and the legend that have been
+     * created already.
+     *
+     * @param plan           The seating plan to be exported.
+     * @param chrome         The static parts of the chart.
+     * @param legendGrouping The grouping with the legend, or <code>null</code> if no legend should be displayed.
+     * @return The SVG document for the seating plan.
+     */
+    Svg createSvg(final RowConnectedSeatingPlan plan, final SeatingPlanChrome chrome, final G legendGrouping) {
+        SeatingPlanDimensions dimensions = chrome.dimensions();
+        return createSvg(dimensions, chrome.background(), chrome.title(), chrome.subtitle(),
+                createHemicycleGrouping(dimensions.layout(), plan, dimensions.seatRadius()), legendGrouping,
+                chrome.copyrightNotice());
+    }
+
+    /**
+     * Creates an SVG document with the dimensions of a chart, containing a number of elements in the given order.
+     *
+     * @param dimensions The dimensions of the chart.
+     * @param elements   The elements, of which the ones that are <code>null</code> are skipped.
+     * @return An SVG document containing the elements.
+     */
+    private static Svg createSvg(final SeatingPlanDimensions dimensions, final Element... elements) {
+        double width = dimensions.getWidth();
+        double halfWidth = dimensions.getHalfWidth();
+        double canvasHeight = dimensions.canvasHeight();
+        double canvasTopEdge = dimensions.canvasTopEdge();
         double svgWidth = width * VIEW_BOX_TO_SVG_DIMENSIONS_FACTOR;
+        double svgHeight = canvasHeight * VIEW_BOX_TO_SVG_DIMENSIONS_FACTOR;
+        Svg svg = new Svg().width(svgWidth).height(svgHeight).viewBox(-halfWidth, canvasTopEdge, width, canvasHeight);
+        for (Element element : elements) {
+            if (element != null) {
+                svg.addElement(element);
+            }
+        }
+        return svg;
+    }
+
+    /**
+     * Serializes the parts of the chart surrounding the hemicycle with attribute-based styling, i.e. the static parts
+     * of the chart and the legend. The part before the hemicycle is cut from a document ending with a placeholder for
+     * the hemicycle, and the part after the hemicycle from a document starting with it, such that no text from the
+     * chart can be mistaken for the placeholder.
+     *
+     * @param plan       The seating plan for which the legend should be created.
+     * @param dimensions The dimensions of the chart.
+     * @return The serialized parts of the chart surrounding the hemicycle.
+     */
+    SerializedSeatingPlanChrome serializeChrome(final RowConnectedSeatingPlan plan,
+            final SeatingPlanDimensions dimensions) {
+        SeatingPlanChrome chrome = createChrome(dimensions);
+        HemicyclePlaceholder placeholder = new HemicyclePlaceholder();
+        String head = createSvg(dimensions, chrome.background(), chrome.title(), chrome.subtitle(), placeholder)
+                .asString();
+        String tail = createSvg(dimensions, placeholder, createLegendGrouping(plan, dimensions),
+                chrome.copyrightNotice()).asString();
+        return new SerializedSeatingPlanChrome(dimensions,
+                head.substring(0, head.lastIndexOf(HEMICYCLE_PLACEHOLDER_TEXT)), placeholder.indent,
+                tail.substring(tail.indexOf(HEMICYCLE_PLACEHOLDER_TEXT) + HEMICYCLE_PLACEHOLDER_TEXT.length()));
+    }
+
+    /**
+     * Creates the static parts of the chart, i.e. the background, the title, the subtitle and the copyright notice.
+     *
+     * @param dimensions The dimensions of the chart.
+     * @return The static parts of the chart.
+     */
+    SeatingPlanChrome createChrome(final SeatingPlanDimensions dimensions) {
+        double width = dimensions.getWidth();
+        double canvasHeight = dimensions.canvasHeight();
+        double canvasTopEdge = dimensions.canvasTopEdge();
+        Rect background =
+                backgroundColor == null ? null : createBackgroundRectangle(width, canvasHeight, canvasTopEdge);
+        Text titleText = title == null ? null : createTitleText();
+        Text subtitleText = subtitle == null ? null : createSubtitleText();
+        Text copyrightNotice = createCopyrightNotice(customCopyrightNotice, dimensions.getHalfWidth(), canvasTopEdge,
+                width, canvasHeight);
+        return new SeatingPlanChrome(dimensions, background, titleText, subtitleText, copyrightNotice);
+    }
+
+    /**
+     * Creates a grouping with the legend, unless no legend should be displayed.
+     *
+     * @param plan       The seating plan for the hemicycle.
+     * @param dimensions The dimensions of the chart.
+     * @return A grouping with the legend, or <code>null</code> if no legend should be displayed.
+     */
+    G createLegendGrouping(final RowConnectedSeatingPlan plan, final SeatingPlanDimensions dimensions) {
+        if (!displayLegend) {
+            return null;
+        }
+        return createLegendGrouping(plan, dimensions.getLayoutWidth(), dimensions.getLayoutHalfWidth(),
+                dimensions.getHemicycleHeight(), dimensions.seatRadius(), plan.getParliamentaryGroups(),
+                dimensions.noOfParliamentaryGroupLegendRows(), dimensions.noOfLegendRows());
+    }
+
+    /**
+     * Calculates the dimensions of the chart for a seating plan, taking into account the title, the subtitle and the
+     * legend.
+     *
+     * @param plan The seating plan to be exported.
+     * @return The dimensions of the chart.
+     */
+    SeatingPlanDimensions calculateDimensions(final RowConnectedSeatingPlan plan) {
+        return calculateDimensions(plan, title != null, layoutCache);
+    }
+
+    /**
+     * Calculates the dimensions of the chart for a seating plan, taking into account whether the chart has a title,
+     * the subtitle and the legend.
+     *
+     * @param plan        The seating plan to be exported.
+     * @param hasTitle    True if the chart has a title.
+     * @param layoutCache A cache with hemicycle layouts, or <code>null</code> if the layout should be calculated.
+     * @return The dimensions of the chart.
+     */
+    SeatingPlanDimensions calculateDimensions(final RowConnectedSeatingPlan plan, final boolean hasTitle,
+            final HemicycleLayoutCache layoutCache) {
+        HemicycleLayout layout = layoutCache == null ? new HemicycleLayout(plan.getNumberOfSeats(), angle)
+                : layoutCache.get(plan.getNumberOfSeats(), angle);
+        double layoutWidth = layout.getWidth();
         double hemicycleHeight = layout.getHeight();
         double canvasHeight = hemicycleHeight + 2 * EDGES_MARGIN;
         double seatRadius = layout.getRowWidth() * RADIUS_ROW_WIDTH_RATIO;
-        OrderedCollection<ParliamentaryGroup> parliamentaryGroupsList = plan.getParliamentaryGroups();
-        int noOfParliamentaryGroups = parliamentaryGroupsList.size();
+        int noOfParliamentaryGroups = plan.getParliamentaryGroups().size();
         int noOfParliamentaryGroupLegendRows =
                 1 + (int) (getLegendLabelWidthRatio() * seatRadius * noOfParliamentaryGroups / layoutWidth);
         int noOfLegendRows = noOfParliamentaryGroupLegendRows + (plan.hasUncertainSeats() ? 1 : 0);
@@ -129,7 +539,7 @@ public class SeatingPlanExporter extends Exporter {
             canvasHeight += seatRadius * SEAT_RADIUS_TO_LEGEND_HEIGHT_FACTOR * noOfLegendRows;
         }
         double canvasTopEdge = -1D - EDGES_MARGIN;
-        if (title != null) {
+        if (hasTitle) {
             double titleSpace = TITLE_HEIGHT + TITLE_MARGIN;
             canvasTopEdge -= titleSpace;
             canvasHeight += titleSpace;
@@ -139,24 +549,8 @@ public class SeatingPlanExporter extends Exporter {
                 canvasHeight += subtitleSpace;
             }
         }
-        double svgHeight = canvasHeight * VIEW_BOX_TO_SVG_DIMENSIONS_FACTOR;
-        Svg svg = new Svg().width(svgWidth).height(svgHeight).viewBox(-halfWidth, canvasTopEdge, width, canvasHeight);
-        if (backgroundColor != null) {
-            svg.addElement(createBackgroundRectangle(width, canvasHeight, canvasTopEdge));
-        }
-        if (title != null) {
-            svg.addElement(createTitleText());
-        }
-        if (subtitle != null) {
-            svg.addElement(createSubtitleText());
-        }
-        svg.addElement(createHemicycleGrouping(layout, plan, seatRadius));
-        if (displayLegend) {
-            svg.addElement(createLegendGrouping(plan, layoutWidth, layoutHalfWidth, hemicycleHeight, seatRadius,
-                    parliamentaryGroupsList, noOfParliamentaryGroupLegendRows, noOfLegendRows));
-        }
-        svg.addElement(createCopyrightNotice(customCopyrightNotice, halfWidth, canvasTopEdge, width, canvasHeight));
-        return svg.asString();
+        return new SeatingPlanDimensions(layout, canvasHeight, canvasTopEdge, seatRadius,
+                noOfParliamentaryGroupLegendRows, noOfLegendRows);
     }
 
     /**
@@ -180,10 +574,8 @@ public class SeatingPlanExporter extends Exporter {
         Iterator<ParliamentaryGroup> parliamentaryGroups = parliamentaryGroupsList.iterator();
         int legendSlotIndex = 0;
         int noOfParliamentaryGroups = parliamentaryGroupsList.size();
-        int noOfSlotsPerLegendRow = noOfParliamentaryGroups / noOfParliamentaryGroupLegendRows;
-        if (noOfParliamentaryGroups % noOfParliamentaryGroupLegendRows > 0) {
-            noOfSlotsPerLegendRow += 1;
-        }
+        int noOfSlotsPerLegendRow =
+                calculateNoOfSlotsPerLegendRow(noOfParliamentaryGroups, noOfParliamentaryGroupLegendRows);
         double legendSlotWidth = layoutWidth / noOfSlotsPerLegendRow;
         while (parliamentaryGroups.hasNext()) {
             G parliamentaryGroupGrouping = createLegendSlotGrouping(parliamentaryGroups.next(), layoutHalfWidth,
@@ -210,6 +602,59 @@ public class SeatingPlanExporter extends Exporter {
         }
     }
 
+    /**
+     * Calculates the number of slots per legend row for the parliamentary groups.
+     *
+     * @param noOfParliamentaryGroups          The total number of parliamentary groups.
+     * @param noOfParliamentaryGroupLegendRows The number of legend rows for the parliamentary groups.
+     * @return The number of slots per legend row.
+     */
+    static int calculateNoOfSlotsPerLegendRow(final int noOfParliamentaryGroups,
+            final int noOfParliamentaryGroupLegendRows) {
+        int noOfSlotsPerLegendRow = noOfParliamentaryGroups / noOfParliamentaryGroupLegendRows;
+        if (noOfParliamentaryGroups % noOfParliamentaryGroupLegendRows > 0) {
+            noOfSlotsPerLegendRow += 1;
+        }
+        return noOfSlotsPerLegendRow;
+    }
+
+    /**
+     * Calculates the x coordinate of the center of the seat symbol in a legend slot for a parliamentary group. The
+     * slots on the last legend row are centered horizontally.
+     *
+     * @param layoutHalfWidth         Half of the width of the layout.
+     * @param seatRadius              The seat radius.
+     * @param noOfParliamentaryGroups The total number of parliamentary groups.
+     * @param noOfLegendRows          The number of legend rows.
+     * @param legendSlotIndex         The index of the legend slot.
+     * @param noOfSlotsPerLegendRow   The number of slots per legend row.
+     * @param legendSlotWidth         The width for the legend slots.
+     * @return The x coordinate of the center of the seat symbol in the legend slot.
+     */
+    static double calculateLegendSlotX(final double layoutHalfWidth, final double seatRadius,
+            final int noOfParliamentaryGroups, final int noOfLegendRows, final int legendSlotIndex,
+            final int noOfSlotsPerLegendRow, final double legendSlotWidth) {
+        int legendColumn = legendSlotIndex % noOfSlotsPerLegendRow;
+        int legendRow = legendSlotIndex / noOfSlotsPerLegendRow;
+        double x = -layoutHalfWidth + seatRadius + legendSlotWidth * legendColumn;
+        if (legendRow == noOfLegendRows - 1) {
+            x += (noOfSlotsPerLegendRow * noOfLegendRows - noOfParliamentaryGroups) * legendSlotWidth / 2D;
+        }
+        return x;
+    }
+
+    /**
+     * Calculates the y coordinate of the center of the seat symbols on a legend row.
+     *
+     * @param hemicycleHeight The height of the hemicycle.
+     * @param seatRadius      The seat radius.
+     * @param legendRow       The index of the legend row.
+     * @return The y coordinate of the center of the seat symbols on the legend row.
+     */
+    static double calculateLegendRowY(final double hemicycleHeight, final double seatRadius, final int legendRow) {
+        return -1D + hemicycleHeight + seatRadius * 2D + legendRow * SEAT_RADIUS_TO_LEGEND_HEIGHT_FACTOR * seatRadius;
+    }
+
     /**
      * Creates a grouping with the legend slot for a parliamentary group.
      *
@@ -229,14 +674,9 @@ public class SeatingPlanExporter extends Exporter {
             final int noOfLegendRows, final int legendSlotIndex, final int noOfSlotsPerLegendRow,
             final double legendSlotWidth) {
         G parliamentaryGroupGrouping = new G();
-        int legendColumn = legendSlotIndex % noOfSlotsPerLegendRow;
-        int legendRow = legendSlotIndex / noOfSlotsPerLegendRow;
-        double x = -layoutHalfWidth + seatRadius + legendSlotWidth * legendColumn;
-        if (legendRow == noOfLegendRows - 1) {
-            x += (noOfSlotsPerLegendRow * noOfLegendRows - noOfParliamentaryGroups) * legendSlotWidth / 2D;
-        }
-        double y =
-                -1D + hemicycleHeight + seatRadius * 2D + legendRow * SEAT_RADIUS_TO_LEGEND_HEIGHT_FACTOR * seatRadius;
+        double x = calculateLegendSlotX(layoutHalfWidth, seatRadius, noOfParliamentaryGroups, noOfLegendRows,
+                legendSlotIndex, noOfSlotsPerLegendRow, legendSlotWidth);
+        double y = calculateLegendRowY(hemicycleHeight, seatRadius, legendSlotIndex / noOfSlotsPerLegendRow);
         String character = parliamentaryGroup.getCharacter();
         double textY = y + seatRadius * FONT_SIZE_FACTOR_TO_CENTER_VERTICALLY;
         if (character == null) {
@@ -272,18 +712,17 @@ public class SeatingPlanExporter extends Exporter {
             final double seatRadius, final int noOfLegendRows) {
         G certainSeatsLegendSlotGrouping = new G();
         double x = -layoutHalfWidth + seatRadius;
-        double y = -1D + hemicycleHeight + seatRadius * 2D
-                + (noOfLegendRows - 1) * SEAT_RADIUS_TO_LEGEND_HEIGHT_FACTOR * seatRadius;
+        double y = calculateLegendRowY(hemicycleHeight, seatRadius, noOfLegendRows - 1);
         double textY = y + seatRadius * FONT_SIZE_FACTOR_TO_CENTER_VERTICALLY;
-        Text text = new Text("X").x(x).y(textY).fill(ColorKeyword.WHITE).fontSize(seatRadius)
-                .textAnchor(TextAnchorValue.MIDDLE);
+        Text text = new Text(SEAT_STATUS_LEGEND_CHARACTER).x(x).y(textY).fill(ColorKeyword.WHITE)
+                .fontSize(seatRadius).textAnchor(TextAnchorValue.MIDDLE);
         setFontFamilyUnlessNull(text);
         G seatGrouping = new G();
         seatGrouping.addElement(createColoredCircle(x, y, seatRadius, getFontColorOrZero()));
         seatGrouping.addElement(text);
         certainSeatsLegendSlotGrouping.addElement(seatGrouping);
-        Text legendText = new Text("Certain (P ≥ 97.5%)").x(x + SEAT_RADIUS_TO_LEGEND_GAP_FACTOR * seatRadius).y(textY)
-                .fontSize(seatRadius).textAnchor(TextAnchorValue.START);
+        Text legendText = new Text(CERTAIN_SEATS_LEGEND_LABEL).x(x + SEAT_RADIUS_TO_LEGEND_GAP_FACTOR * seatRadius)
+                .y(textY).fontSize(seatRadius).textAnchor(TextAnchorValue.START);
         legendText.fill(getFontColorOrZero());
         setFontFamilyUnlessNull(legendText);
         certainSeatsLegendSlotGrouping.addElement(legendText);
@@ -304,18 +743,18 @@ public class SeatingPlanExporter extends Exporter {
             final double seatRadius, final int noOfLegendRows, final double legendSlotWidth) {
         G certainSeatsLegendSlotGrouping = new G();
         double x = -layoutHalfWidth + seatRadius + legendSlotWidth;
-        double y = -1D + hemicycleHeight + seatRadius * 2D
-                + (noOfLegendRows - 1) * SEAT_RADIUS_TO_LEGEND_HEIGHT_FACTOR * seatRadius;
+        double y = calculateLegendRowY(hemicycleHeight, seatRadius, noOfLegendRows - 1);
         double textY = y + seatRadius * FONT_SIZE_FACTOR_TO_CENTER_VERTICALLY;
-        Text text = new Text("X").x(x).y(textY).fontSize(seatRadius).textAnchor(TextAnchorValue.MIDDLE);
+        Text text = new Text(SEAT_STATUS_LEGEND_CHARACTER).x(x).y(textY).fontSize(seatRadius)
+                .textAnchor(TextAnchorValue.MIDDLE);
         text.fill(getFontColorOrZero());
         setFontFamilyUnlessNull(text);
         G seatGrouping = new G();
         seatGrouping.addElement(createSemitransparentCircle(x, y, seatRadius, getFontColorOrZero()));
         seatGrouping.addElement(text);
         certainSeatsLegendSlotGrouping.addElement(seatGrouping);
-        Text legendText = new Text("Likely (P ≥ 50%)").x(x + SEAT_RADIUS_TO_LEGEND_GAP_FACTOR * seatRadius).y(textY)
-                .fontSize(seatRadius).textAnchor(TextAnchorValue.START);
+        Text legendText = new Text(LIKELY_SEATS_LEGEND_LABEL).x(x + SEAT_RADIUS_TO_LEGEND_GAP_FACTOR * seatRadius)
+                .y(textY).fontSize(seatRadius).textAnchor(TextAnchorValue.START);
         legendText.fill(getFontColorOrZero());
         setFontFamilyUnlessNull(legendText);
         certainSeatsLegendSlotGrouping.addElement(legendText);
@@ -336,18 +775,18 @@ public class SeatingPlanExporter extends Exporter {
             final double seatRadius, final int noOfLegendRows, final double legendSlotWidth) {
         G certainSeatsLegendSlotGrouping = new G();
         double x = -layoutHalfWidth + seatRadius + legendSlotWidth * 2;
-        double y = -1D + hemicycleHeight + seatRadius * 2D
-                + (noOfLegendRows - 1) * SEAT_RADIUS_TO_LEGEND_HEIGHT_FACTOR * seatRadius;
+        double y = calculateLegendRowY(hemicycleHeight, seatRadius, noOfLegendRows - 1);
         double textY = y + seatRadius * FONT_SIZE_FACTOR_TO_CENTER_VERTICALLY;
-        Text text = new Text("X").x(x).y(textY).fontSize(seatRadius).textAnchor(TextAnchorValue.MIDDLE);
+        Text text = new Text(SEAT_STATUS_LEGEND_CHARACTER).x(x).y(textY).fontSize(seatRadius)
+                .textAnchor(TextAnchorValue.MIDDLE);
         text.fill(getFontColorOrZero());
         setFontFamilyUnlessNull(text);
         G seatGrouping = new G();
         seatGrouping.addElement(createOutlinedCircle(x, y, seatRadius, getFontColorOrZero()));
         seatGrouping.addElement(text);
         certainSeatsLegendSlotGrouping.addElement(seatGrouping);
-        Text legendText = new Text("Unlikely (P < 50%)").x(x + SEAT_RADIUS_TO_LEGEND_GAP_FACTOR * seatRadius).y(textY)
-                .fontSize(seatRadius).textAnchor(TextAnchorValue.START);
+        Text legendText = new Text(UNLIKELY_SEATS_LEGEND_LABEL).x(x + SEAT_RADIUS_TO_LEGEND_GAP_FACTOR * seatRadius)
+                .y(textY).fontSize(seatRadius).textAnchor(TextAnchorValue.START);
         legendText.fill(getFontColorOrZero());
         setFontFamilyUnlessNull(legendText);
         certainSeatsLegendSlotGrouping.addElement(legendText);
@@ -367,14 +806,22 @@ public class SeatingPlanExporter extends Exporter {
         return new Rect().x(-width / 2D).y(canvasTopEdge).width(width).height(canvasHeight).fill(backgroundColor);
     }
 
+    /**
+     * Calculates the y coordinate for the title, taking into account whether there's a subtitle.
+     *
+     * @return The y coordinate for the title.
+     */
+    double calculateTitleY() {
+        return -1D - TITLE_MARGIN - (subtitle != null ? SUBTITLE_HEIGHT + TITLE_HEIGHT : 0D);
+    }
+
     /**
      * Creates a text element for the title.
      *
      * @return A text for the title.
      */
     private Text createTitleText() {
-        double y = -1D - TITLE_MARGIN - (subtitle != null ? SUBTITLE_HEIGHT + TITLE_HEIGHT : 0D);
-        Text text = new Text(title).x(0D).y(y).fontSize(TITLE_HEIGHT).fontWeight(FontWeightValue.BOLD)
+        Text text = new Text(title).x(0D).y(calculateTitleY()).fontSize(TITLE_HEIGHT).fontWeight(FontWeightValue.BOLD)
                 .textAnchor(TextAnchorValue.MIDDLE);
         text.fill(getFontColorOrZero());
         setFontFamilyUnlessNull(text);
@@ -387,7 +834,7 @@ public class SeatingPlanExporter extends Exporter {
      * @return A text for the subtitle.
      */
     private Text createSubtitleText() {
-        Text text = new Text(subtitle).x(0D).y(-1D - TITLE_MARGIN).fontSize(SUBTITLE_HEIGHT)
+        Text text = new Text(subtitle).x(0D).y(SUBTITLE_Y).fontSize(SUBTITLE_HEIGHT)
                 .fontWeight(FontWeightValue.BOLD).textAnchor(TextAnchorValue.MIDDLE);
         text.fill(getFontColorOrZero());
         setFontFamilyUnlessNull(text);
@@ -395,7 +842,9 @@ public class SeatingPlanExporter extends Exporter {
     }
 
     /**
-     * Creates a grouping for a hemicycle and its content.
+     * Creates a grouping for a hemicycle and its content. The hemicycle contains a grouping per parliamentary group, in
+     * the order in which the parliamentary groups first appear in the hemicycle. If parallel rendering has been
+     * switched on, the groupings for the parliamentary groups are created in parallel.
      *
      * @param layout     The layout for the hemicycle.
      * @param plan       The seating plan for the hemicycle.
@@ -404,23 +853,81 @@ public class SeatingPlanExporter extends Exporter {
      */
     private G createHemicycleGrouping(final HemicycleLayout layout, final RowConnectedSeatingPlan plan,
             final double seatRadius) {
-        Iterator<SeatPosition> seatPositions = layout.getSeatPositions().iterator();
+        ParliamentaryGroupSeats[] parliamentaryGroupSeats = ParliamentaryGroupSeats.partition(layout, plan);
+        G[] parliamentaryGroupGroupings = new G[parliamentaryGroupSeats.length];
+        renderFragments(parallelRendering, parliamentaryGroupGroupings,
+                i -> createParliamentaryGroupGrouping(parliamentaryGroupSeats[i], plan, seatRadius));
         G hemicycleGrouping = new G();
-        ModifiableMap<ParliamentaryGroup, G> parliamentaryGroupGroupings = ModifiableMap.empty();
-        int seatNumber = 0;
-        while (seatPositions.hasNext()) {
-            SeatPosition seatPosition = seatPositions.next();
-            ParliamentaryGroup parliamentaryGroup = plan.getParliamentaryGroupAtSeat(seatNumber);
-            if (!parliamentaryGroupGroupings.containsKey(parliamentaryGroup)) {
-                G parliamentaryGroupGrouping = new G();
-                parliamentaryGroupGroupings.add(parliamentaryGroup, parliamentaryGroupGrouping);
-                hemicycleGrouping.addElement(parliamentaryGroupGrouping);
+        for (G parliamentaryGroupGrouping : parliamentaryGroupGroupings) {
+            hemicycleGrouping.addElement(parliamentaryGroupGrouping);
+        }
+        return hemicycleGrouping;
+    }
+
+    /**
+     * Renders a number of independent fragments, either sequentially or in parallel on the common fork/join pool. The
+     * fragments are stored in the array at the index for which they were rendered, such that the order of the
+     * fragments doesn't depend on the order in which they were rendered. The cancellation active on the current
+     * thread, if any, is also active while the fragments are rendered in parallel.
+     *
+     * @param <T>       The type of the fragments.
+     * @param parallel  True if the fragments should be rendered in parallel.
+     * @param fragments The array to which the fragments should be written.
+     * @param renderer  The function rendering the fragment for an index.
+     */
+    static <T> void renderFragments(final boolean parallel, final T[] fragments, final IntFunction<T> renderer) {
+        if (parallel && fragments.length > 1) {
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[fragments.length];
+            RenderCancellation cancellation = RenderCancellation.current();
+            AtomicReference<CancellationException> cancellationException =
+                    new AtomicReference<CancellationException>();
+            for (int i = 0; i < fragments.length; i++) {
+                int index = i;
+                tasks[i] = pool.submit(() -> {
+                    if (cancellation == null) {
+                        fragments[index] = renderer.apply(index);
+                    } else {
+                        try (RenderCancellation.Scope scope = cancellation.enter()) {
+                            fragments[index] = renderer.apply(index);
+                        } catch (CancellationException ce) {
+                            cancellationException.compareAndSet(null, ce);
+                        }
+                    }
+                });
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+            if (cancellationException.get() != null) {
+                throw cancellationException.get();
             }
-            G parliamentaryGroupGrouping = parliamentaryGroupGroupings.get(parliamentaryGroup);
+        } else {
+            for (int i = 0; i < fragments.length; i++) {
+                fragments[i] = renderer.apply(i);
+            }
+        }
+    }
+
+    /**
+     * Creates a grouping for the seats of a parliamentary group.
+     *
+     * @param parliamentaryGroupSeats The seats of the parliamentary group.
+     * @param plan                    The seating plan for the hemicycle.
+     * @param seatRadius              The seat radius.
+     * @return A grouping for the seats of the parliamentary group.
+     */
+    private G createParliamentaryGroupGrouping(final ParliamentaryGroupSeats parliamentaryGroupSeats,
+            final RowConnectedSeatingPlan plan, final double seatRadius) {
+        G parliamentaryGroupGrouping = new G();
+        ParliamentaryGroup parliamentaryGroup = parliamentaryGroupSeats.parliamentaryGroup();
+        String character = parliamentaryGroup.getCharacter();
+        for (int i = 0; i < parliamentaryGroupSeats.size(); i++) {
+            RenderCancellation.checkpoint(i, SEAT_CHECKPOINT_MASK);
+            SeatPosition seatPosition = parliamentaryGroupSeats.seatPositions()[i];
             double x = seatPosition.getX();
             double y = seatPosition.getY();
-            SeatStatus seatStatus = plan.getSeatStatus(seatNumber);
-            String character = parliamentaryGroup.getCharacter();
+            SeatStatus seatStatus = plan.getSeatStatus(parliamentaryGroupSeats.seatNumbers()[i]);
             if (character == null) {
                 addDecoratedCircleOrSectors(parliamentaryGroupGrouping, x, -y, seatRadius,
                         parliamentaryGroup.getColors(), seatStatus);
@@ -442,9 +949,8 @@ public class SeatingPlanExporter extends Exporter {
                 seatGroup.addElement(text);
                 parliamentaryGroupGrouping.addElement(seatGroup);
             }
-            seatNumber += 1;
         }
-        return hemicycleGrouping;
+        return parliamentaryGroupGrouping;
     }
 
     /**
@@ -501,13 +1007,12 @@ public class SeatingPlanExporter extends Exporter {
      */
     private G createColoredSectors(final double x, final double y, final double radius, final int[] colors) {
         G g = new G();
+        UnitSectorOffsets offsets = UnitSectorOffsets.get(colors.length);
         for (int i = 0; i < colors.length; i++) {
-            double angle1 = 2 * Math.PI * i / colors.length;
-            double angle2 = 2 * Math.PI * (i + 1) / colors.length;
-            double x1 = x + radius * Math.sin(angle1);
-            double y1 = y - radius * Math.cos(angle1);
-            double x2 = x + radius * Math.sin(angle2);
-            double y2 = y - radius * Math.cos(angle2);
+            double x1 = x + radius * offsets.getXOffset(i);
+            double y1 = y + radius * offsets.getYOffset(i);
+            double x2 = x + radius * offsets.getXOffset(i + 1);
+            double y2 = y + radius * offsets.getYOffset(i + 1);
             Path path =
                     new Path().moveTo(x, y).lineTo(x1, y1).arcTo(radius, radius, 0, Path.LargeArcFlagValues.SMALL_ARC,
                             Path.SweepFlagValues.POSITIVE_ANGLE, x2, y2).closePath().fill(colors[i]);
@@ -527,24 +1032,23 @@ public class SeatingPlanExporter extends Exporter {
      */
     private G createSemitransparentSectors(final double x, final double y, final double radius, final int[] colors) {
         G g = new G();
+        UnitSectorOffsets offsets = UnitSectorOffsets.get(colors.length);
+        double strokeWidth = radius * RADIUS_TO_STROKE_FACTOR;
+        double smallerRadius = radius - strokeWidth / 2D;
         for (int i = 0; i < colors.length; i++) {
-            double angle1 = 2 * Math.PI * i / colors.length;
-            double angle2 = 2 * Math.PI * (i + 1) / colors.length;
-            double x1 = x + radius * Math.sin(angle1);
-            double y1 = y - radius * Math.cos(angle1);
-            double x2 = x + radius * Math.sin(angle2);
-            double y2 = y - radius * Math.cos(angle2);
+            double x1 = x + radius * offsets.getXOffset(i);
+            double y1 = y + radius * offsets.getYOffset(i);
+            double x2 = x + radius * offsets.getXOffset(i + 1);
+            double y2 = y + radius * offsets.getYOffset(i + 1);
             Path fillPath = new Path()
                     .moveTo(x, y).lineTo(x1, y1).arcTo(radius, radius, 0, Path.LargeArcFlagValues.SMALL_ARC,
                             Path.SweepFlagValues.POSITIVE_ANGLE, x2, y2)
                     .closePath().fill(colors[i]).opacity(SEMITRANSPARENT_SEAT_OPACITY);
             g.addElement(fillPath);
-            double strokeWidth = radius * RADIUS_TO_STROKE_FACTOR;
-            double smallerRadius = radius - strokeWidth / 2D;
-            x1 = x + smallerRadius * Math.sin(angle1);
-            y1 = y - smallerRadius * Math.cos(angle1);
-            x2 = x + smallerRadius * Math.sin(angle2);
-            y2 = y - smallerRadius * Math.cos(angle2);
+            x1 = x + smallerRadius * offsets.getXOffset(i);
+            y1 = y + smallerRadius * offsets.getYOffset(i);
+            x2 = x + smallerRadius * offsets.getXOffset(i + 1);
+            y2 = y + smallerRadius * offsets.getYOffset(i + 1);
             Path strokePath = new Path().moveTo(x1, y1)
                     .arcTo(smallerRadius, smallerRadius, 0, Path.LargeArcFlagValues.SMALL_ARC,
                             Path.SweepFlagValues.POSITIVE_ANGLE, x2, y2)
@@ -565,15 +1069,14 @@ public class SeatingPlanExporter extends Exporter {
      */
     private G createOutlinedSectors(final double x, final double y, final double radius, final int[] colors) {
         G g = new G();
+        UnitSectorOffsets offsets = UnitSectorOffsets.get(colors.length);
+        double strokeWidth = radius * RADIUS_TO_STROKE_FACTOR;
+        double smallerRadius = radius - strokeWidth / 2D;
         for (int i = 0; i < colors.length; i++) {
-            double angle1 = 2 * Math.PI * i / colors.length;
-            double angle2 = 2 * Math.PI * (i + 1) / colors.length;
-            double strokeWidth = radius * RADIUS_TO_STROKE_FACTOR;
-            double smallerRadius = radius - strokeWidth / 2D;
-            double x1 = x + smallerRadius * Math.sin(angle1);
-            double y1 = y - smallerRadius * Math.cos(angle1);
-            double x2 = x + smallerRadius * Math.sin(angle2);
-            double y2 = y - smallerRadius * Math.cos(angle2);
+            double x1 = x + smallerRadius * offsets.getXOffset(i);
+            double y1 = y + smallerRadius * offsets.getYOffset(i);
+            double x2 = x + smallerRadius * offsets.getXOffset(i + 1);
+            double y2 = y + smallerRadius * offsets.getYOffset(i + 1);
             Path strokePath = new Path().moveTo(x1, y1)
                     .arcTo(smallerRadius, smallerRadius, 0, Path.LargeArcFlagValues.SMALL_ARC,
                             Path.SweepFlagValues.POSITIVE_ANGLE, x2, y2)
@@ -673,6 +1176,87 @@ public class SeatingPlanExporter extends Exporter {
         return angle;
     }
 
+    /**
+     * Returns the background color.
+     *
+     * @return The background color as an integer, or <code>null</code> if no background color has been set.
+     */
+    Integer getBackgroundColor() {
+        return backgroundColor;
+    }
+
+    /**
+     * Returns the custom copyright notice text.
+     *
+     * @return The custom copyright notice text, or <code>null</code> if no custom copyright notice has been set.
+     */
+    String getCustomCopyrightNotice() {
+        return customCopyrightNotice;
+    }
+
+    /**
+     * Returns whether the chart should be styled using classes.
+     *
+     * @return True if the chart should be styled using classes.
+     */
+    boolean isClassBasedStyling() {
+        return classBasedStyling;
+    }
+
+    /**
+     * Returns whether a legend should be displayed.
+     *
+     * @return True if a legend should be displayed.
+     */
+    boolean isDisplayLegend() {
+        return displayLegend;
+    }
+
+    /**
+     * Returns the cache with hemicycle layouts.
+     *
+     * @return The cache with hemicycle layouts, or <code>null</code> if no cache has been set.
+     */
+    HemicycleLayoutCache getLayoutCache() {
+        return layoutCache;
+    }
+
+    /**
+     * Returns whether the groupings for the parliamentary groups should be rendered in parallel.
+     *
+     * @return True if the groupings for the parliamentary groups should be rendered in parallel.
+     */
+    boolean isParallelRendering() {
+        return parallelRendering;
+    }
+
+    /**
+     * Returns whether the letters should be rotated towards the center.
+     *
+     * @return True if the letters should be rotated towards the center.
+     */
+    boolean isRotateLetters() {
+        return rotateLetters;
+    }
+
+    /**
+     * Returns the subtitle.
+     *
+     * @return The subtitle, or <code>null</code> if no subtitle has been set.
+     */
+    String getSubtitle() {
+        return subtitle;
+    }
+
+    /**
+     * Returns the title.
+     *
+     * @return The title, or <code>null</code> if no title has been set.
+     */
+    String getTitle() {
+        return title;
+    }
+
     /**
      * Returns the legend label width ratio to be used, i.e. the provided one, or if no ratio has been provided, the
      * default one.
@@ -694,6 +1278,19 @@ public class SeatingPlanExporter extends Exporter {
      */
     public void setAngle(final double angle) {
         this.angle = Math.PI * angle / STRAIGHT_ANGLE;
+        configurationChanged();
+    }
+
+    /**
+     * Specifies whether class-based styling should be used. With class-based styling, the SVG document contains a
+     * single <code>style</code> element, and the elements only carry a class name instead of their presentation
+     * attributes.
+     *
+     * @param classBasedStyling True if class-based styling should be used.
+     */
+    public void setClassBasedStyling(final boolean classBasedStyling) {
+        this.classBasedStyling = classBasedStyling;
+        configurationChanged();
     }
 
     /**
@@ -703,6 +1300,28 @@ public class SeatingPlanExporter extends Exporter {
      */
     public void setDisplayLegend(final boolean displayLegend) {
         this.displayLegend = displayLegend;
+        configurationChanged();
+    }
+
+    /**
+     * Specifies whether the groupings for the parliamentary groups should be rendered in parallel, on the common
+     * fork/join pool. The result is the same as when the groupings are rendered sequentially.
+     *
+     * @param parallelRendering True if the groupings should be rendered in parallel.
+     */
+    public void setParallelRendering(final boolean parallelRendering) {
+        this.parallelRendering = parallelRendering;
+        configurationChanged();
+    }
+
+    /**
+     * Sets a cache with hemicycle layouts, such that the layouts can be shared with other exporters.
+     *
+     * @param layoutCache A cache with hemicycle layouts, or <code>null</code> if the layouts shouldn't be cached.
+     */
+    public void setLayoutCache(final HemicycleLayoutCache layoutCache) {
+        this.layoutCache = layoutCache;
+        configurationChanged();
     }
 
     /**
@@ -712,6 +1331,7 @@ public class SeatingPlanExporter extends Exporter {
      */
     void setRotateLetters(final boolean rotateLetters) {
         this.rotateLetters = rotateLetters;
+        configurationChanged();
     }
 
     /**
@@ -721,6 +1341,7 @@ public class SeatingPlanExporter extends Exporter {
      */
     public void setCustomCopyrightNotice(final String customCopyrightNotice) {
         this.customCopyrightNotice = customCopyrightNotice;
+        configurationChanged();
     }
 
     /**
@@ -730,6 +1351,7 @@ public class SeatingPlanExporter extends Exporter {
      */
     public void setBackgroundColor(final Integer backgroundColor) {
         this.backgroundColor = backgroundColor;
+        configurationChanged();
     }
 
     /**
@@ -739,6 +1361,7 @@ public class SeatingPlanExporter extends Exporter {
      */
     public void setTitle(final String title) {
         this.title = title;
+        configurationChanged();
     }
 
     /**
@@ -748,6 +1371,7 @@ public class SeatingPlanExporter extends Exporter {
      */
     public void setSubtitle(final String subtitle) {
         this.subtitle = subtitle;
+        configurationChanged();
     }
 
     /**
@@ -758,5 +1382,6 @@ public class SeatingPlanExporter extends Exporter {
      */
     public void setLegendLabelWidthRatio(final int legendLabelWidthRatio) {
         this.legendLabelWidthRatio = legendLabelWidthRatio;
+        configurationChanged();
     }
 }
@@ -0,0 +1,504 @@
+package net.filipvanlaenen.shecc.export;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+import javax.imageio.ImageIO;
+
+import net.filipvanlaenen.kolektoj.OrderedCollection;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+import net.filipvanlaenen.shecc.SeatPosition;
+import net.filipvanlaenen.shecc.SeatStatus;
+import net.filipvanlaenen.tsvgj.TextAnchorValue;
+
+/**
+ * A class exporting seating plans to raster images. The seating plans are drawn using Java2D into a buffered image,
+ * using the same geometry as the SVG export, such that no external tool is needed to convert the SVG into a PNG file.
+ * All settings of the SVG exporter, like the title, the colors and the legend, apply to the raster export too.
+ */
+public class SeatingPlanRasterExporter extends SeatingPlanExporter {
+    /**
+     * The informal name of the PNG format, as used by the image I/O API.
+     */
+    private static final String PNG_FORMAT_NAME = "png";
+    /**
+     * The full circle in degrees.
+     */
+    private static final double FULL_CIRCLE = 360D;
+    /**
+     * The angle in degrees of the top of a circle, where the first sector starts.
+     */
+    private static final double TOP_ANGLE = 90D;
+    /**
+     * The font size at which texts are laid out before they're scaled to their actual size. View box font sizes are
+     * typically much smaller than one, which is too small to lay out text reliably.
+     */
+    private static final float REFERENCE_FONT_SIZE = 100F;
+    /**
+     * The maximal value for a color component.
+     */
+    private static final int MAX_COLOR_COMPONENT = 255;
+
+    /**
+     * Specifies whether antialiasing should be used.
+     */
+    private boolean antialiasing = true;
+    /**
+     * The height of the image in pixels.
+     */
+    private Integer pixelHeight;
+    /**
+     * The width of the image in pixels.
+     */
+    private Integer pixelWidth;
+
+    /**
+     * Exports a seating plan to a buffered image.
+     *
+     * @param plan The seating plan to be exported.
+     * @return A buffered image with the seating plan.
+     */
+    public BufferedImage exportToImage(final RowConnectedSeatingPlan plan) {
+        SeatingPlanDimensions dimensions = calculateDimensions(plan);
+        double width = dimensions.getWidth();
+        double canvasHeight = dimensions.canvasHeight();
+        double canvasTopEdge = dimensions.canvasTopEdge();
+        int imageWidth = calculateImageWidth(width, canvasHeight);
+        int imageHeight = calculateImageHeight(width, canvasHeight);
+        BufferedImage image = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            setRenderingHints(g);
+            double scale = Math.min(imageWidth / width, imageHeight / canvasHeight);
+            g.translate((imageWidth - width * scale) / 2D, (imageHeight - canvasHeight * scale) / 2D);
+            g.scale(scale, scale);
+            g.translate(dimensions.getHalfWidth(), -canvasTopEdge);
+            if (getBackgroundColor() != null) {
+                g.setColor(new Color(getBackgroundColor()));
+                g.fill(new Rectangle2D.Double(-width / 2D, canvasTopEdge, width, canvasHeight));
+            }
+            Color fontColor = new Color(getFontColorOrZero());
+            if (getTitle() != null) {
+                drawText(g, getTitle(), 0D, calculateTitleY(), TITLE_HEIGHT, true, TextAnchorValue.MIDDLE, fontColor);
+            }
+            if (getSubtitle() != null) {
+                drawText(g, getSubtitle(), 0D, SUBTITLE_Y, SUBTITLE_HEIGHT, true, TextAnchorValue.MIDDLE, fontColor);
+            }
+            drawHemicycle(g, dimensions, plan);
+            if (isDisplayLegend()) {
+                drawLegend(g, dimensions, plan, fontColor);
+            }
+            drawCopyrightNotice(g, dimensions.getHalfWidth(), canvasTopEdge, width, canvasHeight);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Exports a seating plan to PNG, and writes it to an output stream.
+     *
+     * @param plan         The seating plan to be exported.
+     * @param outputStream The output stream to write the PNG to.
+     * @throws IOException Thrown if an error occurs while writing to the output stream.
+     */
+    public void exportToPng(final RowConnectedSeatingPlan plan, final OutputStream outputStream) throws IOException {
+        ImageIO.write(exportToImage(plan), PNG_FORMAT_NAME, outputStream);
+    }
+
+    /**
+     * Exports a seating plan to PNG.
+     *
+     * @param plan The seating plan to be exported.
+     * @return A byte array containing the seating plan as a PNG file.
+     * @throws IOException Thrown if an error occurs while encoding the image.
+     */
+    public byte[] exportToPng(final RowConnectedSeatingPlan plan) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportToPng(plan, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Calculates the width of the image in pixels. If no width has been specified, it's derived from the height, and if
+     * no height has been specified either, the same width as for the SVG export is used.
+     *
+     * @param width        The width of the view box.
+     * @param canvasHeight The height of the view box.
+     * @return The width of the image in pixels.
+     */
+    private int calculateImageWidth(final double width, final double canvasHeight) {
+        if (pixelWidth != null) {
+            return pixelWidth;
+        } else if (pixelHeight != null) {
+            return Math.max(1, (int) Math.round(pixelHeight * width / canvasHeight));
+        } else {
+            return Math.max(1, (int) Math.round(width * VIEW_BOX_TO_SVG_DIMENSIONS_FACTOR));
+        }
+    }
+
+    /**
+     * Calculates the height of the image in pixels. If no height has been specified, it's derived from the width, and
+     * if no width has been specified either, the same height as for the SVG export is used.
+     *
+     * @param width        The width of the view box.
+     * @param canvasHeight The height of the view box.
+     * @return The height of the image in pixels.
+     */
+    private int calculateImageHeight(final double width, final double canvasHeight) {
+        if (pixelHeight != null) {
+            return pixelHeight;
+        } else if (pixelWidth != null) {
+            return Math.max(1, (int) Math.round(pixelWidth * canvasHeight / width));
+        } else {
+            return Math.max(1, (int) Math.round(canvasHeight * VIEW_BOX_TO_SVG_DIMENSIONS_FACTOR));
+        }
+    }
+
+    /**
+     * Sets the rendering hints on the graphics context, depending on whether antialiasing should be used.
+     *
+     * @param g The graphics context.
+     */
+    private void setRenderingHints(final Graphics2D g) {
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                antialiasing ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                antialiasing ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+    }
+
+    /**
+     * Draws the hemicycle and its seats.
+     *
+     * @param g          The graphics context.
+     * @param dimensions The dimensions of the chart.
+     * @param plan       The seating plan for the hemicycle.
+     */
+    private void drawHemicycle(final Graphics2D g, final SeatingPlanDimensions dimensions,
+            final RowConnectedSeatingPlan plan) {
+        double seatRadius = dimensions.seatRadius();
+        Iterator<SeatPosition> seatPositions = dimensions.layout().getSeatPositions().iterator();
+        int seatNumber = 0;
+        while (seatPositions.hasNext()) {
+            SeatPosition seatPosition = seatPositions.next();
+            ParliamentaryGroup parliamentaryGroup = plan.getParliamentaryGroupAtSeat(seatNumber);
+            double x = seatPosition.getX();
+            double y = -seatPosition.getY();
+            SeatStatus seatStatus = plan.getSeatStatus(seatNumber);
+            int[] colors = parliamentaryGroup.getColors();
+            drawDecoratedCircleOrSectors(g, x, y, seatRadius, colors, seatStatus);
+            String character = parliamentaryGroup.getCharacter();
+            if (character != null) {
+                Color textColor = seatStatus == SeatStatus.CERTAIN ? Color.WHITE : new Color(colors[0]);
+                AffineTransform transform = g.getTransform();
+                if (isRotateLetters()) {
+                    g.rotate(Math.PI / 2D - seatPosition.angle(), x, y);
+                }
+                drawText(g, character, x, y + seatRadius * FONT_SIZE_FACTOR_TO_CENTER_VERTICALLY, seatRadius, false,
+                        TextAnchorValue.MIDDLE, textColor);
+                g.setTransform(transform);
+            }
+            seatNumber += 1;
+        }
+    }
+
+    /**
+     * Draws the legend.
+     *
+     * @param g          The graphics context.
+     * @param dimensions The dimensions of the chart.
+     * @param plan       The seating plan for the hemicycle.
+     * @param fontColor  The font color.
+     */
+    private void drawLegend(final Graphics2D g, final SeatingPlanDimensions dimensions,
+            final RowConnectedSeatingPlan plan, final Color fontColor) {
+        double layoutHalfWidth = dimensions.getLayoutHalfWidth();
+        double hemicycleHeight = dimensions.getHemicycleHeight();
+        double seatRadius = dimensions.seatRadius();
+        int noOfLegendRows = dimensions.noOfLegendRows();
+        OrderedCollection<ParliamentaryGroup> parliamentaryGroups = plan.getParliamentaryGroups();
+        int noOfParliamentaryGroups = parliamentaryGroups.size();
+        int noOfParliamentaryGroupLegendRows = dimensions.noOfParliamentaryGroupLegendRows();
+        int noOfSlotsPerLegendRow =
+                calculateNoOfSlotsPerLegendRow(noOfParliamentaryGroups, noOfParliamentaryGroupLegendRows);
+        double legendSlotWidth = dimensions.getLayoutWidth() / noOfSlotsPerLegendRow;
+        int legendSlotIndex = 0;
+        for (ParliamentaryGroup parliamentaryGroup : parliamentaryGroups) {
+            double x = calculateLegendSlotX(layoutHalfWidth, seatRadius, noOfParliamentaryGroups,
+                    noOfParliamentaryGroupLegendRows, legendSlotIndex, noOfSlotsPerLegendRow, legendSlotWidth);
+            double y = calculateLegendRowY(hemicycleHeight, seatRadius, legendSlotIndex / noOfSlotsPerLegendRow);
+            double textY = y + seatRadius * FONT_SIZE_FACTOR_TO_CENTER_VERTICALLY;
+            drawColoredCircleOrSectors(g, x, y, seatRadius, parliamentaryGroup.getColors());
+            String character = parliamentaryGroup.getCharacter();
+            if (character != null) {
+                drawText(g, character, x, textY, seatRadius, false, TextAnchorValue.MIDDLE, Color.WHITE);
+            }
+            drawText(g, parliamentaryGroup.getName() + " (" + parliamentaryGroup.getSize().getFullSize() + ")",
+                    x + SEAT_RADIUS_TO_LEGEND_GAP_FACTOR * seatRadius, textY, seatRadius, false, TextAnchorValue.START,
+                    fontColor);
+            legendSlotIndex += 1;
+        }
+        if (plan.hasUncertainSeats()) {
+            double seatStatusLegendSlotWidth = dimensions.getLayoutWidth() / THREE;
+            double y = calculateLegendRowY(hemicycleHeight, seatRadius, noOfLegendRows - 1);
+            double textY = y + seatRadius * FONT_SIZE_FACTOR_TO_CENTER_VERTICALLY;
+            int fontColorRgb = getFontColorOrZero();
+            String[] labels =
+                    new String[] {CERTAIN_SEATS_LEGEND_LABEL, LIKELY_SEATS_LEGEND_LABEL, UNLIKELY_SEATS_LEGEND_LABEL};
+            SeatStatus[] seatStatuses = SeatStatus.values();
+            for (int i = 0; i < seatStatuses.length; i++) {
+                double x = -layoutHalfWidth + seatRadius + seatStatusLegendSlotWidth * i;
+                drawDecoratedCircleOrSectors(g, x, y, seatRadius, new int[] {fontColorRgb}, seatStatuses[i]);
+                drawText(g, SEAT_STATUS_LEGEND_CHARACTER, x, textY, seatRadius, false, TextAnchorValue.MIDDLE,
+                        seatStatuses[i] == SeatStatus.CERTAIN ? Color.WHITE : fontColor);
+                drawText(g, labels[i], x + SEAT_RADIUS_TO_LEGEND_GAP_FACTOR * seatRadius, textY, seatRadius, false,
+                        TextAnchorValue.START, fontColor);
+            }
+        }
+    }
+
+    /**
+     * Draws the copyright notice along the right edge of the canvas.
+     *
+     * @param g      The graphics context.
+     * @param x      The x coordinate of the top right corner of the view box.
+     * @param y      The y coordinate of the top right corner of the view box.
+     * @param width  The width of the view box.
+     * @param height The height of the view box.
+     */
+    private void drawCopyrightNotice(final Graphics2D g, final double x, final double y, final double width,
+            final double height) {
+        double margin = calculateCopyrightNoticeMargin(width, height);
+        AffineTransform transform = g.getTransform();
+        g.rotate(Math.toRadians(COPYRIGHT_NOTICE_ROTATION_ANGLE), x, y);
+        drawText(g, createCopyrightNoticeText(getCustomCopyrightNotice()), x - margin, y - margin,
+                calculateCopyrightNoticeFontSize(width, height), false, TextAnchorValue.END,
+                getFontColor() == null ? Color.BLACK : new Color(getFontColor()));
+        g.setTransform(transform);
+    }
+
+    /**
+     * Draws a text. The text is laid out at a reference font size, and then scaled down to the requested font size.
+     *
+     * @param g          The graphics context.
+     * @param text       The text to draw.
+     * @param x          The x coordinate of the anchor point.
+     * @param y          The y coordinate of the baseline.
+     * @param fontSize   The font size.
+     * @param bold       True if the text should be bold.
+     * @param textAnchor The alignment of the text relative to the anchor point.
+     * @param color      The color.
+     */
+    private void drawText(final Graphics2D g, final String text, final double x, final double y,
+            final double fontSize, final boolean bold, final TextAnchorValue textAnchor, final Color color) {
+        String fontFamily = getFontFamily() == null ? Font.SANS_SERIF : getFontFamily();
+        Font font = new Font(fontFamily, bold ? Font.BOLD : Font.PLAIN, 1).deriveFont(REFERENCE_FONT_SIZE);
+        AffineTransform transform = g.getTransform();
+        g.translate(x, y);
+        g.scale(fontSize / REFERENCE_FONT_SIZE, fontSize / REFERENCE_FONT_SIZE);
+        g.setFont(font);
+        g.setColor(color);
+        double textWidth = font.getStringBounds(text, g.getFontRenderContext()).getWidth();
+        double offset = 0D;
+        if (textAnchor == TextAnchorValue.MIDDLE) {
+            offset = -textWidth / 2D;
+        } else if (textAnchor == TextAnchorValue.END) {
+            offset = -textWidth;
+        }
+        g.drawString(text, (float) offset, 0F);
+        g.setTransform(transform);
+    }
+
+    /**
+     * Creates a sector of a circle. The sectors are numbered clockwise, starting at the top of the circle.
+     *
+     * @param x           The x coordinate of the center.
+     * @param y           The y coordinate of the center.
+     * @param radius      The radius.
+     * @param index       The index of the sector.
+     * @param noOfSectors The number of sectors in the circle.
+     * @param type        The closure type of the arc, <code>Arc2D.PIE</code> for a filled sector or
+     *                    <code>Arc2D.OPEN</code> for the outline along the circle only.
+     * @return A shape with the sector.
+     */
+    private static Shape createSector(final double x, final double y, final double radius, final int index,
+            final int noOfSectors, final int type) {
+        double extent = FULL_CIRCLE / noOfSectors;
+        return new Arc2D.Double(x - radius, y - radius, 2D * radius, 2D * radius, TOP_ANGLE - extent * index,
+                -extent, type);
+    }
+
+    /**
+     * Draws a colored circle or colored sectors, depending on the number of colors.
+     *
+     * @param g      The graphics context.
+     * @param x      The x coordinate of the center.
+     * @param y      The y coordinate of the center.
+     * @param radius The radius.
+     * @param colors An array with the colors.
+     */
+    private void drawColoredCircleOrSectors(final Graphics2D g, final double x, final double y, final double radius,
+            final int[] colors) {
+        if (colors.length == 1) {
+            g.setColor(new Color(colors[0]));
+            g.fill(new Ellipse2D.Double(x - radius, y - radius, 2D * radius, 2D * radius));
+        } else {
+            for (int i = 0; i < colors.length; i++) {
+                g.setColor(new Color(colors[i]));
+                g.fill(createSector(x, y, radius, i, colors.length, Arc2D.PIE));
+            }
+        }
+    }
+
+    /**
+     * Draws a semi-transparent circle or semi-transparent sectors outlined with their color, depending on the number
+     * of colors.
+     *
+     * @param g      The graphics context.
+     * @param x      The x coordinate of the center.
+     * @param y      The y coordinate of the center.
+     * @param radius The radius.
+     * @param colors An array with the colors.
+     */
+    private void drawSemitransparentCircleOrSectors(final Graphics2D g, final double x, final double y,
+            final double radius, final int[] colors) {
+        double strokeWidth = radius * RADIUS_TO_STROKE_FACTOR;
+        double smallerRadius = radius - strokeWidth / 2D;
+        g.setStroke(new BasicStroke((float) strokeWidth));
+        if (colors.length == 1) {
+            Shape circle =
+                    new Ellipse2D.Double(x - smallerRadius, y - smallerRadius, 2D * smallerRadius, 2D * smallerRadius);
+            g.setColor(createSemitransparentColor(colors[0]));
+            g.fill(circle);
+            g.setColor(new Color(colors[0]));
+            g.draw(circle);
+        } else {
+            for (int i = 0; i < colors.length; i++) {
+                g.setColor(createSemitransparentColor(colors[i]));
+                g.fill(createSector(x, y, radius, i, colors.length, Arc2D.PIE));
+                g.setColor(new Color(colors[i]));
+                g.draw(createSector(x, y, smallerRadius, i, colors.length, Arc2D.OPEN));
+            }
+        }
+    }
+
+    /**
+     * Draws a circle or sectors outlined with their color, depending on the number of colors.
+     *
+     * @param g      The graphics context.
+     * @param x      The x coordinate of the center.
+     * @param y      The y coordinate of the center.
+     * @param radius The radius.
+     * @param colors An array with the colors.
+     */
+    private void drawOutlinedCircleOrSectors(final Graphics2D g, final double x, final double y, final double radius,
+            final int[] colors) {
+        double strokeWidth = radius * RADIUS_TO_STROKE_FACTOR;
+        double smallerRadius = radius - strokeWidth / 2D;
+        g.setStroke(new BasicStroke((float) strokeWidth));
+        if (colors.length == 1) {
+            g.setColor(new Color(colors[0]));
+            g.draw(new Ellipse2D.Double(x - smallerRadius, y - smallerRadius, 2D * smallerRadius,
+                    2D * smallerRadius));
+        } else {
+            for (int i = 0; i < colors.length; i++) {
+                g.setColor(new Color(colors[i]));
+                g.draw(createSector(x, y, smallerRadius, i, colors.length, Arc2D.OPEN));
+            }
+        }
+    }
+
+    /**
+     * Draws a decorated circle or decorated sectors, depending on the number of colors and the status of the seat.
+     *
+     * @param g          The graphics context.
+     * @param x          The x coordinate of the center.
+     * @param y          The y coordinate of the center.
+     * @param radius     The radius.
+     * @param colors     An array with the colors.
+     * @param seatStatus The status of the seat.
+     */
+    private void drawDecoratedCircleOrSectors(final Graphics2D g, final double x, final double y, final double radius,
+            final int[] colors, final SeatStatus seatStatus) {
+        switch (seatStatus) {
+        case CERTAIN:
+        default:
+            drawColoredCircleOrSectors(g, x, y, radius, colors);
+            break;
+        case LIKELY:
+            drawSemitransparentCircleOrSectors(g, x, y, radius, colors);
+            break;
+        case UNLIKELY:
+            drawOutlinedCircleOrSectors(g, x, y, radius, colors);
+            break;
+        }
+    }
+
+    /**
+     * Creates a semi-transparent version of a color, using the same opacity as for the likely seats in the SVG export.
+     *
+     * @param color The color as an integer.
+     * @return A semi-transparent color.
+     */
+    private static Color createSemitransparentColor(final int color) {
+        Color opaqueColor = new Color(color);
+        return new Color(opaqueColor.getRed(), opaqueColor.getGreen(), opaqueColor.getBlue(),
+                (int) Math.round(SEMITRANSPARENT_SEAT_OPACITY * MAX_COLOR_COMPONENT));
+    }
+
+    /**
+     * Specifies whether antialiasing should be used. Antialiasing is used by default.
+     *
+     * @param antialiasing True if antialiasing should be used.
+     */
+    public void setAntialiasing(final boolean antialiasing) {
+        this.antialiasing = antialiasing;
+        configurationChanged();
+    }
+
+    /**
+     * Specifies the height of the image in pixels. If only the height is specified, the width is derived from it such
+     * that the aspect ratio of the chart is kept.
+     *
+     * @param pixelHeight The height of the image in pixels.
+     */
+    public void setPixelHeight(final Integer pixelHeight) {
+        if (pixelHeight != null && pixelHeight <= 0) {
+            throw new IllegalArgumentException("The height of an image should be strictly positive.");
+        }
+        this.pixelHeight = pixelHeight;
+        configurationChanged();
+    }
+
+    /**
+     * Specifies the width of the image in pixels. If only the width is specified, the height is derived from it such
+     * that the aspect ratio of the chart is kept. If both are specified, the chart is scaled to fit and centered in the
+     * image.
+     *
+     * @param pixelWidth The width of the image in pixels.
+     */
+    public void setPixelWidth(final Integer pixelWidth) {
+        if (pixelWidth != null && pixelWidth <= 0) {
+            throw new IllegalArgumentException("The width of an image should be strictly positive.");
+        }
+        this.pixelWidth = pixelWidth;
+        configurationChanged();
+    }
+}
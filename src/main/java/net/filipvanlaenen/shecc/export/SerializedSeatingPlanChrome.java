@@ -0,0 +1,16 @@
+package net.filipvanlaenen.shecc.export;
+
+/**
+ * The serialized parts of a seating plan chart with attribute-based styling surrounding the hemicycle, i.e. the opening
+ * of the SVG document with the background, the title and the subtitle, and the legend with the copyright notice and
+ * the closing of the SVG document, together with the dimensions of the chart. Since they're strings, they can be
+ * shared between exports running in parallel.
+ *
+ * @param dimensions      The dimensions of the chart.
+ * @param head            The part of the SVG document before the hemicycle.
+ * @param hemicycleIndent The indentation with which the hemicycle should be serialized.
+ * @param tail            The part of the SVG document after the hemicycle.
+ */
+record SerializedSeatingPlanChrome(SeatingPlanDimensions dimensions, String head, String hemicycleIndent,
+        String tail) {
+}
@@ -0,0 +1,738 @@
+package net.filipvanlaenen.shecc.export;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import net.filipvanlaenen.shecc.HemicycleLayout;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+import net.filipvanlaenen.shecc.SeatStatus;
+
+/**
+ * A report on the size of an SVG document exported for a seating plan, accounting for the bytes it takes when encoded
+ * in UTF-8. Every byte of the document is attributed to the element it belongs to, i.e. the element whose start tag,
+ * end tag or text content it's part of, or to whitespace if it's whitespace between the tags. The bytes and the
+ * elements are tallied per element type, per section of the chart, per parliamentary group and per seat status. For
+ * every tally, the bytes taken by the attributes and by the numeric literals in the attribute values and the style
+ * rules are reported too.
+ *
+ * The sections of the chart are the hemicycle, the legend, and all the rest, i.e. the root element, the style rules,
+ * the background, the title, the subtitle and the copyright notice. The tally of a parliamentary group covers its
+ * grouping in the hemicycle, and the tally of a seat status covers the elements drawing the seats with that status,
+ * including their characters. The report is intended to find out which parts of a chart take the bytes, and to compare
+ * the output modes of the exporter.
+ */
+public final class SvgSizeReport {
+    /**
+     * The name of the section with the hemicycle.
+     */
+    public static final String HEMICYCLE_SECTION = "hemicycle";
+    /**
+     * The name of the section with the legend.
+     */
+    public static final String LEGEND_SECTION = "legend";
+    /**
+     * The name of the section with all the other parts of the chart.
+     */
+    public static final String OTHER_SECTION = "other";
+    /**
+     * The name under which the whitespace between the tags is tallied as an element type.
+     */
+    public static final String WHITESPACE = "whitespace";
+    /**
+     * The name under which markup other than elements, like comments and declarations, is tallied as an element type.
+     */
+    static final String OTHER_MARKUP = "other markup";
+    /**
+     * The name of the element containing the style rules.
+     */
+    private static final String STYLE_ELEMENT = "style";
+    /**
+     * The name of the grouping element.
+     */
+    private static final String GROUPING_ELEMENT = "g";
+    /**
+     * The number of percents in a whole.
+     */
+    private static final double ONE_HUNDRED_PERCENT = 100D;
+
+    /**
+     * The number of elements and bytes attributed to a part of an SVG document.
+     *
+     * @param elements       The number of elements.
+     * @param bytes          The number of bytes.
+     * @param attributeBytes The number of bytes taken by the attributes, including the whitespace before them.
+     * @param numericBytes   The number of bytes taken by numeric literals.
+     */
+    public record Tally(long elements, long bytes, long attributeBytes, long numericBytes) {
+    }
+
+    /**
+     * A mutable tally, used while the document is scanned.
+     */
+    private static final class Counter {
+        /**
+         * The number of elements.
+         */
+        private long elements;
+        /**
+         * The number of bytes.
+         */
+        private long bytes;
+        /**
+         * The number of bytes taken by the attributes.
+         */
+        private long attributeBytes;
+        /**
+         * The number of bytes taken by numeric literals.
+         */
+        private long numericBytes;
+
+        /**
+         * Converts the counter into an immutable tally.
+         *
+         * @return A tally with the values of the counter.
+         */
+        private Tally toTally() {
+            return new Tally(elements, bytes, attributeBytes, numericBytes);
+        }
+    }
+
+    /**
+     * An open element while the document is scanned, with the counters to which its bytes are attributed.
+     *
+     * @param elementType The counter for the element type.
+     * @param section     The counter for the section of the chart.
+     * @param group       The counter for the parliamentary group, or <code>null</code> if outside the hemicycle.
+     * @param seatStatus  The counter for the seat status, or <code>null</code> if not part of a seat.
+     * @param depth       The depth of the element, zero for the root element.
+     * @param role        The role of the element in the chart.
+     * @param groupIndex  The index of the parliamentary group if the element is the grouping with its seats.
+     * @param children    The number of child elements started so far, in a one-element array.
+     */
+    private record Frame(Counter elementType, Counter section, Counter group, Counter seatStatus, int depth,
+            Role role, int groupIndex, int[] children) {
+    }
+
+    /**
+     * The role of an element in the chart, as far as the attribution of its content is concerned.
+     */
+    private enum Role {
+        /**
+         * An element without a special role.
+         */
+        NONE,
+        /**
+         * The grouping with the hemicycle.
+         */
+        HEMICYCLE,
+        /**
+         * The grouping with the seats of a parliamentary group in the hemicycle.
+         */
+        PARLIAMENTARY_GROUP
+    }
+
+    /**
+     * The tally for the whole document.
+     */
+    private final Tally total;
+    /**
+     * The tallies per element type, in the order in which the element types first appear.
+     */
+    private final Map<String, Tally> elementTypes;
+    /**
+     * The tallies per section of the chart.
+     */
+    private final Map<String, Tally> sections;
+    /**
+     * The tallies per parliamentary group, in the order of the parliamentary groups in the seating plan.
+     */
+    private final Map<ParliamentaryGroup, Tally> parliamentaryGroups;
+    /**
+     * The tallies per seat status.
+     */
+    private final Map<SeatStatus, Tally> seatStatuses;
+    /**
+     * The labels for the parliamentary groups in the report.
+     */
+    private final Map<ParliamentaryGroup, String> parliamentaryGroupLabels;
+
+    /**
+     * Scans an SVG document exported for a seating plan, and tallies its bytes and elements.
+     *
+     * @param document The SVG document.
+     * @param plan     The seating plan.
+     * @param layout   The layout of the hemicycle.
+     */
+    SvgSizeReport(final String document, final RowConnectedSeatingPlan plan, final HemicycleLayout layout) {
+        ParliamentaryGroupSeats[] parliamentaryGroupSeats = ParliamentaryGroupSeats.partition(layout, plan);
+        Scan scan = new Scan(document, plan, parliamentaryGroupSeats);
+        scan.run();
+        total = scan.total.toTally();
+        elementTypes = toTallies(scan.elementTypes);
+        sections = toTallies(scan.sections);
+        Map<ParliamentaryGroup, Tally> groupTallies = new LinkedHashMap<ParliamentaryGroup, Tally>();
+        Map<ParliamentaryGroup, String> groupLabels = new LinkedHashMap<ParliamentaryGroup, String>();
+        Iterator<ParliamentaryGroup> parliamentaryGroupIterator = plan.getParliamentaryGroups().iterator();
+        int groupNumber = 0;
+        while (parliamentaryGroupIterator.hasNext()) {
+            ParliamentaryGroup parliamentaryGroup = parliamentaryGroupIterator.next();
+            groupNumber++;
+            Counter counter = scan.groups.get(parliamentaryGroup);
+            groupTallies.put(parliamentaryGroup, counter == null ? new Tally(0L, 0L, 0L, 0L) : counter.toTally());
+            String name = parliamentaryGroup.getName();
+            groupLabels.put(parliamentaryGroup, name == null || name.isEmpty() ? "Group " + groupNumber : name);
+        }
+        parliamentaryGroups = Collections.unmodifiableMap(groupTallies);
+        parliamentaryGroupLabels = groupLabels;
+        Map<SeatStatus, Tally> statusTallies = new EnumMap<SeatStatus, Tally>(SeatStatus.class);
+        for (Map.Entry<SeatStatus, Counter> entry : scan.seatStatuses.entrySet()) {
+            statusTallies.put(entry.getKey(), entry.getValue().toTally());
+        }
+        seatStatuses = Collections.unmodifiableMap(statusTallies);
+    }
+
+    /**
+     * Converts a map with counters into an unmodifiable map with tallies, keeping the order.
+     *
+     * @param counters The map with the counters.
+     * @return An unmodifiable map with the tallies.
+     */
+    private static Map<String, Tally> toTallies(final Map<String, Counter> counters) {
+        Map<String, Tally> tallies = new LinkedHashMap<String, Tally>();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            tallies.put(entry.getKey(), entry.getValue().toTally());
+        }
+        return Collections.unmodifiableMap(tallies);
+    }
+
+    /**
+     * The scan of an SVG document.
+     */
+    private static final class Scan {
+        /**
+         * The SVG document.
+         */
+        private final String document;
+        /**
+         * The seating plan.
+         */
+        private final RowConnectedSeatingPlan plan;
+        /**
+         * The seats per parliamentary group, in the order in which they appear in the hemicycle.
+         */
+        private final ParliamentaryGroupSeats[] parliamentaryGroupSeats;
+        /**
+         * The number of bytes before every character of the document, and the total number of bytes at the end.
+         */
+        private final int[] byteOffsets;
+        /**
+         * The counter for the whole document.
+         */
+        private final Counter total = new Counter();
+        /**
+         * The counters per element type.
+         */
+        private final Map<String, Counter> elementTypes = new LinkedHashMap<String, Counter>();
+        /**
+         * The counters per section of the chart.
+         */
+        private final Map<String, Counter> sections = new LinkedHashMap<String, Counter>();
+        /**
+         * The counters per parliamentary group.
+         */
+        private final Map<ParliamentaryGroup, Counter> groups = new LinkedHashMap<ParliamentaryGroup, Counter>();
+        /**
+         * The counters per seat status.
+         */
+        private final Map<SeatStatus, Counter> seatStatuses = new EnumMap<SeatStatus, Counter>(SeatStatus.class);
+        /**
+         * The open elements.
+         */
+        private final Deque<Frame> openElements = new ArrayDeque<Frame>();
+        /**
+         * The number of groupings started directly in the root element so far.
+         */
+        private int topLevelGroupings;
+
+        /**
+         * Constructs a scan of an SVG document.
+         *
+         * @param document                The SVG document.
+         * @param plan                    The seating plan.
+         * @param parliamentaryGroupSeats The seats per parliamentary group.
+         */
+        private Scan(final String document, final RowConnectedSeatingPlan plan,
+                final ParliamentaryGroupSeats[] parliamentaryGroupSeats) {
+            this.document = document;
+            this.plan = plan;
+            this.parliamentaryGroupSeats = parliamentaryGroupSeats;
+            int length = document.length();
+            byteOffsets = new int[length + 1];
+            for (int i = 0; i < length; i++) {
+                byteOffsets[i + 1] = byteOffsets[i] + MeteredAppendable.getNumberOfBytes(document.charAt(i));
+            }
+            sections.put(HEMICYCLE_SECTION, new Counter());
+            sections.put(LEGEND_SECTION, new Counter());
+            sections.put(OTHER_SECTION, new Counter());
+        }
+
+        /**
+         * Scans the document.
+         */
+        private void run() {
+            int length = document.length();
+            int i = 0;
+            while (i < length) {
+                if (document.charAt(i) != '<') {
+                    int next = document.indexOf('<', i);
+                    int end = next < 0 ? length : next;
+                    scanText(i, end);
+                    i = end;
+                } else if (i + 1 < length && document.charAt(i + 1) == '/') {
+                    int end = document.indexOf('>', i) + 1;
+                    Frame frame = openElements.pop();
+                    add(frame, frame.elementType(), byteCount(i, end), 0L, 0L);
+                    i = end;
+                } else if (i + 1 < length && (document.charAt(i + 1) == '!' || document.charAt(i + 1) == '?')) {
+                    int end = document.indexOf('>', i) + 1;
+                    add(openElements.peek(), counter(elementTypes, OTHER_MARKUP), byteCount(i, end), 0L, 0L);
+                    i = end;
+                } else {
+                    i = scanStartTag(i);
+                }
+            }
+        }
+
+        /**
+         * Scans the text between two tags.
+         *
+         * @param start The index of the first character of the text.
+         * @param end   The index after the last character of the text.
+         */
+        private void scanText(final int start, final int end) {
+            Frame frame = openElements.peek();
+            if (document.substring(start, end).isBlank()) {
+                add(frame, counter(elementTypes, WHITESPACE), byteCount(start, end), 0L, 0L);
+            } else {
+                boolean style = frame != null && frame.elementType() == elementTypes.get(STYLE_ELEMENT);
+                add(frame, frame == null ? counter(elementTypes, OTHER_MARKUP) : frame.elementType(),
+                        byteCount(start, end), 0L, style ? countNumericBytes(start, end) : 0L);
+            }
+        }
+
+        /**
+         * Scans a start tag or an empty-element tag, and opens the element if it's a start tag.
+         *
+         * @param start The index of the less-than sign starting the tag.
+         * @return The index after the tag.
+         */
+        private int scanStartTag(final int start) {
+            int nameEnd = start + 1;
+            while (nameEnd < document.length() && !Character.isWhitespace(document.charAt(nameEnd))
+                    && document.charAt(nameEnd) != '>' && document.charAt(nameEnd) != '/') {
+                nameEnd++;
+            }
+            String name = document.substring(start + 1, nameEnd);
+            int end = nameEnd;
+            char quote = 0;
+            while (quote != 0 || document.charAt(end) != '>') {
+                char c = document.charAt(end);
+                if (quote == 0 && (c == '"' || c == '\'')) {
+                    quote = c;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                end++;
+            }
+            boolean empty = document.charAt(end - 1) == '/';
+            int attributesEnd = empty ? end - 1 : end;
+            Frame frame = createFrame(name);
+            add(frame, frame.elementType(), byteCount(start, end + 1), byteCount(nameEnd, attributesEnd),
+                    countNumericBytesInAttributeValues(nameEnd, attributesEnd));
+            countElement(frame);
+            if (!empty) {
+                openElements.push(frame);
+            }
+            return end + 1;
+        }
+
+        /**
+         * Creates the frame for an element that's started, determining its section, parliamentary group and seat
+         * status from its position in the document.
+         *
+         * @param name The name of the element.
+         * @return The frame for the element.
+         */
+        private Frame createFrame(final String name) {
+            Counter elementType = counter(elementTypes, name);
+            Frame parent = openElements.peek();
+            if (parent == null) {
+                return new Frame(elementType, sections.get(OTHER_SECTION), null, null, 0, Role.NONE, -1, new int[1]);
+            }
+            int childIndex = parent.children()[0]++;
+            int depth = parent.depth() + 1;
+            if (depth == 1) {
+                if (name.equals(GROUPING_ELEMENT)) {
+                    topLevelGroupings++;
+                    if (topLevelGroupings == 1) {
+                        return new Frame(elementType, sections.get(HEMICYCLE_SECTION), null, null, depth,
+                                Role.HEMICYCLE, -1, new int[1]);
+                    } else if (topLevelGroupings == 2) {
+                        return new Frame(elementType, sections.get(LEGEND_SECTION), null, null, depth, Role.NONE,
+                                -1, new int[1]);
+                    }
+                }
+                return new Frame(elementType, sections.get(OTHER_SECTION), null, null, depth, Role.NONE, -1,
+                        new int[1]);
+            }
+            if (parent.role() == Role.HEMICYCLE && childIndex < parliamentaryGroupSeats.length) {
+                Counter group = counter(groups, parliamentaryGroupSeats[childIndex].parliamentaryGroup());
+                return new Frame(elementType, parent.section(), group, null, depth, Role.PARLIAMENTARY_GROUP,
+                        childIndex, new int[1]);
+            }
+            if (parent.role() == Role.PARLIAMENTARY_GROUP) {
+                ParliamentaryGroupSeats seats = parliamentaryGroupSeats[parent.groupIndex()];
+                if (childIndex < seats.size()) {
+                    SeatStatus seatStatus = plan.getSeatStatus(seats.seatNumbers()[childIndex]);
+                    return new Frame(elementType, parent.section(), parent.group(), counter(seatStatuses, seatStatus),
+                            depth, Role.NONE, -1, new int[1]);
+                }
+            }
+            return new Frame(elementType, parent.section(), parent.group(), parent.seatStatus(), depth, Role.NONE, -1,
+                    new int[1]);
+        }
+
+        /**
+         * Counts an element that's started.
+         *
+         * @param frame The frame for the element.
+         */
+        private void countElement(final Frame frame) {
+            total.elements++;
+            frame.elementType().elements++;
+            frame.section().elements++;
+            if (frame.group() != null) {
+                frame.group().elements++;
+            }
+            if (frame.seatStatus() != null) {
+                frame.seatStatus().elements++;
+            }
+        }
+
+        /**
+         * Adds bytes to the counters of the document, an element type, and the section, the parliamentary group and
+         * the seat status of a frame.
+         *
+         * @param frame          The frame, or <code>null</code> if outside the root element.
+         * @param elementType    The counter for the element type.
+         * @param bytes          The number of bytes.
+         * @param attributeBytes The number of bytes taken by attributes.
+         * @param numericBytes   The number of bytes taken by numeric literals.
+         */
+        private void add(final Frame frame, final Counter elementType, final long bytes, final long attributeBytes,
+                final long numericBytes) {
+            addTo(total, bytes, attributeBytes, numericBytes);
+            addTo(elementType, bytes, attributeBytes, numericBytes);
+            addTo(frame == null ? sections.get(OTHER_SECTION) : frame.section(), bytes, attributeBytes,
+                    numericBytes);
+            if (frame != null && frame.group() != null) {
+                addTo(frame.group(), bytes, attributeBytes, numericBytes);
+            }
+            if (frame != null && frame.seatStatus() != null) {
+                addTo(frame.seatStatus(), bytes, attributeBytes, numericBytes);
+            }
+        }
+
+        /**
+         * Adds bytes to a counter.
+         *
+         * @param counter        The counter.
+         * @param bytes          The number of bytes.
+         * @param attributeBytes The number of bytes taken by attributes.
+         * @param numericBytes   The number of bytes taken by numeric literals.
+         */
+        private static void addTo(final Counter counter, final long bytes, final long attributeBytes,
+                final long numericBytes) {
+            counter.bytes += bytes;
+            counter.attributeBytes += attributeBytes;
+            counter.numericBytes += numericBytes;
+        }
+
+        /**
+         * Returns the counter for a key, creating it if it doesn't exist yet.
+         *
+         * @param <K>      The type of the keys.
+         * @param counters The map with the counters.
+         * @param key      The key.
+         * @return The counter for the key.
+         */
+        private static <K> Counter counter(final Map<K, Counter> counters, final K key) {
+            return counters.computeIfAbsent(key, k -> new Counter());
+        }
+
+        /**
+         * Returns the number of bytes a part of the document takes when encoded in UTF-8.
+         *
+         * @param start The index of the first character.
+         * @param end   The index after the last character.
+         * @return The number of bytes the part of the document takes.
+         */
+        private long byteCount(final int start, final int end) {
+            return byteOffsets[end] - byteOffsets[start];
+        }
+
+        /**
+         * Counts the bytes taken by numeric literals in the attribute values of a tag.
+         *
+         * @param start The index of the first character after the name of the element.
+         * @param end   The index of the character ending the attributes.
+         * @return The number of bytes taken by numeric literals in the attribute values.
+         */
+        private long countNumericBytesInAttributeValues(final int start, final int end) {
+            long numericBytes = 0L;
+            int i = start;
+            while (i < end) {
+                char quote = document.charAt(i);
+                if (quote == '"' || quote == '\'') {
+                    int valueEnd = document.indexOf(quote, i + 1);
+                    numericBytes += countNumericBytes(i + 1, valueEnd);
+                    i = valueEnd + 1;
+                } else {
+                    i++;
+                }
+            }
+            return numericBytes;
+        }
+
+        /**
+         * Counts the bytes taken by numeric literals in a part of the document. A numeric literal is a number with an
+         * optional minus sign, an optional fraction and an optional exponent, that isn't part of a name or a
+         * hexadecimal color.
+         *
+         * @param start The index of the first character.
+         * @param end   The index after the last character.
+         * @return The number of bytes taken by numeric literals.
+         */
+        private long countNumericBytes(final int start, final int end) {
+            long numericBytes = 0L;
+            int i = start;
+            while (i < end) {
+                char c = document.charAt(i);
+                if (isNumericLiteralStart(i, end) && (i == start || !isPartOfName(document.charAt(i - 1)))) {
+                    int literalEnd = skipNumericLiteral(i, end);
+                    numericBytes += literalEnd - i;
+                    i = literalEnd;
+                } else if (Character.isLetterOrDigit(c) || c == '_') {
+                    while (i < end && (Character.isLetterOrDigit(document.charAt(i)) || document.charAt(i) == '_')) {
+                        i++;
+                    }
+                } else {
+                    i++;
+                }
+            }
+            return numericBytes;
+        }
+
+        /**
+         * Returns whether a character can precede a character in a name or a hexadecimal color, such that a digit
+         * following it isn't the start of a numeric literal.
+         *
+         * @param c The character.
+         * @return True if a digit following the character isn't the start of a numeric literal.
+         */
+        private static boolean isPartOfName(final char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '#' || c == '.';
+        }
+
+        /**
+         * Returns whether a numeric literal starts at an index, i.e. whether there's a digit, or a minus sign or a
+         * decimal point followed by a digit.
+         *
+         * @param i   The index.
+         * @param end The index after the last character that may be part of the literal.
+         * @return True if a numeric literal starts at the index.
+         */
+        private boolean isNumericLiteralStart(final int i, final int end) {
+            char c = document.charAt(i);
+            if (isDigit(c)) {
+                return true;
+            }
+            if (c == '-' && i + 1 < end && document.charAt(i + 1) == '.') {
+                return i + 2 < end && isDigit(document.charAt(i + 2));
+            }
+            return (c == '-' || c == '.') && i + 1 < end && isDigit(document.charAt(i + 1));
+        }
+
+        /**
+         * Skips a numeric literal.
+         *
+         * @param start The index at which the literal starts.
+         * @param end   The index after the last character that may be part of the literal.
+         * @return The index after the literal.
+         */
+        private int skipNumericLiteral(final int start, final int end) {
+            int i = start;
+            if (document.charAt(i) == '-') {
+                i++;
+            }
+            i = skipDigits(i, end);
+            if (i < end && document.charAt(i) == '.') {
+                i = skipDigits(i + 1, end);
+            }
+            if (i + 1 < end && (document.charAt(i) == 'E' || document.charAt(i) == 'e')) {
+                int exponent = document.charAt(i + 1) == '-' || document.charAt(i + 1) == '+' ? i + 2 : i + 1;
+                if (exponent < end && isDigit(document.charAt(exponent))) {
+                    i = skipDigits(exponent, end);
+                }
+            }
+            return i;
+        }
+
+        /**
+         * Skips a sequence of digits.
+         *
+         * @param start The index at which the sequence starts.
+         * @param end   The index after the last character that may be part of the sequence.
+         * @return The index after the sequence.
+         */
+        private int skipDigits(final int start, final int end) {
+            int i = start;
+            while (i < end && isDigit(document.charAt(i))) {
+                i++;
+            }
+            return i;
+        }
+
+        /**
+         * Returns whether a character is an ASCII digit.
+         *
+         * @param c The character.
+         * @return True if the character is an ASCII digit.
+         */
+        private static boolean isDigit(final char c) {
+            return c >= '0' && c <= '9';
+        }
+    }
+
+    /**
+     * Returns the tally for the whole document.
+     *
+     * @return The tally for the whole document.
+     */
+    public Tally getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the tallies per element type, in the order in which the element types first appear in the document.
+     * The whitespace between the tags is tallied as an element type of its own, such that the bytes of all element
+     * types add up to the size of the document.
+     *
+     * @return An unmodifiable map with the tallies per element type.
+     */
+    public Map<String, Tally> getElementTypes() {
+        return elementTypes;
+    }
+
+    /**
+     * Returns the tallies per section of the chart, i.e. the hemicycle, the legend and the other parts. The bytes of
+     * all sections add up to the size of the document.
+     *
+     * @return An unmodifiable map with the tallies per section.
+     */
+    public Map<String, Tally> getSections() {
+        return sections;
+    }
+
+    /**
+     * Returns the tallies per parliamentary group, for the groupings with their seats in the hemicycle.
+     *
+     * @return An unmodifiable map with the tallies per parliamentary group, in the order of the seating plan.
+     */
+    public Map<ParliamentaryGroup, Tally> getParliamentaryGroups() {
+        return parliamentaryGroups;
+    }
+
+    /**
+     * Returns the tallies per seat status, for the elements drawing the seats in the hemicycle. Seat statuses that
+     * don't occur in the seating plan are absent.
+     *
+     * @return An unmodifiable map with the tallies per seat status.
+     */
+    public Map<SeatStatus, Tally> getSeatStatuses() {
+        return seatStatuses;
+    }
+
+    /**
+     * Returns the share of the document taken by numeric literals, as a percentage.
+     *
+     * @return The share of the document taken by numeric literals, as a percentage.
+     */
+    public double getNumericShare() {
+        return total.bytes() == 0L ? 0D : ONE_HUNDRED_PERCENT * total.numericBytes() / total.bytes();
+    }
+
+    /**
+     * Returns a report with a line for the whole document, followed by a table per element type, per section, per
+     * parliamentary group and per seat status.
+     *
+     * @return A report with the size of the document.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US,
+                "Total: %,d bytes, %,d elements, attributes: %.1f%%, numeric literals: %.1f%%%n", total.bytes(),
+                total.elements(), share(total.attributeBytes()), getNumericShare()));
+        appendTable(sb, "Element type", elementTypes);
+        appendTable(sb, "Section", sections);
+        Map<String, Tally> groupTallies = new LinkedHashMap<String, Tally>();
+        for (Map.Entry<ParliamentaryGroup, Tally> entry : parliamentaryGroups.entrySet()) {
+            groupTallies.merge(parliamentaryGroupLabels.get(entry.getKey()), entry.getValue(),
+                    (a, b) -> new Tally(a.elements() + b.elements(), a.bytes() + b.bytes(),
+                            a.attributeBytes() + b.attributeBytes(), a.numericBytes() + b.numericBytes()));
+        }
+        appendTable(sb, "Parliamentary group", groupTallies);
+        Map<String, Tally> statusTallies = new LinkedHashMap<String, Tally>();
+        for (Map.Entry<SeatStatus, Tally> entry : seatStatuses.entrySet()) {
+            statusTallies.put(entry.getKey().name().toLowerCase(Locale.US), entry.getValue());
+        }
+        appendTable(sb, "Seat status", statusTallies);
+        return sb.toString();
+    }
+
+    /**
+     * Appends a table with tallies to a report.
+     *
+     * @param sb      The string builder with the report.
+     * @param heading The heading of the first column.
+     * @param tallies The tallies, keyed by the label in the first column.
+     */
+    private void appendTable(final StringBuilder sb, final String heading, final Map<String, Tally> tallies) {
+        sb.append(String.format(Locale.US, "%n%-24s %10s %12s %7s %12s %12s%n", heading, "Elements", "Bytes", "Share",
+                "Attributes", "Numeric"));
+        for (Map.Entry<String, Tally> entry : tallies.entrySet()) {
+            Tally tally = entry.getValue();
+            sb.append(String.format(Locale.US, "%-24s %,10d %,12d %6.1f%% %,12d %,12d%n", entry.getKey(),
+                    tally.elements(), tally.bytes(), share(tally.bytes()), tally.attributeBytes(),
+                    tally.numericBytes()));
+        }
+    }
+
+    /**
+     * Returns a number of bytes as a share of the document, as a percentage.
+     *
+     * @param bytes The number of bytes.
+     * @return The number of bytes as a share of the document, as a percentage.
+     */
+    private double share(final long bytes) {
+        return total.bytes() == 0L ? 0D : ONE_HUNDRED_PERCENT * bytes / total.bytes();
+    }
+}
@@ -0,0 +1,253 @@
+package net.filipvanlaenen.shecc.export;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A minimal streaming writer for SVG documents, for the output that can't be produced through TSVGJ's element classes.
+ * Elements are written with the same indentation and number formatting as TSVGJ, i.e. two spaces per level and numbers
+ * rounded to six decimals without trailing zeros. Attributes are written in the order they're provided, as name/value
+ * pairs, where the values are either numbers or strings.
+ */
+final class SvgWriter {
+    /**
+     * The indentation per level.
+     */
+    private static final String INDENT = "  ";
+    /**
+     * The factor to round numbers to six decimals.
+     */
+    private static final double ROUNDING_FACTOR = 1_000_000D;
+    /**
+     * The number of decimals.
+     */
+    private static final int NUMBER_OF_DECIMALS = 6;
+    /**
+     * The magic number ten.
+     */
+    private static final int TEN = 10;
+
+    /**
+     * The appendable to which the document is written.
+     */
+    private final Appendable out;
+    /**
+     * The current nesting depth.
+     */
+    private int depth;
+
+    /**
+     * Constructs a writer on an appendable.
+     *
+     * @param out The appendable to which the document should be written.
+     */
+    SvgWriter(final Appendable out) {
+        this(out, 0);
+    }
+
+    /**
+     * Constructs a writer on an appendable, starting at a given nesting depth. This allows to write a fragment of a
+     * document separately, and insert it later using <code>appendFragment</code>.
+     *
+     * @param out   The appendable to which the document should be written.
+     * @param depth The nesting depth at which the writer should start.
+     */
+    SvgWriter(final Appendable out, final int depth) {
+        this.out = out;
+        this.depth = depth;
+    }
+
+    /**
+     * Formats a number rounded to six decimals, without trailing zeros.
+     *
+     * @param value The number to format.
+     * @return A string representing the number.
+     */
+    static String formatNumber(final double value) {
+        StringBuilder sb = new StringBuilder();
+        appendNumber(sb, value);
+        return sb.toString();
+    }
+
+    /**
+     * Appends a number rounded to six decimals, without trailing zeros, to a string builder.
+     *
+     * @param sb    The string builder.
+     * @param value The number to append.
+     */
+    static void appendNumber(final StringBuilder sb, final double value) {
+        long scaled = Math.round(Math.abs(value) * ROUNDING_FACTOR);
+        if (scaled != 0 && value < 0D) {
+            sb.append('-');
+        }
+        long integerPart = scaled / (long) ROUNDING_FACTOR;
+        long fractionalPart = scaled % (long) ROUNDING_FACTOR;
+        sb.append(integerPart);
+        if (fractionalPart != 0) {
+            int decimals = NUMBER_OF_DECIMALS;
+            while (fractionalPart % TEN == 0) {
+                fractionalPart /= TEN;
+                decimals--;
+            }
+            sb.append('.');
+            String digits = Long.toString(fractionalPart);
+            for (int i = digits.length(); i < decimals; i++) {
+                sb.append('0');
+            }
+            sb.append(digits);
+        }
+    }
+
+    /**
+     * Escapes the characters that have a special meaning in XML text content.
+     *
+     * @param text The text to escape.
+     * @return The escaped text.
+     */
+    static String escapeText(final String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    /**
+     * Escapes the characters that have a special meaning in XML attribute values.
+     *
+     * @param value The attribute value to escape.
+     * @return The escaped attribute value.
+     */
+    static String escapeAttributeValue(final String value) {
+        return escapeText(value).replace("\"", "&quot;");
+    }
+
+    /**
+     * Starts an element that will contain other elements.
+     *
+     * @param name       The name of the element.
+     * @param attributes The attributes, as name/value pairs.
+     */
+    void startElement(final String name, final Object... attributes) {
+        write(createStartTag(name, attributes).append(">\n"));
+        depth++;
+    }
+
+    /**
+     * Ends an element started with <code>startElement</code>.
+     *
+     * @param name The name of the element.
+     */
+    void endElement(final String name) {
+        depth--;
+        StringBuilder sb = createIndentation();
+        sb.append("</").append(name).append('>');
+        if (depth > 0) {
+            sb.append('\n');
+        }
+        write(sb);
+    }
+
+    /**
+     * Writes an element without content.
+     *
+     * @param name       The name of the element.
+     * @param attributes The attributes, as name/value pairs.
+     */
+    void emptyElement(final String name, final Object... attributes) {
+        write(createStartTag(name, attributes).append("/>\n"));
+    }
+
+    /**
+     * Appends a fragment of a document written separately. The fragment should already be indented.
+     *
+     * @param fragment The fragment to be appended.
+     */
+    void appendFragment(final CharSequence fragment) {
+        write(fragment);
+    }
+
+    /**
+     * Returns the current nesting depth.
+     *
+     * @return The current nesting depth.
+     */
+    int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the appendable to which the document is written.
+     *
+     * @return The appendable to which the document is written.
+     */
+    Appendable getAppendable() {
+        return out;
+    }
+
+    /**
+     * Writes a line of text content inside the current element. The text is escaped.
+     *
+     * @param text The text content.
+     */
+    void textLine(final String text) {
+        write(createIndentation().append(escapeText(text)).append('\n'));
+    }
+
+    /**
+     * Writes an element with text content. The text is escaped.
+     *
+     * @param name       The name of the element.
+     * @param text       The text content of the element.
+     * @param attributes The attributes, as name/value pairs.
+     */
+    void textElement(final String name, final String text, final Object... attributes) {
+        write(createStartTag(name, attributes).append('>').append(escapeText(text)).append("</").append(name)
+                .append(">\n"));
+    }
+
+    /**
+     * Creates a string builder with the indentation for the current depth.
+     *
+     * @return A string builder with the indentation.
+     */
+    private StringBuilder createIndentation() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            sb.append(INDENT);
+        }
+        return sb;
+    }
+
+    /**
+     * Creates a start tag, without the closing angle bracket.
+     *
+     * @param name       The name of the element.
+     * @param attributes The attributes, as name/value pairs.
+     * @return A string builder with the start tag.
+     */
+    private StringBuilder createStartTag(final String name, final Object... attributes) {
+        StringBuilder sb = createIndentation();
+        sb.append('<').append(name);
+        for (int i = 0; i < attributes.length; i += 2) {
+            sb.append(' ').append(attributes[i]).append("=\"");
+            Object value = attributes[i + 1];
+            if (value instanceof Double number) {
+                appendNumber(sb, number);
+            } else {
+                sb.append(escapeAttributeValue(value.toString()));
+            }
+            sb.append('"');
+        }
+        return sb;
+    }
+
+    /**
+     * Writes a character sequence to the appendable.
+     *
+     * @param cs The character sequence.
+     */
+    private void write(final CharSequence cs) {
+        try {
+            out.append(cs);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package net.filipvanlaenen.shecc.export;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class holding the offsets of the boundaries of the sectors on a unit circle, for a given number of colors. The
+ * boundaries start at the top of the circle and run clockwise, such that the <i>i</i>th boundary is at angle
+ * 2π·<i>i</i>/<i>n</i>. The offsets only depend on the number of colors, and are therefore calculated once per
+ * number of colors and cached. To draw a sector for a seat, the offsets only have to be scaled with the radius and
+ * translated to the center of the seat, both for the outer radius and the smaller radius of the outlines.
+ */
+final class UnitSectorOffsets {
+    /**
+     * The cache with the offsets per number of colors.
+     */
+    private static final Map<Integer, UnitSectorOffsets> CACHE = new ConcurrentHashMap<Integer, UnitSectorOffsets>();
+
+    /**
+     * The horizontal offsets of the boundaries, i.e. the sines of the angles.
+     */
+    private final double[] xOffsets;
+    /**
+     * The vertical offsets of the boundaries, i.e. the negated cosines of the angles.
+     */
+    private final double[] yOffsets;
+
+    /**
+     * Constructor calculating the offsets for a number of colors.
+     *
+     * @param numberOfColors The number of colors.
+     */
+    private UnitSectorOffsets(final int numberOfColors) {
+        xOffsets = new double[numberOfColors + 1];
+        yOffsets = new double[numberOfColors + 1];
+        for (int i = 0; i <= numberOfColors; i++) {
+            double angle = 2 * Math.PI * i / numberOfColors;
+            xOffsets[i] = Math.sin(angle);
+            yOffsets[i] = -Math.cos(angle);
+        }
+    }
+
+    /**
+     * Returns the offsets for a number of colors.
+     *
+     * @param numberOfColors The number of colors.
+     * @return The offsets for the number of colors.
+     */
+    static UnitSectorOffsets get(final int numberOfColors) {
+        return CACHE.computeIfAbsent(numberOfColors, UnitSectorOffsets::new);
+    }
+
+    /**
+     * Returns the horizontal offset of a boundary on the unit circle.
+     *
+     * @param boundary The index of the boundary, from zero up to and including the number of colors.
+     * @return The horizontal offset of the boundary.
+     */
+    double getXOffset(final int boundary) {
+        return xOffsets[boundary];
+    }
+
+    /**
+     * Returns the vertical offset of a boundary on the unit circle.
+     *
+     * @param boundary The index of the boundary, from zero up to and including the number of colors.
+     * @return The vertical offset of the boundary.
+     */
+    double getYOffset(final int boundary) {
+        return yOffsets[boundary];
+    }
+}
@@ -0,0 +1,474 @@
+package net.filipvanlaenen.shecc;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import net.filipvanlaenen.kolektoj.SortedCollection;
+import net.filipvanlaenen.shecc.export.SeatingPlanExporter;
+
+/**
+ * A harness measuring how the time needed for the layout, the seating and the export grows with the number of seats
+ * and the number of parliamentary groups. Every stage is timed at geometrically increasing numbers of seats, with a
+ * fixed number of parliamentary groups, and at geometrically increasing numbers of parliamentary groups, with a fixed
+ * number of seats. The empirical growth exponent of every stage is fitted as the slope of the least-squares line
+ * through the logarithms of the sizes and the median times, i.e. an exponent of one means linear growth, and two
+ * quadratic growth.
+ *
+ * The harness writes the median times to <code>scaling.csv</code> and the fitted exponents to
+ * <code>scaling-report.txt</code>, and exits with a non-zero status if the exponent of a stage exceeds its threshold.
+ * The following options are accepted, all in the form <code>--name=value</code>:
+ * <ul>
+ * <li><code>output-directory</code>: the directory to which the CSV file and the report are written, by default the
+ * current directory.</li>
+ * <li><code>minimum-seats</code> and <code>maximum-seats</code>: the range of the numbers of seats, by default from
+ * 1,000 to 64,000.</li>
+ * <li><code>groups</code>: the number of parliamentary groups while the number of seats increases, by default 8.</li>
+ * <li><code>minimum-groups</code> and <code>maximum-groups</code>: the range of the numbers of parliamentary groups,
+ * by default from 2 to 256.</li>
+ * <li><code>seats</code>: the number of seats while the number of parliamentary groups increases, by default
+ * 8,000.</li>
+ * <li><code>warm-ups</code> and <code>repetitions</code>: the number of untimed and timed runs per size, by default 3
+ * and 5.</li>
+ * <li><code>threshold-layout</code>, <code>threshold-seating</code> and <code>threshold-export</code>: the maximum
+ * growth exponent per stage, by default 1.7 for the layout and 1.2 for the seating and the export.</li>
+ * </ul>
+ */
+public final class ScalingHarness {
+    /**
+     * The name of the layout stage.
+     */
+    static final String LAYOUT_STAGE = "layout";
+    /**
+     * The name of the seating stage.
+     */
+    static final String SEATING_STAGE = "seating";
+    /**
+     * The name of the export stage.
+     */
+    static final String EXPORT_STAGE = "export";
+    /**
+     * The name of the dimension with the number of seats.
+     */
+    static final String SEATS_DIMENSION = "seats";
+    /**
+     * The name of the dimension with the number of parliamentary groups.
+     */
+    static final String GROUPS_DIMENSION = "groups";
+    /**
+     * The prefix of the option with the output directory.
+     */
+    private static final String OUTPUT_DIRECTORY_OPTION_PREFIX = "--output-directory=";
+    /**
+     * The prefix of the option with the minimum number of seats.
+     */
+    private static final String MINIMUM_SEATS_OPTION_PREFIX = "--minimum-seats=";
+    /**
+     * The prefix of the option with the maximum number of seats.
+     */
+    private static final String MAXIMUM_SEATS_OPTION_PREFIX = "--maximum-seats=";
+    /**
+     * The prefix of the option with the number of parliamentary groups while the number of seats increases.
+     */
+    private static final String GROUPS_OPTION_PREFIX = "--groups=";
+    /**
+     * The prefix of the option with the minimum number of parliamentary groups.
+     */
+    private static final String MINIMUM_GROUPS_OPTION_PREFIX = "--minimum-groups=";
+    /**
+     * The prefix of the option with the maximum number of parliamentary groups.
+     */
+    private static final String MAXIMUM_GROUPS_OPTION_PREFIX = "--maximum-groups=";
+    /**
+     * The prefix of the option with the number of seats while the number of parliamentary groups increases.
+     */
+    private static final String SEATS_OPTION_PREFIX = "--seats=";
+    /**
+     * The prefix of the option with the number of untimed runs per size.
+     */
+    private static final String WARM_UPS_OPTION_PREFIX = "--warm-ups=";
+    /**
+     * The prefix of the option with the number of timed runs per size.
+     */
+    private static final String REPETITIONS_OPTION_PREFIX = "--repetitions=";
+    /**
+     * The prefix of the options with the threshold for a stage.
+     */
+    private static final String THRESHOLD_OPTION_PREFIX = "--threshold-";
+    /**
+     * The default minimum number of seats.
+     */
+    private static final int DEFAULT_MINIMUM_SEATS = 1_000;
+    /**
+     * The default maximum number of seats.
+     */
+    private static final int DEFAULT_MAXIMUM_SEATS = 64_000;
+    /**
+     * The default number of parliamentary groups while the number of seats increases.
+     */
+    private static final int DEFAULT_GROUPS = 8;
+    /**
+     * The default minimum number of parliamentary groups.
+     */
+    private static final int DEFAULT_MINIMUM_GROUPS = 2;
+    /**
+     * The default maximum number of parliamentary groups.
+     */
+    private static final int DEFAULT_MAXIMUM_GROUPS = 256;
+    /**
+     * The default number of seats while the number of parliamentary groups increases.
+     */
+    private static final int DEFAULT_SEATS = 8_000;
+    /**
+     * The default number of untimed runs per size.
+     */
+    private static final int DEFAULT_WARM_UPS = 3;
+    /**
+     * The default number of timed runs per size.
+     */
+    private static final int DEFAULT_REPETITIONS = 5;
+    /**
+     * The default threshold for the seating and the export.
+     */
+    private static final double DEFAULT_THRESHOLD = 1.2D;
+    /**
+     * The default threshold for the layout. The layout looks for the row with the highest quote for every seat, and
+     * the number of rows grows with the square root of the number of seats, so the layout grows with the number of
+     * seats to the power of 1.5.
+     */
+    private static final double DEFAULT_LAYOUT_THRESHOLD = 1.7D;
+    /**
+     * The divisor of the maximum number of seats giving the largest number of seats in the warm-up round.
+     */
+    private static final int WARM_UP_DIVISOR = 4;
+    /**
+     * The color step between two parliamentary groups.
+     */
+    private static final int COLOR_STEP = 0x0F0F0F;
+    /**
+     * The mask for a color.
+     */
+    private static final int COLOR_MASK = 0xFFFFFF;
+    /**
+     * The number of nanoseconds in a millisecond.
+     */
+    private static final double NANOSECONDS_PER_MILLISECOND = 1_000_000D;
+
+    /**
+     * The median time of a stage for a size.
+     *
+     * @param stage             The name of the stage.
+     * @param dimension         The name of the dimension that increases.
+     * @param numberOfSeats     The number of seats.
+     * @param numberOfGroups    The number of parliamentary groups.
+     * @param medianNanoseconds The median time, in nanoseconds.
+     */
+    record Timing(String stage, String dimension, int numberOfSeats, int numberOfGroups, long medianNanoseconds) {
+        /**
+         * Returns the size along the dimension that increases.
+         *
+         * @return The size along the dimension that increases.
+         */
+        int size() {
+            return SEATS_DIMENSION.equals(dimension) ? numberOfSeats : numberOfGroups;
+        }
+    }
+
+    /**
+     * The directory to which the CSV file and the report are written.
+     */
+    private final Path outputDirectory;
+    /**
+     * The minimum number of seats.
+     */
+    private final int minimumSeats;
+    /**
+     * The maximum number of seats.
+     */
+    private final int maximumSeats;
+    /**
+     * The number of parliamentary groups while the number of seats increases.
+     */
+    private final int groups;
+    /**
+     * The minimum number of parliamentary groups.
+     */
+    private final int minimumGroups;
+    /**
+     * The maximum number of parliamentary groups.
+     */
+    private final int maximumGroups;
+    /**
+     * The number of seats while the number of parliamentary groups increases.
+     */
+    private final int seats;
+    /**
+     * The number of untimed runs per size.
+     */
+    private final int warmUps;
+    /**
+     * The number of timed runs per size.
+     */
+    private final int repetitions;
+    /**
+     * The thresholds per stage.
+     */
+    private final Map<String, Double> thresholds = new LinkedHashMap<String, Double>();
+
+    /**
+     * Constructs a harness from the command-line arguments.
+     *
+     * @param args The command-line arguments.
+     */
+    ScalingHarness(final String... args) {
+        String directory = getOptionValue(OUTPUT_DIRECTORY_OPTION_PREFIX, args);
+        outputDirectory = Paths.get(directory == null ? "." : directory);
+        minimumSeats = getIntOption(MINIMUM_SEATS_OPTION_PREFIX, DEFAULT_MINIMUM_SEATS, args);
+        maximumSeats = getIntOption(MAXIMUM_SEATS_OPTION_PREFIX, DEFAULT_MAXIMUM_SEATS, args);
+        groups = getIntOption(GROUPS_OPTION_PREFIX, DEFAULT_GROUPS, args);
+        minimumGroups = getIntOption(MINIMUM_GROUPS_OPTION_PREFIX, DEFAULT_MINIMUM_GROUPS, args);
+        maximumGroups = getIntOption(MAXIMUM_GROUPS_OPTION_PREFIX, DEFAULT_MAXIMUM_GROUPS, args);
+        seats = getIntOption(SEATS_OPTION_PREFIX, DEFAULT_SEATS, args);
+        warmUps = getIntOption(WARM_UPS_OPTION_PREFIX, DEFAULT_WARM_UPS, args);
+        repetitions = getIntOption(REPETITIONS_OPTION_PREFIX, DEFAULT_REPETITIONS, args);
+        if (minimumSeats < 1 || maximumSeats < 2 * minimumSeats || minimumGroups < 1
+                || maximumGroups < 2 * minimumGroups) {
+            throw new IllegalArgumentException(
+                    "The ranges of seats and groups should be positive and span at least a factor of two.");
+        }
+        if (groups > minimumSeats || maximumGroups > seats) {
+            throw new IllegalArgumentException("There should be at least as many seats as parliamentary groups.");
+        }
+        if (warmUps < 0 || repetitions < 1) {
+            throw new IllegalArgumentException("There should be at least one repetition, and no negative warm-ups.");
+        }
+        for (String stage : new String[] {LAYOUT_STAGE, SEATING_STAGE, EXPORT_STAGE}) {
+            String threshold = getOptionValue(THRESHOLD_OPTION_PREFIX + stage + "=", args);
+            thresholds.put(stage, threshold == null
+                    ? LAYOUT_STAGE.equals(stage) ? DEFAULT_LAYOUT_THRESHOLD : DEFAULT_THRESHOLD
+                    : Double.parseDouble(threshold));
+        }
+    }
+
+    /**
+     * Runs the harness, writes the CSV file and the report, and exits with status one if a threshold is exceeded.
+     *
+     * @param args The command-line arguments.
+     * @throws IOException Thrown if the CSV file or the report can't be written.
+     */
+    public static void main(final String... args) throws IOException {
+        ScalingHarness harness = new ScalingHarness(args);
+        List<Timing> timings = harness.measure();
+        Files.createDirectories(harness.outputDirectory);
+        Files.writeString(harness.outputDirectory.resolve("scaling.csv"), formatCsv(timings),
+                StandardCharsets.UTF_8);
+        StringBuilder report = new StringBuilder();
+        boolean passed = harness.writeReport(report, timings);
+        Files.writeString(harness.outputDirectory.resolve("scaling-report.txt"), report, StandardCharsets.UTF_8);
+        System.out.print(report);
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Times all stages along both dimensions, after a warm-up round along the number of seats up to a quarter of the
+     * maximum number of seats, such that the code has been compiled before the times are recorded.
+     *
+     * @return The median times.
+     */
+    List<Timing> measure() {
+        List<Timing> warmUpTimings = new ArrayList<Timing>();
+        for (int numberOfSeats = minimumSeats; numberOfSeats <= maximumSeats / WARM_UP_DIVISOR; numberOfSeats *= 2) {
+            measure(warmUpTimings, SEATS_DIMENSION, numberOfSeats, groups);
+        }
+        List<Timing> timings = new ArrayList<Timing>();
+        for (int numberOfSeats = minimumSeats; numberOfSeats <= maximumSeats; numberOfSeats *= 2) {
+            measure(timings, SEATS_DIMENSION, numberOfSeats, groups);
+        }
+        for (int numberOfGroups = minimumGroups; numberOfGroups <= maximumGroups; numberOfGroups *= 2) {
+            measure(timings, GROUPS_DIMENSION, seats, numberOfGroups);
+        }
+        return timings;
+    }
+
+    /**
+     * Times all stages for a number of seats and a number of parliamentary groups.
+     *
+     * @param timings        The list to which the median times should be added.
+     * @param dimension      The name of the dimension that increases.
+     * @param numberOfSeats  The number of seats.
+     * @param numberOfGroups The number of parliamentary groups.
+     */
+    private void measure(final List<Timing> timings, final String dimension, final int numberOfSeats,
+            final int numberOfGroups) {
+        System.gc();
+        ParliamentaryGroup[] parliamentaryGroups = createGroups(numberOfSeats, numberOfGroups);
+        SortedCollection<SeatPosition> seatPositions = new HemicycleLayout(numberOfSeats).getSeatPositions();
+        RowConnectedSeatingPlan plan = new RowConnectedSeatingPlan(seatPositions, parliamentaryGroups);
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        exporter.setDisplayLegend(true);
+        timings.add(new Timing(LAYOUT_STAGE, dimension, numberOfSeats, numberOfGroups,
+                time(() -> new HemicycleLayout(numberOfSeats).getSeatPositions())));
+        timings.add(new Timing(SEATING_STAGE, dimension, numberOfSeats, numberOfGroups,
+                time(() -> new RowConnectedSeatingPlan(seatPositions, parliamentaryGroups))));
+        timings.add(new Timing(EXPORT_STAGE, dimension, numberOfSeats, numberOfGroups,
+                time(() -> exporter.export(plan))));
+    }
+
+    /**
+     * Runs an action a number of times without timing it, and then a number of times while timing it.
+     *
+     * @param action The action.
+     * @return The median time of the timed runs, in nanoseconds.
+     */
+    private long time(final Supplier<Object> action) {
+        for (int i = 0; i < warmUps; i++) {
+            action.get();
+        }
+        long[] nanoseconds = new long[repetitions];
+        for (int i = 0; i < repetitions; i++) {
+            long start = System.nanoTime();
+            action.get();
+            nanoseconds[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanoseconds);
+        return nanoseconds[repetitions / 2];
+    }
+
+    /**
+     * Creates parliamentary groups of nearly equal size, with a name and a character each.
+     *
+     * @param numberOfSeats  The total number of seats.
+     * @param numberOfGroups The number of parliamentary groups.
+     * @return The parliamentary groups.
+     */
+    static ParliamentaryGroup[] createGroups(final int numberOfSeats, final int numberOfGroups) {
+        ParliamentaryGroup[] parliamentaryGroups = new ParliamentaryGroup[numberOfGroups];
+        for (int i = 0; i < numberOfGroups; i++) {
+            int size = numberOfSeats / numberOfGroups + (i < numberOfSeats % numberOfGroups ? 1 : 0);
+            parliamentaryGroups[i] = new ParliamentaryGroup(size, (i * COLOR_STEP) & COLOR_MASK, "Group " + i,
+                    Character.toString('A' + i % ('Z' - 'A' + 1)));
+        }
+        return parliamentaryGroups;
+    }
+
+    /**
+     * Fits the growth exponent of a stage along a dimension, as the slope of the least-squares line through the
+     * logarithms of the sizes and the median times.
+     *
+     * @param timings   The median times.
+     * @param stage     The name of the stage.
+     * @param dimension The name of the dimension.
+     * @return The growth exponent.
+     */
+    static double fitExponent(final List<Timing> timings, final String stage, final String dimension) {
+        int n = 0;
+        double sumX = 0D;
+        double sumY = 0D;
+        double sumXX = 0D;
+        double sumXY = 0D;
+        for (Timing timing : timings) {
+            if (timing.stage().equals(stage) && timing.dimension().equals(dimension)) {
+                double x = Math.log(timing.size());
+                double y = Math.log(Math.max(1L, timing.medianNanoseconds()));
+                n++;
+                sumX += x;
+                sumY += y;
+                sumXX += x * x;
+                sumXY += x * y;
+            }
+        }
+        return (n * sumXY - sumX * sumY) / (n * sumXX - sumX * sumX);
+    }
+
+    /**
+     * Formats the median times as CSV.
+     *
+     * @param timings The median times.
+     * @return The median times as CSV.
+     */
+    static String formatCsv(final List<Timing> timings) {
+        StringBuilder sb = new StringBuilder("stage,dimension,seats,groups,median_ns\n");
+        for (Timing timing : timings) {
+            sb.append(timing.stage()).append(',').append(timing.dimension()).append(',')
+                    .append(timing.numberOfSeats()).append(',').append(timing.numberOfGroups()).append(',')
+                    .append(timing.medianNanoseconds()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the report with the median times and the fitted exponents.
+     *
+     * @param report  The string builder to which the report should be written.
+     * @param timings The median times.
+     * @return True if no threshold was exceeded.
+     */
+    boolean writeReport(final StringBuilder report, final List<Timing> timings) {
+        report.append(String.format(Locale.US, "Seats from %,d to %,d with %d groups, groups from %d to %d with %,d"
+                + " seats, %d warm-ups and %d repetitions.%n%n", minimumSeats, maximumSeats, groups, minimumGroups,
+                maximumGroups, seats, warmUps, repetitions));
+        report.append(String.format(Locale.US, "%-10s %-10s %10s %10s %14s%n", "Stage", "Dimension", "Size",
+                "Other", "Median (ms)"));
+        for (Timing timing : timings) {
+            boolean bySeats = SEATS_DIMENSION.equals(timing.dimension());
+            report.append(String.format(Locale.US, "%-10s %-10s %10d %10d %14.3f%n", timing.stage(),
+                    timing.dimension(), timing.size(), bySeats ? timing.numberOfGroups() : timing.numberOfSeats(),
+                    timing.medianNanoseconds() / NANOSECONDS_PER_MILLISECOND));
+        }
+        report.append(String.format(Locale.US, "%n%-10s %-10s %10s %10s %s%n", "Stage", "Dimension", "Exponent",
+                "Threshold", "Result"));
+        boolean passed = true;
+        for (Map.Entry<String, Double> entry : thresholds.entrySet()) {
+            for (String dimension : new String[] {SEATS_DIMENSION, GROUPS_DIMENSION}) {
+                double exponent = fitExponent(timings, entry.getKey(), dimension);
+                boolean exceeded = exponent > entry.getValue();
+                passed &= !exceeded;
+                report.append(String.format(Locale.US, "%-10s %-10s %10.2f %10.2f %s%n", entry.getKey(), dimension,
+                        exponent, entry.getValue(), exceeded ? "FAILED" : "ok"));
+            }
+        }
+        report.append(passed ? "\nAll stages scale within their thresholds.\n"
+                : "\nAt least one stage exceeds its threshold.\n");
+        return passed;
+    }
+
+    /**
+     * Returns the value of an option.
+     *
+     * @param prefix The prefix of the option, including the equal sign.
+     * @param args   The command-line arguments.
+     * @return The value of the option, or <code>null</code> if the option isn't present.
+     */
+    private static String getOptionValue(final String prefix, final String... args) {
+        for (String argument : args) {
+            if (argument.startsWith(prefix)) {
+                return argument.substring(prefix.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value of an integer option.
+     *
+     * @param prefix       The prefix of the option, including the equal sign.
+     * @param defaultValue The value to return if the option isn't present.
+     * @param args         The command-line arguments.
+     * @return The value of the option, or the default value if the option isn't present.
+     */
+    private static int getIntOption(final String prefix, final int defaultValue, final String... args) {
+        String value = getOptionValue(prefix, args);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
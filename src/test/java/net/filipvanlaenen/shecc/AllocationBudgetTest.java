@@ -0,0 +1,226 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.Supplier;
+
+import net.filipvanlaenen.kolektoj.SortedCollection;
+import net.filipvanlaenen.shecc.export.SeatingPlanExporter;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Regression tests on the number of bytes allocated while rendering a chart, guarding against allocation creep in the
+ * layout, the seating and the export. The allocations are measured for representative charts of 100, 1,000 and
+ * 10,000 seats, and should stay within a budget per seat. The budgets are set at about one and a half times the
+ * allocations measured when the tests were introduced, such that a change doubling the garbage produced by a stage
+ * makes the tests fail. When a change reduces the allocations, the budgets should be lowered accordingly.
+ *
+ * The allocations are measured on the current thread only, after a warm-up round loading and initializing all the
+ * classes involved, and the lowest of a few measurements is compared to the budget.
+ */
+public class AllocationBudgetTest {
+    /**
+     * The number of seats of the charts for which the allocations are measured.
+     */
+    private static final int[] NUMBERS_OF_SEATS = new int[] {100, 1_000, 10_000};
+    /**
+     * The number of parliamentary groups in the charts.
+     */
+    private static final int NUMBER_OF_GROUPS = 8;
+    /**
+     * The color step between two parliamentary groups.
+     */
+    private static final int COLOR_STEP = 0x1F1F1F;
+    /**
+     * The mask for a color.
+     */
+    private static final int COLOR_MASK = 0xFFFFFF;
+    /**
+     * The number of seats of the chart used to warm up.
+     */
+    private static final int WARM_UP_NUMBER_OF_SEATS = 50;
+    /**
+     * The number of measurements per chart, of which the lowest is compared to the budget.
+     */
+    private static final int NUMBER_OF_MEASUREMENTS = 3;
+    /**
+     * The budget for the calculation of the hemicycle layout, in bytes per seat.
+     */
+    private static final long LAYOUT_BUDGET = 72L;
+    /**
+     * The budget for the assignment of the seats, in bytes per seat. With the seats of a group found through a segment
+     * tree over the rows, the seating was measured at 23.2 bytes per seat for 100 seats, 17.3 for 1,000 seats and 16.3
+     * for 10,000 seats, and the budget is set at one and a half times the highest of these.
+     */
+    private static final long SEATING_BUDGET = 36L;
+    /**
+     * The budget for the export with attribute-based styling, in bytes per seat.
+     */
+    private static final long EXPORT_BUDGET = 24_000L;
+    /**
+     * The budget for the export with class-based styling, in bytes per seat.
+     */
+    private static final long CLASS_STYLED_EXPORT_BUDGET = 3_600L;
+
+    /**
+     * The thread allocation counters.
+     */
+    private static com.sun.management.ThreadMXBean threadMXBean;
+
+    /**
+     * Enables the thread allocation counters, and warms up by rendering a chart once, such that loading and
+     * initializing the classes isn't included in the measurements.
+     */
+    @BeforeAll
+    static void enableAllocationCountersAndWarmUp() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean allocationBean
+                && allocationBean.isThreadAllocatedMemorySupported()) {
+            allocationBean.setThreadAllocatedMemoryEnabled(true);
+            threadMXBean = allocationBean;
+        }
+        RowConnectedSeatingPlan plan = createSeatingPlan(WARM_UP_NUMBER_OF_SEATS);
+        createExporter(false).export(plan);
+        createExporter(true).export(plan);
+    }
+
+    /**
+     * Creates the parliamentary groups for a chart, with names and characters such that a legend is displayed.
+     *
+     * @param numberOfSeats The number of seats of the chart.
+     * @return The parliamentary groups.
+     */
+    private static ParliamentaryGroup[] createGroups(final int numberOfSeats) {
+        ParliamentaryGroup[] groups = new ParliamentaryGroup[NUMBER_OF_GROUPS];
+        for (int i = 0; i < NUMBER_OF_GROUPS; i++) {
+            int size = numberOfSeats / NUMBER_OF_GROUPS + (i < numberOfSeats % NUMBER_OF_GROUPS ? 1 : 0);
+            groups[i] = new ParliamentaryGroup(size, (i * COLOR_STEP) & COLOR_MASK, "Group " + i,
+                    Character.toString('A' + i));
+        }
+        return groups;
+    }
+
+    /**
+     * Creates the seating plan for a chart.
+     *
+     * @param numberOfSeats The number of seats of the chart.
+     * @return The seating plan.
+     */
+    private static RowConnectedSeatingPlan createSeatingPlan(final int numberOfSeats) {
+        return new RowConnectedSeatingPlan(new HemicycleLayout(numberOfSeats).getSeatPositions(),
+                createGroups(numberOfSeats));
+    }
+
+    /**
+     * Creates an exporter with a title and a legend.
+     *
+     * @param classBasedStyling Whether the exporter should use class-based styling.
+     * @return The exporter.
+     */
+    private static SeatingPlanExporter createExporter(final boolean classBasedStyling) {
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        exporter.setTitle("Parliament");
+        exporter.setDisplayLegend(true);
+        exporter.setClassBasedStyling(classBasedStyling);
+        return exporter;
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread so far.
+     *
+     * @return The number of bytes allocated by the current thread so far.
+     */
+    private static long getAllocatedBytes() {
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Measures the number of bytes allocated by an action a few times, and returns the lowest measurement.
+     *
+     * @param action The action to be measured.
+     * @return The lowest number of bytes allocated by the action.
+     */
+    private static long measureAllocatedBytes(final Supplier<Object> action) {
+        long lowest = Long.MAX_VALUE;
+        for (int i = 0; i < NUMBER_OF_MEASUREMENTS; i++) {
+            long start = getAllocatedBytes();
+            Object result = action.get();
+            long allocated = getAllocatedBytes() - start;
+            assertNotNull(result);
+            lowest = Math.min(lowest, allocated);
+        }
+        return lowest;
+    }
+
+    /**
+     * Asserts that the number of bytes allocated by an action stays within a budget per seat.
+     *
+     * @param stage         The name of the stage, used in the failure message.
+     * @param numberOfSeats The number of seats of the chart.
+     * @param budget        The budget in bytes per seat.
+     * @param action        The action to be measured.
+     */
+    private static void assertWithinBudget(final String stage, final int numberOfSeats, final long budget,
+            final Supplier<Object> action) {
+        Assumptions.assumeTrue(threadMXBean != null, "Thread allocation counters aren't supported.");
+        long allocatedBytes = measureAllocatedBytes(action);
+        assertTrue(allocatedBytes <= budget * numberOfSeats,
+                () -> "The " + stage + " of a chart with " + numberOfSeats + " seats allocated " + allocatedBytes
+                        + " bytes, i.e. " + allocatedBytes / numberOfSeats + " bytes per seat, exceeding the budget of "
+                        + budget + " bytes per seat.");
+    }
+
+    /**
+     * Test verifying that the calculation of the hemicycle layout stays within its allocation budget.
+     */
+    @Test
+    void layoutShouldStayWithinItsAllocationBudget() {
+        for (int numberOfSeats : NUMBERS_OF_SEATS) {
+            assertWithinBudget("layout", numberOfSeats, LAYOUT_BUDGET,
+                    () -> new HemicycleLayout(numberOfSeats).getSeatPositions());
+        }
+    }
+
+    /**
+     * Test verifying that the assignment of the seats stays within its allocation budget.
+     */
+    @Test
+    void seatingShouldStayWithinItsAllocationBudget() {
+        for (int numberOfSeats : NUMBERS_OF_SEATS) {
+            SortedCollection<SeatPosition> seatPositions = new HemicycleLayout(numberOfSeats).getSeatPositions();
+            ParliamentaryGroup[] groups = createGroups(numberOfSeats);
+            assertWithinBudget("seating", numberOfSeats, SEATING_BUDGET,
+                    () -> new RowConnectedSeatingPlan(seatPositions, groups));
+        }
+    }
+
+    /**
+     * Test verifying that the export with attribute-based styling stays within its allocation budget.
+     */
+    @Test
+    void exportShouldStayWithinItsAllocationBudget() {
+        for (int numberOfSeats : NUMBERS_OF_SEATS) {
+            RowConnectedSeatingPlan plan = createSeatingPlan(numberOfSeats);
+            SeatingPlanExporter exporter = createExporter(false);
+            assertWithinBudget("export", numberOfSeats, EXPORT_BUDGET, () -> exporter.export(plan));
+        }
+    }
+
+    /**
+     * Test verifying that the export with class-based styling stays within its allocation budget.
+     */
+    @Test
+    void classStyledExportShouldStayWithinItsAllocationBudget() {
+        for (int numberOfSeats : NUMBERS_OF_SEATS) {
+            RowConnectedSeatingPlan plan = createSeatingPlan(numberOfSeats);
+            SeatingPlanExporter exporter = createExporter(true);
+            assertWithinBudget("class-styled export", numberOfSeats, CLASS_STYLED_EXPORT_BUDGET,
+                    () -> exporter.export(plan));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>AtomicFileWriter</code> class.
+ */
+public class AtomicFileWriterTest {
+    /**
+     * The directory to which the files are written.
+     */
+    private Path directory;
+
+    /**
+     * Creates the directory to which the files are written.
+     *
+     * @throws IOException Thrown if the directory can't be created.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("shecc-atomic");
+    }
+
+    /**
+     * Deletes the directory to which the files were written.
+     *
+     * @throws IOException Thrown if the directory can't be deleted.
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Test verifying that the content is written to a new file.
+     *
+     * @throws IOException Thrown if an error occurs while writing the file.
+     */
+    @Test
+    void writeShouldCreateANewFile() throws IOException {
+        Path path = directory.resolve("a.svg");
+        AtomicFileWriter.write(path, "Foo".getBytes(StandardCharsets.UTF_8));
+        assertEquals("Foo", Files.readString(path));
+    }
+
+    /**
+     * Test verifying that the content of an existing file is replaced.
+     *
+     * @throws IOException Thrown if an error occurs while writing the file.
+     */
+    @Test
+    void writeShouldReplaceAnExistingFile() throws IOException {
+        Path path = directory.resolve("a.svg");
+        Files.writeString(path, "Foo Bar");
+        AtomicFileWriter.write(path, "Baz".getBytes(StandardCharsets.UTF_8));
+        assertEquals("Baz", Files.readString(path));
+    }
+
+    /**
+     * Test verifying that the permissions of an existing file are kept.
+     *
+     * @throws IOException Thrown if an error occurs while writing the file.
+     */
+    @Test
+    void writeShouldKeepThePermissionsOfAnExistingFile() throws IOException {
+        Assumptions.assumeTrue(isPosixFileSystem(), "POSIX file permissions aren't supported.");
+        Path path = directory.resolve("a.svg");
+        Files.writeString(path, "Foo Bar");
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(path, permissions);
+        AtomicFileWriter.write(path, "Baz".getBytes(StandardCharsets.UTF_8));
+        assertEquals(permissions, Files.getPosixFilePermissions(path));
+    }
+
+    /**
+     * Test verifying that a new file gets the default permissions for a new file, and not the permissions restricted
+     * to the owner of a temporary file.
+     *
+     * @throws IOException Thrown if an error occurs while writing the file.
+     */
+    @Test
+    void writeShouldGiveANewFileTheDefaultPermissions() throws IOException {
+        Assumptions.assumeTrue(isPosixFileSystem(), "POSIX file permissions aren't supported.");
+        Path path = directory.resolve("a.svg");
+        AtomicFileWriter.write(path, writer -> writer.write("Foo"));
+        Path reference = Files.createFile(directory.resolve("b.svg"));
+        assertEquals(Files.getPosixFilePermissions(reference), Files.getPosixFilePermissions(path));
+    }
+
+    /**
+     * Returns whether the directory to which the files are written supports POSIX file permissions.
+     *
+     * @return True if the directory supports POSIX file permissions.
+     */
+    private boolean isPosixFileSystem() {
+        return Files.getFileAttributeView(directory, PosixFileAttributeView.class) != null;
+    }
+
+    /**
+     * Test verifying that no temporary files are left behind.
+     *
+     * @throws IOException Thrown if an error occurs while writing the file.
+     */
+    @Test
+    void writeShouldNotLeaveTemporaryFilesBehind() throws IOException {
+        AtomicFileWriter.write(directory.resolve("a.svg"), "Foo".getBytes(StandardCharsets.UTF_8));
+        try (Stream<Path> paths = Files.list(directory)) {
+            assertEquals(1L, paths.count());
+        }
+    }
+
+    /**
+     * Test verifying that text content is written encoded in UTF-8.
+     *
+     * @throws IOException Thrown if an error occurs while writing the file.
+     */
+    @Test
+    void writeShouldWriteTextContentInUtf8() throws IOException {
+        Path path = directory.resolve("a.svg");
+        AtomicFileWriter.write(path, writer -> {
+            writer.write("Certain (P ≥ 97.5%)");
+            writer.append(", © Foo");
+        });
+        assertEquals("Certain (P ≥ 97.5%), © Foo", new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test verifying that a failure while producing text content leaves neither the file nor a temporary file behind.
+     *
+     * @throws IOException Thrown if an error occurs while listing the directory.
+     */
+    @Test
+    void writeShouldLeaveNothingBehindWhenTheTextContentFails() throws IOException {
+        Path path = directory.resolve("a.svg");
+        assertThrows(IllegalArgumentException.class, () -> AtomicFileWriter.write(path, writer -> {
+            writer.write("Foo");
+            throw new IllegalArgumentException("Bar");
+        }));
+        assertFalse(Files.exists(path));
+        try (Stream<Path> paths = Files.list(directory)) {
+            assertEquals(0L, paths.count());
+        }
+    }
+}
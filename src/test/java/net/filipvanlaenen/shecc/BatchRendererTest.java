@@ -0,0 +1,294 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>BatchRenderer</code> class.
+ */
+public class BatchRendererTest {
+    /**
+     * The magic number two.
+     */
+    private static final int TWO = 2;
+    /**
+     * The magic number four.
+     */
+    private static final int FOUR = 4;
+    /**
+     * The magic number eight.
+     */
+    private static final int EIGHT = 8;
+    /**
+     * The magic number forty.
+     */
+    private static final int FORTY = 40;
+    /**
+     * The first bytes of a PNG file.
+     */
+    private static final byte[] PNG_SIGNATURE = new byte[] {(byte) 0x89, 'P', 'N', 'G'};
+
+    /**
+     * The directory to which the charts are written.
+     */
+    private Path directory;
+    /**
+     * The stream collecting the errors.
+     */
+    private ByteArrayOutputStream errors;
+
+    /**
+     * Creates the directory to which the charts are written and the stream collecting the errors.
+     *
+     * @throws IOException Thrown if the directory can't be created.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("shecc-batch");
+        errors = new ByteArrayOutputStream();
+    }
+
+    /**
+     * Deletes the directory to which the charts were written.
+     *
+     * @throws IOException Thrown if the directory can't be deleted.
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Renders a batch.
+     *
+     * @param batchRenderer The batch renderer.
+     * @param lines         The lines of the batch.
+     * @return The number of lines that failed.
+     * @throws IOException Thrown if an error occurs while reading the batch.
+     */
+    private int render(final BatchRenderer batchRenderer, final String... lines) throws IOException {
+        return batchRenderer.render(new BufferedReader(new StringReader(String.join("\n", lines))),
+                new PrintStream(errors, true, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a chart from the directory.
+     *
+     * @param fileName The name of the file.
+     * @return The contents of the file.
+     * @throws IOException Thrown if the file can't be read.
+     */
+    private String readChart(final String fileName) throws IOException {
+        return Files.readString(directory.resolve(fileName));
+    }
+
+    /**
+     * Test verifying that a batch renders each chart to its own file, the same as the command-line interface.
+     *
+     * @throws IOException Thrown if an error occurs while rendering the batch.
+     */
+    @Test
+    void renderShouldWriteEachChartToItsOwnFile() throws IOException {
+        BatchRenderer batchRenderer = new BatchRenderer(TWO);
+        int noOfFailures = render(batchRenderer, directory.resolve("a.svg") + "\t2.FF0000,1.0000FF",
+                directory.resolve("b.svg") + "\t1.FF0000,3.0000FF\t--title=Title");
+        assertEquals(0, noOfFailures);
+        assertEquals(new CommandLineInterface().perform("2.FF0000,1.0000FF"), readChart("a.svg"));
+        assertEquals(new CommandLineInterface().perform("1.FF0000,3.0000FF", "--title=Title"), readChart("b.svg"));
+    }
+
+    /**
+     * Test verifying that the options given to the batch renderer apply to all the charts.
+     *
+     * @throws IOException Thrown if an error occurs while rendering the batch.
+     */
+    @Test
+    void renderShouldApplyTheDefaultOptionsToAllCharts() throws IOException {
+        BatchRenderer batchRenderer = new BatchRenderer(1, "--title=Title");
+        render(batchRenderer, directory.resolve("a.svg") + "\t2.FF0000,1.0000FF");
+        assertEquals(new CommandLineInterface().perform("2.FF0000,1.0000FF", "--title=Title"), readChart("a.svg"));
+    }
+
+    /**
+     * Test verifying that the options on a line override the options given to the batch renderer.
+     *
+     * @throws IOException Thrown if an error occurs while rendering the batch.
+     */
+    @Test
+    void renderShouldLetTheOptionsOnALineOverrideTheDefaultOptions() throws IOException {
+        BatchRenderer batchRenderer = new BatchRenderer(1, "--title=Title");
+        render(batchRenderer, directory.resolve("a.svg") + "\t2.FF0000,1.0000FF\t--title=Other");
+        assertEquals(new CommandLineInterface().perform("2.FF0000,1.0000FF", "--title=Other"), readChart("a.svg"));
+    }
+
+    /**
+     * Test verifying that the format on a line overrides the format given to the batch renderer, although the format
+     * is looked up by its first occurrence.
+     *
+     * @throws IOException Thrown if an error occurs while rendering the batch.
+     */
+    @Test
+    void renderShouldLetTheFormatOnALineOverrideTheDefaultFormat() throws IOException {
+        BatchRenderer batchRenderer = new BatchRenderer(1, "--format=png");
+        assertEquals(0, render(batchRenderer, directory.resolve("a.svg") + "\t2.FF0000,1.0000FF\t--format=svg"));
+        assertEquals(new CommandLineInterface().perform("2.FF0000,1.0000FF"), readChart("a.svg"));
+    }
+
+    /**
+     * Test verifying that an option on a line replaces all the options with the same name given to the batch
+     * renderer, and that the other options are kept.
+     */
+    @Test
+    void mergeArgsShouldReplaceAllTheDefaultOptionsWithTheSameName() {
+        BatchRenderer batchRenderer =
+                new BatchRenderer(1, "--chamber-title=A", "--title=Title", "--chamber-title=B");
+        assertArrayEquals(new String[] {"--title=Title", "1.FF0000", "--chamber-title=C"},
+                batchRenderer.mergeArgs("1.FF0000", "--chamber-title=C"));
+    }
+
+    /**
+     * Test verifying that a line can request a PNG file.
+     *
+     * @throws IOException Thrown if an error occurs while rendering the batch.
+     */
+    @Test
+    void renderShouldWritePngFilesWhenRequested() throws IOException {
+        BatchRenderer batchRenderer = new BatchRenderer(1);
+        render(batchRenderer, directory.resolve("a.png") + "\t2.FF0000,1.0000FF\t--format=png");
+        byte[] png = Files.readAllBytes(directory.resolve("a.png"));
+        for (int i = 0; i < PNG_SIGNATURE.length; i++) {
+            assertEquals(PNG_SIGNATURE[i], png[i]);
+        }
+    }
+
+    /**
+     * Test verifying that an error on a line is reported with the line number without aborting the batch.
+     *
+     * @throws IOException Thrown if an error occurs while rendering the batch.
+     */
+    @Test
+    void renderShouldReportErrorsPerLineWithoutAbortingTheBatch() throws IOException {
+        BatchRenderer batchRenderer = new BatchRenderer(TWO);
+        int noOfFailures = render(batchRenderer, directory.resolve("a.svg") + "\t2.XYZ,1.0000FF",
+                directory.resolve("b.svg") + "\t2.FF0000,1.0000FF");
+        assertEquals(1, noOfFailures);
+        assertTrue(errors.toString(StandardCharsets.UTF_8).startsWith("Line 1: "));
+        assertFalse(Files.exists(directory.resolve("a.svg")));
+        assertTrue(Files.exists(directory.resolve("b.svg")));
+    }
+
+    /**
+     * Test verifying that empty lines and comments are skipped, but counted for the line numbers.
+     *
+     * @throws IOException Thrown if an error occurs while rendering the batch.
+     */
+    @Test
+    void renderShouldSkipEmptyLinesAndComments() throws IOException {
+        BatchRenderer batchRenderer = new BatchRenderer(1);
+        int noOfFailures = render(batchRenderer, "# A comment", "", directory.resolve("a.svg") + "\t0.FF0000");
+        assertEquals(1, noOfFailures);
+        assertTrue(errors.toString(StandardCharsets.UTF_8).startsWith("Line 3: "));
+    }
+
+    /**
+     * Test verifying that the charts in a batch share the hemicycle layouts.
+     *
+     * @throws IOException Thrown if an error occurs while rendering the batch.
+     */
+    @Test
+    void renderShouldShareTheLayoutsBetweenCharts() throws IOException {
+        BatchRenderer batchRenderer = new BatchRenderer(FOUR);
+        String[] lines = new String[EIGHT];
+        for (int i = 0; i < EIGHT; i++) {
+            lines[i] = directory.resolve(i + ".svg") + "\t" + (i % TWO + 1) + ".FF0000,2.0000FF";
+        }
+        render(batchRenderer, lines);
+        assertEquals(TWO, batchRenderer.getLayoutCache().size());
+    }
+
+    /**
+     * Test verifying that a line in the NDJSON input format is rendered the same as the command-line interface, with
+     * the options on the line overriding the options given to the batch renderer.
+     *
+     * @throws IOException Thrown if an error occurs while rendering the batch.
+     */
+    @Test
+    void renderShouldRenderALineInTheNdjsonInputFormat() throws IOException {
+        BatchRenderer batchRenderer = new BatchRenderer(1, "--title=Title", "--subtitle=Subtitle");
+        int noOfFailures = render(batchRenderer, "{\"output\": \"" + directory.resolve("a.svg")
+                + "\", \"groups\": [{\"size\": 2, \"colors\": [\"FF0000\"]}, {\"size\": 1, \"colors\": [\"0000FF\"]}],"
+                + " \"options\": {\"title\": \"Other\"}}");
+        assertEquals(0, noOfFailures);
+        assertEquals(new CommandLineInterface().perform("2.FF0000,1.0000FF", "--title=Other", "--subtitle=Subtitle"),
+                readChart("a.svg"));
+    }
+
+    /**
+     * Test verifying that the errors in a batch larger than the number of lines read ahead are reported in the order
+     * of the lines.
+     *
+     * @throws IOException Thrown if an error occurs while rendering the batch.
+     */
+    @Test
+    void renderShouldReportTheErrorsInALargeBatchInTheOrderOfTheLines() throws IOException {
+        BatchRenderer batchRenderer = new BatchRenderer(TWO);
+        String[] lines = new String[FORTY];
+        for (int i = 0; i < FORTY; i++) {
+            lines[i] = directory.resolve(i + ".svg") + "\t" + (i % TWO == 0 ? "x" : "1") + ".FF0000,2.0000FF";
+        }
+        assertEquals(FORTY / TWO, render(batchRenderer, lines));
+        String[] errorLines = errors.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(FORTY / TWO, errorLines.length);
+        for (int i = 0; i < errorLines.length; i++) {
+            assertTrue(errorLines[i].startsWith("Line " + (TWO * i + 1) + ": "));
+        }
+        assertTrue(Files.exists(directory.resolve((FORTY - 1) + ".svg")));
+    }
+
+    /**
+     * Test verifying that a batch renderer can't be constructed without workers.
+     */
+    @Test
+    void constructorShouldRejectZeroWorkers() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchRenderer(0));
+    }
+
+    /**
+     * Test verifying that a line exceeding the limit on the number of seats is rejected, also when the line tries to
+     * raise the limit, while the other lines are rendered.
+     *
+     * @throws IOException Thrown if an error occurs while rendering the batch.
+     */
+    @Test
+    void renderShouldRejectALineExceedingTheLimits() throws IOException {
+        BatchRenderer batchRenderer = new BatchRenderer(TWO,
+                CommandLineInterface.parseLimits("--max-seats=4"), "--max-seats=4");
+        int noOfFailures = render(batchRenderer, directory.resolve("a.svg") + "\t2.FF0000,2.0000FF",
+                directory.resolve("b.svg") + "\t3.FF0000,2.0000FF\t--max-seats=8");
+        assertEquals(1, noOfFailures);
+        assertTrue(Files.exists(directory.resolve("a.svg")));
+        assertFalse(Files.exists(directory.resolve("b.svg")));
+        assertEquals("Line 2: java.lang.IllegalArgumentException: The chart has 5 seats, but at most 4 are allowed.",
+                errors.toString(StandardCharsets.UTF_8).strip());
+    }
+}
@@ -0,0 +1,160 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>ChartJobParser</code> class.
+ */
+public class ChartJobParserTest {
+    /**
+     * Magic number for the color red.
+     */
+    private static final int RED = 0xFF0000;
+    /**
+     * Magic number for the color blue.
+     */
+    private static final int BLUE = 0x0000FF;
+    /**
+     * The magic number three.
+     */
+    private static final int THREE = 3;
+    /**
+     * The magic number four.
+     */
+    private static final int FOUR = 4;
+    /**
+     * The magic number nineteen.
+     */
+    private static final int NINETEEN = 19;
+
+    /**
+     * Parses a line expected to fail, and returns the error message.
+     *
+     * @param line The line.
+     * @return The error message.
+     */
+    private static String parseAndReturnErrorMessage(final String line) {
+        return assertThrows(IllegalArgumentException.class, () -> ChartJobParser.parse(line)).getMessage();
+    }
+
+    /**
+     * Test verifying that a chart job with a simple group is parsed correctly.
+     */
+    @Test
+    void parseShouldParseAChartJobWithASimpleGroup() {
+        ChartJob job =
+                ChartJobParser.parse("{\"output\": \"a.svg\", \"groups\": [{\"size\": 19, \"colors\": [\"FF0000\"]}]}");
+        assertEquals(Paths.get("a.svg"), job.outputPath());
+        assertEquals(1, job.groups().length);
+        assertEquals(new SimpleGroupSize(NINETEEN), job.groups()[0].getSize());
+        assertArrayEquals(new int[] {RED}, job.groups()[0].getColors());
+        assertNull(job.groups()[0].getName());
+        assertNull(job.groups()[0].getCharacter());
+        assertArrayEquals(new String[0], job.args());
+    }
+
+    /**
+     * Test verifying that names containing dots, commas, colons and escaped characters are parsed correctly.
+     */
+    @Test
+    void parseShouldParseNamesWithDotsCommasAndEscapedCharacters() {
+        ChartJob job = ChartJobParser.parse("{\"output\": \"a.svg\", \"groups\": [{\"size\": 1,"
+                + " \"colors\": [\"ff0000\"], \"name\": \"Red, Inc. \\\"R:1\\\" \\u00e9\", \"character\": \"R\"}]}");
+        assertEquals("Red, Inc. \"R:1\" é", job.groups()[0].getName());
+        assertEquals("R", job.groups()[0].getCharacter());
+    }
+
+    /**
+     * Test verifying that a differentiated group size and several colors are parsed correctly.
+     */
+    @Test
+    void parseShouldParseADifferentiatedGroupSizeAndSeveralColors() {
+        ChartJob job = ChartJobParser.parse("{\"output\": \"a.svg\", \"groups\": [{\"size\": {\"lower\": 1,"
+                + " \"median\": 3, \"total\": 4}, \"colors\": [\"FF0000\", \"0000FF\"]}]}");
+        assertEquals(new DifferentiatedGroupSize(1, THREE, FOUR), job.groups()[0].getSize());
+        assertArrayEquals(new int[] {RED, BLUE}, job.groups()[0].getColors());
+    }
+
+    /**
+     * Test verifying that the options are converted into command-line arguments, in their order.
+     */
+    @Test
+    void parseShouldConvertTheOptionsIntoCommandLineArguments() {
+        ChartJob job = ChartJobParser.parse("{\"output\": \"a.svg\", \"groups\": [{\"size\": 1,"
+                + " \"colors\": [\"FF0000\"]}], \"options\": {\"title\": \"A = B\", \"angle\": 270,"
+                + " \"parallel-rendering\": true}}");
+        assertArrayEquals(new String[] {"--title=A = B", "--angle=270", "--parallel-rendering=true"}, job.args());
+    }
+
+    /**
+     * Test verifying that a chart job without an output file is rejected.
+     */
+    @Test
+    void parseShouldRejectAChartJobWithoutAnOutputFile() {
+        assertEquals("The chart job is missing an output file.",
+                parseAndReturnErrorMessage("{\"groups\": [{\"size\": 1, \"colors\": [\"FF0000\"]}]}"));
+    }
+
+    /**
+     * Test verifying that a chart job without groups is rejected.
+     */
+    @Test
+    void parseShouldRejectAChartJobWithoutGroups() {
+        assertEquals("The chart job should contain a non-empty array of groups.",
+                parseAndReturnErrorMessage("{\"output\": \"a.svg\", \"groups\": []}"));
+    }
+
+    /**
+     * Test verifying that an invalid color is rejected.
+     */
+    @Test
+    void parseShouldRejectAnInvalidColor() {
+        assertEquals("The colors of group 1 should be six-digit hexadecimal numbers, found FFG000.",
+                parseAndReturnErrorMessage(
+                        "{\"output\": \"a.svg\", \"groups\": [{\"size\": 1, \"colors\": [\"FFG000\"]}]}"));
+    }
+
+    /**
+     * Test verifying that a negative size is rejected.
+     */
+    @Test
+    void parseShouldRejectANegativeSize() {
+        assertEquals("The size of group 1 should be a non-negative integer.",
+                parseAndReturnErrorMessage(
+                        "{\"output\": \"a.svg\", \"groups\": [{\"size\": -1, \"colors\": [\"FF0000\"]}]}"));
+    }
+
+    /**
+     * Test verifying that malformed JSON is rejected with the position of the offending character.
+     */
+    @Test
+    void parseShouldRejectMalformedJsonWithThePosition() {
+        assertEquals("Unexpected character '}' at position 16 of the line, expected '\"'.",
+                parseAndReturnErrorMessage("{\"output\": \"a\",}"));
+    }
+
+    /**
+     * Test verifying that an unterminated line is rejected with the position.
+     */
+    @Test
+    void parseShouldRejectAnUnterminatedLineWithThePosition() {
+        assertEquals("Unexpected end of the line at position 11, expected a JSON value.",
+                parseAndReturnErrorMessage("{\"output\":"));
+    }
+
+    /**
+     * Test verifying that a line with trailing characters is rejected.
+     */
+    @Test
+    void parseShouldRejectTrailingCharacters() {
+        assertEquals("Unexpected character 'x' at position 4 of the line, expected the end of the line.",
+                parseAndReturnErrorMessage("{} x"));
+    }
+}
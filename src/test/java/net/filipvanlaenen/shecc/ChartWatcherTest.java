@@ -0,0 +1,245 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>ChartWatcher</code> class.
+ */
+public class ChartWatcherTest {
+    /**
+     * The magic number three.
+     */
+    private static final int THREE = 3;
+    /**
+     * The debounce interval used in the tests.
+     */
+    private static final long DEBOUNCE_INTERVAL = 50L;
+    /**
+     * The time to wait between checks of the output file.
+     */
+    private static final long POLL_INTERVAL = 50L;
+    /**
+     * The maximum time to wait for the output file to change.
+     */
+    private static final long MAXIMUM_WAIT = 20_000L;
+
+    /**
+     * The directory with the input and the output file.
+     */
+    private Path directory;
+    /**
+     * The path of the input file.
+     */
+    private Path inputPath;
+    /**
+     * The path of the output file.
+     */
+    private Path outputPath;
+    /**
+     * The stream collecting the errors.
+     */
+    private ByteArrayOutputStream errors;
+
+    /**
+     * Creates the directory with the input and the output file, and the stream collecting the errors.
+     *
+     * @throws IOException Thrown if the directory can't be created.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("shecc-watch");
+        inputPath = directory.resolve("groups.txt");
+        outputPath = directory.resolve("chart.svg");
+        errors = new ByteArrayOutputStream();
+    }
+
+    /**
+     * Deletes the directory with the input and the output file.
+     *
+     * @throws IOException Thrown if the directory can't be deleted.
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Creates a watcher on the input and the output file.
+     *
+     * @param args The arguments from the command line.
+     * @return A watcher on the input and the output file.
+     */
+    private ChartWatcher createWatcher(final String... args) {
+        return new ChartWatcher(inputPath, outputPath, DEBOUNCE_INTERVAL,
+                new PrintStream(errors, true, StandardCharsets.UTF_8), args);
+    }
+
+    /**
+     * Test verifying that the chart is rendered from the input file with the options from the command line.
+     *
+     * @throws IOException Thrown if an error occurs while writing the input file.
+     */
+    @Test
+    void renderShouldWriteTheChartFromTheInputFile() throws IOException {
+        Files.writeString(inputPath, "2.FF0000,1.0000FF\n");
+        assertTrue(createWatcher("--title=Title").render());
+        assertEquals(new CommandLineInterface().perform("--title=Title", "2.FF0000,1.0000FF"),
+                Files.readString(outputPath));
+    }
+
+    /**
+     * Test verifying that the lines of the input file are joined, skipping empty lines and comments.
+     *
+     * @throws IOException Thrown if an error occurs while writing the input file.
+     */
+    @Test
+    void renderShouldJoinTheLinesOfTheInputFile() throws IOException {
+        Files.writeString(inputPath, "# Red\n2.FF0000\n\n# Blue\n1.0000FF\n");
+        createWatcher().render();
+        assertEquals(new CommandLineInterface().perform("2.FF0000,1.0000FF"), Files.readString(outputPath));
+    }
+
+    /**
+     * Test verifying that an invalid input file is reported, and that the previous chart is kept.
+     *
+     * @throws IOException Thrown if an error occurs while writing the input file.
+     */
+    @Test
+    void renderShouldKeepThePreviousChartWhenTheInputFileIsInvalid() throws IOException {
+        ChartWatcher watcher = createWatcher();
+        Files.writeString(inputPath, "2.FF0000,1.0000FF");
+        watcher.render();
+        String previousChart = Files.readString(outputPath);
+        Files.writeString(inputPath, "2.XYZ");
+        assertFalse(watcher.render());
+        assertEquals(previousChart, Files.readString(outputPath));
+        assertTrue(errors.toString(StandardCharsets.UTF_8).startsWith("Couldn't render "));
+    }
+
+    /**
+     * Test verifying that an input file exceeding the limits is reported, and that the previous chart is kept.
+     *
+     * @throws IOException Thrown if an error occurs while writing the input file.
+     */
+    @Test
+    void renderShouldKeepThePreviousChartWhenTheInputFileExceedsTheLimits() throws IOException {
+        ChartWatcher watcher = new ChartWatcher(inputPath, outputPath, DEBOUNCE_INTERVAL,
+                new PrintStream(errors, true, StandardCharsets.UTF_8), new RenderLimits(THREE, 2, 1, Long.MAX_VALUE));
+        Files.writeString(inputPath, "2.FF0000,1.0000FF");
+        assertTrue(watcher.render());
+        String previousChart = Files.readString(outputPath);
+        Files.writeString(inputPath, "2.FF0000,2.0000FF");
+        assertFalse(watcher.render());
+        assertEquals(previousChart, Files.readString(outputPath));
+    }
+
+    /**
+     * Test verifying that the layout is reused when the total number of seats doesn't change.
+     *
+     * @throws IOException Thrown if an error occurs while writing the input file.
+     */
+    @Test
+    void renderShouldReuseTheLayoutWhenTheNumberOfSeatsDoesNotChange() throws IOException {
+        ChartWatcher watcher = createWatcher();
+        Files.writeString(inputPath, "2.FF0000,1.0000FF");
+        watcher.render();
+        HemicycleLayout layout = watcher.getLayoutCache().get(THREE, null);
+        Files.writeString(inputPath, "1.FF0000,2.0000FF");
+        watcher.render();
+        assertEquals(1, watcher.getLayoutCache().size());
+        assertSame(layout, watcher.getLayoutCache().get(THREE, null));
+    }
+
+    /**
+     * Test verifying that the cache with the hemicycle layouts doesn't grow beyond its maximum size when the number of
+     * seats keeps changing, while the charts are still rendered.
+     *
+     * @throws IOException Thrown if an error occurs while writing the input file.
+     */
+    @Test
+    void renderShouldNotCacheMoreLayoutsThanTheMaximum() throws IOException {
+        ChartWatcher watcher = createWatcher();
+        int numberOfRenders = ChartWatcher.MAXIMUM_NUMBER_OF_CACHED_LAYOUTS + 2;
+        for (int i = 1; i <= numberOfRenders; i++) {
+            Files.writeString(inputPath, i + ".FF0000");
+            watcher.render();
+        }
+        assertEquals(ChartWatcher.MAXIMUM_NUMBER_OF_CACHED_LAYOUTS, watcher.getLayoutCache().size());
+        assertEquals(new CommandLineInterface().perform(numberOfRenders + ".FF0000"), Files.readString(outputPath));
+    }
+
+    /**
+     * Test verifying that the layout is still reused when the number of seats stops changing after more distinct
+     * numbers of seats than the cache can hold have been rendered.
+     *
+     * @throws IOException Thrown if an error occurs while writing the input file.
+     */
+    @Test
+    void renderShouldReuseTheLayoutAfterMoreDistinctNumbersOfSeatsThanTheMaximum() throws IOException {
+        ChartWatcher watcher = createWatcher();
+        int numberOfSeats = ChartWatcher.MAXIMUM_NUMBER_OF_CACHED_LAYOUTS + 2;
+        for (int i = 1; i < numberOfSeats; i++) {
+            Files.writeString(inputPath, i + ".FF0000");
+            watcher.render();
+        }
+        Files.writeString(inputPath, numberOfSeats + ".FF0000");
+        watcher.render();
+        HemicycleLayout layout = watcher.getLayoutCache().get(numberOfSeats, null);
+        Files.writeString(inputPath, (numberOfSeats - 1) + ".FF0000,1.0000FF");
+        watcher.render();
+        assertSame(layout, watcher.getLayoutCache().get(numberOfSeats, null));
+    }
+
+    /**
+     * Test verifying that the chart is re-rendered when the input file changes.
+     *
+     * @throws Exception Thrown if an error occurs while writing the input file or waiting for the output file.
+     */
+    @Test
+    void watchShouldRerenderTheChartWhenTheInputFileChanges() throws Exception {
+        Files.writeString(inputPath, "2.FF0000,1.0000FF");
+        ChartWatcher watcher = createWatcher();
+        Thread thread = new Thread(() -> {
+            try {
+                watcher.watch();
+            } catch (IOException ioe) {
+                throw new RuntimeException(ioe);
+            }
+        });
+        thread.start();
+        try {
+            String expected = new CommandLineInterface().perform("1.FF0000,3.0000FF");
+            long deadline = System.currentTimeMillis() + MAXIMUM_WAIT;
+            while (!Files.exists(outputPath) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(POLL_INTERVAL);
+            }
+            Files.writeString(inputPath, "1.FF0000,3.0000FF");
+            while (!(Files.exists(outputPath) && expected.equals(Files.readString(outputPath)))
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(POLL_INTERVAL);
+            }
+            assertEquals(expected, Files.readString(outputPath));
+        } finally {
+            thread.interrupt();
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>ClassDataSharingTraining</code> class.
+ */
+public class ClassDataSharingTrainingTest {
+    /**
+     * The magic number six.
+     */
+    private static final int SIX = 6;
+
+    /**
+     * Test verifying that the training run renders all the training charts without errors.
+     *
+     * @throws IOException Thrown if an error occurs while rendering a chart.
+     */
+    @Test
+    void trainShouldRenderAllTrainingCharts() throws IOException {
+        assertEquals(SIX, ClassDataSharingTraining.train());
+    }
+}
@@ -1,11 +1,21 @@
 package net.filipvanlaenen.shecc;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
 
 import net.filipvanlaenen.kolektoj.SortedCollection;
 import net.filipvanlaenen.shecc.export.SeatingPlanExporter;
+import net.filipvanlaenen.shecc.export.SeatingPlanRasterExporter;
 
 /**
  * Unit tests on the <code>CommandLineInterface</code> class.
@@ -55,6 +65,14 @@ public class CommandLineInterfaceTest {
      * Magic number for the color yellow.
      */
     private static final int YELLOW = 0xFFFF00;
+    /**
+     * The magic number one hundred.
+     */
+    private static final int ONE_HUNDRED = 100;
+    /**
+     * The length of the signature at the start of every PNG file.
+     */
+    private static final int PNG_SIGNATURE_LENGTH = 8;
     /**
      * A parliamentary group with one seat for the blue party.
      */
@@ -99,6 +117,35 @@ public class CommandLineInterfaceTest {
         assertEquals(expected, actual);
     }
 
+    /**
+     * Test verifying that the command-line interface produces the same seating plan with parallel rendering.
+     */
+    @Test
+    void cliProducesSameSeatingPlanWithParallelRendering() {
+        CommandLineInterface cli = new CommandLineInterface();
+        String actual = cli.perform("2.FF0000..R,1.0000FF..B", "--parallel-rendering=true");
+        RowConnectedSeatingPlan plan = new RowConnectedSeatingPlan(THREE_SEAT_POSITIONS,
+                new ParliamentaryGroup(2, RED, null, "R"), new ParliamentaryGroup(1, BLUE, null, "B"));
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        String expected = exporter.export(plan);
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Test verifying that the command-line interface produces a seating plan with class-based styling.
+     */
+    @Test
+    void cliProducesSeatingPlanWithClassBasedStyling() {
+        CommandLineInterface cli = new CommandLineInterface();
+        String actual = cli.perform("2.FF0000..R,1.0000FF..B", "--styling=classes");
+        RowConnectedSeatingPlan plan = new RowConnectedSeatingPlan(THREE_SEAT_POSITIONS,
+                new ParliamentaryGroup(2, RED, null, "R"), new ParliamentaryGroup(1, BLUE, null, "B"));
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        exporter.setClassBasedStyling(true);
+        String expected = exporter.export(plan);
+        assertEquals(expected, actual);
+    }
+
     /**
      * Test verifying that the command-line interface produces a seating plan with a legend if the names are present.
      */
@@ -300,4 +347,146 @@ public class CommandLineInterfaceTest {
         String expected = exporter.export(plan);
         assertEquals(expected, actual);
     }
+
+    /**
+     * Test verifying that the command-line interface produces a PNG file with the requested width when specified.
+     *
+     * @throws IOException Thrown if an error occurs while encoding the image.
+     */
+    @Test
+    void cliProducesPngFileWithPixelWidth() throws IOException {
+        CommandLineInterface cli = new CommandLineInterface();
+        byte[] actual = cli.performAsPng("2.FF0000..R,1.0000FF..B", "--format=png", "--pixel-width=100");
+        RowConnectedSeatingPlan plan = new RowConnectedSeatingPlan(THREE_SEAT_POSITIONS,
+                new ParliamentaryGroup(2, RED, null, "R"), new ParliamentaryGroup(1, BLUE, null, "B"));
+        SeatingPlanRasterExporter exporter = new SeatingPlanRasterExporter();
+        exporter.setPixelWidth(ONE_HUNDRED);
+        byte[] expected = exporter.exportToPng(plan);
+        assertArrayEquals(Arrays.copyOf(expected, PNG_SIGNATURE_LENGTH), Arrays.copyOf(actual, PNG_SIGNATURE_LENGTH));
+        assertEquals(expected.length, actual.length);
+    }
+
+    /**
+     * Test verifying that the command-line interface writes the same seating plan to a file as to a string, encoded in
+     * UTF-8.
+     *
+     * @throws IOException Thrown if an error occurs while writing the file.
+     */
+    @Test
+    void cliWritesTheSameSeatingPlanToAFile() throws IOException {
+        Path path = Files.createTempFile("shecc-cli", ".svg");
+        try {
+            CommandLineInterface cli = new CommandLineInterface();
+            String[] args = new String[] {"2:3.FF0000.Red.R,1.0000FF.Blue.B", "--styling=classes", "--title=Ünïcödé"};
+            cli.performToFile(path, args);
+            assertEquals(cli.perform(args), new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Test verifying that several groups definitions produce a document with a chamber per groups definition, with
+     * the chamber titles in the order in which they appear.
+     */
+    @Test
+    void cliProducesADocumentWithSeveralChambers() {
+        String actual = new CommandLineInterface().perform("2.FF0000.Red,1.0000FF.Blue", "--chamber-title=House",
+                "1.FF0000.Red,2.0000FF.Blue", "--chamber-title=Senate");
+        assertTrue(actual.contains(" id=\"h0\" "));
+        assertTrue(actual.contains(" id=\"h1\" "));
+        assertTrue(actual.indexOf(">House</text>") < actual.indexOf(">Senate</text>"));
+        assertTrue(actual.contains(">Red (1)</text>"));
+    }
+
+    /**
+     * Test verifying that several groups definitions can't be exported to a PNG file.
+     */
+    @Test
+    void cliRejectsSeveralChambersForAPngFile() {
+        assertThrows(IllegalArgumentException.class, () -> new CommandLineInterface()
+                .performAsPng("2.FF0000.Red,1.0000FF.Blue", "1.FF0000.Red,2.0000FF.Blue", "--format=png"));
+    }
+
+    /**
+     * Test verifying that the chart is the same when statistics are collected, and that the stages and counts are
+     * reported.
+     */
+    @Test
+    void cliProducesTheSameSeatingPlanWhenCollectingStatistics() {
+        String[] args = new String[] {"2:3.FF0000.Red.R,3.0000FF.Blue.B", "--title=Title"};
+        RenderStatistics statistics = new RenderStatistics();
+        String actual = new CommandLineInterface().perform(statistics, args);
+        assertEquals(new CommandLineInterface().perform(args), actual);
+        assertTrue(statistics.getNanoseconds(RenderStatistics.DOM_STAGE) >= 0L);
+        assertTrue(statistics.getNanoseconds(RenderStatistics.SERIALIZATION_STAGE) >= 0L);
+        assertEquals(SIX, statistics.getCount(RenderStatistics.SEATS_COUNT));
+        assertEquals(actual.getBytes(StandardCharsets.UTF_8).length,
+                statistics.getCount(RenderStatistics.OUTPUT_BYTES_COUNT));
+    }
+
+    /**
+     * Test verifying that the chambers are the same when statistics are collected for several chambers, and that the
+     * seats of all chambers are counted.
+     */
+    @Test
+    void cliProducesTheSameChambersWhenCollectingStatistics() {
+        String[] args = new String[] {"2.FF0000.Red,1.0000FF.Blue", "1.FF0000.Red,2.0000FF.Blue",
+                "--chamber-title=Upper", "--chamber-title=Lower"};
+        RenderStatistics statistics = new RenderStatistics();
+        assertEquals(new CommandLineInterface().perform(args), new CommandLineInterface().perform(statistics, args));
+        assertEquals(SIX, statistics.getCount(RenderStatistics.SEATS_COUNT));
+    }
+
+    /**
+     * Test verifying that statistics can't be requested together with an output file.
+     */
+    @Test
+    void cliRejectsStatisticsForAnOutputFile() {
+        assertEquals("Statistics can only be printed for an SVG document written to the standard output.",
+                assertThrows(IllegalArgumentException.class,
+                        () -> CommandLineInterface.main("2.FF0000", "--stats=true", "--output=chart.svg"))
+                        .getMessage());
+    }
+
+    /**
+     * Test verifying that the size report accounts for all the bytes of the chart that would have been produced.
+     */
+    @Test
+    void cliProducesASizeReportForTheSameSeatingPlan() {
+        String[] args = new String[] {"2:3.FF0000.Red.R,3.0000FF.Blue.B", "--title=Title"};
+        assertEquals(new CommandLineInterface().perform(args).getBytes(StandardCharsets.UTF_8).length,
+                new CommandLineInterface().performSizeAnalysis(args).getTotal().bytes());
+    }
+
+    /**
+     * Test verifying that a size report can't be produced for several chambers.
+     */
+    @Test
+    void cliRejectsASizeReportForSeveralChambers() {
+        assertThrows(IllegalArgumentException.class, () -> new CommandLineInterface()
+                .performSizeAnalysis("2.FF0000.Red,1.0000FF.Blue", "1.FF0000.Red,2.0000FF.Blue"));
+    }
+
+    /**
+     * Test verifying that the limits are parsed from the command-line, and that a limit that isn't set is unlimited.
+     */
+    @Test
+    void cliParsesTheLimits() {
+        assertEquals(new RenderLimits(ONE_HUNDRED, THREE, 2, Long.MAX_VALUE),
+                CommandLineInterface.parseLimits("--max-seats=100", "--max-groups=3", "--max-colors=2", "1.FF0000"));
+    }
+
+    /**
+     * Test verifying that a chart exceeding the limits is rejected, for the seats and for the output.
+     */
+    @Test
+    void cliRejectsAChartExceedingTheLimits() {
+        CommandLineInterface cli = new CommandLineInterface(null, new RenderLimits(SIX, THREE, 2, ONE_HUNDRED));
+        assertEquals("The chart has 7 seats, but at most 6 are allowed.",
+                assertThrows(IllegalArgumentException.class, () -> cli.perform("4.FF0000,3.0000FF")).getMessage());
+        assertEquals("The chart has more than 100 bytes of output, which is the maximum allowed.",
+                assertThrows(IllegalArgumentException.class, () -> cli.perform("4.FF0000,2.0000FF")).getMessage());
+        assertThrows(IllegalArgumentException.class, () -> cli.perform(new StringBuilder(), "4.FF0000,2.0000FF"));
+    }
 }
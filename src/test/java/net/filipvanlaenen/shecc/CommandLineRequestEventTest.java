@@ -0,0 +1,150 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>CommandLineRequestEvent</code> class and the other Java Flight Recorder events committed
+ * while rendering a chart.
+ */
+public class CommandLineRequestEventTest {
+    /**
+     * The magic number three.
+     */
+    private static final int THREE = 3;
+    /**
+     * The name of the command-line request event.
+     */
+    private static final String REQUEST_EVENT = "net.filipvanlaenen.shecc.CommandLineRequest";
+    /**
+     * The name of the layout event.
+     */
+    private static final String LAYOUT_EVENT = "net.filipvanlaenen.shecc.Layout";
+    /**
+     * The name of the seating event.
+     */
+    private static final String SEATING_EVENT = "net.filipvanlaenen.shecc.Seating";
+    /**
+     * The name of the export event.
+     */
+    private static final String EXPORT_EVENT = "net.filipvanlaenen.shecc.Export";
+    /**
+     * The groups definition used in the tests.
+     */
+    private static final String GROUPS_DEFINITION = "2.FF0000..,1.0000FF:00FF00..";
+
+    /**
+     * Renders a chart through the command-line interface while a recording is running, and returns the SHecC events
+     * that were recorded.
+     *
+     * @param recording    The recording.
+     * @param result       An array in which the rendered chart is stored.
+     * @param toAppendable Whether the chart should be written to an appendable instead of returned as a string.
+     * @return The SHecC events that were recorded.
+     * @throws IOException Thrown if the recording can't be dumped or read.
+     */
+    private static List<RecordedEvent> renderAndReturnEvents(final Recording recording, final String[] result,
+            final boolean toAppendable) throws IOException {
+        Path file = Files.createTempFile("shecc", ".jfr");
+        try (recording) {
+            recording.start();
+            if (toAppendable) {
+                StringBuilder sb = new StringBuilder();
+                new CommandLineInterface().perform(sb, GROUPS_DEFINITION);
+                result[0] = sb.toString();
+            } else {
+                result[0] = new CommandLineInterface().perform(GROUPS_DEFINITION);
+            }
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().startsWith("net.filipvanlaenen.shecc.")).toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Returns the first event with a given name.
+     *
+     * @param events The events.
+     * @param name   The name of the event.
+     * @return The first event with the name.
+     */
+    private static RecordedEvent findEvent(final List<RecordedEvent> events, final String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).findFirst().orElseThrow();
+    }
+
+    /**
+     * Test verifying that the events are committed with their fields when they're enabled.
+     *
+     * @throws IOException Thrown if the recording can't be dumped or read.
+     */
+    @Test
+    void renderingAChartShouldCommitTheEventsWhenEnabled() throws IOException {
+        Recording recording = new Recording();
+        for (String name : new String[] {REQUEST_EVENT, LAYOUT_EVENT, SEATING_EVENT, EXPORT_EVENT}) {
+            recording.enable(name);
+        }
+        String[] result = new String[1];
+        List<RecordedEvent> events = renderAndReturnEvents(recording, result, false);
+        RecordedEvent request = findEvent(events, REQUEST_EVENT);
+        assertEquals("svg", request.getString("format"));
+        assertEquals(1, request.getInt("chambers"));
+        assertEquals(THREE, request.getInt("seats"));
+        assertEquals(2, request.getInt("groups"));
+        assertEquals(THREE, request.getInt("colors"));
+        assertEquals(result[0].getBytes(StandardCharsets.UTF_8).length, request.getLong("outputSize"));
+        RecordedEvent layout = findEvent(events, LAYOUT_EVENT);
+        assertEquals(THREE, layout.getInt("seats"));
+        assertEquals(new HemicycleLayout(THREE).getNumberOfRows(), layout.getInt("rows"));
+        RecordedEvent seating = findEvent(events, SEATING_EVENT);
+        assertEquals(THREE, seating.getInt("seats"));
+        assertEquals(layout.getInt("rows"), seating.getInt("rows"));
+        assertEquals(2, seating.getInt("groups"));
+        assertEquals(THREE, seating.getInt("colors"));
+        RecordedEvent export = findEvent(events, EXPORT_EVENT);
+        assertEquals(THREE, export.getInt("seats"));
+        assertEquals(result[0].getBytes(StandardCharsets.UTF_8).length, export.getLong("outputSize"));
+    }
+
+    /**
+     * Test verifying that the size of a chart written to an appendable is reported in the command-line request event.
+     *
+     * @throws IOException Thrown if the recording can't be dumped or read.
+     */
+    @Test
+    void writingAChartShouldReportItsSizeInTheRequestEvent() throws IOException {
+        Recording recording = new Recording();
+        recording.enable(REQUEST_EVENT);
+        String[] result = new String[1];
+        RecordedEvent request = findEvent(renderAndReturnEvents(recording, result, true), REQUEST_EVENT);
+        assertEquals(result[0].getBytes(StandardCharsets.UTF_8).length, request.getLong("outputSize"));
+    }
+
+    /**
+     * Test verifying that the events aren't recorded with the default settings.
+     *
+     * @throws IOException    Thrown if the recording can't be dumped or read.
+     * @throws ParseException Thrown if the default settings can't be parsed.
+     */
+    @Test
+    void renderingAChartShouldNotCommitTheEventsByDefault() throws IOException, ParseException {
+        List<RecordedEvent> events =
+                renderAndReturnEvents(new Recording(Configuration.getConfiguration("default")), new String[1], false);
+        assertTrue(events.isEmpty());
+    }
+}
@@ -0,0 +1,322 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Differential tests comparing the layout and the seating against frozen copies of the algorithms, such that an
+ * optimization shifting even a single seat is detected. Random cases are generated with random numbers of seats,
+ * angles, radius ratios and group sizes, including differentiated group sizes with empty, certain-only and
+ * unlikely-only ranges. Every case is generated from a seed, which is reported when the case fails, such that it can
+ * be reproduced with <code>generate</code>.
+ *
+ * A bounded number of cases runs with the unit tests. A soak run on all cores, for a number of seconds and with a
+ * random base seed, is started by setting the system property <code>shecc.fuzz.soakSeconds</code>:
+ *
+ * <pre>
+ * mvn test -Dtest=DifferentialFuzzTest -Dshecc.fuzz.soakSeconds=3600
+ * </pre>
+ */
+public class DifferentialFuzzTest {
+    /**
+     * The name of the system property with the duration of the soak run, in seconds.
+     */
+    private static final String SOAK_SECONDS_PROPERTY = "shecc.fuzz.soakSeconds";
+    /**
+     * The base seed for the cases run with the unit tests.
+     */
+    private static final long BASE_SEED = 20_260_101L;
+    /**
+     * The number of cases run with the unit tests.
+     */
+    private static final int NUMBER_OF_CASES = 400;
+    /**
+     * The maximum number of seats in the cases run with the unit tests.
+     */
+    private static final int MAXIMUM_NUMBER_OF_SEATS = 3_000;
+    /**
+     * The maximum number of seats in the cases of a soak run.
+     */
+    private static final int MAXIMUM_NUMBER_OF_SEATS_WHILE_SOAKING = 30_000;
+    /**
+     * The maximum number of parliamentary groups in a case.
+     */
+    private static final int MAXIMUM_NUMBER_OF_GROUPS = 40;
+    /**
+     * The maximum number of hemicycle layouts in the cache shared by the workers of a soak run.
+     */
+    private static final int MAXIMUM_NUMBER_OF_CACHED_LAYOUTS = 500;
+    /**
+     * The default ratio between the inner and the outer radius of a hemicycle.
+     */
+    private static final double DEFAULT_RADIUS_RATIO = 1.0D / 3.0D;
+    /**
+     * The smallest radius ratio generated.
+     */
+    private static final double MINIMUM_RADIUS_RATIO = 0.01D;
+    /**
+     * The largest radius ratio generated.
+     */
+    private static final double MAXIMUM_RADIUS_RATIO = 0.99D;
+    /**
+     * The largest angle generated for the narrow hemicycles.
+     */
+    private static final double MAXIMUM_NARROW_ANGLE = 0.1D;
+    /**
+     * The magic number three.
+     */
+    private static final int THREE = 3;
+    /**
+     * The magic number four.
+     */
+    private static final int FOUR = 4;
+    /**
+     * The magic number eight.
+     */
+    private static final int EIGHT = 8;
+    /**
+     * The magic number ten.
+     */
+    private static final int TEN = 10;
+    /**
+     * The magic number one hundred.
+     */
+    private static final int ONE_HUNDRED = 100;
+
+    /**
+     * A generated case.
+     *
+     * @param seed          The seed from which the case was generated.
+     * @param numberOfSeats The number of seats.
+     * @param angle         The angle, or <code>null</code> for the default angle.
+     * @param radiusRatio   The ratio between the inner and the outer radius.
+     * @param sizes         The sizes of the parliamentary groups.
+     */
+    record FuzzCase(long seed, int numberOfSeats, Double angle, double radiusRatio, GroupSize[] sizes) {
+        @Override
+        public String toString() {
+            return "seed " + seed + ", " + numberOfSeats + " seats, angle " + angle + ", radius ratio " + radiusRatio
+                    + ", sizes " + Arrays.toString(sizes);
+        }
+    }
+
+    /**
+     * Generates a case from a seed.
+     *
+     * @param seed                  The seed.
+     * @param maximumNumberOfSeats The maximum number of seats.
+     * @return The generated case.
+     */
+    static FuzzCase generate(final long seed, final int maximumNumberOfSeats) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] scales = new int[] {TEN, ONE_HUNDRED, maximumNumberOfSeats / TEN, maximumNumberOfSeats};
+        int numberOfSeats = 1 + random.nextInt(scales[random.nextInt(scales.length)]);
+        Double angle;
+        int angleType = random.nextInt(EIGHT);
+        if (angleType < 2) {
+            angle = null;
+        } else if (angleType == 2) {
+            angle = 2D * Math.PI;
+        } else if (angleType == THREE) {
+            angle = Math.PI;
+        } else if (angleType == FOUR) {
+            angle = Math.nextUp(0D) + random.nextDouble(MAXIMUM_NARROW_ANGLE);
+        } else {
+            angle = 2D * Math.PI - random.nextDouble(2D * Math.PI);
+        }
+        double radiusRatio = random.nextBoolean() ? DEFAULT_RADIUS_RATIO
+                : random.nextDouble(MINIMUM_RADIUS_RATIO, MAXIMUM_RADIUS_RATIO);
+        int numberOfGroups = 1 + random.nextInt(Math.min(numberOfSeats, MAXIMUM_NUMBER_OF_GROUPS));
+        int[] cuts = new int[numberOfGroups + 1];
+        for (int i = 1; i < numberOfGroups; i++) {
+            cuts[i] = random.nextInt(numberOfSeats + 1);
+        }
+        cuts[numberOfGroups] = numberOfSeats;
+        Arrays.sort(cuts);
+        GroupSize[] sizes = new GroupSize[numberOfGroups];
+        for (int i = 0; i < numberOfGroups; i++) {
+            int total = cuts[i + 1] - cuts[i];
+            if (random.nextInt(THREE) == 0) {
+                int lowerBound = random.nextInt(total + 1);
+                int median = lowerBound + random.nextInt(total - lowerBound + 1);
+                sizes[i] = new DifferentiatedGroupSize(lowerBound, median, total);
+            } else {
+                sizes[i] = new SimpleGroupSize(total);
+            }
+        }
+        return new FuzzCase(seed, numberOfSeats, angle, radiusRatio, sizes);
+    }
+
+    /**
+     * Compares the layout and the seating for a case against the reference. Some extreme cases, e.g. with very narrow
+     * hemicycles, make the reference throw an exception. In that case, the optimized code paths should throw an
+     * exception of the same class.
+     *
+     * @param fuzzCase The case.
+     * @param cache    A cache with hemicycle layouts, used for cases with the default radius ratio.
+     * @return A description of the first difference, or <code>null</code> if there is none.
+     */
+    static String check(final FuzzCase fuzzCase, final HemicycleLayoutCache cache) {
+        SeatPosition[] expected;
+        try {
+            expected = ReferenceHemicycleLayout.calculateSeatPositions(fuzzCase.numberOfSeats(), fuzzCase.angle(),
+                    fuzzCase.radiusRatio());
+        } catch (RuntimeException expectedException) {
+            try {
+                new HemicycleLayout(fuzzCase.numberOfSeats(), fuzzCase.angle(), fuzzCase.radiusRatio())
+                        .getSeatPositions();
+            } catch (RuntimeException actualException) {
+                return expectedException.getClass().equals(actualException.getClass()) ? null
+                        : "Expected " + expectedException + " but found " + actualException + " for " + fuzzCase + ".";
+            }
+            return "Expected " + expectedException + " but found no exception for " + fuzzCase + ".";
+        }
+        return check(fuzzCase, cache, expected);
+    }
+
+    /**
+     * Compares the layout and the seating for a case against the reference seat positions.
+     *
+     * @param fuzzCase The case.
+     * @param cache    A cache with hemicycle layouts, used for cases with the default radius ratio.
+     * @param expected The seat positions according to the reference.
+     * @return A description of the first difference, or <code>null</code> if there is none.
+     */
+    private static String check(final FuzzCase fuzzCase, final HemicycleLayoutCache cache,
+            final SeatPosition[] expected) {
+        int numberOfSeats = fuzzCase.numberOfSeats();
+        HemicycleLayout layout = new HemicycleLayout(numberOfSeats, fuzzCase.angle(), fuzzCase.radiusRatio());
+        int expectedNumberOfRows =
+                ReferenceHemicycleLayout.calculateNumberOfRows(numberOfSeats, fuzzCase.angle(), fuzzCase.radiusRatio());
+        if (layout.getNumberOfRows() != expectedNumberOfRows) {
+            return "Expected " + expectedNumberOfRows + " rows but found " + layout.getNumberOfRows() + " for "
+                    + fuzzCase + ".";
+        }
+        String difference = compareSeatPositions("layout", expected,
+                layout.getSeatPositions().toArray(new SeatPosition[numberOfSeats]), fuzzCase);
+        if (difference == null && fuzzCase.radiusRatio() == DEFAULT_RADIUS_RATIO) {
+            difference = compareSeatPositions("cached layout", expected,
+                    cache.get(numberOfSeats, fuzzCase.angle()).getSeatPositions()
+                            .toArray(new SeatPosition[numberOfSeats]),
+                    fuzzCase);
+        }
+        if (difference != null) {
+            return difference;
+        }
+        ParliamentaryGroup[] groups = new ParliamentaryGroup[fuzzCase.sizes().length];
+        for (int i = 0; i < groups.length; i++) {
+            groups[i] = new ParliamentaryGroup(fuzzCase.sizes()[i], i);
+        }
+        RowConnectedSeatingPlan plan = new RowConnectedSeatingPlan(layout.getSeatPositions(), groups);
+        ReferenceRowConnectedSeatingPlan reference = new ReferenceRowConnectedSeatingPlan(expected, fuzzCase.sizes());
+        for (int seat = 0; seat < numberOfSeats; seat++) {
+            if (plan.getParliamentaryGroupAtSeat(seat) != groups[reference.getGroupIndex(seat)]
+                    || plan.getSeatStatus(seat) != reference.getSeatStatus(seat)) {
+                return "Expected seat " + seat + " to be held by group " + reference.getGroupIndex(seat) + " as "
+                        + reference.getSeatStatus(seat) + " but found group "
+                        + Arrays.asList(groups).indexOf(plan.getParliamentaryGroupAtSeat(seat)) + " as "
+                        + plan.getSeatStatus(seat) + " for " + fuzzCase + ".";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Compares seat positions against the reference.
+     *
+     * @param codePath The name of the code path that produced the seat positions.
+     * @param expected The seat positions according to the reference.
+     * @param actual   The seat positions produced by the code path.
+     * @param fuzzCase The case.
+     * @return A description of the first difference, or <code>null</code> if there is none.
+     */
+    private static String compareSeatPositions(final String codePath, final SeatPosition[] expected,
+            final SeatPosition[] actual, final FuzzCase fuzzCase) {
+        for (int seat = 0; seat < expected.length; seat++) {
+            if (!expected[seat].equals(actual[seat])) {
+                return "Expected seat " + seat + " of the " + codePath + " at " + expected[seat] + " but found "
+                        + actual[seat] + " for " + fuzzCase + ".";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Test verifying that the layout and the seating match the reference for a bounded number of random cases.
+     */
+    @Test
+    void randomCasesShouldMatchTheReference() {
+        HemicycleLayoutCache cache = new HemicycleLayoutCache();
+        for (int i = 0; i < NUMBER_OF_CASES; i++) {
+            assertNull(check(generate(BASE_SEED + i, MAXIMUM_NUMBER_OF_SEATS), cache));
+        }
+    }
+
+    /**
+     * Test verifying that the layout and the seating match the reference for edge cases.
+     */
+    @Test
+    void edgeCasesShouldMatchTheReference() {
+        HemicycleLayoutCache cache = new HemicycleLayoutCache();
+        FuzzCase[] edgeCases = new FuzzCase[] {new FuzzCase(0L, 1, null, DEFAULT_RADIUS_RATIO, new GroupSize[] {
+                new SimpleGroupSize(1)}),
+                new FuzzCase(0L, 2, 2D * Math.PI, DEFAULT_RADIUS_RATIO,
+                        new GroupSize[] {new SimpleGroupSize(0), new DifferentiatedGroupSize(0, 0, 2)}),
+                new FuzzCase(0L, THREE, Math.nextUp(0D), MINIMUM_RADIUS_RATIO,
+                        new GroupSize[] {new DifferentiatedGroupSize(THREE, THREE, THREE)}),
+                new FuzzCase(0L, ONE_HUNDRED, null, MAXIMUM_RADIUS_RATIO,
+                        new GroupSize[] {new DifferentiatedGroupSize(0, ONE_HUNDRED / 2, ONE_HUNDRED / 2),
+                                new DifferentiatedGroupSize(ONE_HUNDRED / 2, ONE_HUNDRED / 2, ONE_HUNDRED / 2)})};
+        for (FuzzCase edgeCase : edgeCases) {
+            assertNull(check(edgeCase, cache));
+        }
+    }
+
+    /**
+     * Soak test comparing random cases against the reference on all cores, until the duration set in the system
+     * property has passed. The base seed is random, such that every soak run explores new cases. An unexpected
+     * exception or error in a case is reported as a difference, instead of silently ending its worker.
+     *
+     * @throws InterruptedException Thrown if the soak run is interrupted.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = SOAK_SECONDS_PROPERTY, matches = "[1-9][0-9]*")
+    void soakShouldMatchTheReferenceOnAllCores() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(Long.getLong(SOAK_SECONDS_PROPERTY, 0L));
+        long baseSeed = new SplittableRandom().nextLong();
+        int numberOfWorkers = Runtime.getRuntime().availableProcessors();
+        HemicycleLayoutCache cache = new HemicycleLayoutCache(MAXIMUM_NUMBER_OF_CACHED_LAYOUTS);
+        Queue<String> differences = new ConcurrentLinkedQueue<String>();
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfWorkers);
+        for (int w = 0; w < numberOfWorkers; w++) {
+            int worker = w;
+            executor.execute(() -> {
+                for (long i = worker; System.nanoTime() < deadline && differences.isEmpty(); i += numberOfWorkers) {
+                    long seed = baseSeed + i;
+                    try {
+                        String difference = check(generate(seed, MAXIMUM_NUMBER_OF_SEATS_WHILE_SOAKING), cache);
+                        if (difference != null) {
+                            differences.add(difference);
+                        }
+                    } catch (Throwable t) {
+                        differences.add("Unexpected " + t + " for the case with seed " + seed + ".");
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS));
+        assertNull(differences.peek());
+    }
+}
@@ -0,0 +1,183 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>GroupsDefinitionParser</code> class.
+ */
+public class GroupsDefinitionParserTest {
+    /**
+     * Magic number for the color red.
+     */
+    private static final int RED = 0xFF0000;
+    /**
+     * Magic number for the color green.
+     */
+    private static final int GREEN = 0x00FF00;
+    /**
+     * Magic number for the color blue.
+     */
+    private static final int BLUE = 0x0000FF;
+    /**
+     * The magic number three.
+     */
+    private static final int THREE = 3;
+    /**
+     * The magic number four.
+     */
+    private static final int FOUR = 4;
+    /**
+     * The magic number nineteen.
+     */
+    private static final int NINETEEN = 19;
+
+    /**
+     * Parses a groups definition expected to fail, and returns the error message.
+     *
+     * @param groupsDefinition The groups definition.
+     * @return The error message.
+     */
+    private static String parseAndReturnErrorMessage(final String groupsDefinition) {
+        return assertThrows(IllegalArgumentException.class, () -> GroupsDefinitionParser.parse(groupsDefinition))
+                .getMessage();
+    }
+
+    /**
+     * Test verifying that a group with a size and a color only is parsed correctly.
+     */
+    @Test
+    void parseShouldParseAGroupWithASizeAndAColor() {
+        ParliamentaryGroup[] groups = GroupsDefinitionParser.parse("19.FF0000");
+        assertEquals(1, groups.length);
+        assertEquals(new SimpleGroupSize(NINETEEN), groups[0].getSize());
+        assertArrayEquals(new int[] {RED}, groups[0].getColors());
+        assertNull(groups[0].getName());
+        assertNull(groups[0].getCharacter());
+    }
+
+    /**
+     * Test verifying that several groups with names and characters are parsed correctly.
+     */
+    @Test
+    void parseShouldParseGroupsWithNamesAndCharacters() {
+        ParliamentaryGroup[] groups = GroupsDefinitionParser.parse("19.FF0000.Red Party.R,1.0000FF.Blue Party.B");
+        assertEquals(2, groups.length);
+        assertEquals("Red Party", groups[0].getName());
+        assertEquals("R", groups[0].getCharacter());
+        assertEquals(new SimpleGroupSize(1), groups[1].getSize());
+        assertArrayEquals(new int[] {BLUE}, groups[1].getColors());
+        assertEquals("Blue Party", groups[1].getName());
+        assertEquals("B", groups[1].getCharacter());
+    }
+
+    /**
+     * Test verifying that an empty name followed by a character is parsed as an empty name, like the original parser.
+     */
+    @Test
+    void parseShouldParseAnEmptyNameFollowedByACharacterAsAnEmptyName() {
+        ParliamentaryGroup[] groups = GroupsDefinitionParser.parse("19.FF0000..R");
+        assertEquals("", groups[0].getName());
+        assertEquals("R", groups[0].getCharacter());
+    }
+
+    /**
+     * Test verifying that trailing empty fields are ignored, like the original parser.
+     */
+    @Test
+    void parseShouldIgnoreTrailingEmptyFields() {
+        ParliamentaryGroup[] groups = GroupsDefinitionParser.parse("19.FF0000..,1.0000FF.Blue.");
+        assertNull(groups[0].getName());
+        assertNull(groups[0].getCharacter());
+        assertEquals("Blue", groups[1].getName());
+        assertNull(groups[1].getCharacter());
+    }
+
+    /**
+     * Test verifying that a differentiated group size and several colors are parsed correctly.
+     */
+    @Test
+    void parseShouldParseADifferentiatedGroupSizeAndSeveralColors() {
+        ParliamentaryGroup[] groups = GroupsDefinitionParser.parse("1:2:3.FF0000:00FF00:0000FF:ff0000.Alliance");
+        assertEquals(new DifferentiatedGroupSize(1, 2, THREE), groups[0].getSize());
+        assertArrayEquals(new int[] {RED, GREEN, BLUE, RED}, groups[0].getColors());
+    }
+
+    /**
+     * Test verifying that a differentiated group size with two sizes uses the median as the total.
+     */
+    @Test
+    void parseShouldParseADifferentiatedGroupSizeWithTwoSizes() {
+        ParliamentaryGroup[] groups = GroupsDefinitionParser.parse("1:2.FF0000");
+        assertEquals(new DifferentiatedGroupSize(1, 2, 2), groups[0].getSize());
+    }
+
+    /**
+     * Test verifying that a missing groups definition is rejected.
+     */
+    @Test
+    void parseShouldRejectAMissingGroupsDefinition() {
+        assertEquals("The groups definition is missing.", parseAndReturnErrorMessage(null));
+    }
+
+    /**
+     * Test verifying that an invalid size is rejected with its position.
+     */
+    @Test
+    void parseShouldRejectAnInvalidSizeWithItsPosition() {
+        assertEquals("Unexpected character 'x' at position 11 of the groups definition, expected a digit.",
+                parseAndReturnErrorMessage("19.FF0000,x.0000FF"));
+    }
+
+    /**
+     * Test verifying that an invalid color is rejected with its position.
+     */
+    @Test
+    void parseShouldRejectAnInvalidColorWithItsPosition() {
+        assertEquals(
+                "Unexpected character 'G' at position 5 of the groups definition, expected ':', '.' or ','.",
+                parseAndReturnErrorMessage("1.FFG000"));
+    }
+
+    /**
+     * Test verifying that a missing color is rejected with its position.
+     */
+    @Test
+    void parseShouldRejectAMissingColorWithItsPosition() {
+        assertEquals("Unexpected end of the groups definition at position 3, expected ':' or '.'.",
+                parseAndReturnErrorMessage("19"));
+    }
+
+    /**
+     * Test verifying that an empty group specification is rejected with its position.
+     */
+    @Test
+    void parseShouldRejectAnEmptyGroupSpecificationWithItsPosition() {
+        assertEquals("Unexpected character ',' at position 11 of the groups definition, expected a digit.",
+                parseAndReturnErrorMessage("19.FF0000,,1.0000FF"));
+    }
+
+    /**
+     * Test verifying that a number that's too large is rejected with its position.
+     */
+    @Test
+    void parseShouldRejectANumberThatIsTooLarge() {
+        assertEquals("Number too large at position 1 of the groups definition.",
+                parseAndReturnErrorMessage("99999999999.FF0000"));
+    }
+
+    /**
+     * Test verifying that the parser produces the same group sizes as the group size parser.
+     */
+    @Test
+    void parseShouldProduceTheSameGroupSizesAsParseGroupSize() {
+        for (String size : new String[] {"1", "19", "1:2", "1:2:3", "2:3:4:5"}) {
+            assertEquals(GroupSize.parseGroupSize(size), GroupsDefinitionParser.parse(size + ".FF0000")[0].getSize());
+        }
+        assertEquals(FOUR, GroupsDefinitionParser.parse("1:2:4:5.FF0000")[0].getSize().getFullSize());
+    }
+}
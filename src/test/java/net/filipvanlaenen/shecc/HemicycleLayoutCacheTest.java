@@ -0,0 +1,123 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>HemicycleLayoutCache</code> class.
+ */
+public class HemicycleLayoutCacheTest {
+    /**
+     * The magic number three.
+     */
+    private static final int THREE = 3;
+    /**
+     * The magic number four.
+     */
+    private static final int FOUR = 4;
+    /**
+     * The magic number five.
+     */
+    private static final int FIVE = 5;
+
+    /**
+     * Test verifying that the cache returns the same layout for the same number of seats and the same angle.
+     */
+    @Test
+    void getShouldReturnTheSameLayoutForTheSameNumberOfSeatsAndAngle() {
+        HemicycleLayoutCache cache = new HemicycleLayoutCache();
+        assertSame(cache.get(THREE, Math.PI), cache.get(THREE, Math.PI));
+    }
+
+    /**
+     * Test verifying that the cache returns the same layout for the same number of seats and the default angle.
+     */
+    @Test
+    void getShouldReturnTheSameLayoutForTheSameNumberOfSeatsAndTheDefaultAngle() {
+        HemicycleLayoutCache cache = new HemicycleLayoutCache();
+        assertSame(cache.get(THREE, null), cache.get(THREE, null));
+    }
+
+    /**
+     * Test verifying that the cache returns different layouts for different numbers of seats.
+     */
+    @Test
+    void getShouldReturnDifferentLayoutsForDifferentNumbersOfSeats() {
+        HemicycleLayoutCache cache = new HemicycleLayoutCache();
+        assertNotSame(cache.get(THREE, null), cache.get(FOUR, null));
+        assertEquals(2, cache.size());
+    }
+
+    /**
+     * Test verifying that the cache returns different layouts for different angles.
+     */
+    @Test
+    void getShouldReturnDifferentLayoutsForDifferentAngles() {
+        HemicycleLayoutCache cache = new HemicycleLayoutCache();
+        assertNotSame(cache.get(THREE, null), cache.get(THREE, Math.PI));
+    }
+
+    /**
+     * Test verifying that the cache returns a layout with the same seat positions as a new layout.
+     */
+    @Test
+    void getShouldReturnALayoutWithTheSameSeatPositionsAsANewLayout() {
+        HemicycleLayoutCache cache = new HemicycleLayoutCache();
+        HemicycleLayout expected = new HemicycleLayout(FOUR, Math.PI);
+        HemicycleLayout actual = cache.get(FOUR, Math.PI);
+        for (int i = 0; i < FOUR; i++) {
+            assertEquals(expected.getSeatPosition(i), actual.getSeatPosition(i));
+        }
+    }
+
+    /**
+     * Test verifying that a cache with a limit doesn't grow beyond the limit, but still returns layouts.
+     */
+    @Test
+    void getShouldNotAddLayoutsBeyondTheMaximumSize() {
+        HemicycleLayoutCache cache = new HemicycleLayoutCache(1);
+        cache.get(THREE, null);
+        HemicycleLayout layout = cache.get(FOUR, null);
+        assertEquals(FOUR, layout.getSeatPositions().size());
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Test verifying that a full cache evicts the least recently used layout, and keeps the layout used last.
+     */
+    @Test
+    void getShouldEvictTheLeastRecentlyUsedLayout() {
+        HemicycleLayoutCache cache = new HemicycleLayoutCache(2);
+        HemicycleLayout layout = cache.get(THREE, null);
+        HemicycleLayout evictedLayout = cache.get(FOUR, null);
+        assertSame(layout, cache.get(THREE, null));
+        cache.get(FIVE, null);
+        assertEquals(2, cache.size());
+        assertSame(layout, cache.get(THREE, null));
+        assertNotSame(evictedLayout, cache.get(FOUR, null));
+    }
+
+    /**
+     * Test verifying that a full cache keeps caching the layouts that are used after it has been filled.
+     */
+    @Test
+    void getShouldCacheNewLayoutsWhenTheCacheIsFull() {
+        HemicycleLayoutCache cache = new HemicycleLayoutCache(1);
+        cache.get(THREE, null);
+        HemicycleLayout layout = cache.get(FOUR, null);
+        assertSame(layout, cache.get(FOUR, null));
+    }
+
+    /**
+     * Test verifying that a cache can't be constructed with a maximum size of zero.
+     */
+    @Test
+    void constructorShouldRejectAMaximumSizeOfZero() {
+        assertEquals("The maximum size of the cache should be strictly positive.",
+                assertThrows(IllegalArgumentException.class, () -> new HemicycleLayoutCache(0)).getMessage());
+    }
+}
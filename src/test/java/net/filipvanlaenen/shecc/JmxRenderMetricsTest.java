@@ -0,0 +1,109 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>JmxRenderMetrics</code> class.
+ */
+public class JmxRenderMetricsTest {
+    /**
+     * The magic number three.
+     */
+    private static final int THREE = 3;
+
+    /**
+     * The metrics installed by a test, or <code>null</code> if none were installed.
+     */
+    private JmxRenderMetrics metrics;
+
+    /**
+     * Uninstalls the metrics installed by a test.
+     *
+     * @throws JMException Thrown if the MBean can't be unregistered.
+     */
+    @AfterEach
+    void uninstallMetrics() throws JMException {
+        if (metrics != null) {
+            metrics.uninstall();
+        }
+        RenderMetrics.setListener(null);
+    }
+
+    /**
+     * Test verifying that installing the metrics installs them as the listener and publishes them as an MBean.
+     *
+     * @throws JMException Thrown if the MBean can't be registered.
+     */
+    @Test
+    void installShouldInstallTheListenerAndPublishTheMBean() throws JMException {
+        metrics = JmxRenderMetrics.install();
+        assertSame(metrics, RenderMetrics.getListener());
+        assertTrue(ManagementFactory.getPlatformMBeanServer()
+                .isRegistered(new ObjectName(JmxRenderMetrics.DEFAULT_OBJECT_NAME)));
+    }
+
+    /**
+     * Test verifying that uninstalling the metrics restores the no-op listener and unpublishes the MBean.
+     *
+     * @throws JMException Thrown if the MBean can't be registered or unregistered.
+     */
+    @Test
+    void uninstallShouldRestoreTheNoOpListenerAndUnpublishTheMBean() throws JMException {
+        JmxRenderMetrics installed = JmxRenderMetrics.install();
+        installed.uninstall();
+        assertSame(RenderMetricsListener.NO_OP, RenderMetrics.getListener());
+        assertFalse(ManagementFactory.getPlatformMBeanServer()
+                .isRegistered(new ObjectName(JmxRenderMetrics.DEFAULT_OBJECT_NAME)));
+    }
+
+    /**
+     * Test verifying that rendering a chart updates the counters and the histograms readable through JMX.
+     *
+     * @throws JMException Thrown if the MBean can't be registered or read.
+     */
+    @Test
+    void renderingAChartShouldUpdateTheAttributesOfTheMBean() throws JMException {
+        metrics = JmxRenderMetrics.install();
+        String svg = new CommandLineInterface().perform("2.FF0000..,1.0000FF..");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(JmxRenderMetrics.DEFAULT_OBJECT_NAME);
+        assertEquals(1L, server.getAttribute(name, "ChartCount"));
+        assertEquals((long) THREE, server.getAttribute(name, "SeatCount"));
+        assertEquals(RenderStatistics.countElements(svg), server.getAttribute(name, "ElementCount"));
+        assertEquals((long) svg.getBytes(StandardCharsets.UTF_8).length, server.getAttribute(name, "OutputBytes"));
+        assertTrue((long) server.getAttribute(name, "LayoutCount") >= 1L);
+        assertEquals(1L, server.getAttribute(name, "SeatingCount"));
+        assertEquals(1L, server.getAttribute(name, "ExportCount"));
+        assertEquals(1L, server.getAttribute(name, "SerializationCount"));
+    }
+
+    /**
+     * Test verifying that reset clears the counters and the histograms.
+     *
+     * @throws JMException Thrown if the MBean can't be registered or invoked.
+     */
+    @Test
+    void resetShouldClearTheCountersAndTheHistograms() throws JMException {
+        metrics = JmxRenderMetrics.install();
+        new CommandLineInterface().perform("2.FF0000..,1.0000FF..");
+        ManagementFactory.getPlatformMBeanServer().invoke(new ObjectName(JmxRenderMetrics.DEFAULT_OBJECT_NAME),
+                "reset", new Object[0], new String[0]);
+        assertEquals(0L, metrics.getChartCount());
+        assertEquals(0L, metrics.getSeatCount());
+        assertEquals(0L, metrics.getLayoutCount());
+        assertEquals(0L, metrics.getSerializationLatencyP99InMicroseconds());
+    }
+}
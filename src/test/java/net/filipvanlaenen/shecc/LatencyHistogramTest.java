@@ -0,0 +1,99 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>LatencyHistogram</code> class.
+ */
+public class LatencyHistogramTest {
+    /**
+     * The magic number three.
+     */
+    private static final int THREE = 3;
+    /**
+     * A latency of one and a half microsecond, in nanoseconds.
+     */
+    private static final long ONE_AND_A_HALF_MICROSECOND = 1_500L;
+    /**
+     * A latency of five microseconds, in nanoseconds.
+     */
+    private static final long FIVE_MICROSECONDS = 5_000L;
+    /**
+     * The median as a percentile.
+     */
+    private static final double P50 = 50D;
+    /**
+     * The 100th percentile.
+     */
+    private static final double P100 = 100D;
+
+    /**
+     * Creates a histogram with latencies of zero, one and a half, and five microseconds.
+     *
+     * @return A histogram with three latencies.
+     */
+    private static LatencyHistogram createHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(0L);
+        histogram.record(ONE_AND_A_HALF_MICROSECOND);
+        histogram.record(FIVE_MICROSECONDS);
+        return histogram;
+    }
+
+    /**
+     * Test verifying that the latencies are recorded in the buckets with the right upper bounds.
+     */
+    @Test
+    void recordShouldPutTheLatenciesInTheRightBuckets() {
+        LatencyHistogram histogram = createHistogram();
+        long[] buckets = histogram.getBuckets();
+        long[] upperBounds = LatencyHistogram.getUpperBoundsInMicroseconds();
+        assertEquals(1L, buckets[0]);
+        assertEquals(1L, upperBounds[0]);
+        assertEquals(1L, buckets[1]);
+        assertEquals(2L, upperBounds[1]);
+        assertEquals(1L, buckets[THREE]);
+        assertEquals(8L, upperBounds[THREE]);
+    }
+
+    /**
+     * Test verifying that the count and the total are updated.
+     */
+    @Test
+    void recordShouldUpdateTheCountAndTheTotal() {
+        LatencyHistogram histogram = createHistogram();
+        assertEquals(THREE, histogram.getCount());
+        assertEquals(ONE_AND_A_HALF_MICROSECOND + FIVE_MICROSECONDS, histogram.getTotalNanoseconds());
+    }
+
+    /**
+     * Test verifying that the percentiles are estimated by the upper bound of their bucket.
+     */
+    @Test
+    void getPercentileInMicrosecondsShouldReturnTheUpperBoundOfTheBucket() {
+        LatencyHistogram histogram = createHistogram();
+        assertEquals(2L, histogram.getPercentileInMicroseconds(P50));
+        assertEquals(8L, histogram.getPercentileInMicroseconds(P100));
+    }
+
+    /**
+     * Test verifying that an empty histogram returns zero as the percentile.
+     */
+    @Test
+    void getPercentileInMicrosecondsShouldReturnZeroForAnEmptyHistogram() {
+        assertEquals(0L, new LatencyHistogram().getPercentileInMicroseconds(P50));
+    }
+
+    /**
+     * Test verifying that reset clears the histogram.
+     */
+    @Test
+    void resetShouldClearTheHistogram() {
+        LatencyHistogram histogram = createHistogram();
+        histogram.reset();
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0L, histogram.getBuckets()[0]);
+    }
+}
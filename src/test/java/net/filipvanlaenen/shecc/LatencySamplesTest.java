@@ -0,0 +1,96 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>LatencySamples</code> class.
+ */
+public class LatencySamplesTest {
+    /**
+     * The magic number three.
+     */
+    private static final long THREE = 3L;
+    /**
+     * The number of latencies recorded in the samples with many latencies.
+     */
+    private static final int NUMBER_OF_LATENCIES = 2_000;
+    /**
+     * The number of nanoseconds in a microsecond.
+     */
+    private static final long NANOSECONDS_PER_MICROSECOND = 1_000L;
+    /**
+     * A latency of 1,100 microseconds, in nanoseconds, which a histogram with buckets doubling in width would report
+     * as 2,048 microseconds.
+     */
+    private static final long ONE_THOUSAND_ONE_HUNDRED_MICROSECONDS = 1_100_000L;
+    /**
+     * A latency of five microseconds, in nanoseconds.
+     */
+    private static final long FIVE_MICROSECONDS = 5_000L;
+    /**
+     * The median as a percentile.
+     */
+    private static final double P50 = 50D;
+    /**
+     * The 99th percentile.
+     */
+    private static final double P99 = 99D;
+    /**
+     * The 100th percentile.
+     */
+    private static final double P100 = 100D;
+
+    /**
+     * Test verifying that the percentiles are the exact latencies, and not the upper bounds of buckets.
+     */
+    @Test
+    void getPercentileInMicrosecondsShouldReturnTheExactLatencies() {
+        LatencySamples samples = new LatencySamples();
+        samples.record(FIVE_MICROSECONDS);
+        samples.record(ONE_THOUSAND_ONE_HUNDRED_MICROSECONDS);
+        samples.record(0L);
+        assertEquals(0L, samples.getPercentileInMicroseconds(0D));
+        assertEquals(FIVE_MICROSECONDS / NANOSECONDS_PER_MICROSECOND, samples.getPercentileInMicroseconds(P50));
+        assertEquals(ONE_THOUSAND_ONE_HUNDRED_MICROSECONDS / NANOSECONDS_PER_MICROSECOND,
+                samples.getPercentileInMicroseconds(P100));
+    }
+
+    /**
+     * Test verifying that the percentiles use the nearest rank over many latencies.
+     */
+    @Test
+    void getPercentileInMicrosecondsShouldUseTheNearestRank() {
+        LatencySamples samples = new LatencySamples();
+        for (int i = NUMBER_OF_LATENCIES; i > 0; i--) {
+            samples.record(i * NANOSECONDS_PER_MICROSECOND);
+        }
+        assertEquals(NUMBER_OF_LATENCIES / 2, samples.getPercentileInMicroseconds(P50));
+        assertEquals((long) (NUMBER_OF_LATENCIES * P99 / P100), samples.getPercentileInMicroseconds(P99));
+    }
+
+    /**
+     * Test verifying that the percentile of empty samples is zero.
+     */
+    @Test
+    void getPercentileInMicrosecondsShouldReturnZeroWithoutLatencies() {
+        assertEquals(0L, new LatencySamples().getPercentileInMicroseconds(P50));
+    }
+
+    /**
+     * Test verifying that the latencies of other samples are added.
+     */
+    @Test
+    void addAllShouldAddTheLatenciesOfOtherSamples() {
+        LatencySamples samples = new LatencySamples();
+        samples.record(FIVE_MICROSECONDS);
+        LatencySamples other = new LatencySamples();
+        other.record(0L);
+        other.record(ONE_THOUSAND_ONE_HUNDRED_MICROSECONDS);
+        samples.addAll(other);
+        assertEquals(THREE, samples.getCount());
+        assertEquals(ONE_THOUSAND_ONE_HUNDRED_MICROSECONDS / NANOSECONDS_PER_MICROSECOND,
+                samples.getPercentileInMicroseconds(P100));
+    }
+}
@@ -0,0 +1,184 @@
+package net.filipvanlaenen.shecc;
+
+import java.util.Comparator;
+
+import net.filipvanlaenen.kolektoj.SortedCollection;
+
+/**
+ * A frozen copy of the algorithm calculating the seat positions of a hemicycle layout, used as the reference in the
+ * differential tests. This class shouldn't be changed when the algorithm in <code>HemicycleLayout</code> is optimized;
+ * it should only be changed if the seat positions are meant to change.
+ */
+final class ReferenceHemicycleLayout {
+    /**
+     * The default value for the angle of the hemicycle, set to π (180°).
+     */
+    private static final double DEFAULT_ANGLE = Math.PI;
+    /**
+     * The minimal number of seats included in the calculation of the scaling angle.
+     */
+    private static final int MINIMAL_NUMBER_OF_SEATS_FOR_SCALING_ANGLE = 5;
+    /**
+     * The maximal number of seats included in the calculation of the scaling angle.
+     */
+    private static final int MAXIMAL_NUMBER_OF_SEATS_FOR_SCALING_ANGLE = 50;
+    /**
+     * The magic number one half.
+     */
+    private static final double ONE_HALF = 0.5D;
+    /**
+     * The delta to compare angles.
+     */
+    private static final double ANGLE_DELTA = 0.000001D;
+    /**
+     * One and a half π.
+     */
+    private static final double ONE_AND_A_HALF_PI = 1.5D * Math.PI;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ReferenceHemicycleLayout() {
+    }
+
+    /**
+     * Calculates the angle of a hemicycle.
+     *
+     * @param numberOfSeats The number of seats.
+     * @param angle         The requested angle, or <code>null</code> for the default angle.
+     * @return The angle of the hemicycle.
+     */
+    private static double calculateAngle(final int numberOfSeats, final Double angle) {
+        if (angle != null) {
+            return angle;
+        }
+        double scalingAngle = DEFAULT_ANGLE * Math.max(MINIMAL_NUMBER_OF_SEATS_FOR_SCALING_ANGLE, numberOfSeats)
+                / MAXIMAL_NUMBER_OF_SEATS_FOR_SCALING_ANGLE;
+        return Math.min(DEFAULT_ANGLE, scalingAngle);
+    }
+
+    /**
+     * Calculates the number of rows of a hemicycle.
+     *
+     * @param numberOfSeats The number of seats.
+     * @param requestedAngle The requested angle, or <code>null</code> for the default angle.
+     * @param radiusRatio   The ratio between the inner and the outer radius.
+     * @return The number of rows.
+     */
+    static int calculateNumberOfRows(final int numberOfSeats, final Double requestedAngle, final double radiusRatio) {
+        double angle = calculateAngle(numberOfSeats, requestedAngle);
+        int n = 0;
+        while (true) {
+            n += 1;
+            double rowWidth = (1.0D - radiusRatio) / n;
+            int maximumNumberOfSeats = 0;
+            for (int row = 1; row <= n; row++) {
+                double rowRadius = radiusRatio + ((double) row - ONE_HALF) * rowWidth;
+                maximumNumberOfSeats += Math.ceil(angle * rowRadius / rowWidth);
+            }
+            if (maximumNumberOfSeats >= numberOfSeats) {
+                return n;
+            }
+        }
+    }
+
+    /**
+     * Calculates the number of seats for each row.
+     *
+     * @param numberOfSeats The number of seats.
+     * @param numberOfRows  The number of rows.
+     * @param radiusRatio   The ratio between the inner and the outer radius.
+     * @return An array with the number of seats for each row.
+     */
+    private static int[] calculateNumberOfSeatsPerRow(final int numberOfSeats, final int numberOfRows,
+            final double radiusRatio) {
+        double width = (1.0D - radiusRatio) / numberOfRows;
+        double[] rowRadii = new double[numberOfRows];
+        double[] nextSeatArc = new double[numberOfRows];
+        int[] numberOfSeatsOnRow = new int[numberOfRows];
+        for (int row = 0; row < numberOfRows; row++) {
+            numberOfSeatsOnRow[row] = 1;
+            rowRadii[row] = radiusRatio + ((double) (row + 1) - ONE_HALF) * width;
+            nextSeatArc[row] = rowRadii[row];
+        }
+        for (int seat = numberOfRows; seat < numberOfSeats; seat++) {
+            int bestRow = 0;
+            double highestQuote = nextSeatArc[0];
+            for (int row = 1; row < numberOfRows; row++) {
+                if (nextSeatArc[row] > highestQuote) {
+                    bestRow = row;
+                    highestQuote = nextSeatArc[row];
+                }
+            }
+            numberOfSeatsOnRow[bestRow] += 1;
+            nextSeatArc[bestRow] = rowRadii[bestRow] / numberOfSeatsOnRow[bestRow];
+        }
+        return numberOfSeatsOnRow;
+    }
+
+    /**
+     * Calculates the seat positions of a hemicycle, sorted from the left to the right.
+     *
+     * @param numberOfSeats  The number of seats.
+     * @param requestedAngle The requested angle, or <code>null</code> for the default angle.
+     * @param radiusRatio    The ratio between the inner and the outer radius.
+     * @return An array with the sorted seat positions.
+     */
+    static SeatPosition[] calculateSeatPositions(final int numberOfSeats, final Double requestedAngle,
+            final double radiusRatio) {
+        double angle = calculateAngle(numberOfSeats, requestedAngle);
+        SeatPosition[] seatPositionArray = new SeatPosition[numberOfSeats];
+        int numberOfRows = calculateNumberOfRows(numberOfSeats, requestedAngle, radiusRatio);
+        double rowWidth = (1D - radiusRatio) / numberOfRows;
+        int[] numberOfSeatsOnRow = calculateNumberOfSeatsPerRow(numberOfSeats, numberOfRows, radiusRatio);
+        int seatNumber = 0;
+        double firstSeatAngle = (Math.PI - angle) / 2D;
+        for (int row = 1; row <= numberOfRows; row++) {
+            double rowRadius = radiusRatio + ((double) row - ONE_HALF) * rowWidth;
+            int numberOfSeatsOnThisRow = numberOfSeatsOnRow[row - 1];
+            if (numberOfSeatsOnThisRow == 1) {
+                seatPositionArray[seatNumber++] = new SeatPosition(row, rowRadius, Math.PI / 2D);
+            } else {
+                double anglePerSeat = angle / (numberOfSeatsOnThisRow - 1);
+                for (int seat = 0; seat < numberOfSeatsOnThisRow; seat++) {
+                    double seatAngle = firstSeatAngle + anglePerSeat * seat;
+                    if (seatAngle < 0D) {
+                        seatAngle += Math.PI * 2D;
+                    }
+                    seatPositionArray[seatNumber++] = new SeatPosition(row, rowRadius, seatAngle);
+                }
+            }
+        }
+        return SortedCollection.of(createComparator(), seatPositionArray).toArray(new SeatPosition[numberOfSeats]);
+    }
+
+    /**
+     * Creates the comparator sorting seat positions by their angle measured from the south, clockwise, and by their
+     * radius if their angles are practically equal.
+     *
+     * @return The comparator for seat positions.
+     */
+    private static Comparator<SeatPosition> createComparator() {
+        return (seatPosition1, seatPosition2) -> {
+            if (Math.abs(seatPosition1.angle() - seatPosition2.angle()) < ANGLE_DELTA) {
+                return Double.compare(seatPosition1.radius(), seatPosition2.radius());
+            }
+            return Double.compare(angleFromOneAndAHalfPi(seatPosition1.angle()),
+                    angleFromOneAndAHalfPi(seatPosition2.angle()));
+        };
+    }
+
+    /**
+     * Calculates the distance of an angle from 3π/2 (the south), clockwise.
+     *
+     * @param angle The angle.
+     * @return The distance of the angle from 3π/2 (the south), clockwise.
+     */
+    private static double angleFromOneAndAHalfPi(final double angle) {
+        double distance = ONE_AND_A_HALF_PI - angle;
+        if (distance < 0D) {
+            distance += 2D * Math.PI;
+        }
+        return distance;
+    }
+}
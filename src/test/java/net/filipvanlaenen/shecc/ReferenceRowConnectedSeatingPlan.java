@@ -0,0 +1,151 @@
+package net.filipvanlaenen.shecc;
+
+import java.util.Arrays;
+
+/**
+ * A frozen copy of the algorithm assigning the seats of a hemicycle to the parliamentary groups, used as the reference
+ * in the differential tests. This class shouldn't be changed when the algorithm in
+ * <code>RowConnectedSeatingPlan</code> is optimized; it should only be changed if the seats are meant to move.
+ */
+final class ReferenceRowConnectedSeatingPlan {
+    /**
+     * The group index marking an empty seat.
+     */
+    private static final int EMPTY_SEAT = -1;
+    /**
+     * The sorted seat positions.
+     */
+    private final SeatPosition[] seatPositions;
+    /**
+     * The total number of seats.
+     */
+    private final int numberOfSeats;
+    /**
+     * The index of the parliamentary group holding each seat.
+     */
+    private final int[] groupIndices;
+    /**
+     * The statuses of the seats.
+     */
+    private final SeatStatus[] seatStatuses;
+
+    /**
+     * Assigns the seats to the parliamentary groups.
+     *
+     * @param seatPositions The sorted seat positions.
+     * @param sizes         The sizes of the parliamentary groups, in their order.
+     */
+    ReferenceRowConnectedSeatingPlan(final SeatPosition[] seatPositions, final GroupSize... sizes) {
+        this.seatPositions = seatPositions;
+        numberOfSeats = seatPositions.length;
+        groupIndices = new int[numberOfSeats];
+        Arrays.fill(groupIndices, EMPTY_SEAT);
+        seatStatuses = new SeatStatus[numberOfSeats];
+        for (int g = 0; g < sizes.length; g++) {
+            assignSeats(g, sizes[g]);
+        }
+    }
+
+    /**
+     * Assigns the seats to a parliamentary group.
+     *
+     * @param groupIndex The index of the parliamentary group.
+     * @param size       The size of the parliamentary group.
+     */
+    private void assignSeats(final int groupIndex, final GroupSize size) {
+        int fullSize = size.getFullSize();
+        if (fullSize == 0) {
+            return;
+        }
+        int firstSeat = findFirstEmptySeat();
+        groupIndices[firstSeat] = groupIndex;
+        int row = seatPositions[firstSeat].row();
+        int lowRow = row;
+        int highRow = row;
+        seatStatuses[firstSeat] = calculateSeatStatus(firstSeat, 0, size);
+        for (int i = 1; i < fullSize; i++) {
+            int seatNumber = 0;
+            while (seatNumber < numberOfSeats && (groupIndices[seatNumber] != EMPTY_SEAT
+                    || seatPositions[seatNumber].row() > highRow + 1 || seatPositions[seatNumber].row() < lowRow - 1)) {
+                seatNumber++;
+            }
+            if (seatNumber == numberOfSeats) {
+                seatNumber = findFirstEmptySeat();
+            }
+            groupIndices[seatNumber] = groupIndex;
+            row = seatPositions[seatNumber].row();
+            if (row < lowRow) {
+                lowRow = row;
+            }
+            if (row > highRow) {
+                highRow = row;
+            }
+            seatStatuses[seatNumber] = calculateSeatStatus(firstSeat, i, size);
+        }
+    }
+
+    /**
+     * Calculates the status of a seat within a parliamentary group.
+     *
+     * @param startIndex The seat number of the first seat of the parliamentary group.
+     * @param index      The index of the seat within the parliamentary group.
+     * @param size       The size of the parliamentary group.
+     * @return The status of the seat.
+     */
+    private SeatStatus calculateSeatStatus(final int startIndex, final int index, final GroupSize size) {
+        if (!(size instanceof DifferentiatedGroupSize differentiatedSize)) {
+            return SeatStatus.CERTAIN;
+        }
+        boolean certainSeatsToTheLeft = startIndex * 2 + differentiatedSize.getFullSize() <= numberOfSeats;
+        if (certainSeatsToTheLeft) {
+            if (index < differentiatedSize.lowerBound()) {
+                return SeatStatus.CERTAIN;
+            } else if (index < differentiatedSize.median()) {
+                return SeatStatus.LIKELY;
+            } else {
+                return SeatStatus.UNLIKELY;
+            }
+        } else {
+            if (differentiatedSize.getFullSize() - index <= differentiatedSize.lowerBound()) {
+                return SeatStatus.CERTAIN;
+            } else if (differentiatedSize.getFullSize() - index <= differentiatedSize.median()) {
+                return SeatStatus.LIKELY;
+            } else {
+                return SeatStatus.UNLIKELY;
+            }
+        }
+    }
+
+    /**
+     * Finds the first empty seat.
+     *
+     * @return The seat number of the first empty seat.
+     */
+    private int findFirstEmptySeat() {
+        int seatNumber = 0;
+        while (groupIndices[seatNumber] != EMPTY_SEAT) {
+            seatNumber++;
+        }
+        return seatNumber;
+    }
+
+    /**
+     * Returns the index of the parliamentary group holding a seat.
+     *
+     * @param seatNumber The seat number.
+     * @return The index of the parliamentary group holding the seat.
+     */
+    int getGroupIndex(final int seatNumber) {
+        return groupIndices[seatNumber];
+    }
+
+    /**
+     * Returns the status of a seat.
+     *
+     * @param seatNumber The seat number.
+     * @return The status of the seat.
+     */
+    SeatStatus getSeatStatus(final int seatNumber) {
+        return seatStatuses[seatNumber];
+    }
+}
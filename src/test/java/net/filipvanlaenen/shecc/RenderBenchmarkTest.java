@@ -0,0 +1,89 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>RenderBenchmark</code> class.
+ */
+public class RenderBenchmarkTest {
+    /**
+     * The hash code of the workload with version 1.
+     */
+    private static final int WORKLOAD_VERSION_1_HASH_CODE = 1_893_842_457;
+    /**
+     * The duration of the measurement in the tests, in milliseconds.
+     */
+    private static final long MEASUREMENT_MILLISECONDS = 200L;
+
+    /**
+     * Test verifying that the workload hasn't been changed without increasing its version, such that the results of
+     * the benchmark remain comparable across releases.
+     */
+    @Test
+    void workloadShouldNotBeChangedWithoutIncreasingItsVersion() {
+        assertEquals(1, RenderBenchmark.WORKLOAD_VERSION);
+        assertEquals(WORKLOAD_VERSION_1_HASH_CODE, RenderBenchmark.getWorkload().hashCode());
+    }
+
+    /**
+     * Test verifying that all the charts of the workload can be rendered.
+     */
+    @Test
+    void allChartsOfTheWorkloadShouldRender() {
+        CommandLineInterface cli = new CommandLineInterface();
+        for (List<String> chart : RenderBenchmark.getWorkload()) {
+            assertTrue(cli.perform(chart.toArray(new String[chart.size()])).startsWith("<svg"));
+        }
+    }
+
+    /**
+     * Test verifying that the workload can't be modified through its accessor.
+     */
+    @Test
+    void workloadShouldBeUnmodifiable() {
+        List<List<String>> workload = RenderBenchmark.getWorkload();
+        assertThrows(UnsupportedOperationException.class, () -> workload.set(0, List.of()));
+        assertThrows(UnsupportedOperationException.class, () -> workload.get(0).set(0, ""));
+    }
+
+    /**
+     * Test verifying that the report contains the workload version, the throughput and a line for every stage.
+     *
+     * @throws InterruptedException Thrown if the benchmark is interrupted.
+     */
+    @Test
+    void runShouldReportTheWorkloadVersionTheThroughputAndTheStages() throws InterruptedException {
+        String report = new RenderBenchmark(2, 0L, MEASUREMENT_MILLISECONDS).run();
+        assertTrue(report.startsWith("Workload version: 1 (8 charts)"));
+        assertTrue(report.contains("Threads: 2, warm-up: 0.0 s, measurement: 0.2 s"));
+        assertTrue(report.contains("Throughput: "));
+        assertTrue(report.contains(System.lineSeparator() + "layout "));
+        assertTrue(report.contains(System.lineSeparator() + "seating "));
+        assertTrue(report.contains(System.lineSeparator() + "total "));
+    }
+
+    /**
+     * Test verifying that a benchmark without threads is rejected.
+     */
+    @Test
+    void constructorShouldRejectZeroThreads() {
+        assertEquals("The number of threads should be strictly positive.", assertThrows(
+                IllegalArgumentException.class, () -> new RenderBenchmark(0, 0L, MEASUREMENT_MILLISECONDS))
+                        .getMessage());
+    }
+
+    /**
+     * Test verifying that a benchmark without a measurement is rejected.
+     */
+    @Test
+    void constructorShouldRejectAnEmptyMeasurement() {
+        assertEquals("The duration of the measurement should be strictly positive.",
+                assertThrows(IllegalArgumentException.class, () -> new RenderBenchmark(1, 0L, 0L)).getMessage());
+    }
+}
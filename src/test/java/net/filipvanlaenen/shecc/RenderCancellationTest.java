@@ -0,0 +1,106 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CancellationException;
+
+import org.junit.jupiter.api.Test;
+
+import net.filipvanlaenen.shecc.export.SeatingPlanExporter;
+
+/**
+ * Unit tests on the <code>RenderCancellation</code> class.
+ */
+public class RenderCancellationTest {
+    /**
+     * The number of seats of a huge chart.
+     */
+    private static final int HUGE_NUMBER_OF_SEATS = 10_000_000;
+    /**
+     * Magic number for the color red.
+     */
+    private static final int RED = 0xFF0000;
+    /**
+     * The magic number five.
+     */
+    private static final int FIVE = 5;
+
+    /**
+     * Test verifying that a cancelled cancellation aborts the calculation of the hemicycle layout of a huge chart.
+     */
+    @Test
+    void cancelShouldAbortTheLayout() {
+        RenderCancellation cancellation = RenderCancellation.create();
+        cancellation.cancel();
+        try (RenderCancellation.Scope scope = cancellation.enter()) {
+            assertEquals("The rendering was cancelled.", assertThrows(CancellationException.class,
+                    () -> new HemicycleLayout(HUGE_NUMBER_OF_SEATS).getSeatPositions()).getMessage());
+        }
+    }
+
+    /**
+     * Test verifying that an expired deadline aborts the seating, with a message mentioning the time limit.
+     *
+     * @throws InterruptedException Thrown if the test is interrupted while waiting for the deadline to expire.
+     */
+    @Test
+    void deadlineShouldAbortTheSeating() throws InterruptedException {
+        HemicycleLayout layout = new HemicycleLayout(FIVE);
+        try (RenderCancellation.Scope scope = RenderCancellation.withTimeLimit(1L).enter()) {
+            Thread.sleep(FIVE);
+            assertEquals("The rendering was cancelled because it exceeded its time limit of 1 ms.",
+                    assertThrows(CancellationException.class,
+                            () -> new RowConnectedSeatingPlan(layout.getSeatPositions(),
+                                    new ParliamentaryGroup(FIVE, RED))).getMessage());
+        }
+    }
+
+    /**
+     * Test verifying that interrupting the thread aborts the export, and that the interrupt status is left untouched.
+     */
+    @Test
+    void interruptShouldAbortTheExport() {
+        RowConnectedSeatingPlan plan = new RowConnectedSeatingPlan(new HemicycleLayout(FIVE).getSeatPositions(),
+                new ParliamentaryGroup(FIVE, RED));
+        try (RenderCancellation.Scope scope = RenderCancellation.create().enter()) {
+            Thread.currentThread().interrupt();
+            assertThrows(CancellationException.class, () -> new SeatingPlanExporter().export(plan));
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+    }
+
+    /**
+     * Test verifying that a cancellation has no effect outside its scope, and that closing the scope reactivates the
+     * cancellation that was active before.
+     */
+    @Test
+    void cancellationShouldOnlyBeActiveWithinItsScope() {
+        RenderCancellation outer = RenderCancellation.create();
+        RenderCancellation inner = RenderCancellation.create();
+        inner.cancel();
+        try (RenderCancellation.Scope outerScope = outer.enter()) {
+            try (RenderCancellation.Scope innerScope = inner.enter()) {
+                assertThrows(CancellationException.class, RenderCancellation::checkpoint);
+            }
+            assertSame(outer, RenderCancellation.current());
+            RenderCancellation.checkpoint();
+        }
+        assertNull(RenderCancellation.current());
+        RenderCancellation.checkpoint();
+    }
+
+    /**
+     * Test verifying that the checkpoint mask makes a loop check about once per checkpoint interval.
+     */
+    @Test
+    void checkpointMaskShouldScaleWithTheWorkPerIteration() {
+        assertEquals(RenderCancellation.CHECKPOINT_INTERVAL - 1, RenderCancellation.calculateCheckpointMask(1L));
+        assertEquals(0, RenderCancellation.calculateCheckpointMask(RenderCancellation.CHECKPOINT_INTERVAL));
+        assertEquals(0, RenderCancellation.calculateCheckpointMask(Long.MAX_VALUE));
+    }
+}
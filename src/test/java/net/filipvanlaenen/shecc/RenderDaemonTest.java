@@ -0,0 +1,273 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>RenderDaemon</code> class.
+ */
+public class RenderDaemonTest {
+    /**
+     * The magic number four.
+     */
+    private static final int FOUR = 4;
+    /**
+     * The number of bytes in the header of a response.
+     */
+    private static final int RESPONSE_HEADER_LENGTH = 5;
+    /**
+     * The number of concurrent clients.
+     */
+    private static final int NUMBER_OF_CLIENTS = 8;
+    /**
+     * The arguments for a chart.
+     */
+    private static final String[] CHART_ARGS = new String[] {"2:3.FF0000.Red.R,1.0000FF.Blue.B", "--title=Ünïcödé"};
+
+    /**
+     * The directory with the socket file.
+     */
+    private Path directory;
+    /**
+     * The daemon under test.
+     */
+    private RenderDaemon daemon;
+
+    /**
+     * The response from the daemon.
+     *
+     * @param status The status of the response.
+     * @param body   The body of the response.
+     */
+    private record Response(byte status, byte[] body) {
+    }
+
+    /**
+     * Starts a daemon on a socket file in a temporary directory.
+     *
+     * @throws IOException Thrown if the daemon can't be started.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("shecc-daemon");
+        daemon = new RenderDaemon(directory.resolve("shecc.sock"), FOUR);
+        daemon.start();
+    }
+
+    /**
+     * Stops the daemon, and removes the temporary directory.
+     *
+     * @throws IOException Thrown if the temporary directory can't be removed.
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        daemon.stop();
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Opens a connection to the daemon.
+     *
+     * @return A channel for the connection.
+     * @throws IOException Thrown if the connection can't be opened.
+     */
+    private SocketChannel connect() throws IOException {
+        SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+        channel.connect(UnixDomainSocketAddress.of(daemon.getSocketPath()));
+        return channel;
+    }
+
+    /**
+     * Sends a request over a connection, and reads the response.
+     *
+     * @param channel The channel for the connection.
+     * @param body    The body of the request.
+     * @return The response.
+     * @throws IOException Thrown if an error occurs while sending the request or reading the response.
+     */
+    private static Response request(final SocketChannel channel, final byte[] body) throws IOException {
+        ByteBuffer request = ByteBuffer.allocate(Integer.BYTES + body.length);
+        request.putInt(body.length).put(body).flip();
+        while (request.hasRemaining()) {
+            channel.write(request);
+        }
+        ByteBuffer header = ByteBuffer.allocate(RESPONSE_HEADER_LENGTH);
+        RenderDaemon.readFully(channel, header);
+        ByteBuffer responseBody = ByteBuffer.allocate(header.getInt(1));
+        RenderDaemon.readFully(channel, responseBody);
+        return new Response(header.get(0), responseBody.array());
+    }
+
+    /**
+     * Test verifying that the arguments are encoded and decoded correctly.
+     */
+    @Test
+    void argumentsShouldBeEncodedAndDecodedCorrectly() {
+        assertArrayEquals(CHART_ARGS, RenderDaemon.decodeArguments(RenderDaemon.encodeArguments(CHART_ARGS)));
+        assertArrayEquals(new String[0], RenderDaemon.decodeArguments(new byte[0]));
+    }
+
+    /**
+     * Test verifying that several requests over the same connection produce the same charts as the command-line
+     * interface.
+     *
+     * @throws IOException Thrown if an error occurs while talking to the daemon.
+     */
+    @Test
+    void daemonShouldRenderSeveralChartsOverTheSameConnection() throws IOException {
+        byte[] expected = new CommandLineInterface().perform(CHART_ARGS).getBytes(StandardCharsets.UTF_8);
+        try (SocketChannel channel = connect()) {
+            for (int i = 0; i < 2; i++) {
+                Response response = request(channel, RenderDaemon.encodeArguments(CHART_ARGS));
+                assertEquals(RenderDaemon.OK, response.status());
+                assertArrayEquals(expected, response.body());
+            }
+        }
+    }
+
+    /**
+     * Test verifying that an invalid chart produces an error response, and that the connection can still be used.
+     *
+     * @throws IOException Thrown if an error occurs while talking to the daemon.
+     */
+    @Test
+    void daemonShouldReturnAnErrorForAnInvalidChart() throws IOException {
+        try (SocketChannel channel = connect()) {
+            Response response = request(channel, RenderDaemon.encodeArguments("--title=No groups"));
+            assertEquals(RenderDaemon.ERROR, response.status());
+            assertEquals("The chart couldn't be rendered: java.lang.IllegalArgumentException: The groups definition"
+                    + " is missing..", new String(response.body(), StandardCharsets.UTF_8));
+            assertEquals(RenderDaemon.OK, request(channel, RenderDaemon.encodeArguments(CHART_ARGS)).status());
+        }
+    }
+
+    /**
+     * Test verifying that concurrent clients all get their chart.
+     *
+     * @throws Exception Thrown if an error occurs while talking to the daemon.
+     */
+    @Test
+    void daemonShouldHandleConcurrentClients() throws Exception {
+        byte[] expected = new CommandLineInterface().perform(CHART_ARGS).getBytes(StandardCharsets.UTF_8);
+        ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_CLIENTS);
+        try {
+            List<Future<Response>> responses = new ArrayList<Future<Response>>();
+            for (int i = 0; i < NUMBER_OF_CLIENTS; i++) {
+                responses.add(executor.submit(() -> {
+                    try (SocketChannel channel = connect()) {
+                        return request(channel, RenderDaemon.encodeArguments(CHART_ARGS));
+                    }
+                }));
+            }
+            for (Future<Response> response : responses) {
+                assertArrayEquals(expected, response.get().body());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test verifying that the header of a response is sent when the body is empty.
+     *
+     * @throws IOException Thrown if an error occurs while sending or reading the response.
+     */
+    @Test
+    void sendResponseShouldSendTheHeaderForAnEmptyBody() throws IOException {
+        Path socketPath = directory.resolve("empty.sock");
+        try (ServerSocketChannel serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            serverChannel.bind(UnixDomainSocketAddress.of(socketPath));
+            try (SocketChannel client = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+                client.connect(UnixDomainSocketAddress.of(socketPath));
+                try (SocketChannel server = serverChannel.accept()) {
+                    RenderDaemon.sendResponse(server, RenderDaemon.OK, new byte[0]);
+                }
+                ByteBuffer header = ByteBuffer.allocate(RESPONSE_HEADER_LENGTH);
+                assertTrue(RenderDaemon.readFully(client, header));
+                assertEquals(RenderDaemon.OK, header.get(0));
+                assertEquals(0, header.getInt(1));
+            }
+        } finally {
+            Files.deleteIfExists(socketPath);
+        }
+    }
+
+    /**
+     * Test verifying that a connection above the maximum number of connections gets an error response, while the
+     * connections below the maximum are still served.
+     *
+     * @throws IOException Thrown if an error occurs while talking to the daemon.
+     */
+    @Test
+    void daemonShouldRejectConnectionsAboveTheMaximum() throws IOException {
+        RenderDaemon limitedDaemon =
+                new RenderDaemon(directory.resolve("limited.sock"), FOUR, RenderLimits.UNLIMITED, 1);
+        limitedDaemon.start();
+        try (SocketChannel first = SocketChannel.open(StandardProtocolFamily.UNIX);
+                SocketChannel second = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            first.connect(UnixDomainSocketAddress.of(limitedDaemon.getSocketPath()));
+            assertEquals(RenderDaemon.OK, request(first, RenderDaemon.encodeArguments(CHART_ARGS)).status());
+            second.connect(UnixDomainSocketAddress.of(limitedDaemon.getSocketPath()));
+            Response response = request(second, RenderDaemon.encodeArguments(CHART_ARGS));
+            assertEquals(RenderDaemon.ERROR, response.status());
+            assertEquals("The daemon is handling the maximum number of connections already.",
+                    new String(response.body(), StandardCharsets.UTF_8));
+            assertEquals(RenderDaemon.OK, request(first, RenderDaemon.encodeArguments(CHART_ARGS)).status());
+        } finally {
+            limitedDaemon.stop();
+        }
+    }
+
+    /**
+     * Test verifying that a daemon refuses to use a socket file that exists already.
+     */
+    @Test
+    void constructorShouldRejectAnExistingSocketFile() {
+        assertThrows(IllegalArgumentException.class, () -> new RenderDaemon(daemon.getSocketPath(), FOUR));
+    }
+
+    /**
+     * Test verifying that the time to wait after a failure to accept a connection starts at the minimum, doubles with
+     * every consecutive failure, and doesn't exceed the maximum.
+     */
+    @Test
+    void acceptBackoffShouldDoubleUpToTheMaximum() {
+        assertEquals(RenderDaemon.MINIMUM_ACCEPT_BACKOFF_MILLISECONDS, RenderDaemon.calculateAcceptBackoff(1));
+        assertEquals(2 * RenderDaemon.MINIMUM_ACCEPT_BACKOFF_MILLISECONDS, RenderDaemon.calculateAcceptBackoff(2));
+        assertEquals(RenderDaemon.MAXIMUM_ACCEPT_BACKOFF_MILLISECONDS,
+                RenderDaemon.calculateAcceptBackoff(Integer.MAX_VALUE));
+    }
+
+    /**
+     * Test verifying that stopping the daemon removes the socket file.
+     *
+     * @throws IOException Thrown if the daemon can't be stopped.
+     */
+    @Test
+    void stopShouldRemoveTheSocketFile() throws IOException {
+        daemon.stop();
+        assertFalse(Files.exists(daemon.getSocketPath()));
+    }
+}
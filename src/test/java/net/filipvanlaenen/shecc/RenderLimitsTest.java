@@ -0,0 +1,115 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>RenderLimits</code> record.
+ */
+public class RenderLimitsTest {
+    /**
+     * The magic number three.
+     */
+    private static final int THREE = 3;
+    /**
+     * The magic number ten.
+     */
+    private static final int TEN = 10;
+    /**
+     * Magic number for the color red.
+     */
+    private static final int RED = 0xFF0000;
+    /**
+     * Magic number for the color blue.
+     */
+    private static final int BLUE = 0x0000FF;
+    /**
+     * Limits allowing ten seats, two parliamentary groups, two colors per parliamentary group and ten bytes of output.
+     */
+    private static final RenderLimits LIMITS = new RenderLimits(TEN, 2, 2, TEN);
+
+    /**
+     * Test verifying that parliamentary groups within the limits are accepted.
+     */
+    @Test
+    void checkShouldAcceptGroupsWithinTheLimits() {
+        LIMITS.check(new ParliamentaryGroup(THREE, new int[] {RED, BLUE}), new ParliamentaryGroup(THREE + THREE, BLUE));
+    }
+
+    /**
+     * Test verifying that too many seats are rejected.
+     */
+    @Test
+    void checkShouldRejectTooManySeats() {
+        assertEquals("The chart has 11 seats, but at most 10 are allowed.",
+                assertThrows(IllegalArgumentException.class,
+                        () -> LIMITS.check(new ParliamentaryGroup(TEN, RED), new ParliamentaryGroup(1, BLUE)))
+                                .getMessage());
+    }
+
+    /**
+     * Test verifying that too many parliamentary groups are rejected.
+     */
+    @Test
+    void checkShouldRejectTooManyGroups() {
+        assertEquals("The chart has 3 parliamentary groups, but at most 2 are allowed.",
+                assertThrows(IllegalArgumentException.class, () -> LIMITS.check(new ParliamentaryGroup(1, RED),
+                        new ParliamentaryGroup(1, BLUE), new ParliamentaryGroup(1, RED))).getMessage());
+    }
+
+    /**
+     * Test verifying that a parliamentary group with too many colors is rejected.
+     */
+    @Test
+    void checkShouldRejectTooManyColors() {
+        assertEquals("A parliamentary group has 3 colors, but at most 2 are allowed.",
+                assertThrows(IllegalArgumentException.class,
+                        () -> LIMITS.check(new ParliamentaryGroup(1, new int[] {RED, BLUE, RED}))).getMessage());
+    }
+
+    /**
+     * Test verifying that the output is counted in bytes encoded in UTF-8 when it's returned as a string.
+     */
+    @Test
+    void checkOutputShouldCountTheBytesOfAString() {
+        LIMITS.checkOutput("ééééé");
+        assertThrows(IllegalArgumentException.class, () -> LIMITS.checkOutput("éééééa"));
+    }
+
+    /**
+     * Test verifying that the limited appendable rejects the output as soon as it exceeds the limit.
+     *
+     * @throws IOException Thrown if an error occurs while appending.
+     */
+    @Test
+    void limitOutputShouldRejectTheOutputAsSoonAsItExceedsTheLimit() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        Appendable out = LIMITS.limitOutput(sb);
+        out.append("ééééé");
+        assertThrows(IllegalArgumentException.class, () -> out.append('a'));
+        assertEquals("ééééé", sb.toString());
+    }
+
+    /**
+     * Test verifying that the output isn't wrapped if there's no limit on the number of bytes.
+     */
+    @Test
+    void limitOutputShouldNotWrapTheOutputWithoutALimit() {
+        StringBuilder sb = new StringBuilder();
+        assertSame(sb, RenderLimits.UNLIMITED.limitOutput(sb));
+    }
+
+    /**
+     * Test verifying that a limit that isn't strictly positive is rejected.
+     */
+    @Test
+    void constructorShouldRejectALimitOfZero() {
+        assertEquals("The maximum number of seats should be strictly positive.",
+                assertThrows(IllegalArgumentException.class, () -> new RenderLimits(0, 1, 1, 1L)).getMessage());
+    }
+}
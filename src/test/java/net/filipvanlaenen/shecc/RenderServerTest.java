@@ -0,0 +1,247 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>RenderServer</code> class.
+ */
+public class RenderServerTest {
+    /**
+     * The magic number four.
+     */
+    private static final int FOUR = 4;
+    /**
+     * The magic number two hundred.
+     */
+    private static final int TWO_HUNDRED = 200;
+    /**
+     * The HTTP status code for a successful request.
+     */
+    private static final int OK = 200;
+    /**
+     * The HTTP status code for a bad request.
+     */
+    private static final int BAD_REQUEST = 400;
+    /**
+     * The HTTP status code for a resource that can't be found.
+     */
+    private static final int NOT_FOUND = 404;
+    /**
+     * The HTTP status code for a method that isn't allowed.
+     */
+    private static final int METHOD_NOT_ALLOWED = 405;
+    /**
+     * The HTTP status code for a time-out.
+     */
+    private static final int GATEWAY_TIMEOUT = 504;
+    /**
+     * A request timeout long enough for any chart in the tests.
+     */
+    private static final long LONG_TIMEOUT = 60_000L;
+    /**
+     * The HTTP client used in the tests.
+     */
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+
+    /**
+     * The server under test.
+     */
+    private RenderServer server;
+
+    /**
+     * Stops the server.
+     */
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    /**
+     * Starts a server on a free port.
+     *
+     * @param requestTimeout The request timeout in milliseconds.
+     * @throws IOException Thrown if the server can't be started.
+     */
+    private void startServer(final long requestTimeout) throws IOException {
+        server = new RenderServer(0, FOUR, requestTimeout);
+        server.start();
+    }
+
+    /**
+     * Sends a GET request to the server.
+     *
+     * @param pathAndQuery The path and the query of the request.
+     * @return The response.
+     * @throws IOException          Thrown if an error occurs while sending the request.
+     * @throws InterruptedException Thrown if the request is interrupted.
+     */
+    private HttpResponse<String> get(final String pathAndQuery) throws IOException, InterruptedException {
+        HttpRequest request =
+                HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + pathAndQuery)).build();
+        return CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Test verifying that the health endpoint returns OK.
+     *
+     * @throws Exception Thrown if an error occurs while sending the request.
+     */
+    @Test
+    void healthShouldReturnOk() throws Exception {
+        startServer(LONG_TIMEOUT);
+        HttpResponse<String> response = get("/health");
+        assertEquals(OK, response.statusCode());
+        assertEquals("OK", response.body());
+    }
+
+    /**
+     * Test verifying that the render endpoint returns the same SVG as the command-line interface.
+     *
+     * @throws Exception Thrown if an error occurs while sending the request.
+     */
+    @Test
+    void renderShouldReturnTheSameSvgAsTheCommandLineInterface() throws Exception {
+        startServer(LONG_TIMEOUT);
+        HttpResponse<String> response = get("/render?groups=2.FF0000.Red%20Party,1.0000FF.Blue&title=A%20Title");
+        assertEquals(OK, response.statusCode());
+        assertEquals("image/svg+xml; charset=UTF-8", response.headers().firstValue("Content-Type").get());
+        assertEquals(new CommandLineInterface().perform("2.FF0000.Red Party,1.0000FF.Blue", "--title=A Title"),
+                response.body());
+    }
+
+    /**
+     * Test verifying that the render endpoint returns a bad request for an invalid groups definition.
+     *
+     * @throws Exception Thrown if an error occurs while sending the request.
+     */
+    @Test
+    void renderShouldReturnBadRequestForAnInvalidGroupsDefinition() throws Exception {
+        startServer(LONG_TIMEOUT);
+        assertEquals(BAD_REQUEST, get("/render?groups=2.XYZ").statusCode());
+    }
+
+    /**
+     * Test verifying that the render endpoint returns a bad request when the groups definition is missing.
+     *
+     * @throws Exception Thrown if an error occurs while sending the request.
+     */
+    @Test
+    void renderShouldReturnBadRequestWithoutGroupsDefinition() throws Exception {
+        startServer(LONG_TIMEOUT);
+        assertEquals(BAD_REQUEST, get("/render?title=Title").statusCode());
+    }
+
+    /**
+     * Test verifying that the render endpoint returns a time-out when the chart can't be rendered in time, no matter
+     * whether the request timeout or the deadline of the rendering expires first. The chart is large enough to never
+     * be rendered within a millisecond.
+     *
+     * @throws Exception Thrown if an error occurs while sending the request.
+     */
+    @Test
+    void renderShouldReturnTimeOutWhenTheChartCantBeRenderedInTime() throws Exception {
+        startServer(1L);
+        assertEquals(GATEWAY_TIMEOUT, get("/render?groups=200000.FF0000,200000.0000FF").statusCode());
+    }
+
+    /**
+     * Test verifying that a rendering aborted by its deadline is reported as a time-out, and not as a bad request.
+     *
+     * @throws Exception Thrown if an error occurs while sending the request.
+     */
+    @Test
+    void renderShouldReturnTimeOutWhenTheRenderingIsCancelled() throws Exception {
+        startServer(1L);
+        for (int i = 0; i < FOUR; i++) {
+            HttpResponse<String> response = get("/render?groups=200000.FF0000,200000.0000FF");
+            assertEquals(GATEWAY_TIMEOUT, response.statusCode());
+            assertEquals("The chart couldn't be rendered within the request timeout.", response.body());
+        }
+    }
+
+    /**
+     * Test verifying that requests cancelled while their rendering is still waiting for a thread don't leak their
+     * permits, such that the full concurrency limit is available again once the renderings have stopped.
+     *
+     * @throws Exception Thrown if an error occurs while sending the requests.
+     */
+    @Test
+    void cancelledRequestsShouldNotLeakPermits() throws Exception {
+        server = new RenderServer(0, 1, 1L);
+        server.start();
+        ExecutorService clients = Executors.newFixedThreadPool(FOUR);
+        try {
+            List<Callable<HttpResponse<String>>> requests = new ArrayList<Callable<HttpResponse<String>>>();
+            for (int i = 0; i < TWO_HUNDRED; i++) {
+                requests.add(() -> get("/render?groups=200.FF0000,200.0000FF"));
+            }
+            clients.invokeAll(requests);
+        } finally {
+            clients.shutdownNow();
+        }
+        long deadline = System.currentTimeMillis() + LONG_TIMEOUT;
+        while (server.getAvailablePermits() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1L);
+        }
+        assertEquals(1, server.getAvailablePermits());
+    }
+
+    /**
+     * Test verifying that an unknown path returns not found.
+     *
+     * @throws Exception Thrown if an error occurs while sending the request.
+     */
+    @Test
+    void unknownPathShouldReturnNotFound() throws Exception {
+        startServer(LONG_TIMEOUT);
+        assertEquals(NOT_FOUND, get("/unknown").statusCode());
+    }
+
+    /**
+     * Test verifying that other methods than GET aren't allowed.
+     *
+     * @throws Exception Thrown if an error occurs while sending the request.
+     */
+    @Test
+    void postShouldNotBeAllowed() throws Exception {
+        startServer(LONG_TIMEOUT);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/health"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build();
+        assertEquals(METHOD_NOT_ALLOWED, CLIENT.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    /**
+     * Test verifying that a query is converted into command-line arguments, with the groups definition last.
+     */
+    @Test
+    void parseQueryShouldConvertAQueryIntoCommandLineArguments() {
+        assertArrayEquals(new String[] {"--title=A Title", "2.FF0000,1.0000FF"},
+                RenderServer.parseQuery("groups=2.FF0000%2C1.0000FF&title=A+Title"));
+    }
+
+    /**
+     * Test verifying that a server can't be constructed without a concurrency limit.
+     */
+    @Test
+    void constructorShouldRejectAZeroConcurrencyLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new RenderServer(0, 0, LONG_TIMEOUT));
+    }
+}
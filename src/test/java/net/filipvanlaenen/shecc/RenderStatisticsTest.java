@@ -0,0 +1,91 @@
+package net.filipvanlaenen.shecc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>RenderStatistics</code> class.
+ */
+public class RenderStatisticsTest {
+    /**
+     * The magic number three.
+     */
+    private static final long THREE = 3L;
+    /**
+     * The magic number five.
+     */
+    private static final long FIVE = 5L;
+
+    /**
+     * Test verifying that a stage started twice accumulates its measurements.
+     */
+    @Test
+    void aStageStartedTwiceShouldAccumulateItsMeasurements() {
+        RenderStatistics statistics = new RenderStatistics();
+        statistics.startStage("a");
+        statistics.endStage();
+        long first = statistics.getNanoseconds("a");
+        statistics.startStage("a");
+        statistics.endStage();
+        assertTrue(statistics.getNanoseconds("a") >= first);
+    }
+
+    /**
+     * Test verifying that starting a stage ends the current stage.
+     */
+    @Test
+    void startingAStageShouldEndTheCurrentStage() {
+        RenderStatistics statistics = new RenderStatistics();
+        statistics.startStage("a");
+        statistics.startStage("b");
+        statistics.endStage();
+        assertTrue(statistics.getNanoseconds("a") >= 0L);
+        assertTrue(statistics.getNanoseconds("b") >= 0L);
+    }
+
+    /**
+     * Test verifying that ending a stage without starting one is rejected.
+     */
+    @Test
+    void endingAStageWithoutStartingOneShouldBeRejected() {
+        assertThrows(IllegalStateException.class, () -> new RenderStatistics().endStage());
+    }
+
+    /**
+     * Test verifying that values added to a count are summed.
+     */
+    @Test
+    void valuesAddedToACountShouldBeSummed() {
+        RenderStatistics statistics = new RenderStatistics();
+        statistics.addToCount(RenderStatistics.SEATS_COUNT, 2L);
+        statistics.addToCount(RenderStatistics.SEATS_COUNT, THREE);
+        assertEquals(FIVE, statistics.getCount(RenderStatistics.SEATS_COUNT));
+    }
+
+    /**
+     * Test verifying that start tags and empty-element tags are counted as elements, but not end tags.
+     */
+    @Test
+    void countElementsShouldCountStartTagsAndEmptyElementTags() {
+        assertEquals(THREE, RenderStatistics.countElements("<svg><g><circle/></g></svg>"));
+    }
+
+    /**
+     * Test verifying that the report contains a line per stage, a total line and the counts.
+     */
+    @Test
+    void toStringShouldReportTheStagesTheTotalAndTheCounts() {
+        RenderStatistics statistics = new RenderStatistics();
+        statistics.startStage(RenderStatistics.PARSING_STAGE);
+        statistics.endStage();
+        statistics.addToCount(RenderStatistics.SEATS_COUNT, FIVE);
+        String[] lines = statistics.toString().split("\\R");
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].startsWith("parsing "));
+        assertTrue(lines[2].startsWith("total "));
+        assertEquals("seats: 5", lines[(int) THREE]);
+    }
+}
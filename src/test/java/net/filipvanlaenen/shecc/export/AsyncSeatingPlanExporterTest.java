@@ -0,0 +1,195 @@
+package net.filipvanlaenen.shecc.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import net.filipvanlaenen.shecc.HemicycleLayout;
+import net.filipvanlaenen.shecc.HemicycleLayoutCache;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+
+/**
+ * Unit tests on the <code>AsyncSeatingPlanExporter</code> class.
+ */
+public class AsyncSeatingPlanExporterTest {
+    /**
+     * Magic number for the color red.
+     */
+    private static final int RED = 0xFF0000;
+    /**
+     * Magic number for the color blue.
+     */
+    private static final int BLUE = 0x0000FF;
+    /**
+     * The magic number three.
+     */
+    private static final int THREE = 3;
+    /**
+     * The magic number four.
+     */
+    private static final int FOUR = 4;
+    /**
+     * The number of seats of a chart taking seconds to render.
+     */
+    private static final int HUGE_NUMBER_OF_SEATS = 2_000_000;
+    /**
+     * The time in seconds a cancelled chart may take to stop.
+     */
+    private static final long STOP_TIMEOUT = 2L;
+
+    /**
+     * The executor on which the charts are rendered in the tests.
+     */
+    private final ExecutorService executor = Executors.newFixedThreadPool(FOUR);
+
+    /**
+     * Shuts down the executor.
+     */
+    @AfterEach
+    void shutDownExecutor() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Creates an exporter with a legend and a title.
+     *
+     * @return An exporter with a legend and a title.
+     */
+    private static SeatingPlanExporter createExporter() {
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        exporter.setDisplayLegend(true);
+        exporter.setTitle("Title");
+        return exporter;
+    }
+
+    /**
+     * Test verifying that the chart is the same as the chart exported synchronously.
+     *
+     * @throws ExecutionException   Thrown if the chart couldn't be rendered.
+     * @throws InterruptedException Thrown if the test is interrupted while waiting for the chart.
+     */
+    @Test
+    void exportShouldProduceTheSameChartAsTheSynchronousExport() throws ExecutionException, InterruptedException {
+        ParliamentaryGroup red = new ParliamentaryGroup(2, RED, "Red", "R");
+        ParliamentaryGroup blue = new ParliamentaryGroup(1, BLUE, "Blue", "B");
+        String expected = createExporter()
+                .export(new RowConnectedSeatingPlan(new HemicycleLayout(THREE).getSeatPositions(), red, blue));
+        assertEquals(expected, createExporter().async(executor).export(red, blue).get());
+    }
+
+    /**
+     * Test verifying that charts rendered in parallel share the hemicycle layouts.
+     *
+     * @throws ExecutionException   Thrown if a chart couldn't be rendered.
+     * @throws InterruptedException Thrown if the test is interrupted while waiting for the charts.
+     */
+    @Test
+    void chartsRenderedInParallelShouldShareTheLayouts() throws ExecutionException, InterruptedException {
+        SeatingPlanExporter exporter = createExporter();
+        AsyncSeatingPlanExporter asyncExporter = exporter.async(executor);
+        CompletableFuture<String> first =
+                asyncExporter.export(new ParliamentaryGroup(2, RED), new ParliamentaryGroup(1, BLUE));
+        CompletableFuture<String> second =
+                asyncExporter.export(new ParliamentaryGroup(1, RED), new ParliamentaryGroup(2, BLUE));
+        CompletableFuture<String> third = asyncExporter.export(new ParliamentaryGroup(FOUR, RED));
+        CompletableFuture.allOf(first, second, third).get();
+        assertEquals(2, asyncExporter.getLayoutCache().size());
+    }
+
+    /**
+     * Test verifying that creating an asynchronous exporter doesn't set a cache with hemicycle layouts on the
+     * exporter.
+     *
+     * @throws ExecutionException   Thrown if the chart couldn't be rendered.
+     * @throws InterruptedException Thrown if the test is interrupted while waiting for the chart.
+     */
+    @Test
+    void asyncShouldNotSetALayoutCacheOnTheExporter() throws ExecutionException, InterruptedException {
+        SeatingPlanExporter exporter = createExporter();
+        AsyncSeatingPlanExporter asyncExporter = exporter.async(executor);
+        asyncExporter.export(new ParliamentaryGroup(THREE, RED)).get();
+        assertNull(exporter.getLayoutCache());
+        assertEquals(1, asyncExporter.getLayoutCache().size());
+    }
+
+    /**
+     * Test verifying that the cache with hemicycle layouts of the exporter is used if it has one.
+     *
+     * @throws ExecutionException   Thrown if the chart couldn't be rendered.
+     * @throws InterruptedException Thrown if the test is interrupted while waiting for the chart.
+     */
+    @Test
+    void exportShouldUseTheLayoutCacheOfTheExporter() throws ExecutionException, InterruptedException {
+        SeatingPlanExporter exporter = createExporter();
+        HemicycleLayoutCache layoutCache = new HemicycleLayoutCache();
+        exporter.setLayoutCache(layoutCache);
+        AsyncSeatingPlanExporter asyncExporter = exporter.async(executor);
+        asyncExporter.export(new ParliamentaryGroup(THREE, RED)).get();
+        assertSame(layoutCache, asyncExporter.getLayoutCache());
+        assertEquals(1, layoutCache.size());
+    }
+
+    /**
+     * Test verifying that cancelling the future stops the rendering of a chart in progress, without adding its layout
+     * to the cache.
+     *
+     * @throws InterruptedException Thrown if the test is interrupted while waiting for the rendering.
+     */
+    @Test
+    void cancellingTheFutureShouldStopTheRenderingInProgress() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch stopped = new CountDownLatch(1);
+        SeatingPlanExporter exporter = createExporter();
+        AsyncSeatingPlanExporter asyncExporter = exporter.async(runnable -> executor.execute(() -> {
+            started.countDown();
+            runnable.run();
+            stopped.countDown();
+        }));
+        CompletableFuture<String> chart = asyncExporter.export(new ParliamentaryGroup(HUGE_NUMBER_OF_SEATS, RED));
+        started.await();
+        assertTrue(chart.cancel(true));
+        assertTrue(stopped.await(STOP_TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(0, asyncExporter.getLayoutCache().size());
+    }
+
+    /**
+     * Test verifying that a chart is skipped if its future was completed before the executor ran it.
+     */
+    @Test
+    void chartShouldBeSkippedIfTheFutureWasCompletedBeforeItStarted() {
+        Runnable[] task = new Runnable[1];
+        AsyncSeatingPlanExporter asyncExporter = createExporter().async(runnable -> task[0] = runnable);
+        CompletableFuture<String> chart = asyncExporter.export(new ParliamentaryGroup(THREE, RED));
+        chart.complete("cached");
+        task[0].run();
+        assertEquals("cached", chart.join());
+        assertEquals(0, asyncExporter.getLayoutCache().size());
+    }
+
+    /**
+     * Test verifying that the future is completed exceptionally if the chart can't be rendered.
+     */
+    @Test
+    void futureShouldBeCompletedExceptionallyIfTheChartCantBeRendered() {
+        CompletableFuture<String> chart = createExporter().async(runnable -> {
+            throw new RejectedExecutionException();
+        }).export(new ParliamentaryGroup(THREE, RED));
+        assertFalse(chart.isCancelled());
+        assertTrue(assertThrows(ExecutionException.class, chart::get).getCause() instanceof RejectedExecutionException);
+    }
+}
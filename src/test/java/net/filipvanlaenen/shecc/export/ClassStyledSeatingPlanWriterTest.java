@@ -0,0 +1,178 @@
+package net.filipvanlaenen.shecc.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import net.filipvanlaenen.kolektoj.SortedCollection;
+import net.filipvanlaenen.shecc.DifferentiatedGroupSize;
+import net.filipvanlaenen.shecc.HemicycleLayout;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+import net.filipvanlaenen.shecc.SeatPosition;
+
+/**
+ * Unit tests on the <code>ClassStyledSeatingPlanWriter</code> class.
+ */
+public class ClassStyledSeatingPlanWriterTest {
+    /**
+     * Magic number for the color red.
+     */
+    private static final int RED = 0xFF0000;
+    /**
+     * Magic number for the color blue.
+     */
+    private static final int BLUE = 0x0000FF;
+    /**
+     * Magic number for the color magenta.
+     */
+    private static final int MAGENTA = 0xFF00FF;
+    /**
+     * The magic number three.
+     */
+    private static final int THREE = 3;
+    /**
+     * A differentiated group size of 1, 2 and 3.
+     */
+    private static final DifferentiatedGroupSize DIFFERENTIATED123 = new DifferentiatedGroupSize(1, 2, THREE);
+    /**
+     * The seat positions for a hemicycle layout with three seats.
+     */
+    private static final SortedCollection<SeatPosition> THREE_SEAT_POSITIONS =
+            new HemicycleLayout(THREE).getSeatPositions();
+
+    /**
+     * Writes a seating plan using class-based styling.
+     *
+     * @param exporter The exporter holding the settings for the chart.
+     * @param plan     The seating plan.
+     * @return A string with the SVG document.
+     */
+    private static String write(final SeatingPlanExporter exporter, final RowConnectedSeatingPlan plan) {
+        StringBuilder sb = new StringBuilder();
+        new ClassStyledSeatingPlanWriter(exporter, plan, exporter.calculateDimensions(plan), sb).write();
+        return sb.toString();
+    }
+
+    /**
+     * Test verifying that a seating plan with letters is written with a class per parliamentary group and a class for
+     * the characters on the seats.
+     */
+    @Test
+    void writeTwoRedAndOneBlueSeatsWithLetters() {
+        RowConnectedSeatingPlan plan = new RowConnectedSeatingPlan(THREE_SEAT_POSITIONS,
+                new ParliamentaryGroup(2, RED, null, "R"), new ParliamentaryGroup(1, BLUE, null, "B"));
+        String actual = write(new SeatingPlanExporter(), plan);
+        String expected = "<svg height=\"788.15216\" viewBox=\"-0.316178 -1.05 0.632355 0.788152\""
+                + " width=\"632.355228\" xmlns=\"http://www.w3.org/2000/svg\">\n" + "  <style>\n"
+                + "    .g0c0{fill:#FF0000}\n" + "    .g1c0{fill:#0000FF}\n"
+                + "    .s{fill:white;font-size:0.1px;text-anchor:middle;}\n"
+                + "    .n{fill:black;font-size:0.007882px;text-anchor:end;}\n" + "  </style>\n" + "  <g>\n"
+                + "    <g>\n" + "      <g>\n" + "        <circle class=\"g0c0\" cx=\"0\" cy=\"-0.444444\" r=\"0.1\"/>\n"
+                + "        <text class=\"s\" x=\"0\" y=\"-0.411111\">R</text>\n" + "      </g>\n" + "      <g>\n"
+                + "        <circle class=\"g0c0\" cx=\"0\" cy=\"-0.666667\" r=\"0.1\"/>\n"
+                + "        <text class=\"s\" x=\"0\" y=\"-0.633333\">R</text>\n" + "      </g>\n" + "    </g>\n"
+                + "    <g>\n" + "      <g>\n" + "        <circle class=\"g1c0\" cx=\"0\" cy=\"-0.888889\" r=\"0.1\"/>\n"
+                + "        <text class=\"s\" x=\"0\" y=\"-0.855556\">B</text>\n" + "      </g>\n" + "    </g>\n"
+                + "  </g>\n" + "  <text class=\"n\" transform=\"rotate(270 0.316178,-1.05)\" x=\"0.312237\""
+                + " y=\"-1.053941\">Chart produced using SHecC</text>\n" + "</svg>";
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Test verifying that a seating plan with uncertain seats, letters and a legend is written with classes for the
+     * seat statuses, the legend and the font family.
+     */
+    @Test
+    void writeUncertainSeatsWithLettersAndLegend() {
+        RowConnectedSeatingPlan plan = new RowConnectedSeatingPlan(THREE_SEAT_POSITIONS,
+                new ParliamentaryGroup(DIFFERENTIATED123, RED, "Red", "R"));
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        exporter.setFontFamily("Lato");
+        exporter.setDisplayLegend(true);
+        String actual = write(exporter, plan);
+        String expected = "<svg height=\"1688.15216\" viewBox=\"-0.316178 -1.05 0.632355 1.688152\""
+                + " width=\"632.355228\" xmlns=\"http://www.w3.org/2000/svg\">\n" + "  <style>\n"
+                + "    text{font-family:'Lato'}\n" + "    .g0c0{fill:#FF0000}\n"
+                + "    .g0l0{fill:#FF0000;fill-opacity:0.3;stroke:#FF0000;stroke-width:0.02}\n"
+                + "    .g0u0{fill:none;stroke:#FF0000;stroke-width:0.02}\n"
+                + "    .g0s{fill:#FF0000;font-size:0.1px;text-anchor:middle;}\n"
+                + "    .s{fill:white;font-size:0.1px;text-anchor:middle;}\n" + "    .kc{fill:#000000}\n"
+                + "    .kl{fill:#000000;fill-opacity:0.3;stroke:#000000;stroke-width:0.02}\n"
+                + "    .ku{fill:none;stroke:#000000;stroke-width:0.02}\n"
+                + "    .ks{fill:#000000;font-size:0.1px;text-anchor:middle;}\n"
+                + "    .l{fill:#000000;font-size:0.1px;text-anchor:start;}\n"
+                + "    .n{fill:black;font-size:0.016882px;text-anchor:end;}\n" + "  </style>\n" + "  <g>\n"
+                + "    <g>\n" + "      <g>\n" + "        <circle class=\"g0c0\" cx=\"0\" cy=\"-0.444444\" r=\"0.1\"/>\n"
+                + "        <text class=\"s\" x=\"0\" y=\"-0.411111\">R</text>\n" + "      </g>\n" + "      <g>\n"
+                + "        <circle class=\"g0l0\" cx=\"0\" cy=\"-0.666667\" r=\"0.09\"/>\n"
+                + "        <text class=\"g0s\" x=\"0\" y=\"-0.633333\">R</text>\n" + "      </g>\n" + "      <g>\n"
+                + "        <circle class=\"g0u0\" cx=\"0\" cy=\"-0.888889\" r=\"0.09\"/>\n"
+                + "        <text class=\"g0s\" x=\"0\" y=\"-0.855556\">R</text>\n" + "      </g>\n" + "    </g>\n"
+                + "  </g>\n" + "  <g>\n" + "    <g>\n" + "      <g>\n" + "        <g>\n"
+                + "          <circle class=\"g0c0\" cx=\"-0.166178\" cy=\"-0.111848\" r=\"0.1\"/>\n"
+                + "          <text class=\"s\" x=\"-0.166178\" y=\"-0.078515\">R</text>\n" + "        </g>\n"
+                + "        <text class=\"l\" x=\"-0.016178\" y=\"-0.078515\">Red (3)</text>\n" + "      </g>\n"
+                + "    </g>\n" + "    <g>\n" + "      <g>\n" + "        <g>\n"
+                + "          <circle class=\"kc\" cx=\"-0.166178\" cy=\"0.488152\" r=\"0.1\"/>\n"
+                + "          <text class=\"s\" x=\"-0.166178\" y=\"0.521485\">X</text>\n" + "        </g>\n"
+                + "        <text class=\"l\" x=\"-0.016178\" y=\"0.521485\">Certain (P ≥ 97.5%)</text>\n"
+                + "      </g>\n" + "      <g>\n" + "        <g>\n"
+                + "          <circle class=\"kl\" cx=\"0.011274\" cy=\"0.488152\" r=\"0.09\"/>\n"
+                + "          <text class=\"ks\" x=\"0.011274\" y=\"0.521485\">X</text>\n" + "        </g>\n"
+                + "        <text class=\"l\" x=\"0.161274\" y=\"0.521485\">Likely (P ≥ 50%)</text>\n" + "      </g>\n"
+                + "      <g>\n" + "        <g>\n"
+                + "          <circle class=\"ku\" cx=\"0.188726\" cy=\"0.488152\" r=\"0.09\"/>\n"
+                + "          <text class=\"ks\" x=\"0.188726\" y=\"0.521485\">X</text>\n" + "        </g>\n"
+                + "        <text class=\"l\" x=\"0.338726\" y=\"0.521485\">Unlikely (P &lt; 50%)</text>\n"
+                + "      </g>\n" + "    </g>\n" + "  </g>\n"
+                + "  <text class=\"n\" transform=\"rotate(270 0.316178,-1.05)\" x=\"0.307737\""
+                + " y=\"-1.058441\">Chart produced using SHecC</text>\n" + "</svg>";
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Test verifying that a seating plan with uncertain seats for an alliance is written with a class per color and
+     * seat status.
+     */
+    @Test
+    void writeUncertainSeatsForAnAlliance() {
+        RowConnectedSeatingPlan plan = new RowConnectedSeatingPlan(THREE_SEAT_POSITIONS,
+                new ParliamentaryGroup(DIFFERENTIATED123, new int[] {RED, MAGENTA}, null));
+        String actual = write(new SeatingPlanExporter(), plan);
+        String expected = "<svg height=\"788.15216\" viewBox=\"-0.316178 -1.05 0.632355 0.788152\""
+                + " width=\"632.355228\" xmlns=\"http://www.w3.org/2000/svg\">\n" + "  <style>\n"
+                + "    .g0c0{fill:#FF0000}\n" + "    .g0l0{fill:#FF0000;opacity:0.3}\n"
+                + "    .g0u0{fill:none;stroke:#FF0000;stroke-width:0.02}\n" + "    .g0c1{fill:#FF00FF}\n"
+                + "    .g0l1{fill:#FF00FF;opacity:0.3}\n" + "    .g0u1{fill:none;stroke:#FF00FF;stroke-width:0.02}\n"
+                + "    .n{fill:black;font-size:0.007882px;text-anchor:end;}\n" + "  </style>\n" + "  <g>\n"
+                + "    <g>\n" + "      <g>\n"
+                + "        <path class=\"g0c0\" d=\"M 0 -0.444444 L 0 -0.544444 A 0.1 0.1 0 0 1 0 -0.344444"
+                + " Z\"/>\n"
+                + "        <path class=\"g0c1\" d=\"M 0 -0.444444 L 0 -0.344444 A 0.1 0.1 0 0 1 0 -0.544444"
+                + " Z\"/>\n" + "      </g>\n" + "      <g>\n"
+                + "        <path class=\"g0l0\" d=\"M 0 -0.666667 L 0 -0.766667 A 0.1 0.1 0 0 1 0 -0.566667"
+                + " Z\"/>\n" + "        <path class=\"g0u0\" d=\"M 0 -0.756667 A 0.09 0.09 0 0 1 0 -0.576667\"/>\n"
+                + "        <path class=\"g0l1\" d=\"M 0 -0.666667 L 0 -0.566667 A 0.1 0.1 0 0 1 0 -0.766667"
+                + " Z\"/>\n" + "        <path class=\"g0u1\" d=\"M 0 -0.576667 A 0.09 0.09 0 0 1 0 -0.756667\"/>\n"
+                + "      </g>\n" + "      <g>\n"
+                + "        <path class=\"g0u0\" d=\"M 0 -0.978889 A 0.09 0.09 0 0 1 0 -0.798889\"/>\n"
+                + "        <path class=\"g0u1\" d=\"M 0 -0.798889 A 0.09 0.09 0 0 1 0 -0.978889\"/>\n" + "      </g>\n"
+                + "    </g>\n" + "  </g>\n"
+                + "  <text class=\"n\" transform=\"rotate(270 0.316178,-1.05)\" x=\"0.312237\""
+                + " y=\"-1.053941\">Chart produced using SHecC</text>\n" + "</svg>";
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Test verifying that the exporter delegates to the writer when class-based styling is switched on.
+     */
+    @Test
+    void exporterShouldUseClassBasedStylingWhenSwitchedOn() {
+        RowConnectedSeatingPlan plan = new RowConnectedSeatingPlan(THREE_SEAT_POSITIONS,
+                new ParliamentaryGroup(2, RED, null, "R"), new ParliamentaryGroup(1, BLUE, null, "B"));
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        exporter.setClassBasedStyling(true);
+        assertEquals(write(new SeatingPlanExporter(), plan), exporter.export(plan));
+    }
+}
@@ -0,0 +1,84 @@
+package net.filipvanlaenen.shecc.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import net.filipvanlaenen.shecc.HemicycleLayout;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>ExportEvent</code> class.
+ */
+public class ExportEventTest {
+    /**
+     * Magic number for the color red.
+     */
+    private static final int RED = 0xFF0000;
+    /**
+     * The magic number three.
+     */
+    private static final int THREE = 3;
+    /**
+     * The name of the export event.
+     */
+    private static final String EXPORT_EVENT = "net.filipvanlaenen.shecc.Export";
+
+    /**
+     * Creates a seating plan with three seats.
+     *
+     * @return A seating plan with three seats.
+     */
+    private static RowConnectedSeatingPlan createSeatingPlan() {
+        ParliamentaryGroup group = new ParliamentaryGroup(THREE, RED);
+        return new RowConnectedSeatingPlan(new HemicycleLayout(THREE).getSeatPositions(), group);
+    }
+
+    /**
+     * Test verifying that export events aren't being recorded when no recording enables them.
+     */
+    @Test
+    void isRecordingShouldReturnFalseWithoutARecording() {
+        assertFalse(ExportEvent.isRecording());
+    }
+
+    /**
+     * Test verifying that an export with class-based styling commits an event with the size of the document.
+     *
+     * @throws IOException Thrown if the recording can't be dumped or read.
+     */
+    @Test
+    void exportWithClassBasedStylingShouldCommitAnEventWithTheOutputSize() throws IOException {
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        exporter.setClassBasedStyling(true);
+        Path file = Files.createTempFile("shecc", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EXPORT_EVENT);
+            recording.start();
+            assertTrue(ExportEvent.isRecording());
+            String svg = exporter.export(createSeatingPlan());
+            recording.stop();
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals(EXPORT_EVENT)).toList();
+            assertEquals(1, events.size());
+            assertTrue(events.get(0).getBoolean("classBasedStyling"));
+            assertEquals(1, events.get(0).getInt("chambers"));
+            assertEquals(THREE, events.get(0).getInt("seats"));
+            assertEquals(svg.getBytes(StandardCharsets.UTF_8).length, events.get(0).getLong("outputSize"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
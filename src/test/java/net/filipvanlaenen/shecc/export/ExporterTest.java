@@ -1,6 +1,7 @@
 package net.filipvanlaenen.shecc.export;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 import org.junit.jupiter.api.Test;
 
@@ -81,4 +82,26 @@ public class ExporterTest {
         exporter.setFontColor(1);
         assertEquals(1, exporter.getFontColorOrZero());
     }
+
+    /**
+     * Test verifying that setting the font color changes the configuration version.
+     */
+    @Test
+    public void setFontColorShouldChangeTheConfigurationVersion() {
+        MyExporter exporter = new MyExporter();
+        int version = exporter.getConfigurationVersion();
+        exporter.setFontColor(1);
+        assertNotEquals(version, exporter.getConfigurationVersion());
+    }
+
+    /**
+     * Test verifying that setting the font family changes the configuration version.
+     */
+    @Test
+    public void setFontFamilyShouldChangeTheConfigurationVersion() {
+        MyExporter exporter = new MyExporter();
+        int version = exporter.getConfigurationVersion();
+        exporter.setFontFamily("Bar");
+        assertNotEquals(version, exporter.getConfigurationVersion());
+    }
 }
@@ -0,0 +1,124 @@
+package net.filipvanlaenen.shecc.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import net.filipvanlaenen.shecc.HemicycleLayout;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+
+/**
+ * Unit tests on the <code>MultiChamberSeatingPlanWriter</code> class.
+ */
+public class MultiChamberSeatingPlanWriterTest {
+    /**
+     * Magic number for the color red.
+     */
+    private static final int RED = 0xFF0000;
+    /**
+     * Magic number for the color blue.
+     */
+    private static final int BLUE = 0x0000FF;
+    /**
+     * The magic number three.
+     */
+    private static final int THREE = 3;
+    /**
+     * A seating plan with two red and one blue seat.
+     */
+    private static final RowConnectedSeatingPlan LOWER_HOUSE =
+            new RowConnectedSeatingPlan(new HemicycleLayout(THREE).getSeatPositions(),
+                    new ParliamentaryGroup(2, RED, "Red", null), new ParliamentaryGroup(1, BLUE, "Blue", null));
+    /**
+     * A seating plan with one red seat, for the same party as in the lower house, and two blue seats, for a party
+     * with the same color but another name than in the lower house.
+     */
+    private static final RowConnectedSeatingPlan UPPER_HOUSE =
+            new RowConnectedSeatingPlan(new HemicycleLayout(THREE).getSeatPositions(),
+                    new ParliamentaryGroup(1, RED, "Red", null), new ParliamentaryGroup(2, BLUE, "Azure", null));
+
+    /**
+     * Writes a set of chambers to a string.
+     *
+     * @param exporter The exporter holding the settings for the charts.
+     * @param chambers The chambers.
+     * @return A string with the SVG document.
+     */
+    private static String write(final SeatingPlanExporter exporter, final Chamber... chambers) {
+        StringBuilder sb = new StringBuilder();
+        new MultiChamberSeatingPlanWriter(exporter, chambers, sb).write();
+        return sb.toString();
+    }
+
+    /**
+     * Counts the number of occurrences of a substring in a string.
+     *
+     * @param s         The string.
+     * @param substring The substring.
+     * @return The number of occurrences of the substring in the string.
+     */
+    private static int count(final String s, final String substring) {
+        int count = 0;
+        for (int i = s.indexOf(substring); i >= 0; i = s.indexOf(substring, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Test verifying that the rule for a party present in both chambers is written only once, while parties with
+     * the same color but another name get their own rule.
+     */
+    @Test
+    void writeShouldShareTheRulesForAPartyAcrossChambers() {
+        String actual =
+                write(new SeatingPlanExporter(), new Chamber(null, LOWER_HOUSE), new Chamber(null, UPPER_HOUSE));
+        assertEquals(1, count(actual, ".g0c0{fill:#FF0000}"));
+        assertEquals(1, count(actual, ".g1c0{fill:#0000FF}"));
+        assertEquals(1, count(actual, ".g2c0{fill:#0000FF}"));
+        assertEquals(1, count(actual, "<style>"));
+        assertEquals(THREE, count(actual, "class=\"g0c0\""));
+    }
+
+    /**
+     * Test verifying that the chambers are written as nested SVG elements placed next to each other.
+     */
+    @Test
+    void writeShouldPlaceTheChambersNextToEachOther() {
+        String actual =
+                write(new SeatingPlanExporter(), new Chamber(null, LOWER_HOUSE), new Chamber(null, UPPER_HOUSE));
+        assertTrue(actual.startsWith("<svg height=\"788.15216\" viewBox=\"0 0 1264.710456 788.15216\""
+                + " width=\"1264.710456\" xmlns=\"http://www.w3.org/2000/svg\">\n"));
+        assertTrue(actual.contains("\n  <svg height=\"788.15216\" id=\"h0\" viewBox=\"-0.316178 -1.05 0.632355"
+                + " 0.788152\" width=\"632.355228\" x=\"0\">\n"));
+        assertTrue(actual.contains("\n  <svg height=\"788.15216\" id=\"h1\" viewBox=\"-0.316178 -1.05 0.632355"
+                + " 0.788152\" width=\"632.355228\" x=\"632.355228\">\n"));
+        assertTrue(actual.contains("    #h0{font-size:0.1px;stroke-width:0.02}\n"));
+    }
+
+    /**
+     * Test verifying that a chamber without a title uses the title of the exporter, and a chamber with a title its
+     * own title.
+     */
+    @Test
+    void writeShouldUseTheTitleOfTheChamberOrOtherwiseOfTheExporter() {
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        exporter.setTitle("Parliament");
+        String actual = write(exporter, new Chamber(null, LOWER_HOUSE), new Chamber("Senate", UPPER_HOUSE));
+        assertTrue(actual.contains(">Parliament</text>"));
+        assertTrue(actual.contains(">Senate</text>"));
+        assertEquals(1, count(actual, ".t{"));
+    }
+
+    /**
+     * Test verifying that the writer rejects an empty array of chambers.
+     */
+    @Test
+    void constructorShouldRejectAnEmptyArrayOfChambers() {
+        assertThrows(IllegalArgumentException.class, () -> new MultiChamberSeatingPlanWriter(new SeatingPlanExporter(),
+                new Chamber[0], new StringBuilder()));
+    }
+}
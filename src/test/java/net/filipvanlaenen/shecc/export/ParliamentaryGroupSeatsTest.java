@@ -0,0 +1,83 @@
+package net.filipvanlaenen.shecc.export;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import net.filipvanlaenen.shecc.HemicycleLayout;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+
+/**
+ * Unit tests on the <code>ParliamentaryGroupSeats</code> class.
+ */
+public class ParliamentaryGroupSeatsTest {
+    /**
+     * Magic number for the color red.
+     */
+    private static final int RED = 0xFF0000;
+    /**
+     * Magic number for the color blue.
+     */
+    private static final int BLUE = 0x0000FF;
+    /**
+     * The magic number three.
+     */
+    private static final int THREE = 3;
+    /**
+     * The hemicycle layout with three seats.
+     */
+    private static final HemicycleLayout THREE_SEAT_LAYOUT = new HemicycleLayout(THREE);
+    /**
+     * The red parliamentary group with two seats.
+     */
+    private static final ParliamentaryGroup TWO_RED = new ParliamentaryGroup(2, RED);
+    /**
+     * The blue parliamentary group with one seat.
+     */
+    private static final ParliamentaryGroup ONE_BLUE = new ParliamentaryGroup(1, BLUE);
+    /**
+     * A seating plan with two seats for the red group and one for the blue group.
+     */
+    private static final RowConnectedSeatingPlan TWO_RED_AND_ONE_BLUE =
+            new RowConnectedSeatingPlan(THREE_SEAT_LAYOUT.getSeatPositions(), TWO_RED, ONE_BLUE);
+
+    /**
+     * Verifies that there's an entry per parliamentary group.
+     */
+    @Test
+    void partitionShouldReturnAnEntryPerParliamentaryGroup() {
+        assertEquals(2, ParliamentaryGroupSeats.partition(THREE_SEAT_LAYOUT, TWO_RED_AND_ONE_BLUE).length);
+    }
+
+    /**
+     * Verifies that the parliamentary groups are returned in the order in which they appear in the hemicycle.
+     */
+    @Test
+    void partitionShouldReturnTheParliamentaryGroupsInTheOrderOfTheHemicycle() {
+        ParliamentaryGroupSeats[] seats = ParliamentaryGroupSeats.partition(THREE_SEAT_LAYOUT, TWO_RED_AND_ONE_BLUE);
+        assertSame(TWO_RED, seats[0].parliamentaryGroup());
+        assertSame(ONE_BLUE, seats[1].parliamentaryGroup());
+    }
+
+    /**
+     * Verifies that the seat numbers are assigned to the parliamentary groups.
+     */
+    @Test
+    void partitionShouldAssignTheSeatNumbersToTheParliamentaryGroups() {
+        ParliamentaryGroupSeats[] seats = ParliamentaryGroupSeats.partition(THREE_SEAT_LAYOUT, TWO_RED_AND_ONE_BLUE);
+        assertArrayEquals(new int[] {0, 1}, seats[0].seatNumbers());
+        assertArrayEquals(new int[] {2}, seats[1].seatNumbers());
+    }
+
+    /**
+     * Verifies that the seat positions are assigned to the parliamentary groups.
+     */
+    @Test
+    void partitionShouldAssignTheSeatPositionsToTheParliamentaryGroups() {
+        ParliamentaryGroupSeats[] seats = ParliamentaryGroupSeats.partition(THREE_SEAT_LAYOUT, TWO_RED_AND_ONE_BLUE);
+        assertSame(THREE_SEAT_LAYOUT.getSeatPosition(2), seats[1].seatPositions()[0]);
+    }
+}
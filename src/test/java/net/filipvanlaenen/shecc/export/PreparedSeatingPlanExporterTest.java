@@ -0,0 +1,229 @@
+package net.filipvanlaenen.shecc.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import net.filipvanlaenen.kolektoj.SortedCollection;
+import net.filipvanlaenen.shecc.DifferentiatedGroupSize;
+import net.filipvanlaenen.shecc.HemicycleLayout;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+import net.filipvanlaenen.shecc.SeatPosition;
+
+/**
+ * Unit tests on the <code>PreparedSeatingPlanExporter</code> class.
+ */
+public class PreparedSeatingPlanExporterTest {
+    /**
+     * Magic number for the color red.
+     */
+    private static final int RED = 0xFF0000;
+    /**
+     * Magic number for the color blue.
+     */
+    private static final int BLUE = 0x0000FF;
+    /**
+     * Magic number for the color white.
+     */
+    private static final int WHITE = 0xFFFFFF;
+    /**
+     * The magic number three.
+     */
+    private static final int THREE = 3;
+    /**
+     * The magic number four.
+     */
+    private static final int FOUR = 4;
+    /**
+     * A year in which a chart is exported.
+     */
+    private static final int YEAR = 2026;
+    /**
+     * A differentiated group size of 1, 2 and 3.
+     */
+    private static final DifferentiatedGroupSize DIFFERENTIATED123 = new DifferentiatedGroupSize(1, 2, THREE);
+    /**
+     * The seat positions for a hemicycle layout with three seats.
+     */
+    private static final SortedCollection<SeatPosition> THREE_SEAT_POSITIONS =
+            new HemicycleLayout(THREE).getSeatPositions();
+    /**
+     * The seat positions for a hemicycle layout with four seats.
+     */
+    private static final SortedCollection<SeatPosition> FOUR_SEAT_POSITIONS =
+            new HemicycleLayout(FOUR).getSeatPositions();
+    /**
+     * A seating plan with two red and one blue seats.
+     */
+    private static final RowConnectedSeatingPlan TWO_RED_ONE_BLUE = new RowConnectedSeatingPlan(THREE_SEAT_POSITIONS,
+            new ParliamentaryGroup(2, RED, "Red", "R"), new ParliamentaryGroup(1, BLUE, "Blue", "B"));
+    /**
+     * A seating plan with one red and two blue seats.
+     */
+    private static final RowConnectedSeatingPlan ONE_RED_TWO_BLUE = new RowConnectedSeatingPlan(THREE_SEAT_POSITIONS,
+            new ParliamentaryGroup(1, RED, "Red", "R"), new ParliamentaryGroup(2, BLUE, "Blue", "B"));
+    /**
+     * A seating plan with three red seats, of which two uncertain, and one blue seat.
+     */
+    private static final RowConnectedSeatingPlan DIFFERENTIATED_RED_ONE_BLUE = new RowConnectedSeatingPlan(
+            FOUR_SEAT_POSITIONS, new ParliamentaryGroup(DIFFERENTIATED123, RED, "Red"),
+            new ParliamentaryGroup(1, BLUE, "Blue"));
+
+    /**
+     * Creates an exporter with a legend, a title and a background color.
+     *
+     * @param classBasedStyling Whether class-based styling should be used.
+     * @return An exporter with a legend, a title and a background color.
+     */
+    private static SeatingPlanExporter createExporter(final boolean classBasedStyling) {
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        exporter.setClassBasedStyling(classBasedStyling);
+        exporter.setDisplayLegend(true);
+        exporter.setTitle("Title");
+        exporter.setBackgroundColor(WHITE);
+        return exporter;
+    }
+
+    /**
+     * Test verifying that a prepared exporter produces the same SVG as the exporter, also for a second export.
+     */
+    @Test
+    void preparedExportShouldBeEqualToExport() {
+        SeatingPlanExporter exporter = createExporter(false);
+        PreparedSeatingPlanExporter prepared = exporter.prepare();
+        assertEquals(exporter.export(TWO_RED_ONE_BLUE), prepared.export(TWO_RED_ONE_BLUE));
+        assertEquals(exporter.export(TWO_RED_ONE_BLUE), prepared.export(TWO_RED_ONE_BLUE));
+    }
+
+    /**
+     * Test verifying that a prepared exporter produces the same SVG as the exporter using class-based styling, also
+     * for a second export.
+     */
+    @Test
+    void preparedExportShouldBeEqualToExportWithClassBasedStyling() {
+        SeatingPlanExporter exporter = createExporter(true);
+        PreparedSeatingPlanExporter prepared = exporter.prepare();
+        assertEquals(exporter.export(TWO_RED_ONE_BLUE), prepared.export(TWO_RED_ONE_BLUE));
+        assertEquals(exporter.export(TWO_RED_ONE_BLUE), prepared.export(TWO_RED_ONE_BLUE));
+    }
+
+    /**
+     * Test verifying that a prepared exporter updates the legend when the sizes of the parliamentary groups change.
+     */
+    @Test
+    void preparedExportShouldUpdateLegendWhenGroupSizesChange() {
+        SeatingPlanExporter exporter = createExporter(false);
+        PreparedSeatingPlanExporter prepared = exporter.prepare();
+        prepared.export(TWO_RED_ONE_BLUE);
+        assertEquals(exporter.export(ONE_RED_TWO_BLUE), prepared.export(ONE_RED_TWO_BLUE));
+    }
+
+    /**
+     * Test verifying that a prepared exporter using class-based styling updates the legend when the sizes of the
+     * parliamentary groups change.
+     */
+    @Test
+    void preparedExportShouldUpdateLegendWhenGroupSizesChangeWithClassBasedStyling() {
+        SeatingPlanExporter exporter = createExporter(true);
+        PreparedSeatingPlanExporter prepared = exporter.prepare();
+        prepared.export(TWO_RED_ONE_BLUE);
+        assertEquals(exporter.export(ONE_RED_TWO_BLUE), prepared.export(ONE_RED_TWO_BLUE));
+    }
+
+    /**
+     * Test verifying that a prepared exporter updates the chart when the number of seats changes and uncertain seats
+     * appear.
+     */
+    @Test
+    void preparedExportShouldUpdateWhenNumberOfSeatsChanges() {
+        SeatingPlanExporter exporter = createExporter(false);
+        PreparedSeatingPlanExporter prepared = exporter.prepare();
+        prepared.export(TWO_RED_ONE_BLUE);
+        assertEquals(exporter.export(DIFFERENTIATED_RED_ONE_BLUE), prepared.export(DIFFERENTIATED_RED_ONE_BLUE));
+    }
+
+    /**
+     * Test verifying that a prepared exporter follows changes to the configuration of the exporter.
+     */
+    @Test
+    void preparedExportShouldFollowChangesToTheConfiguration() {
+        SeatingPlanExporter exporter = createExporter(false);
+        PreparedSeatingPlanExporter prepared = exporter.prepare();
+        prepared.export(TWO_RED_ONE_BLUE);
+        exporter.setTitle("Another Title");
+        exporter.setFontFamily("Lato");
+        assertEquals(exporter.export(TWO_RED_ONE_BLUE), prepared.export(TWO_RED_ONE_BLUE));
+    }
+
+    /**
+     * Test verifying that a prepared exporter follows a change from attribute-based to class-based styling.
+     */
+    @Test
+    void preparedExportShouldFollowChangeToClassBasedStyling() {
+        SeatingPlanExporter exporter = createExporter(false);
+        PreparedSeatingPlanExporter prepared = exporter.prepare();
+        prepared.export(TWO_RED_ONE_BLUE);
+        exporter.setClassBasedStyling(true);
+        assertEquals(exporter.export(TWO_RED_ONE_BLUE), prepared.export(TWO_RED_ONE_BLUE));
+    }
+
+    /**
+     * Creates an exporter with a custom copyright notice, of which the current year can be changed.
+     *
+     * @param classBasedStyling Whether class-based styling should be used.
+     * @param year              The array holding the current year.
+     * @return An exporter with a custom copyright notice and a current year that can be changed.
+     */
+    private static SeatingPlanExporter createExporterWithYear(final boolean classBasedStyling, final int[] year) {
+        SeatingPlanExporter exporter = new SeatingPlanExporter() {
+            @Override
+            int getCurrentYear() {
+                return year[0];
+            }
+        };
+        exporter.setClassBasedStyling(classBasedStyling);
+        exporter.setCustomCopyrightNotice("Filip van Laenen");
+        return exporter;
+    }
+
+    /**
+     * Test verifying that a prepared exporter updates the copyright notice when a new year starts.
+     */
+    @Test
+    void preparedExportShouldUpdateTheCopyrightNoticeWhenANewYearStarts() {
+        int[] year = new int[] {YEAR};
+        SeatingPlanExporter exporter = createExporterWithYear(false, year);
+        PreparedSeatingPlanExporter prepared = exporter.prepare();
+        prepared.export(TWO_RED_ONE_BLUE);
+        year[0] = YEAR + 1;
+        assertEquals(exporter.export(TWO_RED_ONE_BLUE), prepared.export(TWO_RED_ONE_BLUE));
+    }
+
+    /**
+     * Test verifying that a prepared exporter using class-based styling updates the copyright notice when a new year
+     * starts.
+     */
+    @Test
+    void preparedExportShouldUpdateTheCopyrightNoticeWhenANewYearStartsWithClassBasedStyling() {
+        int[] year = new int[] {YEAR};
+        SeatingPlanExporter exporter = createExporterWithYear(true, year);
+        PreparedSeatingPlanExporter prepared = exporter.prepare();
+        prepared.export(TWO_RED_ONE_BLUE);
+        year[0] = YEAR + 1;
+        assertEquals(exporter.export(TWO_RED_ONE_BLUE), prepared.export(TWO_RED_ONE_BLUE));
+    }
+
+    /**
+     * Test verifying that a prepared exporter places the hemicycle correctly when the title and the names of the
+     * parliamentary groups look like the placeholder for the hemicycle.
+     */
+    @Test
+    void preparedExportShouldPlaceTheHemicycleCorrectlyWhenTextsLookLikeThePlaceholder() {
+        SeatingPlanExporter exporter = createExporter(false);
+        exporter.setTitle("<hemicycle/>");
+        RowConnectedSeatingPlan plan = new RowConnectedSeatingPlan(THREE_SEAT_POSITIONS,
+                new ParliamentaryGroup(2, RED, "<hemicycle/>", "R"), new ParliamentaryGroup(1, BLUE, "Blue", "B"));
+        assertEquals(exporter.export(plan), exporter.prepare().export(plan));
+    }
+}
@@ -2,6 +2,7 @@ package net.filipvanlaenen.shecc.export;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import net.filipvanlaenen.kolektoj.SortedCollection;
 import net.filipvanlaenen.shecc.DifferentiatedGroupSize;
 import net.filipvanlaenen.shecc.HemicycleLayout;
+import net.filipvanlaenen.shecc.HemicycleLayoutCache;
 import net.filipvanlaenen.shecc.ParliamentaryGroup;
 import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
 import net.filipvanlaenen.shecc.SeatPosition;
@@ -63,6 +65,18 @@ public class SeatingPlanExporterTest {
      * The magic number ninety.
      */
     private static final double NINETY = 90D;
+    /**
+     * The magic number one hundred.
+     */
+    private static final int ONE_HUNDRED = 100;
+    /**
+     * A differentiated group size of 10, 20 and 30.
+     */
+    private static final DifferentiatedGroupSize DIFFERENTIATED102030 = new DifferentiatedGroupSize(10, 20, 30);
+    /**
+     * A differentiated group size of 20, 30 and 40.
+     */
+    private static final DifferentiatedGroupSize DIFFERENTIATED203040 = new DifferentiatedGroupSize(20, 30, 40);
     /**
      * The delta for double comparisons.
      */
@@ -749,4 +763,97 @@ public class SeatingPlanExporterTest {
                         + " using SHecC</text>\n" + "</svg>";
         assertEquals(expected, actual);
     }
+
+    /**
+     * Creates a seating plan with one hundred seats, with alliances, characters and uncertain seats.
+     *
+     * @return A seating plan with one hundred seats.
+     */
+    private static RowConnectedSeatingPlan createSeatingPlanWithOneHundredSeats() {
+        return new RowConnectedSeatingPlan(new HemicycleLayout(ONE_HUNDRED).getSeatPositions(),
+                new ParliamentaryGroup(DIFFERENTIATED102030, RED_MAGENTA_GREEN, "Alliance", "A"),
+                new ParliamentaryGroup(DIFFERENTIATED203040, BLUE, "Blue"),
+                new ParliamentaryGroup(TEN, new int[] {RED, MAGENTA}, "Red and magenta"),
+                new ParliamentaryGroup(TEN + TEN, GREEN, "Green", "G"));
+    }
+
+    /**
+     * Test verifying that parallel rendering produces the same SVG as sequential rendering.
+     */
+    @Test
+    void parallelRenderingShouldProduceTheSameSvgAsSequentialRendering() {
+        RowConnectedSeatingPlan plan = createSeatingPlanWithOneHundredSeats();
+        SeatingPlanExporter sequentialExporter = new SeatingPlanExporter();
+        sequentialExporter.setDisplayLegend(true);
+        sequentialExporter.setRotateLetters(true);
+        SeatingPlanExporter parallelExporter = new SeatingPlanExporter();
+        parallelExporter.setDisplayLegend(true);
+        parallelExporter.setRotateLetters(true);
+        parallelExporter.setParallelRendering(true);
+        assertEquals(sequentialExporter.export(plan), parallelExporter.export(plan));
+    }
+
+    /**
+     * Test verifying that parallel rendering produces the same SVG as sequential rendering when class-based styling is
+     * used.
+     */
+    @Test
+    void parallelRenderingShouldProduceTheSameSvgAsSequentialRenderingWithClassBasedStyling() {
+        RowConnectedSeatingPlan plan = createSeatingPlanWithOneHundredSeats();
+        SeatingPlanExporter sequentialExporter = new SeatingPlanExporter();
+        sequentialExporter.setDisplayLegend(true);
+        sequentialExporter.setClassBasedStyling(true);
+        SeatingPlanExporter parallelExporter = new SeatingPlanExporter();
+        parallelExporter.setDisplayLegend(true);
+        parallelExporter.setClassBasedStyling(true);
+        parallelExporter.setParallelRendering(true);
+        assertEquals(sequentialExporter.export(plan), parallelExporter.export(plan));
+    }
+
+    /**
+     * Test verifying that an exporter with a layout cache produces the same SVG as an exporter without.
+     */
+    @Test
+    void exportWithLayoutCacheShouldProduceTheSameSvgAsExportWithoutLayoutCache() {
+        RowConnectedSeatingPlan plan = createSeatingPlanWithOneHundredSeats();
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        exporter.setDisplayLegend(true);
+        SeatingPlanExporter cachingExporter = new SeatingPlanExporter();
+        cachingExporter.setDisplayLegend(true);
+        cachingExporter.setLayoutCache(new HemicycleLayoutCache());
+        assertEquals(exporter.export(plan), cachingExporter.export(plan));
+        assertEquals(exporter.export(plan), cachingExporter.export(plan));
+    }
+
+    /**
+     * Test verifying that exporting to an appendable produces the same SVG as exporting to a string.
+     *
+     * @throws IOException Thrown if an error occurs while writing to the appendable.
+     */
+    @Test
+    void exportToAppendableShouldProduceTheSameSvgAsExportToString() throws IOException {
+        RowConnectedSeatingPlan plan = createSeatingPlanWithOneHundredSeats();
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        exporter.setDisplayLegend(true);
+        StringBuilder sb = new StringBuilder();
+        exporter.export(plan, sb);
+        assertEquals(exporter.export(plan), sb.toString());
+    }
+
+    /**
+     * Test verifying that exporting to an appendable produces the same SVG as exporting to a string when class-based
+     * styling is used.
+     *
+     * @throws IOException Thrown if an error occurs while writing to the appendable.
+     */
+    @Test
+    void exportToAppendableShouldProduceTheSameSvgAsExportToStringWithClassBasedStyling() throws IOException {
+        RowConnectedSeatingPlan plan = createSeatingPlanWithOneHundredSeats();
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        exporter.setDisplayLegend(true);
+        exporter.setClassBasedStyling(true);
+        StringBuilder sb = new StringBuilder();
+        exporter.export(plan, sb);
+        assertEquals(exporter.export(plan), sb.toString());
+    }
 }
@@ -0,0 +1,205 @@
+package net.filipvanlaenen.shecc.export;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import net.filipvanlaenen.kolektoj.SortedCollection;
+import net.filipvanlaenen.shecc.HemicycleLayout;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+import net.filipvanlaenen.shecc.SeatPosition;
+
+/**
+ * Unit tests on the <code>SeatingPlanRasterExporter</code> class.
+ */
+public class SeatingPlanRasterExporterTest {
+    /**
+     * Magic number for the color white.
+     */
+    private static final int WHITE = 0xFFFFFF;
+    /**
+     * Magic number for the color red.
+     */
+    private static final int RED = 0xFF0000;
+    /**
+     * Magic number for the color blue.
+     */
+    private static final int BLUE = 0x0000FF;
+    /**
+     * The mask for the alpha channel of an ARGB pixel.
+     */
+    private static final int ALPHA_MASK = 0xFF000000;
+    /**
+     * The mask for the RGB channels of an ARGB pixel.
+     */
+    private static final int RGB_MASK = 0xFFFFFF;
+    /**
+     * The magic number three.
+     */
+    private static final int THREE = 3;
+    /**
+     * The magic number one hundred.
+     */
+    private static final int ONE_HUNDRED = 100;
+    /**
+     * The magic number two hundred.
+     */
+    private static final int TWO_HUNDRED = 200;
+    /**
+     * The default width of the image for the seating plan with three seats.
+     */
+    private static final int DEFAULT_WIDTH = 632;
+    /**
+     * The default height of the image for the seating plan with three seats.
+     */
+    private static final int DEFAULT_HEIGHT = 788;
+    /**
+     * The height of the image for the seating plan with three seats when the width is one hundred pixels.
+     */
+    private static final int HEIGHT_FOR_WIDTH_ONE_HUNDRED = 125;
+    /**
+     * The width of the image for the seating plan with three seats when the height is one hundred pixels.
+     */
+    private static final int WIDTH_FOR_HEIGHT_ONE_HUNDRED = 80;
+    /**
+     * The signature at the start of every PNG file.
+     */
+    private static final byte[] PNG_SIGNATURE = new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    /**
+     * The seat positions for a hemicycle layout with three seats.
+     */
+    private static final SortedCollection<SeatPosition> THREE_SEAT_POSITIONS =
+            new HemicycleLayout(THREE).getSeatPositions();
+    /**
+     * A seating plan with two seats for the red group and one for the blue group.
+     */
+    private static final RowConnectedSeatingPlan TWO_RED_AND_ONE_BLUE = new RowConnectedSeatingPlan(
+            THREE_SEAT_POSITIONS, new ParliamentaryGroup(2, RED), new ParliamentaryGroup(1, BLUE));
+
+    /**
+     * Returns the RGB value of the pixel at a view box coordinate in an image exported with the default dimensions.
+     *
+     * @param image The image.
+     * @param x     The x coordinate in the view box.
+     * @param y     The y coordinate in the view box.
+     * @return The RGB value of the pixel.
+     */
+    private static int getRgbAtViewBoxCoordinate(final BufferedImage image, final double x, final double y) {
+        SeatingPlanDimensions dimensions = new SeatingPlanExporter().calculateDimensions(TWO_RED_AND_ONE_BLUE);
+        int pixelX = (int) ((x + dimensions.getHalfWidth()) * Exporter.VIEW_BOX_TO_SVG_DIMENSIONS_FACTOR);
+        int pixelY = (int) ((y - dimensions.canvasTopEdge()) * Exporter.VIEW_BOX_TO_SVG_DIMENSIONS_FACTOR);
+        return image.getRGB(pixelX, pixelY) & RGB_MASK;
+    }
+
+    /**
+     * Verifies that by default, the image has the same dimensions as the SVG export.
+     */
+    @Test
+    public void imageShouldHaveTheSameDimensionsAsTheSvgExportByDefault() {
+        BufferedImage image = new SeatingPlanRasterExporter().exportToImage(TWO_RED_AND_ONE_BLUE);
+        assertEquals(DEFAULT_WIDTH, image.getWidth());
+        assertEquals(DEFAULT_HEIGHT, image.getHeight());
+    }
+
+    /**
+     * Verifies that the height is derived from the width if only the width is specified.
+     */
+    @Test
+    public void imageHeightShouldBeDerivedFromTheWidth() {
+        SeatingPlanRasterExporter exporter = new SeatingPlanRasterExporter();
+        exporter.setPixelWidth(ONE_HUNDRED);
+        BufferedImage image = exporter.exportToImage(TWO_RED_AND_ONE_BLUE);
+        assertEquals(ONE_HUNDRED, image.getWidth());
+        assertEquals(HEIGHT_FOR_WIDTH_ONE_HUNDRED, image.getHeight());
+    }
+
+    /**
+     * Verifies that the width is derived from the height if only the height is specified.
+     */
+    @Test
+    public void imageWidthShouldBeDerivedFromTheHeight() {
+        SeatingPlanRasterExporter exporter = new SeatingPlanRasterExporter();
+        exporter.setPixelHeight(ONE_HUNDRED);
+        BufferedImage image = exporter.exportToImage(TWO_RED_AND_ONE_BLUE);
+        assertEquals(WIDTH_FOR_HEIGHT_ONE_HUNDRED, image.getWidth());
+        assertEquals(ONE_HUNDRED, image.getHeight());
+    }
+
+    /**
+     * Verifies that the image has the requested dimensions if both the width and the height are specified.
+     */
+    @Test
+    public void imageShouldHaveTheRequestedDimensions() {
+        SeatingPlanRasterExporter exporter = new SeatingPlanRasterExporter();
+        exporter.setPixelWidth(TWO_HUNDRED);
+        exporter.setPixelHeight(ONE_HUNDRED);
+        BufferedImage image = exporter.exportToImage(TWO_RED_AND_ONE_BLUE);
+        assertEquals(TWO_HUNDRED, image.getWidth());
+        assertEquals(ONE_HUNDRED, image.getHeight());
+    }
+
+    /**
+     * Verifies that a non-positive width is rejected.
+     */
+    @Test
+    public void setPixelWidthShouldRejectZero() {
+        assertThrows(IllegalArgumentException.class, () -> new SeatingPlanRasterExporter().setPixelWidth(0));
+    }
+
+    /**
+     * Verifies that a non-positive height is rejected.
+     */
+    @Test
+    public void setPixelHeightShouldRejectZero() {
+        assertThrows(IllegalArgumentException.class, () -> new SeatingPlanRasterExporter().setPixelHeight(0));
+    }
+
+    /**
+     * Verifies that the seats are drawn in the colors of their parliamentary groups.
+     */
+    @Test
+    public void seatsShouldBeDrawnInTheColorOfTheirGroup() {
+        BufferedImage image = new SeatingPlanRasterExporter().exportToImage(TWO_RED_AND_ONE_BLUE);
+        assertEquals(RED, getRgbAtViewBoxCoordinate(image, 0D, -0.444444D));
+        assertEquals(RED, getRgbAtViewBoxCoordinate(image, 0D, -0.666667D));
+        assertEquals(BLUE, getRgbAtViewBoxCoordinate(image, 0D, -0.888889D));
+    }
+
+    /**
+     * Verifies that the background is transparent if no background color is specified.
+     */
+    @Test
+    public void backgroundShouldBeTransparentByDefault() {
+        BufferedImage image = new SeatingPlanRasterExporter().exportToImage(TWO_RED_AND_ONE_BLUE);
+        assertEquals(0, image.getRGB(ONE_HUNDRED, ONE_HUNDRED) & ALPHA_MASK);
+    }
+
+    /**
+     * Verifies that the background is filled with the background color if specified.
+     */
+    @Test
+    public void backgroundShouldHaveTheBackgroundColor() {
+        SeatingPlanRasterExporter exporter = new SeatingPlanRasterExporter();
+        exporter.setBackgroundColor(WHITE);
+        BufferedImage image = exporter.exportToImage(TWO_RED_AND_ONE_BLUE);
+        assertEquals(ALPHA_MASK | WHITE, image.getRGB(ONE_HUNDRED, ONE_HUNDRED));
+    }
+
+    /**
+     * Verifies that the PNG export produces a PNG file.
+     *
+     * @throws IOException Thrown if an error occurs while encoding the image.
+     */
+    @Test
+    public void exportToPngShouldProduceAPngFile() throws IOException {
+        byte[] png = new SeatingPlanRasterExporter().exportToPng(TWO_RED_AND_ONE_BLUE);
+        assertArrayEquals(PNG_SIGNATURE, Arrays.copyOf(png, PNG_SIGNATURE.length));
+    }
+}
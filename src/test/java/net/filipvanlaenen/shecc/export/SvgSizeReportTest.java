@@ -0,0 +1,135 @@
+package net.filipvanlaenen.shecc.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import net.filipvanlaenen.shecc.DifferentiatedGroupSize;
+import net.filipvanlaenen.shecc.HemicycleLayout;
+import net.filipvanlaenen.shecc.ParliamentaryGroup;
+import net.filipvanlaenen.shecc.RenderStatistics;
+import net.filipvanlaenen.shecc.RowConnectedSeatingPlan;
+import net.filipvanlaenen.shecc.SeatStatus;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>SvgSizeReport</code> class.
+ */
+public class SvgSizeReportTest {
+    /**
+     * Magic number for the color red.
+     */
+    private static final int RED = 0xFF0000;
+    /**
+     * Magic number for the color blue.
+     */
+    private static final int BLUE = 0x0000FF;
+    /**
+     * The magic number three.
+     */
+    private static final int THREE = 3;
+    /**
+     * The magic number four.
+     */
+    private static final int FOUR = 4;
+    /**
+     * The magic number five.
+     */
+    private static final int FIVE = 5;
+    /**
+     * The magic number ten.
+     */
+    private static final int TEN = 10;
+
+    /**
+     * Creates a seating plan with three red seats and two blue seats.
+     *
+     * @return A seating plan with three red seats and two blue seats.
+     */
+    private static RowConnectedSeatingPlan createSeatingPlan() {
+        return new RowConnectedSeatingPlan(new HemicycleLayout(FIVE).getSeatPositions(),
+                new ParliamentaryGroup(THREE, RED, "Red Party – é"), new ParliamentaryGroup(2, BLUE, "Blue Party"));
+    }
+
+    /**
+     * Adds up the bytes of a number of tallies.
+     *
+     * @param tallies The tallies.
+     * @return The sum of the bytes of the tallies.
+     */
+    private static long sumBytes(final Iterable<SvgSizeReport.Tally> tallies) {
+        long sum = 0L;
+        for (SvgSizeReport.Tally tally : tallies) {
+            sum += tally.bytes();
+        }
+        return sum;
+    }
+
+    /**
+     * Test verifying that the bytes per element type and per section add up to the size of the document encoded in
+     * UTF-8, and that all elements are counted.
+     */
+    @Test
+    void bytesPerElementTypeAndPerSectionShouldAddUpToTheSizeOfTheDocument() {
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        exporter.setTitle("Title – é");
+        exporter.setDisplayLegend(true);
+        RowConnectedSeatingPlan plan = createSeatingPlan();
+        String svg = exporter.export(plan);
+        SvgSizeReport report = exporter.analyzeSize(plan);
+        long size = svg.getBytes(StandardCharsets.UTF_8).length;
+        assertEquals(size, report.getTotal().bytes());
+        assertEquals(size, sumBytes(report.getElementTypes().values()));
+        assertEquals(size, sumBytes(report.getSections().values()));
+        assertEquals(RenderStatistics.countElements(svg), report.getTotal().elements());
+    }
+
+    /**
+     * Test verifying that the seats of every parliamentary group are attributed to the parliamentary group, with
+     * class-based styling too.
+     */
+    @Test
+    void seatsShouldBeAttributedToTheirParliamentaryGroups() {
+        SeatingPlanExporter exporter = new SeatingPlanExporter();
+        exporter.setClassBasedStyling(true);
+        exporter.setDisplayLegend(true);
+        RowConnectedSeatingPlan plan = createSeatingPlan();
+        SvgSizeReport report = exporter.analyzeSize(plan);
+        ParliamentaryGroup red = plan.getParliamentaryGroupAtSeat(0);
+        ParliamentaryGroup blue = plan.getParliamentaryGroupAtSeat(FOUR);
+        assertEquals(FOUR, report.getParliamentaryGroups().get(red).elements());
+        assertEquals(THREE, report.getParliamentaryGroups().get(blue).elements());
+        assertEquals(FIVE, report.getElementTypes().get("circle").elements() - 2);
+        assertEquals(FIVE, report.getSeatStatuses().get(SeatStatus.CERTAIN).elements());
+        assertTrue(report.getSections().get(SvgSizeReport.LEGEND_SECTION).bytes() > 0L);
+    }
+
+    /**
+     * Test verifying that the seats are attributed to their seat status.
+     */
+    @Test
+    void seatsShouldBeAttributedToTheirSeatStatus() {
+        RowConnectedSeatingPlan plan = new RowConnectedSeatingPlan(new HemicycleLayout(THREE).getSeatPositions(),
+                new ParliamentaryGroup(new DifferentiatedGroupSize(1, 2, THREE), RED, "Red", "R"));
+        SvgSizeReport report = new SeatingPlanExporter().analyzeSize(plan);
+        for (SeatStatus seatStatus : SeatStatus.values()) {
+            assertEquals(THREE, report.getSeatStatuses().get(seatStatus).elements());
+        }
+    }
+
+    /**
+     * Test verifying that numeric literals are counted in attribute values and style rules, but not in class names
+     * and hexadecimal colors.
+     */
+    @Test
+    void numericLiteralsShouldBeCountedInAttributeValuesAndStyleRules() {
+        RowConnectedSeatingPlan plan = new RowConnectedSeatingPlan(new HemicycleLayout(1).getSeatPositions(),
+                new ParliamentaryGroup(1, RED));
+        String document = "<svg viewBox=\"-1 0.5 2 1\"><style>.g0c0{fill:#000000;opacity:0.3}</style>"
+                + "<circle class=\"g0c0\" fill=\"#FF0000\" r=\"1E-4\"/></svg>";
+        SvgSizeReport report = new SvgSizeReport(document, plan, new HemicycleLayout(1));
+        assertEquals(TEN + FOUR, report.getTotal().numericBytes());
+        assertEquals(THREE, report.getTotal().elements());
+    }
+}
@@ -0,0 +1,74 @@
+package net.filipvanlaenen.shecc.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>SvgWriter</code> class.
+ */
+public class SvgWriterTest {
+    /**
+     * Verifies that an integer is formatted without decimals.
+     */
+    @Test
+    void formatNumberShouldFormatAnIntegerWithoutDecimals() {
+        assertEquals("1000", SvgWriter.formatNumber(1000D));
+    }
+
+    /**
+     * Verifies that a number is rounded to six decimals.
+     */
+    @Test
+    void formatNumberShouldRoundToSixDecimals() {
+        assertEquals("0.666667", SvgWriter.formatNumber(2D / 3D));
+    }
+
+    /**
+     * Verifies that trailing zeros are removed.
+     */
+    @Test
+    void formatNumberShouldRemoveTrailingZeros() {
+        assertEquals("0.05", SvgWriter.formatNumber(0.05D));
+    }
+
+    /**
+     * Verifies that leading zeros in the decimals are kept.
+     */
+    @Test
+    void formatNumberShouldKeepLeadingZerosInTheDecimals() {
+        assertEquals("-1.007882", SvgWriter.formatNumber(-1.007882D));
+    }
+
+    /**
+     * Verifies that a negative number rounded to zero is formatted as zero.
+     */
+    @Test
+    void formatNumberShouldFormatANegativeNumberRoundedToZeroAsZero() {
+        assertEquals("0", SvgWriter.formatNumber(-0.0000001D));
+    }
+
+    /**
+     * Verifies that nested elements are indented.
+     */
+    @Test
+    void nestedElementsShouldBeIndented() {
+        StringBuilder sb = new StringBuilder();
+        SvgWriter writer = new SvgWriter(sb);
+        writer.startElement("svg", "width", 1D);
+        writer.emptyElement("circle", "class", "c", "r", 0.5D);
+        writer.textElement("text", "A & B", "class", "t");
+        writer.endElement("svg");
+        String expected = "<svg width=\"1\">\n" + "  <circle class=\"c\" r=\"0.5\"/>\n"
+                + "  <text class=\"t\">A &amp; B</text>\n" + "</svg>";
+        assertEquals(expected, sb.toString());
+    }
+
+    /**
+     * Verifies that quotes in attribute values are escaped.
+     */
+    @Test
+    void escapeAttributeValueShouldEscapeQuotes() {
+        assertEquals("&quot;a&quot; &lt; b", SvgWriter.escapeAttributeValue("\"a\" < b"));
+    }
+}
@@ -0,0 +1,62 @@
+package net.filipvanlaenen.shecc.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests on the <code>UnitSectorOffsets</code> class.
+ */
+public class UnitSectorOffsetsTest {
+    /**
+     * The magic number four.
+     */
+    private static final int FOUR = 4;
+    /**
+     * The magic number five.
+     */
+    private static final int FIVE = 5;
+    /**
+     * The delta for double comparisons.
+     */
+    private static final double DOUBLE_DELTA = 0.000001D;
+
+    /**
+     * Verifies that the offsets are calculated only once per number of colors.
+     */
+    @Test
+    void getShouldReturnTheSameOffsetsForTheSameNumberOfColors() {
+        assertSame(UnitSectorOffsets.get(FIVE), UnitSectorOffsets.get(FIVE));
+    }
+
+    /**
+     * Verifies that the first boundary is at the top of the unit circle.
+     */
+    @Test
+    void firstBoundaryShouldBeAtTheTopOfTheUnitCircle() {
+        UnitSectorOffsets offsets = UnitSectorOffsets.get(FOUR);
+        assertEquals(0D, offsets.getXOffset(0), DOUBLE_DELTA);
+        assertEquals(-1D, offsets.getYOffset(0), DOUBLE_DELTA);
+    }
+
+    /**
+     * Verifies that the boundaries run clockwise.
+     */
+    @Test
+    void secondBoundaryForFourColorsShouldBeAtTheRightOfTheUnitCircle() {
+        UnitSectorOffsets offsets = UnitSectorOffsets.get(FOUR);
+        assertEquals(1D, offsets.getXOffset(1), DOUBLE_DELTA);
+        assertEquals(0D, offsets.getYOffset(1), DOUBLE_DELTA);
+    }
+
+    /**
+     * Verifies that the last boundary closes the circle.
+     */
+    @Test
+    void lastBoundaryShouldCloseTheCircle() {
+        UnitSectorOffsets offsets = UnitSectorOffsets.get(FIVE);
+        assertEquals(offsets.getXOffset(0), offsets.getXOffset(FIVE), DOUBLE_DELTA);
+        assertEquals(offsets.getYOffset(0), offsets.getYOffset(FIVE), DOUBLE_DELTA);
+    }
+}